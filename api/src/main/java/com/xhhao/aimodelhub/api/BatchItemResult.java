@@ -0,0 +1,61 @@
+package com.xhhao.aimodelhub.api;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 批量对话中单项的结果
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResult {
+
+    /**
+     * 在输入列表中的下标
+     */
+    private int index;
+
+    /**
+     * 是否成功
+     */
+    private boolean success;
+
+    /**
+     * AI 回复（失败时为 null）
+     */
+    private String content;
+
+    /**
+     * 错误码（成功时为 null，见 {@link com.xhhao.aimodelhub.api.exception.AiModelException.ErrorCode}）
+     */
+    private String errorCode;
+
+    /**
+     * 错误信息（成功时为 null）
+     */
+    private String errorMessage;
+
+    /**
+     * 调用次数（含重试）
+     */
+    private int attempts;
+
+    /**
+     * 耗时（毫秒，含重试）
+     */
+    private long durationMs;
+
+    public static BatchItemResult success(int index, String content, int attempts, long durationMs) {
+        return new BatchItemResult(index, true, content, null, null, attempts, durationMs);
+    }
+
+    public static BatchItemResult failure(int index, String errorCode, String errorMessage, int attempts,
+                                          long durationMs) {
+        return new BatchItemResult(index, false, null, errorCode, errorMessage, attempts, durationMs);
+    }
+}
@@ -0,0 +1,86 @@
+package com.xhhao.aimodelhub.api;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * 离线批处理任务状态
+ * <p>
+ * 离线批处理任务由供应商的 Batch API 异步执行（通常在 24 小时内完成，价格低于实时调用），
+ * 适合不要求即时返回的大批量对话。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchJobStatus {
+
+    /**
+     * 任务名称
+     */
+    private String name;
+
+    /**
+     * 供应商
+     */
+    private String provider;
+
+    /**
+     * 模型名称
+     */
+    private String model;
+
+    /**
+     * 任务阶段（PENDING/UPLOADING/SUBMITTED/IN_PROGRESS/DOWNLOADING/COMPLETED/FAILED/CANCELLED/EXPIRED/DETACHED）
+     * <p>
+     * DETACHED 表示任务使用自定义配置提交，插件重启后缺少访问凭据而停止跟踪，批次仍可能在供应商侧继续执行。
+     * </p>
+     */
+    private String phase;
+
+    /**
+     * 总项数
+     */
+    private int total;
+
+    /**
+     * 供应商已处理项数（含失败）
+     */
+    private int completed;
+
+    /**
+     * 失败项数
+     */
+    private int failed;
+
+    /**
+     * 最近一次错误信息
+     */
+    private String lastError;
+
+    /**
+     * 创建时间
+     */
+    private Instant createTime;
+
+    /**
+     * 结束时间（未结束时为 null）
+     */
+    private Instant finishTime;
+
+    /**
+     * 是否已结束（不再轮询）
+     */
+    private boolean done;
+
+    /**
+     * 是否可以读取结果（完成、过期或取消的任务可读取已处理部分的结果）
+     */
+    private boolean resultsAvailable;
+}
@@ -0,0 +1,45 @@
+package com.xhhao.aimodelhub.api;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * 批量对话选项（统一配置，按需设置）
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Data
+@Builder
+public class BatchOptions {
+
+    // ==================== 并发 ====================
+
+    @Builder.Default
+    private int concurrency = 4;        // 同时进行的调用数（1-32）
+
+    // ==================== 单项 ====================
+
+    @Builder.Default
+    private Duration itemTimeout = Duration.ofSeconds(120); // 单项每次调用的超时（重试单独计时）
+    @Builder.Default
+    private int maxRetries = 1;         // 单项失败后的重试次数（仅超时、限流、上游错误）
+    @Builder.Default
+    private Duration retryBackoff = Duration.ofSeconds(2); // 首次重试等待时间，之后指数增长
+
+    // ==================== 模型 ====================
+
+    private ChatOptions chatOptions;    // 模型配置，为空时使用供应商在插件设置中的默认模型
+
+    // ==================== 工厂方法 ====================
+
+    public static BatchOptions defaults() {
+        return BatchOptions.builder().build();
+    }
+
+    public static BatchOptions of(int concurrency) {
+        return BatchOptions.builder().concurrency(concurrency).build();
+    }
+}
@@ -0,0 +1,57 @@
+package com.xhhao.aimodelhub.api;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 批量对话进度
+ * <p>
+ * 每完成一项发出一次；最后一次 {@link #isDone()} 为 true，{@link #getResults()} 按输入顺序包含全部结果。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchProgress {
+
+    /**
+     * 总项数
+     */
+    private int total;
+
+    /**
+     * 已完成项数（含失败）
+     */
+    private int completed;
+
+    /**
+     * 成功项数
+     */
+    private int succeeded;
+
+    /**
+     * 失败项数
+     */
+    private int failed;
+
+    /**
+     * 本次完成的项（全部为空的批次为 null）
+     */
+    private BatchItemResult item;
+
+    /**
+     * 是否全部完成
+     */
+    private boolean done;
+
+    /**
+     * 按输入顺序排列的全部结果（全部完成前为 null）
+     */
+    private List<BatchItemResult> results;
+}
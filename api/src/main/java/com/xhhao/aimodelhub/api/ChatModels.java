@@ -5,6 +5,7 @@ import com.xhhao.aimodelhub.api.internal.ChatModelsHolder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -32,6 +33,39 @@ import java.util.List;
  * ChatModel model = ChatModels.withMemory("你是助手");
  * model.chat("你好");  // 第一轮
  * model.chat("再见");  // 第二轮，自动带上下文
+ *
+ * // 故障转移（前一个供应商不可用时依次尝试下一个）
+ * ChatModels.withFallback(Provider.SILICONFLOW, Provider.ZHIPU, Provider.OPENAI)
+ *     .flatMap(model -> model.chat("你好"))
+ *     .subscribe(System.out::println);
+ *
+ * // 声明调用方插件（用于日志与按插件的并发隔离，未声明时按调用栈自动识别）
+ * ChatModels.chat("你好")
+ *     .contextWrite(Context.of(ChatModels.CALLER_PLUGIN_KEY, "my-plugin"))
+ *     .subscribe(System.out::println);
+ *
+ * // 缓存本次调用的响应（相同供应商、模型、参数与消息的后续调用直接返回缓存，不计 token）
+ * ChatModels.chat("把“你好”翻译为英文")
+ *     .contextWrite(Context.of(ChatModels.RESPONSE_CACHE_KEY, true))
+ *     .subscribe(System.out::println);
+ *
+ * // 近似提示词缓存（提示词只在空白、标点或时间戳上不同的调用复用之前的响应）
+ * ChatModels.chat("现在是 2025-01-01 08:00，请问今天的问候语？")
+ *     .contextWrite(Context.of(ChatModels.SIMILAR_CACHE_KEY, true))
+ *     .subscribe(System.out::println);
+ *
+ * // 批量对话（限制并发，结果按输入顺序返回，每完成一项发出一次进度）
+ * ChatModels.chatBatch(Provider.SILICONFLOW, conversations, BatchOptions.of(4))
+ *     .doOnNext(p -> log.info("{}/{}", p.getCompleted(), p.getTotal()))
+ *     .last()
+ *     .subscribe(p -> p.getResults().forEach(System.out::println));
+ *
+ * // 离线批处理（提交到供应商的 Batch API，数小时内完成，插件重启后继续跟踪）
+ * String job = ChatModels.submitBatchJob(Provider.OPENAI, conversations, null).block();
+ * ChatModels.getBatchJob(job)
+ *     .filter(BatchJobStatus::isResultsAvailable)
+ *     .flatMapMany(status -> ChatModels.batchJobResults(job))
+ *     .subscribe(System.out::println);
  * }</pre>
  *
  * @author Handsome
@@ -39,6 +73,21 @@ import java.util.List;
  */
 public final class ChatModels {
 
+    /**
+     * 订阅上下文键：调用方插件名称
+     */
+    public static final String CALLER_PLUGIN_KEY = "aimodelhub.callerPlugin";
+
+    /**
+     * 订阅上下文键：本次调用是否使用响应缓存（Boolean），优先于模型参数与插件设置
+     */
+    public static final String RESPONSE_CACHE_KEY = "aimodelhub.responseCache";
+
+    /**
+     * 订阅上下文键：本次调用是否使用近似提示词缓存（Boolean），优先于模型参数
+     */
+    public static final String SIMILAR_CACHE_KEY = "aimodelhub.similarCache";
+
     private static Provider defaultProvider = Provider.SILICONFLOW;
 
     private ChatModels() {
@@ -165,6 +214,91 @@ public final class ChatModels {
         return getModel(provider).flatMapMany(model -> model.chatStream(messages));
     }
 
+    /**
+     * 批量多轮对话
+     * <p>
+     * 整个批次使用同一个模型实例与连接池，按 {@link BatchOptions#getConcurrency()} 限制同时进行的调用数，
+     * 单项超时或失败时按配置重试，失败不影响其他项。
+     * 每完成一项发出一次进度，最后一次进度按输入顺序包含全部结果；取消订阅会取消未完成的调用。
+     * </p>
+     *
+     * @param provider      供应商
+     * @param conversations 每一项为一次多轮对话的消息列表
+     * @param options       批量选项，为空时使用默认值
+     * @return 进度流
+     */
+    public static Flux<BatchProgress> chatBatch(Provider provider, List<List<ChatMessage>> conversations,
+                                                BatchOptions options) {
+        checkInitialized();
+        return getFactory().chatBatch(provider.name().toLowerCase(), conversations,
+            options != null ? options : BatchOptions.defaults());
+    }
+
+    /**
+     * 批量多轮对话，只返回按输入顺序排列的结果
+     */
+    public static Mono<List<BatchItemResult>> chatBatchResults(Provider provider,
+                                                               List<List<ChatMessage>> conversations,
+                                                               BatchOptions options) {
+        return chatBatch(provider, conversations, options)
+            .last()
+            .map(BatchProgress::getResults);
+    }
+
+    /**
+     * 提交离线批处理任务
+     * <p>
+     * 对话写入 JSONL 文件后上传到供应商的 Batch API 异步执行，插件在后台按退避间隔轮询状态，
+     * 完成后下载结果文件。任务状态持久化保存，插件重启后继续跟踪；
+     * 使用自定义配置提交的任务不保存访问凭据，插件重启后停止跟踪，阶段为 DETACHED。
+     * 适合不要求即时返回的大批量对话，延迟以小时计。
+     * </p>
+     *
+     * @param provider      供应商（须支持 OpenAI 兼容的 Files 与 Batches 接口）
+     * @param conversations 每一项为一次多轮对话的消息列表
+     * @param options       自定义配置（为空时使用插件设置中的默认模型）
+     * @return 任务名称
+     */
+    public static Mono<String> submitBatchJob(Provider provider, List<List<ChatMessage>> conversations,
+                                              ChatOptions options) {
+        checkInitialized();
+        return getFactory().submitBatchJob(provider.name().toLowerCase(), conversations, options);
+    }
+
+    /**
+     * 查询离线批处理任务状态
+     *
+     * @param name 任务名称
+     */
+    public static Mono<BatchJobStatus> getBatchJob(String name) {
+        checkInitialized();
+        return getFactory().getBatchJob(name);
+    }
+
+    /**
+     * 读取离线批处理任务的结果
+     * <p>
+     * 从本地结果文件逐行解析，按文件顺序发出；供应商未返回结果的项以失败结果补齐。
+     * 任务尚未结束时返回错误。
+     * </p>
+     *
+     * @param name 任务名称
+     */
+    public static Flux<BatchItemResult> batchJobResults(String name) {
+        checkInitialized();
+        return getFactory().batchJobResults(name);
+    }
+
+    /**
+     * 取消离线批处理任务（供应商已处理部分的结果仍可读取）
+     *
+     * @param name 任务名称
+     */
+    public static Mono<BatchJobStatus> cancelBatchJob(String name) {
+        checkInitialized();
+        return getFactory().cancelBatchJob(name);
+    }
+
     /**
      * 获取带记忆的模型（使用默认供应商）
      * <p>
@@ -190,6 +324,35 @@ public final class ChatModels {
         return getFactory().withMemory(provider.name().toLowerCase(), systemPrompt);
     }
 
+    /**
+     * 获取按顺序故障转移的模型
+     * <p>
+     * 前一个供应商未配置、熔断、超时或返回 429/5xx 时切换到下一个；
+     * 流式调用已输出内容后不再切换。
+     * </p>
+     *
+     * @param providers 按优先级排列的供应商
+     * @return 依次尝试各供应商的 ChatModel
+     */
+    public static Mono<ChatModel> withFallback(Provider... providers) {
+        checkInitialized();
+        if (providers == null || providers.length == 0) {
+            return Mono.error(new IllegalArgumentException("至少需要一个供应商"));
+        }
+        List<String> names = Arrays.stream(providers)
+            .map(provider -> provider.name().toLowerCase())
+            .toList();
+        return getFactory().withFallback(names);
+    }
+
+    /**
+     * 获取按插件设置中的故障转移链依次尝试的模型
+     */
+    public static Mono<ChatModel> withFallback() {
+        checkInitialized();
+        return getFactory().withFallback();
+    }
+
     /**
      * 设置默认供应商
      */
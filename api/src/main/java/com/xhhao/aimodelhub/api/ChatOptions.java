@@ -69,6 +69,12 @@ public class ChatOptions {
     private Boolean webSearch;          // 联网搜索（GLM-4）
     private String toolChoice;          // 工具选择: auto/none/required
 
+    // ==================== 缓存 ====================
+
+    private Boolean cacheResponses;      // 响应缓存：true 缓存、false 不缓存，为空时按插件设置
+    private Duration responseCacheTtl;   // 响应缓存存活时间，为空时使用插件设置
+    private Boolean cacheSimilarPrompts; // 近似提示词缓存：提示词仅空白、标点或时间戳不同时复用历史响应
+
     // ==================== 调试 ====================
 
     private Map<String, String> customHeaders; // 自定义请求头
@@ -0,0 +1,36 @@
+package com.xhhao.aimodelhub.api;
+
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * 向量模型接口
+ * <p>
+ * 将文本转换为向量，向量以 {@code float[]} 返回（不装箱）。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+public interface EmbeddingModel {
+
+    /**
+     * 计算单条文本的向量
+     * <p>
+     * 同时进行的单条调用（可能来自不同插件）会合并为一次上游请求，结果分别返回。
+     * </p>
+     *
+     * @param text 文本
+     * @return 向量
+     */
+    Mono<float[]> embed(String text);
+
+    /**
+     * 计算多条文本的向量
+     *
+     * @param texts 文本列表
+     * @return 与输入顺序一致的向量列表
+     */
+    Mono<List<float[]>> embedAll(List<String> texts);
+}
@@ -0,0 +1,142 @@
+package com.xhhao.aimodelhub.api;
+
+import com.xhhao.aimodelhub.api.internal.EmbeddingModelFactory;
+import com.xhhao.aimodelhub.api.internal.EmbeddingModelsHolder;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * 向量模型静态入口
+ * <p>
+ * 提供最简洁的 API，直接调用 embed 方法计算文本向量。
+ * 同时进行的单条调用（包括不同插件的调用）会在短时间内合并为一次上游请求。
+ * </p>
+ *
+ * <pre>{@code
+ * // 单条文本（使用默认供应商）
+ * EmbeddingModels.embed("Halo 是一款现代化的开源建站工具").subscribe(vector -> ...);
+ *
+ * // 多条文本，结果与输入顺序一致
+ * EmbeddingModels.embedAll(Provider.ZHIPU, List.of("第一段", "第二段"))
+ *     .subscribe(vectors -> ...);
+ *
+ * // 自定义 apiKey 和 model
+ * EmbeddingModels.getModel(Provider.OPENAI, "sk-xxx", "text-embedding-3-large")
+ *     .flatMap(model -> model.embed("你好"))
+ *     .subscribe(vector -> ...);
+ * }</pre>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+public final class EmbeddingModels {
+
+    private static Provider defaultProvider = Provider.SILICONFLOW;
+
+    private EmbeddingModels() {
+    }
+
+    private static EmbeddingModelFactory getFactory() {
+        return EmbeddingModelsHolder.getFactory();
+    }
+
+    /**
+     * 计算单条文本的向量（使用默认供应商）
+     *
+     * @param text 文本
+     * @return 向量
+     */
+    public static Mono<float[]> embed(String text) {
+        return embed(defaultProvider, text);
+    }
+
+    /**
+     * 计算单条文本的向量（指定供应商）
+     *
+     * @param provider 供应商
+     * @param text     文本
+     * @return 向量
+     */
+    public static Mono<float[]> embed(Provider provider, String text) {
+        return getModel(provider).flatMap(model -> model.embed(text));
+    }
+
+    /**
+     * 计算多条文本的向量（使用默认供应商）
+     *
+     * @param texts 文本列表
+     * @return 与输入顺序一致的向量列表
+     */
+    public static Mono<List<float[]>> embedAll(List<String> texts) {
+        return embedAll(defaultProvider, texts);
+    }
+
+    /**
+     * 计算多条文本的向量（指定供应商）
+     *
+     * @param provider 供应商
+     * @param texts    文本列表
+     * @return 与输入顺序一致的向量列表
+     */
+    public static Mono<List<float[]>> embedAll(Provider provider, List<String> texts) {
+        return getModel(provider).flatMap(model -> model.embedAll(texts));
+    }
+
+    /**
+     * 获取插件设置中配置的向量模型
+     *
+     * @param provider 供应商
+     * @return 向量模型
+     */
+    public static Mono<EmbeddingModel> getModel(Provider provider) {
+        checkInitialized();
+        return switch (provider) {
+            case OPENAI -> getFactory().openai();
+            case SILICONFLOW -> getFactory().siliconflow();
+            case ZHIPU -> getFactory().zhipu();
+        };
+    }
+
+    /**
+     * 获取向量模型（自定义 apiKey 和 model）
+     *
+     * @param provider 供应商
+     * @param apiKey   API Key
+     * @param model    模型名称，为空时使用默认模型
+     * @return 向量模型
+     */
+    public static Mono<EmbeddingModel> getModel(Provider provider, String apiKey, String model) {
+        checkInitialized();
+        return getFactory().create(provider.name().toLowerCase(), apiKey, model);
+    }
+
+    /**
+     * 设置默认供应商
+     */
+    public static void setDefaultProvider(Provider provider) {
+        defaultProvider = provider;
+    }
+
+    /**
+     * 获取默认供应商
+     */
+    public static Provider getDefaultProvider() {
+        return defaultProvider;
+    }
+
+    private static void checkInitialized() {
+        if (getFactory() == null) {
+            throw new IllegalStateException("EmbeddingModels 未初始化，请确保 AI Model Hub 插件已启动");
+        }
+    }
+
+    /**
+     * 向量模型供应商枚举
+     */
+    public enum Provider {
+        OPENAI,
+        SILICONFLOW,
+        ZHIPU
+    }
+}
@@ -0,0 +1,85 @@
+package com.xhhao.aimodelhub.api;
+
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * 向量索引
+ * <p>
+ * 按余弦相似度检索最相近的向量（近似最近邻，HNSW 图）。
+ * 写入时向量会被归一化，同一 id 再次写入会替换旧向量。
+ * 索引定期保存到 Halo 工作目录，插件重启后自动恢复。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+public interface VectorIndex {
+
+    /**
+     * 获取索引名称
+     */
+    String getName();
+
+    /**
+     * 获取向量维度
+     */
+    int getDimension();
+
+    /**
+     * 获取向量条数（不含已删除的）
+     */
+    int size();
+
+    /**
+     * 写入向量
+     *
+     * @param id     向量 id（如文章名称）
+     * @param vector 向量，长度必须等于索引维度
+     */
+    Mono<Void> add(String id, float[] vector);
+
+    /**
+     * 写入向量及元数据
+     *
+     * @param id       向量 id（如文章名称）
+     * @param vector   向量，长度必须等于索引维度
+     * @param metadata 元数据，可在检索时用于过滤
+     */
+    Mono<Void> add(String id, float[] vector, Map<String, String> metadata);
+
+    /**
+     * 删除向量
+     *
+     * @param id 向量 id
+     * @return 是否存在并已删除
+     */
+    Mono<Boolean> remove(String id);
+
+    /**
+     * 检索最相近的 k 条向量
+     *
+     * @param query 查询向量
+     * @param k     返回条数
+     * @return 按相似度从高到低排列的结果
+     */
+    Mono<List<VectorMatch>> search(float[] query, int k);
+
+    /**
+     * 检索满足过滤条件的最相近 k 条向量
+     *
+     * @param query  查询向量
+     * @param k      返回条数
+     * @param filter 元数据过滤条件
+     * @return 按相似度从高到低排列的结果
+     */
+    Mono<List<VectorMatch>> search(float[] query, int k, Predicate<Map<String, String>> filter);
+
+    /**
+     * 立即保存到磁盘（否则由后台定期保存）
+     */
+    Mono<Void> save();
+}
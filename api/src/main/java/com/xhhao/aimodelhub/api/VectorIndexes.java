@@ -0,0 +1,83 @@
+package com.xhhao.aimodelhub.api;
+
+import com.xhhao.aimodelhub.api.internal.VectorIndexFactory;
+import com.xhhao.aimodelhub.api.internal.VectorIndexesHolder;
+import reactor.core.publisher.Mono;
+
+/**
+ * 向量索引静态入口
+ * <p>
+ * 索引由 AI Model Hub 统一管理并持久化，各插件按名称获取自己的索引，无需自行实现相似度检索。
+ * 索引名称在所有插件间共享，建议以插件名作为前缀。
+ * </p>
+ *
+ * <pre>{@code
+ * // 获取（不存在时创建）1024 维的索引
+ * VectorIndexes.getOrCreate("my-plugin.posts", 1024)
+ *     .flatMap(index -> EmbeddingModels.embed(content)
+ *         .flatMap(vector -> index.add(postName, vector, Map.of("category", category))))
+ *     .subscribe();
+ *
+ * // 检索同分类下最相近的 5 篇文章
+ * VectorIndexes.getOrCreate("my-plugin.posts", 1024)
+ *     .flatMap(index -> EmbeddingModels.embed(query)
+ *         .flatMap(vector -> index.search(vector, 5, meta -> category.equals(meta.get("category")))))
+ *     .subscribe(matches -> ...);
+ * }</pre>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+public final class VectorIndexes {
+
+    private VectorIndexes() {
+    }
+
+    private static VectorIndexFactory getFactory() {
+        return VectorIndexesHolder.getFactory();
+    }
+
+    /**
+     * 获取索引，不存在时创建
+     *
+     * @param name      索引名称（字母、数字、点、下划线与连字符，最长 128 个字符）
+     * @param dimension 向量维度（已存在的索引维度不一致时返回错误）
+     * @return 向量索引
+     */
+    public static Mono<VectorIndex> getOrCreate(String name, int dimension) {
+        checkInitialized();
+        return getFactory().getOrCreate(name, dimension);
+    }
+
+    /**
+     * 获取已存在的索引
+     *
+     * @param name 索引名称
+     * @return 向量索引，不存在时为空
+     */
+    public static Mono<VectorIndex> get(String name) {
+        checkInitialized();
+        return getFactory().get(name);
+    }
+
+    /**
+     * 删除索引及其磁盘文件
+     * <p>
+     * 删除后，之前获取的实例不能再使用，调用其方法会抛出 {@link IllegalStateException}；
+     * 需要继续使用同名索引时重新调用 {@link #getOrCreate(String, int)}。
+     * </p>
+     *
+     * @param name 索引名称
+     * @return 是否存在并已删除
+     */
+    public static Mono<Boolean> drop(String name) {
+        checkInitialized();
+        return getFactory().drop(name);
+    }
+
+    private static void checkInitialized() {
+        if (getFactory() == null) {
+            throw new IllegalStateException("VectorIndexes 未初始化，请确保 AI Model Hub 插件已启动");
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.xhhao.aimodelhub.api;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * 向量检索结果
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VectorMatch {
+
+    /**
+     * 向量 id
+     */
+    private String id;
+
+    /**
+     * 余弦相似度（-1 ~ 1，越大越相近）
+     */
+    private float score;
+
+    /**
+     * 写入时的元数据
+     */
+    private Map<String, String> metadata;
+}
@@ -47,6 +47,21 @@ public final class AiModelConstants {
      */
     public static final String DEFAULT_SILICONFLOW_MODEL = "Qwen/Qwen2.5-7B-Instruct";
 
+    /**
+     * OpenAI 默认向量模型
+     */
+    public static final String DEFAULT_OPENAI_EMBEDDING_MODEL = "text-embedding-3-small";
+
+    /**
+     * 硅基流动默认向量模型
+     */
+    public static final String DEFAULT_SILICONFLOW_EMBEDDING_MODEL = "BAAI/bge-m3";
+
+    /**
+     * 智谱默认向量模型
+     */
+    public static final String DEFAULT_ZHIPU_EMBEDDING_MODEL = "embedding-3";
+
     /**
      * 硅基流动 API 地址
      */
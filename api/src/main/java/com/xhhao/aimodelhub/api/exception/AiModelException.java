@@ -108,4 +108,18 @@ public class AiModelException extends RuntimeException {
     public static AiModelException timeout(String provider, String model) {
         return new AiModelException("请求超时", ErrorCode.TIMEOUT, provider, model, null);
     }
+
+    /**
+     * 创建模型不可用异常（如熔断期间快速失败）
+     */
+    public static AiModelException modelUnavailable(String message, String provider, String model) {
+        return new AiModelException(message, ErrorCode.MODEL_UNAVAILABLE, provider, model, null);
+    }
+
+    /**
+     * 创建速率限制异常（如并发排队已满或排队超时）
+     */
+    public static AiModelException rateLimited(String message, String provider, String model) {
+        return new AiModelException(message, ErrorCode.RATE_LIMIT, provider, model, null);
+    }
 }
@@ -1,9 +1,17 @@
 package com.xhhao.aimodelhub.api.internal;
 
+import com.xhhao.aimodelhub.api.BatchItemResult;
+import com.xhhao.aimodelhub.api.BatchJobStatus;
+import com.xhhao.aimodelhub.api.BatchOptions;
+import com.xhhao.aimodelhub.api.BatchProgress;
+import com.xhhao.aimodelhub.api.ChatMessage;
 import com.xhhao.aimodelhub.api.ChatModel;
 import com.xhhao.aimodelhub.api.ChatOptions;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 /**
  * 聊天模型工厂接口（内部使用）
  * <p>
@@ -54,6 +62,19 @@ public interface ChatModelFactory {
      */
     Mono<ChatModel> withMemory(String provider, String systemPrompt);
 
+    /**
+     * 获取按顺序故障转移的模型
+     *
+     * @param providers 按优先级排列的供应商名称（openai/siliconflow/zhipu）
+     * @return 依次尝试各供应商的 ChatModel
+     */
+    Mono<ChatModel> withFallback(List<String> providers);
+
+    /**
+     * 获取按插件设置中的故障转移链依次尝试的模型
+     */
+    Mono<ChatModel> withFallback();
+
     /**
      * 获取 OpenAI 模型（使用自定义 apiKey 和 model）
      */
@@ -77,4 +98,39 @@ public interface ChatModelFactory {
      * @return ChatModel
      */
     Mono<ChatModel> create(String provider, ChatOptions options);
+
+    /**
+     * 批量多轮对话
+     *
+     * @param provider      供应商名称（openai/siliconflow/zhipu）
+     * @param conversations 每一项为一次多轮对话的消息列表
+     * @param options       批量选项
+     * @return 进度流，最后一次进度按输入顺序包含全部结果
+     */
+    Flux<BatchProgress> chatBatch(String provider, List<List<ChatMessage>> conversations, BatchOptions options);
+
+    /**
+     * 提交离线批处理任务
+     *
+     * @param provider      供应商名称（openai/siliconflow/zhipu）
+     * @param conversations 每一项为一次多轮对话的消息列表
+     * @param options       自定义配置，为空时使用插件设置中的默认模型
+     * @return 任务名称
+     */
+    Mono<String> submitBatchJob(String provider, List<List<ChatMessage>> conversations, ChatOptions options);
+
+    /**
+     * 查询离线批处理任务状态
+     */
+    Mono<BatchJobStatus> getBatchJob(String name);
+
+    /**
+     * 读取离线批处理任务的结果
+     */
+    Flux<BatchItemResult> batchJobResults(String name);
+
+    /**
+     * 取消离线批处理任务
+     */
+    Mono<BatchJobStatus> cancelBatchJob(String name);
 }
@@ -0,0 +1,40 @@
+package com.xhhao.aimodelhub.api.internal;
+
+import com.xhhao.aimodelhub.api.EmbeddingModel;
+import reactor.core.publisher.Mono;
+
+/**
+ * 向量模型工厂接口（内部使用）
+ * <p>
+ * 此接口仅供插件内部实现使用，外部插件请使用 {@link com.xhhao.aimodelhub.api.EmbeddingModels} 静态方法。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+public interface EmbeddingModelFactory {
+
+    /**
+     * 获取 OpenAI 向量模型（使用插件设置）
+     */
+    Mono<EmbeddingModel> openai();
+
+    /**
+     * 获取硅基流动向量模型（使用插件设置）
+     */
+    Mono<EmbeddingModel> siliconflow();
+
+    /**
+     * 获取智谱AI向量模型（使用插件设置）
+     */
+    Mono<EmbeddingModel> zhipu();
+
+    /**
+     * 使用自定义 apiKey 和 model 创建向量模型
+     *
+     * @param provider 供应商名称（openai/siliconflow/zhipu）
+     * @param apiKey   API Key
+     * @param model    模型名称，为空时使用默认模型
+     */
+    Mono<EmbeddingModel> create(String provider, String apiKey, String model);
+}
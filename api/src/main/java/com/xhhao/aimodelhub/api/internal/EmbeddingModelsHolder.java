@@ -0,0 +1,36 @@
+package com.xhhao.aimodelhub.api.internal;
+
+/**
+ * EmbeddingModels 工厂持有者（内部使用）
+ * <p>
+ * 此类仅供 AI Model Hub 插件内部使用，外部插件无需关心。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+public final class EmbeddingModelsHolder {
+
+    private static EmbeddingModelFactory factory;
+
+    private EmbeddingModelsHolder() {
+    }
+
+    /**
+     * 初始化工厂
+     *
+     * @param embeddingModelFactory 工厂实例
+     */
+    public static void init(EmbeddingModelFactory embeddingModelFactory) {
+        factory = embeddingModelFactory;
+    }
+
+    /**
+     * 获取工厂实例
+     *
+     * @return 工厂实例
+     */
+    public static EmbeddingModelFactory getFactory() {
+        return factory;
+    }
+}
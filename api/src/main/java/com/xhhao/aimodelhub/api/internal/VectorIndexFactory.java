@@ -0,0 +1,31 @@
+package com.xhhao.aimodelhub.api.internal;
+
+import com.xhhao.aimodelhub.api.VectorIndex;
+import reactor.core.publisher.Mono;
+
+/**
+ * 向量索引工厂接口（内部使用）
+ * <p>
+ * 此接口仅供插件内部实现使用，外部插件请使用 {@link com.xhhao.aimodelhub.api.VectorIndexes} 静态方法。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+public interface VectorIndexFactory {
+
+    /**
+     * 获取索引，不存在时创建
+     */
+    Mono<VectorIndex> getOrCreate(String name, int dimension);
+
+    /**
+     * 获取已存在的索引
+     */
+    Mono<VectorIndex> get(String name);
+
+    /**
+     * 删除索引及其磁盘文件
+     */
+    Mono<Boolean> drop(String name);
+}
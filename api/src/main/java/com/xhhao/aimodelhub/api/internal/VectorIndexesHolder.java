@@ -0,0 +1,36 @@
+package com.xhhao.aimodelhub.api.internal;
+
+/**
+ * VectorIndexes 工厂持有者（内部使用）
+ * <p>
+ * 此类仅供 AI Model Hub 插件内部使用，外部插件无需关心。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+public final class VectorIndexesHolder {
+
+    private static VectorIndexFactory factory;
+
+    private VectorIndexesHolder() {
+    }
+
+    /**
+     * 初始化工厂
+     *
+     * @param vectorIndexFactory 工厂实例
+     */
+    public static void init(VectorIndexFactory vectorIndexFactory) {
+        factory = vectorIndexFactory;
+    }
+
+    /**
+     * 获取工厂实例
+     *
+     * @return 工厂实例
+     */
+    public static VectorIndexFactory getFactory() {
+        return factory;
+    }
+}
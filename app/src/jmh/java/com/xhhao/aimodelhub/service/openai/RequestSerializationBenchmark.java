@@ -0,0 +1,152 @@
+package com.xhhao.aimodelhub.service.openai;
+
+import io.netty.buffer.PooledByteBufAllocator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 请求体序列化基准
+ * <p>
+ * 对比常规路径（applyDefaults 合并默认参数后由 WebClient 默认的 {@link Jackson2JsonEncoder} 编码）
+ * 与 {@link OpenAiRequestWriter} 拼接预先序列化的默认参数片段，两者都写入池化的 Netty buffer。
+ * 模型按常见配置设置了生成参数；启动时校验两条路径的输出逐字节一致。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RequestSerializationBenchmark {
+
+    private static final ResolvableType REQUEST_TYPE = ResolvableType.forClass(OpenAiChatRequest.class);
+
+    /**
+     * 对话中的消息数
+     */
+    @Param({"2", "20"})
+    public int messages;
+
+    private final NettyDataBufferFactory bufferFactory = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+    private final Jackson2JsonEncoder encoder = new Jackson2JsonEncoder();
+
+    private OpenAiCompatibleChatModel model;
+    private MethodHandle applyDefaults;
+    private OpenAiRequestWriter writer;
+    private List<OpenAiMessage> conversation;
+
+    @Setup
+    public void setUp() throws Throwable {
+        model = OpenAiCompatibleChatModel.builder()
+            .provider("openai")
+            .apiKey("sk-benchmark")
+            .baseUrl("http://localhost")
+            .modelName("gpt-4o-mini")
+            .temperature(0.7)
+            .topP(0.9)
+            .maxTokens(1024)
+            .frequencyPenalty(0.1)
+            .presencePenalty(0.1)
+            .stop(List.of("\n\n"))
+            .seed(42)
+            .user("benchmark")
+            .build();
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(OpenAiCompatibleChatModel.class,
+            MethodHandles.lookup());
+        applyDefaults = lookup.findVirtual(OpenAiCompatibleChatModel.class, "applyDefaults",
+            MethodType.methodType(void.class, OpenAiChatRequest.class));
+        writer = (OpenAiRequestWriter) lookup.findGetter(OpenAiCompatibleChatModel.class, "requestWriter",
+            OpenAiRequestWriter.class).invoke(model);
+
+        conversation = new ArrayList<>();
+        conversation.add(new OpenAiMessage("system", "你是一个乐于助人的助手，回答简洁准确。", null, null, null));
+        for (int i = 1; i < messages; i++) {
+            String role = i % 2 == 1 ? "user" : "assistant";
+            conversation.add(new OpenAiMessage(role,
+                "第 " + i + " 轮：请解释一下 HTTP 连接池的 keep-alive 与最大空闲时间之间的关系。", null, null, null));
+        }
+
+        byte[] expected = drain(encodeWithJackson());
+        byte[] actual = drain(writer.encode(newRequest(), bufferFactory));
+        if (!Arrays.equals(expected, actual)) {
+            throw new IllegalStateException("两条路径的输出不一致");
+        }
+    }
+
+    /**
+     * 常规路径：合并默认参数后由 Jackson 编码器反射序列化整个请求
+     */
+    @Benchmark
+    public DataBuffer jacksonEncoder() throws Throwable {
+        return release(encodeWithJackson());
+    }
+
+    /**
+     * 快速路径：只写 messages 等逐次字段，再拼接默认参数片段
+     */
+    @Benchmark
+    public DataBuffer requestWriter() throws IOException {
+        return release(writer.encode(newRequest(), bufferFactory));
+    }
+
+    private OpenAiChatRequest newRequest() {
+        return OpenAiChatRequest.builder()
+            .model("gpt-4o-mini")
+            .messages(conversation)
+            .stream(true)
+            .build();
+    }
+
+    /**
+     * 释放 buffer 后返回（只用于交给 JMH 消费，避免池化内存泄漏）
+     */
+    private static DataBuffer release(DataBuffer buffer) {
+        DataBufferUtils.release(buffer);
+        return buffer;
+    }
+
+    private DataBuffer encodeWithJackson() throws Throwable {
+        OpenAiChatRequest request = newRequest();
+        applyDefaults.invoke(model, request);
+        return encoder.encodeValue(request, bufferFactory, REQUEST_TYPE, MediaType.APPLICATION_JSON, Map.of());
+    }
+
+    private static byte[] drain(DataBuffer buffer) {
+        try {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            return bytes;
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+}
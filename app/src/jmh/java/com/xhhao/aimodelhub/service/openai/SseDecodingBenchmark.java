@@ -0,0 +1,161 @@
+package com.xhhao.aimodelhub.service.openai;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ReactiveHttpInputMessage;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.codec.ServerSentEventHttpMessageReader;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 流式响应解码基准
+ * <p>
+ * 对比旧路径（{@code ServerSentEvent<String>} 解码后再按字符串解析 JSON）与
+ * {@link SseEventFramer} 直接在字节上分帧并交给 {@link OpenAiChunkParser} 解析。
+ * 输入为按 1KB 切分的模拟上游字节流，每 20 个事件夹带一条心跳注释，以 {@code [DONE]} 结束。
+ * 运行 {@code ./gradlew :app:jmh} 查看耗时，gc 分析器同时给出每次操作的分配量。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SseDecodingBenchmark {
+
+    private static final int NETWORK_CHUNK_BYTES = 1024;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+        .setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE);
+
+    private static final ResolvableType SSE_TYPE =
+        ResolvableType.forClassWithGenerics(ServerSentEvent.class, String.class);
+
+    /**
+     * 单个流的事件数
+     */
+    @Param({"50", "500"})
+    public int tokens;
+
+    private final ServerSentEventHttpMessageReader legacyReader =
+        new ServerSentEventHttpMessageReader(new Jackson2JsonDecoder());
+
+    private final OpenAiChunkParser parser = new OpenAiChunkParser(MAPPER, true);
+
+    private final SseEventFramer.DataHandler<OpenAiStreamChunk> handler = parser::parse;
+
+    private List<byte[]> chunks;
+
+    @Setup
+    public void setUp() {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        for (int i = 0; i < tokens; i++) {
+            if (i % 20 == 0) {
+                write(stream, ": keep-alive\n\n");
+            }
+            write(stream, "data: {\"id\":\"chatcmpl-bench\",\"object\":\"chat.completion.chunk\","
+                + "\"created\":1700000000,\"model\":\"gpt-4o-mini\",\"choices\":[{\"index\":0,"
+                + "\"delta\":{\"content\":\"token" + i + " \"},\"finish_reason\":null}]}\n\n");
+        }
+        write(stream, "data: [DONE]\n\n");
+        byte[] bytes = stream.toByteArray();
+        chunks = new ArrayList<>();
+        for (int offset = 0; offset < bytes.length; offset += NETWORK_CHUNK_BYTES) {
+            chunks.add(Arrays.copyOfRange(bytes, offset, Math.min(bytes.length, offset + NETWORK_CHUNK_BYTES)));
+        }
+    }
+
+    /**
+     * 旧路径：ServerSentEvent&lt;String&gt; → 过滤 [DONE] → 按字符串解析为 {@link OpenAiChatResponse}
+     */
+    @Benchmark
+    public long serverSentEvents(Blackhole blackhole) {
+        return legacyReader.read(SSE_TYPE, message(), Map.of())
+            .cast(ServerSentEvent.class)
+            .filter(sse -> sse.data() != null && !"[DONE]".equals(sse.data()))
+            .map(sse -> {
+                try {
+                    return MAPPER.readValue((String) sse.data(), OpenAiChatResponse.class);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            })
+            .doOnNext(blackhole::consume)
+            .count()
+            .block();
+    }
+
+    /**
+     * 新路径：字节级分帧 + 字节切片解析
+     */
+    @Benchmark
+    public long byteFramer(Blackhole blackhole) {
+        return Flux.defer(() -> {
+                SseEventFramer<OpenAiStreamChunk> framer = new SseEventFramer<>(handler);
+                return body()
+                    .concatMapIterable(framer::feed)
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(framer.finish())));
+            })
+            .doOnNext(blackhole::consume)
+            .count()
+            .block();
+    }
+
+    private Flux<DataBuffer> body() {
+        return Flux.fromIterable(chunks).map(DefaultDataBufferFactory.sharedInstance::wrap);
+    }
+
+    private ReactiveHttpInputMessage message() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.TEXT_EVENT_STREAM);
+        return new ReactiveHttpInputMessage() {
+            @Override
+            public Flux<DataBuffer> getBody() {
+                return body();
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        };
+    }
+
+    private static void write(ByteArrayOutputStream stream, String text) {
+        stream.writeBytes(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,160 @@
+package com.xhhao.aimodelhub.service.vector;
+
+import com.xhhao.aimodelhub.api.VectorMatch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * HNSW 向量索引基准
+ * <p>
+ * 在临时目录中写入随机聚类向量，对比 HNSW 检索与逐条计算的单次耗时；
+ * 启动时输出建索引耗时以及 HNSW 相对逐条计算的召回率（含选择率 10% 的过滤检索）。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class HnswIndexBenchmark {
+
+    private static final int CLUSTERS = 32;
+    private static final int QUERIES = 256;
+
+    /**
+     * 过滤检索的选择率（每 10 条向量有 1 条满足条件）
+     */
+    private static final int FILTER_BUCKETS = 10;
+
+    private static final Predicate<Map<String, String>> FILTER = metadata -> "0".equals(metadata.get("bucket"));
+
+    @Param({"10000", "50000"})
+    public int size;
+
+    @Param({"256"})
+    public int dimension;
+
+    @Param({"10"})
+    public int k;
+
+    private Path directory;
+    private HnswIndex index;
+    private float[][] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Random random = new Random(42);
+        float[][] centers = new float[CLUSTERS][];
+        for (int i = 0; i < centers.length; i++) {
+            centers[i] = gaussian(random, dimension, 1);
+        }
+        float[][] data = new float[size][];
+        for (int i = 0; i < size; i++) {
+            data[i] = perturb(random, centers[random.nextInt(centers.length)], 0.5f);
+        }
+        queries = new float[QUERIES][];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = perturb(random, centers[random.nextInt(centers.length)], 0.5f);
+        }
+
+        directory = Files.createTempDirectory("hnsw-benchmark");
+        index = HnswIndex.create("benchmark", directory, dimension);
+        long start = System.nanoTime();
+        IntStream.range(0, size).parallel().forEach(i -> index.insert(String.valueOf(i), data[i],
+            Map.of("bucket", String.valueOf(i % FILTER_BUCKETS)), true));
+        long buildMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        double recall = 0;
+        double filteredRecall = 0;
+        for (float[] query : queries) {
+            recall += overlap(index.searchNow(query, k, null), index.exactSearch(query, k, null));
+            filteredRecall += overlap(index.searchNow(query, k, FILTER), index.exactSearch(query, k, FILTER));
+        }
+        System.out.printf("%n建索引 %d ms，召回率 %.4f，过滤召回率 %.4f%n",
+            buildMillis, recall / queries.length, filteredRecall / queries.length);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        index.close();
+        HnswIndex.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public List<VectorMatch> hnsw() {
+        return index.searchNow(nextQuery(), k, null);
+    }
+
+    @Benchmark
+    public List<VectorMatch> hnswFiltered() {
+        return index.searchNow(nextQuery(), k, FILTER);
+    }
+
+    @Benchmark
+    public List<VectorMatch> bruteForce() {
+        return index.exactSearch(nextQuery(), k, null);
+    }
+
+    private float[] nextQuery() {
+        float[] query = queries[next];
+        next = (next + 1) % queries.length;
+        return query;
+    }
+
+    /**
+     * 结果重合比例（召回率）
+     */
+    private static double overlap(List<VectorMatch> approximate, List<VectorMatch> exact) {
+        if (exact.isEmpty()) {
+            return 1;
+        }
+        Set<String> expected = new HashSet<>();
+        exact.forEach(match -> expected.add(match.getId()));
+        long hits = approximate.stream().filter(match -> expected.contains(match.getId())).count();
+        return (double) hits / exact.size();
+    }
+
+    private static float[] gaussian(Random random, int dimension, float scale) {
+        float[] vector = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = (float) random.nextGaussian() * scale;
+        }
+        return vector;
+    }
+
+    private static float[] perturb(Random random, float[] center, float scale) {
+        float[] vector = gaussian(random, center.length, scale);
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] += center[i];
+        }
+        return vector;
+    }
+}
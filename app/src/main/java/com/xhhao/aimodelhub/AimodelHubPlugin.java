@@ -2,9 +2,16 @@ package com.xhhao.aimodelhub;
 
 import com.xhhao.aimodelhub.api.internal.ChatModelFactory;
 import com.xhhao.aimodelhub.api.internal.ChatModelsHolder;
+import com.xhhao.aimodelhub.api.internal.EmbeddingModelFactory;
+import com.xhhao.aimodelhub.api.internal.EmbeddingModelsHolder;
 import com.xhhao.aimodelhub.api.internal.ImageModelFactory;
 import com.xhhao.aimodelhub.api.internal.ImageModelsHolder;
+import com.xhhao.aimodelhub.api.internal.VectorIndexFactory;
+import com.xhhao.aimodelhub.api.internal.VectorIndexesHolder;
 import com.xhhao.aimodelhub.extension.AiChatLog;
+import com.xhhao.aimodelhub.extension.BatchJob;
+import com.xhhao.aimodelhub.service.batch.BatchJobService;
+import com.xhhao.aimodelhub.service.cache.DiskResponseCache;
 import org.springframework.stereotype.Component;
 import run.halo.app.extension.SchemeManager;
 import run.halo.app.extension.index.IndexSpecs;
@@ -27,13 +34,23 @@ public class AimodelHubPlugin extends BasePlugin {
     private final SchemeManager schemeManager;
     private final ChatModelFactory chatModelFactory;
     private final ImageModelFactory imageModelFactory;
+    private final EmbeddingModelFactory embeddingModelFactory;
+    private final VectorIndexFactory vectorIndexFactory;
+    private final DiskResponseCache diskResponseCache;
+    private final BatchJobService batchJobService;
 
     public AimodelHubPlugin(PluginContext pluginContext, SchemeManager schemeManager,
-                            ChatModelFactory chatModelFactory, ImageModelFactory imageModelFactory) {
+                            ChatModelFactory chatModelFactory, ImageModelFactory imageModelFactory,
+                            EmbeddingModelFactory embeddingModelFactory, VectorIndexFactory vectorIndexFactory,
+                            DiskResponseCache diskResponseCache, BatchJobService batchJobService) {
         super(pluginContext);
         this.schemeManager = schemeManager;
         this.chatModelFactory = chatModelFactory;
         this.imageModelFactory = imageModelFactory;
+        this.embeddingModelFactory = embeddingModelFactory;
+        this.vectorIndexFactory = vectorIndexFactory;
+        this.diskResponseCache = diskResponseCache;
+        this.batchJobService = batchJobService;
     }
 
     @Override
@@ -62,10 +79,19 @@ public class AimodelHubPlugin extends BasePlugin {
                     .map(String::valueOf)
                     .orElse(null)));
         });
+        schemeManager.register(BatchJob.class);
         
         // 初始化静态入口
         ChatModelsHolder.init(chatModelFactory);
         ImageModelsHolder.init(imageModelFactory);
+        EmbeddingModelsHolder.init(embeddingModelFactory);
+        VectorIndexesHolder.init(vectorIndexFactory);
+
+        // 后台加载磁盘响应缓存，不阻塞启动
+        diskResponseCache.warmUp();
+
+        // 继续跟踪重启前未结束的离线批处理任务
+        batchJobService.resume();
         
         System.out.println("AI Model Hub 插件启动成功！");
     }
@@ -74,6 +100,7 @@ public class AimodelHubPlugin extends BasePlugin {
     public void stop() {
         // 注销自定义模型
         schemeManager.unregister(schemeManager.get(AiChatLog.class));
+        schemeManager.unregister(schemeManager.get(BatchJob.class));
         System.out.println("AI Model Hub 插件停止！");
     }
 }
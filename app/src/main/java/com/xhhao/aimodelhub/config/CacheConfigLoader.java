@@ -0,0 +1,203 @@
+package com.xhhao.aimodelhub.config;
+
+import com.xhhao.aimodelhub.service.cache.DiskResponseCache;
+import com.xhhao.aimodelhub.service.cache.NearDuplicateCache;
+import com.xhhao.aimodelhub.service.cache.ResponseCache;
+import com.xhhao.aimodelhub.service.common.SingleFlight;
+import com.xhhao.aimodelhub.service.embedding.EmbeddingBatcher;
+import com.xhhao.aimodelhub.service.embedding.EmbeddingCache;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 缓存配置加载器
+ * <p>
+ * 启动时加载相同请求合并、响应缓存（含磁盘缓存）、近似提示词缓存、向量请求合并与向量缓存配置，插件配置变更时刷新
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheConfigLoader {
+
+    private final SettingConfigGetter configGetter;
+    private final SingleFlight singleFlight;
+    private final ResponseCache responseCache;
+    private final NearDuplicateCache nearDuplicateCache;
+    private final DiskResponseCache diskResponseCache;
+    private final EmbeddingBatcher embeddingBatcher;
+    private final EmbeddingCache embeddingCache;
+
+    /**
+     * 插件启动时加载配置
+     */
+    @PostConstruct
+    public void init() {
+        configGetter.getCacheConfig()
+            .subscribe(
+                this::applyConfig,
+                error -> log.warn("加载缓存配置失败，使用默认配置", error)
+            );
+    }
+
+    /**
+     * 插件配置变更时刷新
+     */
+    @EventListener
+    public void onSettingsChanged(SettingConfigGetter.SettingsChangedEvent event) {
+        // 分组被清空时同样应用，各项恢复默认值
+        applyConfig(event.snapshot().cache());
+    }
+
+    private void applyConfig(SettingConfigGetter.CacheConfig group) {
+        var config = group != null ? group : new SettingConfigGetter.CacheConfig();
+        singleFlight.updateConfig(toSingleFlightSettings(config.getSingleFlight()));
+        responseCache.updateConfig(toResponseCacheSettings(config.getResponseCache()));
+        nearDuplicateCache.updateConfig(toNearDuplicateSettings(config.getNearDuplicate()));
+        diskResponseCache.updateConfig(toDiskCacheSettings(config.getDiskCache()));
+        embeddingBatcher.updateConfig(toEmbeddingBatchSettings(config.getEmbeddingBatch()));
+        embeddingCache.updateConfig(toEmbeddingCacheSettings(config.getEmbeddingCache()));
+    }
+
+    /**
+     * 转换为相同请求合并配置（未配置的项使用默认值）
+     */
+    static SingleFlight.SingleFlightSettings toSingleFlightSettings(SettingConfigGetter.SingleFlightConfig config) {
+        SingleFlight.SingleFlightSettings settings = new SingleFlight.SingleFlightSettings();
+        if (config == null) {
+            return settings;
+        }
+        if (config.getEnabled() != null) {
+            settings.setEnabled(config.getEnabled());
+        }
+        if (config.getStreamEnabled() != null) {
+            settings.setStreamEnabled(config.getStreamEnabled());
+        }
+        return settings;
+    }
+
+    /**
+     * 转换为响应缓存配置（未配置或无效的项使用默认值）
+     */
+    static ResponseCache.ResponseCacheSettings toResponseCacheSettings(SettingConfigGetter.ResponseCacheConfig config) {
+        ResponseCache.ResponseCacheSettings settings = new ResponseCache.ResponseCacheSettings();
+        if (config == null) {
+            return settings;
+        }
+        if (config.getEnabled() != null) {
+            settings.setEnabled(config.getEnabled());
+        }
+        if (config.getCacheDeterministic() != null) {
+            settings.setCacheDeterministic(config.getCacheDeterministic());
+        }
+        if (config.getMaxWeightMb() != null && config.getMaxWeightMb() > 0) {
+            settings.setMaxWeightBytes(config.getMaxWeightMb() * 1024L * 1024);
+        }
+        if (config.getExpectedEntries() != null && config.getExpectedEntries() > 0) {
+            settings.setExpectedEntries(config.getExpectedEntries());
+        }
+        if (config.getTtlMinutes() != null && config.getTtlMinutes() > 0) {
+            settings.setTtl(Duration.ofMinutes(config.getTtlMinutes()));
+        }
+        return settings;
+    }
+
+    /**
+     * 转换为近似提示词缓存配置（未配置或无效的项使用默认值）
+     */
+    static NearDuplicateCache.NearDuplicateSettings toNearDuplicateSettings(
+        SettingConfigGetter.NearDuplicateConfig config) {
+        NearDuplicateCache.NearDuplicateSettings settings = new NearDuplicateCache.NearDuplicateSettings();
+        if (config == null) {
+            return settings;
+        }
+        if (config.getEnabled() != null) {
+            settings.setEnabled(config.getEnabled());
+        }
+        if (config.getThreshold() != null && config.getThreshold() > 0 && config.getThreshold() <= 1) {
+            settings.setThreshold(config.getThreshold());
+        }
+        if (config.getShingleSize() != null && config.getShingleSize() > 0) {
+            settings.setShingleSize(config.getShingleSize());
+        }
+        if (config.getMaxWeightMb() != null && config.getMaxWeightMb() > 0) {
+            settings.setMaxWeightBytes(config.getMaxWeightMb() * 1024L * 1024);
+        }
+        if (config.getTtlMinutes() != null && config.getTtlMinutes() > 0) {
+            settings.setTtl(Duration.ofMinutes(config.getTtlMinutes()));
+        }
+        return settings;
+    }
+
+    /**
+     * 转换为磁盘缓存配置（未配置或无效的项使用默认值）
+     */
+    static DiskResponseCache.DiskCacheSettings toDiskCacheSettings(SettingConfigGetter.DiskCacheConfig config) {
+        DiskResponseCache.DiskCacheSettings settings = new DiskResponseCache.DiskCacheSettings();
+        if (config == null) {
+            return settings;
+        }
+        if (config.getEnabled() != null) {
+            settings.setEnabled(config.getEnabled());
+        }
+        if (config.getMaxSizeMb() != null && config.getMaxSizeMb() > 0) {
+            settings.setMaxSizeBytes(config.getMaxSizeMb() * 1024L * 1024);
+        }
+        // 分段整体映射到内存，单个分段不超过 1GB
+        if (config.getSegmentSizeMb() != null && config.getSegmentSizeMb() > 0) {
+            settings.setSegmentSizeBytes(Math.min(config.getSegmentSizeMb(), 1024) * 1024L * 1024);
+        }
+        if (config.getCompactionIntervalMinutes() != null && config.getCompactionIntervalMinutes() > 0) {
+            settings.setCompactionInterval(Duration.ofMinutes(config.getCompactionIntervalMinutes()));
+        }
+        return settings;
+    }
+
+    /**
+     * 转换为向量请求合并配置（未配置或无效的项使用默认值）
+     */
+    static EmbeddingBatcher.EmbeddingBatchSettings toEmbeddingBatchSettings(
+        SettingConfigGetter.EmbeddingBatchConfig config) {
+        EmbeddingBatcher.EmbeddingBatchSettings settings = new EmbeddingBatcher.EmbeddingBatchSettings();
+        if (config == null) {
+            return settings;
+        }
+        if (config.getEnabled() != null) {
+            settings.setEnabled(config.getEnabled());
+        }
+        if (config.getMaxBatchSize() != null && config.getMaxBatchSize() > 0) {
+            settings.setMaxBatchSize(config.getMaxBatchSize());
+        }
+        if (config.getMaxDelayMs() != null && config.getMaxDelayMs() > 0) {
+            settings.setMaxDelay(Duration.ofMillis(config.getMaxDelayMs()));
+        }
+        return settings;
+    }
+
+    /**
+     * 转换为向量缓存配置（未配置或无效的项使用默认值）
+     */
+    static EmbeddingCache.EmbeddingCacheSettings toEmbeddingCacheSettings(
+        SettingConfigGetter.EmbeddingCacheConfig config) {
+        EmbeddingCache.EmbeddingCacheSettings settings = new EmbeddingCache.EmbeddingCacheSettings();
+        if (config == null) {
+            return settings;
+        }
+        if (config.getEnabled() != null) {
+            settings.setEnabled(config.getEnabled());
+        }
+        // 缓存文件整体映射到内存，单个文件不超过 1GB
+        if (config.getMaxSizeMb() != null && config.getMaxSizeMb() > 0) {
+            settings.setMaxSizeBytes(Math.min(config.getMaxSizeMb(), 1024) * 1024L * 1024);
+        }
+        return settings;
+    }
+}
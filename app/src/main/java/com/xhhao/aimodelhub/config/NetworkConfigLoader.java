@@ -0,0 +1,129 @@
+package com.xhhao.aimodelhub.config;
+
+import com.xhhao.aimodelhub.service.transport.HttpTransport;
+import com.xhhao.aimodelhub.service.transport.StreamCoalescer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 网络配置加载器
+ * <p>
+ * 启动时加载连接池、代理与流式输出合并配置，插件配置变更时刷新
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NetworkConfigLoader {
+
+    private final SettingConfigGetter configGetter;
+    private final HttpTransport httpTransport;
+    private final StreamCoalescer streamCoalescer;
+
+    /**
+     * 插件启动时加载配置
+     */
+    @PostConstruct
+    public void init() {
+        loadConfig();
+    }
+
+    /**
+     * 插件配置变更时刷新
+     */
+    @EventListener
+    public void onSettingsChanged(SettingConfigGetter.SettingsChangedEvent event) {
+        // 分组被清空时同样应用，各项恢复默认值
+        applyConfig(event.snapshot().network());
+    }
+
+    /**
+     * 加载配置并更新连接池
+     */
+    private void loadConfig() {
+        configGetter.getNetworkConfig()
+            .subscribe(
+                this::applyConfig,
+                error -> log.warn("加载网络配置失败，使用默认配置", error)
+            );
+    }
+
+    /**
+     * 更新连接池与流式输出合并配置
+     */
+    private void applyConfig(SettingConfigGetter.NetworkConfig config) {
+        httpTransport.updateConfig(toPoolSettings(config));
+        streamCoalescer.updateConfig(toCoalesceSettings(config != null ? config.getStream() : null));
+    }
+
+    /**
+     * 转换为连接池配置（未配置的项使用默认值）
+     */
+    static HttpTransport.PoolSettings toPoolSettings(SettingConfigGetter.NetworkConfig config) {
+        HttpTransport.PoolSettings settings = HttpTransport.PoolSettings.defaults();
+        if (config == null) {
+            return settings;
+        }
+        var pool = config.getPool();
+        if (pool != null) {
+            if (pool.getMaxConnections() != null && pool.getMaxConnections() > 0) {
+                settings.setMaxConnections(pool.getMaxConnections());
+            }
+            if (pool.getPendingAcquireMaxCount() != null && pool.getPendingAcquireMaxCount() > 0) {
+                settings.setPendingAcquireMaxCount(pool.getPendingAcquireMaxCount());
+            }
+            if (pool.getPendingAcquireTimeoutSeconds() != null && pool.getPendingAcquireTimeoutSeconds() > 0) {
+                settings.setPendingAcquireTimeout(Duration.ofSeconds(pool.getPendingAcquireTimeoutSeconds()));
+            }
+            if (pool.getMaxIdleTimeSeconds() != null && pool.getMaxIdleTimeSeconds() > 0) {
+                settings.setMaxIdleTime(Duration.ofSeconds(pool.getMaxIdleTimeSeconds()));
+            }
+            if (pool.getMaxLifeTimeSeconds() != null && pool.getMaxLifeTimeSeconds() > 0) {
+                settings.setMaxLifeTime(Duration.ofSeconds(pool.getMaxLifeTimeSeconds()));
+            }
+            if (pool.getConnectTimeoutSeconds() != null && pool.getConnectTimeoutSeconds() > 0) {
+                settings.setConnectTimeout(Duration.ofSeconds(pool.getConnectTimeoutSeconds()));
+            }
+            if (pool.getKeepAlive() != null) {
+                settings.setKeepAlive(pool.getKeepAlive());
+            }
+        }
+        var proxy = config.getProxy();
+        if (proxy != null && Boolean.TRUE.equals(proxy.getEnabled())) {
+            settings.setProxyHost(proxy.getHost());
+            settings.setProxyPort(proxy.getPort());
+        }
+        return settings;
+    }
+
+    /**
+     * 转换为流式输出合并配置（未配置的项使用默认值）
+     */
+    static StreamCoalescer.CoalesceSettings toCoalesceSettings(SettingConfigGetter.StreamConfig config) {
+        StreamCoalescer.CoalesceSettings settings = new StreamCoalescer.CoalesceSettings();
+        if (config == null) {
+            return settings;
+        }
+        if (config.getCoalesceEnabled() != null) {
+            settings.setEnabled(config.getCoalesceEnabled());
+        }
+        if (config.getMaxBytes() != null && config.getMaxBytes() > 0) {
+            settings.setMaxBytes(config.getMaxBytes());
+        }
+        if (config.getMaxDelayMillis() != null && config.getMaxDelayMillis() > 0) {
+            settings.setMaxDelay(Duration.ofMillis(config.getMaxDelayMillis()));
+        }
+        if (config.getMaxPendingChunks() != null && config.getMaxPendingChunks() > 0) {
+            settings.setMaxPendingChunks(config.getMaxPendingChunks());
+        }
+        return settings;
+    }
+}
@@ -4,13 +4,13 @@ import com.xhhao.aimodelhub.service.common.RateLimiterService;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
 /**
  * 限流配置加载器
  * <p>
- * 启动时加载配置，定期刷新配置
+ * 启动时加载配置，插件配置变更时刷新
  * </p>
  *
  * @author Handsome
@@ -33,11 +33,12 @@ public class RateLimitConfigLoader {
     }
 
     /**
-     * 定期刷新配置（每分钟）
+     * 插件配置变更时刷新
      */
-    @Scheduled(fixedRate = 60000)
-    public void refreshConfig() {
-        loadConfig();
+    @EventListener
+    public void onSettingsChanged(SettingConfigGetter.SettingsChangedEvent event) {
+        // 分组被清空时同样应用，各项恢复默认值
+        applyConfig(event.snapshot().security());
     }
 
     /**
@@ -46,22 +47,26 @@ public class RateLimitConfigLoader {
     private void loadConfig() {
         configGetter.getSecurityConfig()
             .subscribe(
-                config -> {
-                    var rateLimit = config.getRateLimit();
-                    if (rateLimit == null) {
-                        log.debug("限流配置为空，使用默认配置");
-                        return;
-                    }
-                    
-                    boolean enabled = Boolean.TRUE.equals(rateLimit.getEnabled());
-                    int maxPerMinute = rateLimit.getMaxRequestsPerMinute() != null 
-                        ? rateLimit.getMaxRequestsPerMinute() : 60;
-                    int maxPerDay = rateLimit.getMaxRequestsPerDay() != null 
-                        ? rateLimit.getMaxRequestsPerDay() : 1000;
-                    
-                    rateLimiterService.updateConfig(enabled, maxPerMinute, maxPerDay);
-                },
+                this::applyConfig,
                 error -> log.warn("加载限流配置失败，使用默认配置", error)
             );
     }
+
+    /**
+     * 更新限流服务
+     */
+    private void applyConfig(SettingConfigGetter.SecurityConfig config) {
+        var rateLimit = config != null ? config.getRateLimit() : null;
+        if (rateLimit == null) {
+            rateLimit = new SettingConfigGetter.RateLimitConfig();
+        }
+
+        boolean enabled = Boolean.TRUE.equals(rateLimit.getEnabled());
+        int maxPerMinute = rateLimit.getMaxRequestsPerMinute() != null
+            ? rateLimit.getMaxRequestsPerMinute() : 60;
+        int maxPerDay = rateLimit.getMaxRequestsPerDay() != null
+            ? rateLimit.getMaxRequestsPerDay() : 1000;
+
+        rateLimiterService.updateConfig(enabled, maxPerMinute, maxPerDay);
+    }
 }
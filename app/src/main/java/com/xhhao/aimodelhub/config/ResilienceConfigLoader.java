@@ -0,0 +1,211 @@
+package com.xhhao.aimodelhub.config;
+
+import com.xhhao.aimodelhub.service.resilience.AdaptiveConcurrencyLimiter;
+import com.xhhao.aimodelhub.service.resilience.CircuitBreakerRegistry;
+import com.xhhao.aimodelhub.service.resilience.HedgingPolicy;
+import com.xhhao.aimodelhub.service.resilience.PluginBulkhead;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 容错配置加载器
+ * <p>
+ * 启动时加载对冲请求、熔断器、并发限制、插件并发隔离等容错配置，插件配置变更时刷新
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ResilienceConfigLoader {
+
+    private final SettingConfigGetter configGetter;
+    private final HedgingPolicy hedgingPolicy;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final PluginBulkhead pluginBulkhead;
+
+    /**
+     * 插件启动时加载配置
+     */
+    @PostConstruct
+    public void init() {
+        configGetter.getResilienceConfig()
+            .subscribe(
+                this::applyConfig,
+                error -> log.warn("加载容错配置失败，使用默认配置", error)
+            );
+    }
+
+    /**
+     * 插件配置变更时刷新
+     */
+    @EventListener
+    public void onSettingsChanged(SettingConfigGetter.SettingsChangedEvent event) {
+        // 分组被清空时同样应用，各项恢复默认值
+        applyConfig(event.snapshot().resilience());
+    }
+
+    private void applyConfig(SettingConfigGetter.ResilienceConfig group) {
+        var config = group != null ? group : new SettingConfigGetter.ResilienceConfig();
+        hedgingPolicy.updateConfig(toHedgingSettings(config.getHedging()));
+        circuitBreakerRegistry.updateConfig(toCircuitBreakerSettings(config.getCircuitBreaker()));
+        concurrencyLimiter.updateConfig(toLimiterSettings(config.getConcurrency()));
+        pluginBulkhead.updateConfig(toBulkheadSettings(config.getBulkhead()));
+    }
+
+    /**
+     * 转换为对冲配置（未配置的项使用默认值）
+     */
+    static HedgingPolicy.HedgingSettings toHedgingSettings(SettingConfigGetter.HedgingConfig config) {
+        HedgingPolicy.HedgingSettings settings = new HedgingPolicy.HedgingSettings();
+        if (config == null) {
+            return settings;
+        }
+        settings.setEnabled(Boolean.TRUE.equals(config.getEnabled()));
+        if (config.getDelayMillis() != null && config.getDelayMillis() > 0) {
+            settings.setDelay(Duration.ofMillis(config.getDelayMillis()));
+        }
+        if (config.getBudgetPercent() != null && config.getBudgetPercent() >= 0) {
+            settings.setBudgetPercent(config.getBudgetPercent());
+        }
+        return settings;
+    }
+
+    /**
+     * 转换为熔断器配置（未配置或无效的项使用默认值）
+     */
+    static CircuitBreakerRegistry.CircuitBreakerSettings toCircuitBreakerSettings(
+        SettingConfigGetter.CircuitBreakerConfig config) {
+        CircuitBreakerRegistry.CircuitBreakerSettings settings = new CircuitBreakerRegistry.CircuitBreakerSettings();
+        if (config == null) {
+            return settings;
+        }
+        if (config.getEnabled() != null) {
+            settings.setEnabled(config.getEnabled());
+        }
+        if (isPositive(config.getWindowSize())) {
+            settings.setWindowSize(config.getWindowSize());
+        }
+        if (isPositive(config.getMinimumCalls())) {
+            settings.setMinimumCalls(config.getMinimumCalls());
+        }
+        if (isPercent(config.getFailureRateThreshold())) {
+            settings.setFailureRateThreshold(config.getFailureRateThreshold());
+        }
+        if (isPositive(config.getSlowCallSeconds())) {
+            settings.setSlowCallDuration(Duration.ofSeconds(config.getSlowCallSeconds()));
+        }
+        if (isPercent(config.getSlowCallRateThreshold())) {
+            settings.setSlowCallRateThreshold(config.getSlowCallRateThreshold());
+        }
+        if (isPositive(config.getOpenSeconds())) {
+            settings.setOpenDuration(Duration.ofSeconds(config.getOpenSeconds()));
+        }
+        if (isPositive(config.getHalfOpenCalls())) {
+            settings.setHalfOpenCalls(config.getHalfOpenCalls());
+        }
+        return settings;
+    }
+
+    /**
+     * 转换为并发限制配置（未配置或无效的项使用默认值）
+     */
+    static AdaptiveConcurrencyLimiter.LimiterSettings toLimiterSettings(SettingConfigGetter.ConcurrencyConfig config) {
+        AdaptiveConcurrencyLimiter.LimiterSettings settings = new AdaptiveConcurrencyLimiter.LimiterSettings();
+        if (config == null) {
+            return settings;
+        }
+        if (config.getEnabled() != null) {
+            settings.setEnabled(config.getEnabled());
+        }
+        if (isPositive(config.getMinLimit())) {
+            settings.setMinLimit(config.getMinLimit());
+        }
+        if (isPositive(config.getMaxLimit())) {
+            settings.setMaxLimit(Math.max(settings.getMinLimit(), config.getMaxLimit()));
+        }
+        if (isPositive(config.getInitialLimit())) {
+            settings.setInitialLimit(config.getInitialLimit());
+        }
+        settings.setInitialLimit(Math.max(settings.getMinLimit(),
+            Math.min(settings.getMaxLimit(), settings.getInitialLimit())));
+        if (config.getMaxQueue() != null && config.getMaxQueue() >= 0) {
+            settings.setMaxQueue(config.getMaxQueue());
+        }
+        if (isPositive(config.getMaxWaitSeconds())) {
+            settings.setMaxWait(Duration.ofSeconds(config.getMaxWaitSeconds()));
+        }
+        return settings;
+    }
+
+    /**
+     * 转换为插件并发隔离配置（未配置或无效的项使用默认值）
+     */
+    static PluginBulkhead.BulkheadSettings toBulkheadSettings(SettingConfigGetter.BulkheadConfig config) {
+        PluginBulkhead.BulkheadSettings settings = new PluginBulkhead.BulkheadSettings();
+        if (config == null) {
+            return settings;
+        }
+        if (config.getEnabled() != null) {
+            settings.setEnabled(config.getEnabled());
+        }
+        if (isPositive(config.getMaxConcurrent())) {
+            settings.setMaxConcurrent(config.getMaxConcurrent());
+        }
+        if (isPositive(config.getUnknownMaxConcurrent())) {
+            settings.setUnknownMaxConcurrent(config.getUnknownMaxConcurrent());
+        }
+        if (config.getMaxQueue() != null && config.getMaxQueue() >= 0) {
+            settings.setMaxQueue(config.getMaxQueue());
+        }
+        if (isPositive(config.getMaxWaitSeconds())) {
+            settings.setMaxWait(Duration.ofSeconds(config.getMaxWaitSeconds()));
+        }
+        settings.setPluginLimits(parsePluginLimits(config.getPluginLimits()));
+        return settings;
+    }
+
+    /**
+     * 解析插件并发数（每行一个，格式：插件名称=并发数），忽略格式错误的行
+     */
+    static Map<String, Integer> parsePluginLimits(String text) {
+        if (text == null || text.isBlank()) {
+            return Map.of();
+        }
+        Map<String, Integer> limits = new HashMap<>();
+        text.lines().forEach(line -> {
+            int separator = line.indexOf('=');
+            if (separator <= 0) {
+                return;
+            }
+            String plugin = line.substring(0, separator).trim();
+            try {
+                int limit = Integer.parseInt(line.substring(separator + 1).trim());
+                if (!plugin.isEmpty() && limit > 0) {
+                    limits.put(plugin, limit);
+                }
+            } catch (NumberFormatException e) {
+                log.warn("忽略无效的插件并发配置: {}", line);
+            }
+        });
+        return Map.copyOf(limits);
+    }
+
+    private static boolean isPositive(Integer value) {
+        return value != null && value > 0;
+    }
+
+    private static boolean isPercent(Integer value) {
+        return value != null && value > 0 && value <= 100;
+    }
+}
@@ -1,41 +1,189 @@
 package com.xhhao.aimodelhub.config;
 
+import jakarta.annotation.PostConstruct;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
+import run.halo.app.plugin.PluginConfigUpdatedEvent;
 import run.halo.app.plugin.ReactiveSettingFetcher;
 
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
 /**
  * 插件配置获取
+ * <p>
+ * 配置以快照形式缓存在内存中，读取时只是一次 volatile 读。
+ * 快照在插件设置变更事件时刷新，并定期轮询兜底；内容变化时版本号递增，
+ * 同时发布 {@link SettingsChangedEvent}，下游缓存可据此失效或以版本号作为键。
+ * </p>
  */
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class SettingConfigGetter {
 
     private final ReactiveSettingFetcher settingFetcher;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    /**
+     * 插件启动时加载配置
+     */
+    @PostConstruct
+    public void init() {
+        refresh().subscribe(null, error -> log.warn("加载插件配置失败", error));
+    }
+
+    /**
+     * 插件设置变更时刷新快照
+     */
+    @EventListener(PluginConfigUpdatedEvent.class)
+    public void onPluginConfigUpdated() {
+        refresh().subscribe(null, error -> log.warn("刷新插件配置失败", error));
+    }
+
+    /**
+     * 定期刷新快照（每分钟，兜底未送达的变更事件）
+     */
+    @Scheduled(fixedRate = 60000)
+    public void pollConfig() {
+        refresh().subscribe(null, error -> log.warn("轮询插件配置失败", error));
+    }
+
+    /**
+     * 获取当前配置快照，尚未加载时先加载
+     */
+    public Mono<Snapshot> getSnapshot() {
+        Snapshot current = snapshot.get();
+        return current != null ? Mono.just(current) : refresh();
+    }
+
+    /**
+     * 当前配置版本号（尚未加载时为 0）
+     */
+    public long version() {
+        Snapshot current = snapshot.get();
+        return current != null ? current.version() : 0;
+    }
 
     /**
      * 获取文字模型配置
      */
     public Mono<TextModelConfig> getTextModelConfig() {
-        return settingFetcher.fetch("text", TextModelConfig.class);
+        return getSnapshot().flatMap(s -> Mono.justOrEmpty(s.text()));
     }
 
     /**
      * 获取图像模型配置
      */
     public Mono<ImageModelConfig> getImageModelConfig() {
-        return settingFetcher.fetch("image", ImageModelConfig.class);
+        return getSnapshot().flatMap(s -> Mono.justOrEmpty(s.image()));
     }
 
     /**
      * 获取安全配置
      */
     public Mono<SecurityConfig> getSecurityConfig() {
-        return settingFetcher.fetch("security", SecurityConfig.class);
+        return getSnapshot().flatMap(s -> Mono.justOrEmpty(s.security()));
+    }
+
+    /**
+     * 获取网络配置
+     */
+    public Mono<NetworkConfig> getNetworkConfig() {
+        return getSnapshot().flatMap(s -> Mono.justOrEmpty(s.network()));
+    }
+
+    /**
+     * 获取容错配置
+     */
+    public Mono<ResilienceConfig> getResilienceConfig() {
+        return getSnapshot().flatMap(s -> Mono.justOrEmpty(s.resilience()));
+    }
+
+    /**
+     * 获取缓存配置
+     */
+    public Mono<CacheConfig> getCacheConfig() {
+        return getSnapshot().flatMap(s -> Mono.justOrEmpty(s.cache()));
+    }
+
+    /**
+     * 从设置中重新读取全部分组，内容变化时替换快照并发布事件
+     */
+    public Mono<Snapshot> refresh() {
+        return Mono.zip(
+                fetch("text", TextModelConfig.class),
+                fetch("image", ImageModelConfig.class),
+                fetch("security", SecurityConfig.class),
+                fetch("network", NetworkConfig.class),
+                fetch("resilience", ResilienceConfig.class),
+                fetch("cache", CacheConfig.class))
+            .map(groups -> {
+                Snapshot loaded = new Snapshot(0, groups.getT1().orElse(null), groups.getT2().orElse(null),
+                    groups.getT3().orElse(null), groups.getT4().orElse(null), groups.getT5().orElse(null),
+                    groups.getT6().orElse(null));
+                while (true) {
+                    Snapshot previous = snapshot.get();
+                    if (previous != null && previous.sameContent(loaded)) {
+                        return previous;
+                    }
+                    Snapshot current = loaded.withVersion(previous != null ? previous.version() + 1 : 1);
+                    if (snapshot.compareAndSet(previous, current)) {
+                        log.debug("插件配置已更新，版本: {}", current.version());
+                        eventPublisher.publishEvent(new SettingsChangedEvent(current));
+                        return current;
+                    }
+                }
+            });
+    }
+
+    private <T> Mono<Optional<T>> fetch(String group, Class<T> type) {
+        return settingFetcher.fetch(group, type)
+            .map(Optional::of)
+            .defaultIfEmpty(Optional.empty());
+    }
+
+    /**
+     * 配置快照（整体替换，不在原对象上修改）
+     * <p>
+     * 各分组是设置读取时反序列化出的普通对象，由所有读取方共享且不做拷贝，只能读取，不得修改；
+     * 需要调整配置值时先转换为组件自己的配置对象（见各 ConfigLoader）。
+     * </p>
+     *
+     * @param version 版本号，内容变化时递增
+     */
+    public record Snapshot(long version, TextModelConfig text, ImageModelConfig image,
+                           SecurityConfig security, NetworkConfig network, ResilienceConfig resilience,
+                           CacheConfig cache) {
+
+        Snapshot withVersion(long newVersion) {
+            return new Snapshot(newVersion, text, image, security, network, resilience, cache);
+        }
+
+        boolean sameContent(Snapshot other) {
+            return Objects.equals(text, other.text)
+                && Objects.equals(image, other.image)
+                && Objects.equals(security, other.security)
+                && Objects.equals(network, other.network)
+                && Objects.equals(resilience, other.resilience)
+                && Objects.equals(cache, other.cache);
+        }
     }
 
+    /**
+     * 配置变更事件（仅在快照内容变化时发布）
+     */
+    public record SettingsChangedEvent(Snapshot snapshot) {}
+
     @Data
     public static class TextModelConfig {
         private OpenAiConfig openai;
@@ -54,13 +202,37 @@ public class SettingConfigGetter {
     public static class OpenAiConfig {
         private String baseUrl;
         private String apiKey;
+        /**
+         * 备用 API Key（每行一个）
+         */
+        private String apiKeys;
         private String model;
+        /**
+         * 向量模型（为空时使用供应商默认向量模型）
+         */
+        private String embeddingModel;
+        /**
+         * 向量维度（为空时使用模型默认维度，仅部分模型支持）
+         */
+        private Integer embeddingDimensions;
     }
 
     @Data
     public static class SiliconFlowConfig {
         private String apiKey;
+        /**
+         * 备用 API Key（每行一个）
+         */
+        private String apiKeys;
         private String model;
+        /**
+         * 向量模型（为空时使用供应商默认向量模型）
+         */
+        private String embeddingModel;
+        /**
+         * 向量维度（为空时使用模型默认维度，仅部分模型支持）
+         */
+        private Integer embeddingDimensions;
     }
 
     @Data
@@ -74,7 +246,19 @@ public class SettingConfigGetter {
     @Data
     public static class ZhipuConfig {
         private String apiKey;
+        /**
+         * 备用 API Key（每行一个）
+         */
+        private String apiKeys;
         private String model;
+        /**
+         * 向量模型（为空时使用供应商默认向量模型）
+         */
+        private String embeddingModel;
+        /**
+         * 向量维度（为空时使用模型默认维度，仅部分模型支持）
+         */
+        private Integer embeddingDimensions;
     }
 
     @Data
@@ -102,4 +286,152 @@ public class SettingConfigGetter {
         private Integer maxRequestsPerMinute;
         private Integer maxRequestsPerDay;
     }
+
+    @Data
+    public static class NetworkConfig {
+        private ConnectionPoolConfig pool;
+        private ProxyConfig proxy;
+        private StreamConfig stream;
+    }
+
+    @Data
+    public static class ConnectionPoolConfig {
+        private Integer maxConnections;
+        private Integer pendingAcquireMaxCount;
+        private Integer pendingAcquireTimeoutSeconds;
+        private Integer maxIdleTimeSeconds;
+        private Integer maxLifeTimeSeconds;
+        private Integer connectTimeoutSeconds;
+        private Boolean keepAlive;
+    }
+
+    @Data
+    public static class ProxyConfig {
+        private Boolean enabled;
+        private String host;
+        private Integer port;
+    }
+
+    @Data
+    public static class StreamConfig {
+        private Boolean coalesceEnabled;
+        private Integer maxBytes;
+        private Integer maxDelayMillis;
+        private Integer maxPendingChunks;
+    }
+
+    @Data
+    public static class ResilienceConfig {
+        private HedgingConfig hedging;
+        private CircuitBreakerConfig circuitBreaker;
+        private FailoverConfig failover;
+        private ConcurrencyConfig concurrency;
+        private BulkheadConfig bulkhead;
+    }
+
+    @Data
+    public static class HedgingConfig {
+        private Boolean enabled;
+        private Integer delayMillis;
+        private Integer budgetPercent;
+    }
+
+    @Data
+    public static class CircuitBreakerConfig {
+        private Boolean enabled;
+        private Integer windowSize;
+        private Integer minimumCalls;
+        private Integer failureRateThreshold;
+        private Integer slowCallSeconds;
+        private Integer slowCallRateThreshold;
+        private Integer openSeconds;
+        private Integer halfOpenCalls;
+    }
+
+    @Data
+    public static class FailoverConfig {
+        /**
+         * 故障转移链（供应商名称，逗号分隔）
+         */
+        private String chain;
+    }
+
+    @Data
+    public static class ConcurrencyConfig {
+        private Boolean enabled;
+        private Integer initialLimit;
+        private Integer minLimit;
+        private Integer maxLimit;
+        private Integer maxQueue;
+        private Integer maxWaitSeconds;
+    }
+
+    @Data
+    public static class BulkheadConfig {
+        private Boolean enabled;
+        private Integer maxConcurrent;
+        private Integer unknownMaxConcurrent;
+        private Integer maxQueue;
+        private Integer maxWaitSeconds;
+
+        /**
+         * 单独指定的插件并发数（每行一个，格式：插件名称=并发数）
+         */
+        private String pluginLimits;
+    }
+
+    @Data
+    public static class CacheConfig {
+        private SingleFlightConfig singleFlight;
+        private ResponseCacheConfig responseCache;
+        private NearDuplicateConfig nearDuplicate;
+        private DiskCacheConfig diskCache;
+        private EmbeddingBatchConfig embeddingBatch;
+        private EmbeddingCacheConfig embeddingCache;
+    }
+
+    @Data
+    public static class SingleFlightConfig {
+        private Boolean enabled;
+        private Boolean streamEnabled;
+    }
+
+    @Data
+    public static class ResponseCacheConfig {
+        private Boolean enabled;
+        private Boolean cacheDeterministic;
+        private Integer maxWeightMb;
+        private Integer expectedEntries;
+        private Integer ttlMinutes;
+    }
+
+    @Data
+    public static class NearDuplicateConfig {
+        private Boolean enabled;
+        private Double threshold;
+        private Integer shingleSize;
+        private Integer maxWeightMb;
+        private Integer ttlMinutes;
+    }
+
+    @Data
+    public static class DiskCacheConfig {
+        private Boolean enabled;
+        private Integer maxSizeMb;
+        private Integer segmentSizeMb;
+        private Integer compactionIntervalMinutes;
+    }
+
+    @Data
+    public static class EmbeddingBatchConfig {
+        private Boolean enabled;
+        private Integer maxBatchSize;
+        private Integer maxDelayMs;
+    }
+
+    @Data
+    public static class EmbeddingCacheConfig {
+        private Boolean enabled;
+        private Integer maxSizeMb;
+    }
 }
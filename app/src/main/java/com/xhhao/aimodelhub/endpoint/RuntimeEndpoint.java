@@ -0,0 +1,273 @@
+package com.xhhao.aimodelhub.endpoint;
+
+import com.xhhao.aimodelhub.api.BatchJobStatus;
+import com.xhhao.aimodelhub.service.batch.BatchJobService;
+import com.xhhao.aimodelhub.service.cache.DiskResponseCache;
+import com.xhhao.aimodelhub.service.cache.NearDuplicateCache;
+import com.xhhao.aimodelhub.service.cache.ResponseCache;
+import com.xhhao.aimodelhub.service.common.SingleFlight;
+import com.xhhao.aimodelhub.service.common.StreamLatencyRecorder;
+import com.xhhao.aimodelhub.service.embedding.EmbeddingBatcher;
+import com.xhhao.aimodelhub.service.embedding.EmbeddingCache;
+import com.xhhao.aimodelhub.service.resilience.AdaptiveConcurrencyLimiter;
+import com.xhhao.aimodelhub.service.resilience.ApiKeyPool;
+import com.xhhao.aimodelhub.service.resilience.CircuitBreakerRegistry;
+import com.xhhao.aimodelhub.service.resilience.HedgingPolicy;
+import com.xhhao.aimodelhub.service.resilience.PluginBulkhead;
+import com.xhhao.aimodelhub.service.resilience.UpstreamCallRecorder;
+import com.xhhao.aimodelhub.service.transport.HttpTransport;
+import com.xhhao.aimodelhub.service.vector.VectorIndexService;
+import lombok.RequiredArgsConstructor;
+import org.springdoc.webflux.core.fn.SpringdocRouteBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import run.halo.app.core.extension.endpoint.CustomEndpoint;
+import run.halo.app.extension.GroupVersion;
+
+/**
+ * 运行时状态 API 端点
+ * <p>
+ * 暴露连接池等运行时指标，便于排查上游调用问题
+ * </p>
+ *
+ * @author Handsome
+ */
+@Component
+@RequiredArgsConstructor
+public class RuntimeEndpoint implements CustomEndpoint {
+
+    private final HttpTransport httpTransport;
+    private final UpstreamCallRecorder callRecorder;
+    private final HedgingPolicy hedgingPolicy;
+    private final ApiKeyPool apiKeyPool;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final PluginBulkhead pluginBulkhead;
+    private final StreamLatencyRecorder streamLatencyRecorder;
+    private final SingleFlight singleFlight;
+    private final ResponseCache responseCache;
+    private final NearDuplicateCache nearDuplicateCache;
+    private final DiskResponseCache diskResponseCache;
+    private final BatchJobService batchJobService;
+    private final EmbeddingBatcher embeddingBatcher;
+    private final EmbeddingCache embeddingCache;
+    private final VectorIndexService vectorIndexService;
+
+    @Override
+    public RouterFunction<ServerResponse> endpoint() {
+        var tag = "RuntimeV1alpha1Console";
+        return SpringdocRouteBuilder.route()
+            .GET("/runtime/pools", this::getPoolStats,
+                builder -> builder.operationId("GetConnectionPoolStats")
+                    .tag(tag)
+                    .description("获取连接池指标（活跃/空闲/等待连接数）"))
+            .GET("/runtime/calls", this::getCallStats,
+                builder -> builder.operationId("GetUpstreamCallStats")
+                    .tag(tag)
+                    .description("获取上游调用统计（重试次数、请求放大系数）"))
+            .GET("/runtime/hedging", this::getHedgingStats,
+                builder -> builder.operationId("GetHedgingStats")
+                    .tag(tag)
+                    .description("获取对冲请求统计（已发出/胜出/预算拒绝次数、各模型 p95 耗时）"))
+            .GET("/runtime/keys", this::getApiKeyStats,
+                builder -> builder.operationId("GetApiKeyStats")
+                    .tag(tag)
+                    .description("获取多密钥调度状态（进行中请求数、剩余额度、停用时间，密钥已脱敏）"))
+            .GET("/runtime/breakers", this::getBreakerStats,
+                builder -> builder.operationId("GetCircuitBreakerStats")
+                    .tag(tag)
+                    .description("获取各模型熔断器状态（状态、失败率、慢调用率、快速失败次数）"))
+            .GET("/runtime/limiters", this::getLimiterStats,
+                builder -> builder.operationId("GetConcurrencyLimiterStats")
+                    .tag(tag)
+                    .description("获取各模型自适应并发限制（当前限制值、进行中请求数、排队数）"))
+            .GET("/runtime/bulkheads", this::getBulkheadStats,
+                builder -> builder.operationId("GetPluginBulkheadStats")
+                    .tag(tag)
+                    .description("获取各调用方插件的并发占用（并发上限、进行中调用数、排队数）"))
+            .GET("/runtime/streams", this::getStreamLatencyStats,
+                builder -> builder.operationId("GetStreamLatencyStats")
+                    .tag(tag)
+                    .description("获取各模型流式调用延迟分布（首字延迟、生成耗时、最大片段间隔、生成速度）"))
+            .GET("/runtime/singleflight", this::getSingleFlightStats,
+                builder -> builder.operationId("GetSingleFlightStats")
+                    .tag(tag)
+                    .description("获取相同请求合并状态（进行中的请求数、累计合并的调用数）"))
+            .GET("/runtime/cache", this::getResponseCacheStats,
+                builder -> builder.operationId("GetResponseCacheStats")
+                    .tag(tag)
+                    .description("获取响应缓存状态（条目数、内存占用、命中率、淘汰次数）"))
+            .GET("/runtime/cache/similar", this::getNearDuplicateCacheStats,
+                builder -> builder.operationId("GetNearDuplicateCacheStats")
+                    .tag(tag)
+                    .description("获取近似提示词缓存状态（条目数、内存占用、命中率、命中平均相似度）"))
+            .GET("/runtime/cache/disk", this::getDiskCacheStats,
+                builder -> builder.operationId("GetDiskCacheStats")
+                    .tag(tag)
+                    .description("获取磁盘响应缓存状态（加载状态、条目数、分段数、磁盘占用、整理次数）"))
+            .DELETE("/runtime/cache", this::clearResponseCache,
+                builder -> builder.operationId("ClearResponseCache")
+                    .tag(tag)
+                    .description("清空响应缓存（含磁盘缓存与近似提示词缓存）"))
+            .GET("/runtime/batch-jobs", this::listBatchJobs,
+                builder -> builder.operationId("ListBatchJobs")
+                    .tag(tag)
+                    .description("列出离线批处理任务（阶段、已处理与失败项数、最近一次错误）"))
+            .GET("/runtime/embeddings", this::getEmbeddingBatchStats,
+                builder -> builder.operationId("GetEmbeddingBatchStats")
+                    .tag(tag)
+                    .description("获取向量请求合并状态（请求数、上游请求数、平均批次大小、去重条数）"))
+            .GET("/runtime/embeddings/cache", this::getEmbeddingCacheStats,
+                builder -> builder.operationId("GetEmbeddingCacheStats")
+                    .tag(tag)
+                    .description("获取向量缓存状态（命中率、写入与覆盖条数、各模型缓存文件的条数与容量）"))
+            .DELETE("/runtime/embeddings/cache", this::clearEmbeddingCache,
+                builder -> builder.operationId("ClearEmbeddingCache")
+                    .tag(tag)
+                    .description("清空向量缓存（删除全部缓存文件）"))
+            .GET("/runtime/vector-indexes", this::listVectorIndexes,
+                builder -> builder.operationId("ListVectorIndexes")
+                    .tag(tag)
+                    .description("列出已加载的向量索引（维度、向量条数、已删除节点数、是否有未保存的修改）"))
+            .build();
+    }
+
+    @Override
+    public GroupVersion groupVersion() {
+        return GroupVersion.parseAPIVersion("console.api.aimodel-hub.xhhao.com/v1alpha1");
+    }
+
+    /**
+     * 获取连接池指标
+     */
+    private Mono<ServerResponse> getPoolStats(ServerRequest request) {
+        return ServerResponse.ok().bodyValue(httpTransport.getPoolStats());
+    }
+
+    /**
+     * 获取上游调用统计
+     */
+    private Mono<ServerResponse> getCallStats(ServerRequest request) {
+        return ServerResponse.ok().bodyValue(callRecorder.getStats());
+    }
+
+    /**
+     * 获取对冲请求统计
+     */
+    private Mono<ServerResponse> getHedgingStats(ServerRequest request) {
+        return ServerResponse.ok().bodyValue(hedgingPolicy.getStats());
+    }
+
+    /**
+     * 获取多密钥调度状态
+     */
+    private Mono<ServerResponse> getApiKeyStats(ServerRequest request) {
+        return ServerResponse.ok().bodyValue(apiKeyPool.getStats());
+    }
+
+    /**
+     * 获取熔断器状态
+     */
+    private Mono<ServerResponse> getBreakerStats(ServerRequest request) {
+        return ServerResponse.ok().bodyValue(circuitBreakerRegistry.getStats());
+    }
+
+    /**
+     * 获取并发限制器状态
+     */
+    private Mono<ServerResponse> getLimiterStats(ServerRequest request) {
+        return ServerResponse.ok().bodyValue(concurrencyLimiter.getStats());
+    }
+
+    /**
+     * 获取插件并发隔离状态
+     */
+    private Mono<ServerResponse> getBulkheadStats(ServerRequest request) {
+        return ServerResponse.ok().bodyValue(pluginBulkhead.getStats());
+    }
+
+    /**
+     * 获取流式调用延迟分布
+     */
+    private Mono<ServerResponse> getStreamLatencyStats(ServerRequest request) {
+        return ServerResponse.ok().bodyValue(streamLatencyRecorder.getStats());
+    }
+
+    /**
+     * 获取相同请求合并状态
+     */
+    private Mono<ServerResponse> getSingleFlightStats(ServerRequest request) {
+        return ServerResponse.ok().bodyValue(singleFlight.getStats());
+    }
+
+    /**
+     * 获取响应缓存状态
+     */
+    private Mono<ServerResponse> getResponseCacheStats(ServerRequest request) {
+        return ServerResponse.ok().bodyValue(responseCache.getStats());
+    }
+
+    /**
+     * 获取近似提示词缓存状态
+     */
+    private Mono<ServerResponse> getNearDuplicateCacheStats(ServerRequest request) {
+        return ServerResponse.ok().bodyValue(nearDuplicateCache.getStats());
+    }
+
+    /**
+     * 获取磁盘响应缓存状态
+     */
+    private Mono<ServerResponse> getDiskCacheStats(ServerRequest request) {
+        return ServerResponse.ok().bodyValue(diskResponseCache.getStats());
+    }
+
+    /**
+     * 列出离线批处理任务
+     */
+    private Mono<ServerResponse> listBatchJobs(ServerRequest request) {
+        return ServerResponse.ok().body(batchJobService.list(), BatchJobStatus.class);
+    }
+
+    /**
+     * 列出已加载的向量索引
+     */
+    private Mono<ServerResponse> listVectorIndexes(ServerRequest request) {
+        return ServerResponse.ok().bodyValue(vectorIndexService.list());
+    }
+
+    /**
+     * 获取向量请求合并状态
+     */
+    private Mono<ServerResponse> getEmbeddingBatchStats(ServerRequest request) {
+        return ServerResponse.ok().bodyValue(embeddingBatcher.getStats());
+    }
+
+    /**
+     * 获取向量缓存状态
+     */
+    private Mono<ServerResponse> getEmbeddingCacheStats(ServerRequest request) {
+        return ServerResponse.ok().bodyValue(embeddingCache.getStats());
+    }
+
+    /**
+     * 清空向量缓存
+     */
+    private Mono<ServerResponse> clearEmbeddingCache(ServerRequest request) {
+        return Mono.fromRunnable(embeddingCache::clear)
+            .subscribeOn(Schedulers.boundedElastic())
+            .then(ServerResponse.noContent().build());
+    }
+
+    /**
+     * 清空响应缓存
+     */
+    private Mono<ServerResponse> clearResponseCache(ServerRequest request) {
+        responseCache.clear();
+        nearDuplicateCache.clear();
+        return ServerResponse.noContent().build();
+    }
+}
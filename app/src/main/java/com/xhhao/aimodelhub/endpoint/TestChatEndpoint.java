@@ -3,6 +3,7 @@ package com.xhhao.aimodelhub.endpoint;
 import com.xhhao.aimodelhub.api.ChatModel;
 import com.xhhao.aimodelhub.api.internal.ChatModelFactory;
 import com.xhhao.aimodelhub.service.common.RateLimiterService;
+import com.xhhao.aimodelhub.service.transport.StreamCoalescer;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import org.springdoc.webflux.core.fn.SpringdocRouteBuilder;
@@ -32,6 +33,7 @@ public class TestChatEndpoint implements CustomEndpoint {
 
     private final ChatModelFactory chatModelFactory;
     private final RateLimiterService rateLimiterService;
+    private final StreamCoalescer streamCoalescer;
 
     @Override
     public RouterFunction<ServerResponse> endpoint() {
@@ -109,8 +111,8 @@ public class TestChatEndpoint implements CustomEndpoint {
                 // 根据供应商获取模型（响应式）
                 getChatModelReactive(req.getProvider(), req.getModel())
                     .flatMap(model -> {
-                        // 流式调用
-                        var flux = model.chatStream(req.getMessage());
+                        // 流式调用，合并细碎片段后再推送给客户端
+                        var flux = streamCoalescer.coalesce(model.chatStream(req.getMessage()));
                         
                         return ServerResponse.ok()
                             .contentType(MediaType.TEXT_EVENT_STREAM)
@@ -70,6 +70,24 @@ public class AiChatLog extends AbstractExtension {
          */
         @Schema(description = "请求时间", requiredMode = REQUIRED)
         private Instant requestTime;
+
+        /**
+         * 是否触发了对冲请求（额外发出一次相同请求，会多消耗 token）
+         */
+        @Schema(description = "是否触发了对冲请求")
+        private Boolean hedged;
+
+        /**
+         * 故障转移前的首选供应商（实际使用的供应商见 provider，未发生故障转移时为空）
+         */
+        @Schema(description = "故障转移前的首选供应商")
+        private String failoverFrom;
+
+        /**
+         * 响应来源（合并到其他调用的结果不计 token）
+         */
+        @Schema(description = "响应来源")
+        private ResponseSource responseSource;
     }
 
     @Data
@@ -93,12 +111,42 @@ public class AiChatLog extends AbstractExtension {
         @Schema(description = "总 token 数")
         private Integer totalTokens;
 
+        /**
+         * 节省的 token 数（命中缓存或合并到其他调用时，原始调用消耗的 token 数）
+         */
+        @Schema(description = "节省的 token 数")
+        private Integer savedTokens;
+
         /**
          * 请求耗时（毫秒）
          */
         @Schema(description = "请求耗时（毫秒）")
         private Long durationMs;
 
+        /**
+         * 首字延迟（毫秒，仅流式调用）：从发起调用到收到第一个内容片段
+         */
+        @Schema(description = "首字延迟（毫秒）")
+        private Long timeToFirstTokenMs;
+
+        /**
+         * 生成耗时（毫秒，仅流式调用）：从第一个内容片段到最后一个内容片段
+         */
+        @Schema(description = "生成耗时（毫秒）")
+        private Long generationMs;
+
+        /**
+         * 生成速度（token/秒，仅流式调用）
+         */
+        @Schema(description = "生成速度（token/秒）")
+        private Double tokensPerSecond;
+
+        /**
+         * 相邻内容片段的最大间隔（毫秒，仅流式调用）
+         */
+        @Schema(description = "最大片段间隔（毫秒）")
+        private Long maxInterTokenGapMs;
+
         /**
          * 是否成功
          */
@@ -118,6 +166,28 @@ public class AiChatLog extends AbstractExtension {
         private String responseSummary;
     }
 
+    /**
+     * 响应来源枚举
+     */
+    public enum ResponseSource {
+        /**
+         * 本次调用请求上游得到
+         */
+        UPSTREAM,
+        /**
+         * 合并到同时进行的相同请求，共用其上游结果
+         */
+        SHARED,
+        /**
+         * 命中响应缓存
+         */
+        CACHE,
+        /**
+         * 命中近似提示词缓存
+         */
+        SIMILAR
+    }
+
     /**
      * 调用类型枚举
      */
@@ -0,0 +1,218 @@
+package com.xhhao.aimodelhub.extension;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import run.halo.app.extension.AbstractExtension;
+import run.halo.app.extension.GVK;
+
+import java.time.Instant;
+
+import static io.swagger.v3.oas.annotations.media.Schema.RequiredMode.REQUIRED;
+
+/**
+ * 离线批处理任务自定义模型
+ * <p>
+ * 记录提交到供应商 Batch API 的任务及其远端文件、批次标识，插件重启后据此继续轮询与下载结果。
+ * 请求与结果内容保存在插件数据目录的 JSONL 文件中，不写入模型。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@GVK(group = "aimodel-hub.xhhao.com",
+    version = "v1alpha1",
+    kind = "BatchJob",
+    plural = "batchjobs",
+    singular = "batchjob")
+public class BatchJob extends AbstractExtension {
+
+    @Schema(requiredMode = REQUIRED)
+    private BatchJobSpec spec;
+
+    private BatchJobStatus status;
+
+    @Data
+    public static class BatchJobSpec {
+
+        /**
+         * 调用者插件名称
+         */
+        @Schema(description = "调用者插件名称")
+        private String callerPlugin;
+
+        /**
+         * 模型供应商
+         */
+        @Schema(description = "模型供应商", requiredMode = REQUIRED)
+        private String provider;
+
+        /**
+         * 使用的模型名称
+         */
+        @Schema(description = "使用的模型名称", requiredMode = REQUIRED)
+        private String model;
+
+        /**
+         * 总项数
+         */
+        @Schema(description = "总项数", requiredMode = REQUIRED)
+        private Integer itemCount;
+
+        /**
+         * 批处理请求的接口路径（如 /v1/chat/completions）
+         */
+        @Schema(description = "批处理请求的接口路径")
+        private String endpoint;
+
+        /**
+         * 是否使用自定义配置提交（自定义配置不持久化，插件重启后任务无法继续跟踪，阶段变为 DETACHED）
+         */
+        @Schema(description = "是否使用自定义配置提交")
+        private Boolean customOptions;
+
+        /**
+         * 创建时间
+         */
+        @Schema(description = "创建时间", requiredMode = REQUIRED)
+        private Instant createTime;
+    }
+
+    @Data
+    public static class BatchJobStatus {
+
+        /**
+         * 任务阶段
+         */
+        @Schema(description = "任务阶段")
+        private Phase phase;
+
+        /**
+         * 已上传的输入文件 ID
+         */
+        @Schema(description = "输入文件 ID")
+        private String inputFileId;
+
+        /**
+         * 供应商返回的批次 ID
+         */
+        @Schema(description = "批次 ID")
+        private String remoteBatchId;
+
+        /**
+         * 供应商返回的批次状态
+         */
+        @Schema(description = "供应商批次状态")
+        private String remoteStatus;
+
+        /**
+         * 结果文件 ID
+         */
+        @Schema(description = "结果文件 ID")
+        private String outputFileId;
+
+        /**
+         * 错误文件 ID
+         */
+        @Schema(description = "错误文件 ID")
+        private String errorFileId;
+
+        /**
+         * 供应商已处理项数（含失败）
+         */
+        @Schema(description = "已处理项数")
+        private Integer completedCount;
+
+        /**
+         * 失败项数
+         */
+        @Schema(description = "失败项数")
+        private Integer failedCount;
+
+        /**
+         * 连续轮询次数（决定下次轮询间隔）
+         */
+        @Schema(description = "连续轮询次数")
+        private Integer pollAttempts;
+
+        /**
+         * 下次轮询时间
+         */
+        @Schema(description = "下次轮询时间")
+        private Instant nextPollTime;
+
+        /**
+         * 结束时间
+         */
+        @Schema(description = "结束时间")
+        private Instant finishTime;
+
+        /**
+         * 最近一次错误信息
+         */
+        @Schema(description = "最近一次错误信息")
+        private String lastError;
+    }
+
+    /**
+     * 任务阶段枚举
+     */
+    public enum Phase {
+        /**
+         * 输入文件已写入本地，等待上传
+         */
+        PENDING,
+        /**
+         * 正在上传输入文件并创建批次（上传完成后文件 ID 记录在 inputFileId，重启后不再重复上传）
+         */
+        UPLOADING,
+        /**
+         * 批次已创建，等待供应商开始处理
+         */
+        SUBMITTED,
+        /**
+         * 供应商处理中
+         */
+        IN_PROGRESS,
+        /**
+         * 供应商已结束处理，正在下载结果文件
+         */
+        DOWNLOADING,
+        /**
+         * 已完成，结果文件已下载
+         */
+        COMPLETED,
+        /**
+         * 失败
+         */
+        FAILED,
+        /**
+         * 已取消（已处理部分的结果已下载）
+         */
+        CANCELLED,
+        /**
+         * 超出完成时限（已处理部分的结果已下载）
+         */
+        EXPIRED,
+        /**
+         * 使用自定义配置提交、插件重启后缺少访问凭据而停止跟踪（批次 ID 保留，可在供应商控制台查看结果）
+         */
+        DETACHED;
+
+        /**
+         * 是否为结束阶段（不再轮询）
+         */
+        public boolean isTerminal() {
+            return this == COMPLETED || this == FAILED || this == CANCELLED || this == EXPIRED || this == DETACHED;
+        }
+
+        /**
+         * 是否可以读取结果
+         */
+        public boolean hasResults() {
+            return this == COMPLETED || this == CANCELLED || this == EXPIRED;
+        }
+    }
+}
@@ -1,24 +1,60 @@
 package com.xhhao.aimodelhub.service;
 
+import com.xhhao.aimodelhub.api.BatchItemResult;
+import com.xhhao.aimodelhub.api.BatchJobStatus;
+import com.xhhao.aimodelhub.api.BatchOptions;
+import com.xhhao.aimodelhub.api.BatchProgress;
+import com.xhhao.aimodelhub.api.ChatMessage;
 import com.xhhao.aimodelhub.api.ChatModel;
+import com.xhhao.aimodelhub.api.ChatModels;
 import com.xhhao.aimodelhub.api.ChatOptions;
 import com.xhhao.aimodelhub.api.internal.ChatModelFactory;
 import com.xhhao.aimodelhub.api.constant.AiModelConstants;
 import com.xhhao.aimodelhub.api.exception.AiModelException;
 import com.xhhao.aimodelhub.config.SettingConfigGetter;
+import com.xhhao.aimodelhub.service.batch.BatchJobService;
+import com.xhhao.aimodelhub.service.batch.ChatBatchExecutor;
+import com.xhhao.aimodelhub.service.cache.NearDuplicateCache;
+import com.xhhao.aimodelhub.service.cache.ResponseCache;
 import com.xhhao.aimodelhub.service.common.AiChatLogService;
+import com.xhhao.aimodelhub.service.common.CallerResolver;
+import com.xhhao.aimodelhub.service.common.FailoverChatModel;
+import com.xhhao.aimodelhub.service.common.Fingerprint;
 import com.xhhao.aimodelhub.service.common.LoggingChatModel;
+import com.xhhao.aimodelhub.service.common.ModelMetrics;
+import com.xhhao.aimodelhub.service.common.SingleFlight;
 import com.xhhao.aimodelhub.service.common.StatefulChatModelImpl;
+import com.xhhao.aimodelhub.service.common.StreamLatencyRecorder;
 import com.xhhao.aimodelhub.service.openai.OpenAiCompatibleChatModel;
+import com.xhhao.aimodelhub.service.resilience.AdaptiveConcurrencyLimiter;
+import com.xhhao.aimodelhub.service.resilience.ApiKeyPool;
+import com.xhhao.aimodelhub.service.resilience.CircuitBreakerRegistry;
+import com.xhhao.aimodelhub.service.resilience.HedgingPolicy;
+import com.xhhao.aimodelhub.service.resilience.PluginBulkhead;
+import com.xhhao.aimodelhub.service.resilience.UpstreamCallRecorder;
+import com.xhhao.aimodelhub.service.transport.HttpTransport;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
 /**
  * 聊天模型工厂实现
  * <p>
- * 负责创建各类 AI 模型客户端，支持 OpenAI 系列模型
+ * 负责创建各类 AI 模型客户端，支持 OpenAI 系列模型。
+ * 构建好的模型实例按有效配置缓存复用，插件设置变更时整体失效。
  * </p>
  *
  * @author Handsome
@@ -29,8 +65,55 @@ import reactor.core.publisher.Mono;
 @RequiredArgsConstructor
 public class ChatModelFactoryImpl implements ChatModelFactory {
 
+    private static final String ZHIPU_BASE_URL = "https://open.bigmodel.cn/api/paas/v4";
+    private static final String ZHIPU_CHAT_COMPLETIONS_PATH = "/chat/completions";
+    private static final String DEFAULT_ZHIPU_MODEL = "glm-4-flash";
+
+    private static final Set<String> SUPPORTED_PROVIDERS = Set.of(
+        AiModelConstants.Provider.OPENAI, AiModelConstants.Provider.SILICONFLOW, AiModelConstants.Provider.ZHIPU);
+
+    /**
+     * 未配置故障转移链时的默认顺序
+     */
+    private static final List<String> DEFAULT_FAILOVER_CHAIN = List.of(
+        AiModelConstants.Provider.SILICONFLOW, AiModelConstants.Provider.ZHIPU, AiModelConstants.Provider.OPENAI);
+
+    private static final int MODEL_CACHE_MAX_SIZE = 256;
+    private static final long MODEL_CACHE_IDLE_MINUTES = 30;
+
     private final SettingConfigGetter configGetter;
     private final AiChatLogService logService;
+    private final HttpTransport httpTransport;
+    private final UpstreamCallRecorder callRecorder;
+    private final HedgingPolicy hedgingPolicy;
+    private final ApiKeyPool apiKeyPool;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final CallerResolver callerResolver;
+    private final PluginBulkhead pluginBulkhead;
+    private final StreamLatencyRecorder streamLatencyRecorder;
+    private final ModelMetrics modelMetrics;
+    private final SingleFlight singleFlight;
+    private final ResponseCache responseCache;
+    private final NearDuplicateCache nearDuplicateCache;
+    private final ChatBatchExecutor chatBatchExecutor;
+    private final BatchJobService batchJobService;
+
+    /**
+     * 模型实例缓存（key: 插件设置派生的 {@link SettingsKey} 或自定义配置的指纹）
+     */
+    private final Cache<Object, ChatModel> modelCache = CacheBuilder.newBuilder()
+        .maximumSize(MODEL_CACHE_MAX_SIZE)
+        .expireAfterAccess(MODEL_CACHE_IDLE_MINUTES, TimeUnit.MINUTES)
+        .build();
+
+    /**
+     * 离线批处理任务在插件重启后按供应商使用插件设置中的模型继续跟踪
+     */
+    @PostConstruct
+    void registerBatchJobModelResolver() {
+        batchJobService.setModelResolver(provider -> defaultModel(provider).flatMap(ChatModelFactoryImpl::upstream));
+    }
 
     @Override
     public Mono<ChatModel> openai() {
@@ -48,171 +131,320 @@ public class ChatModelFactoryImpl implements ChatModelFactory {
     }
 
     private Mono<ChatModel> createOpenAiModel() {
-        return configGetter.getTextModelConfig()
-            .flatMap(config -> {
+        return configGetter.getSnapshot()
+            .flatMap(snapshot -> {
+                var config = snapshot.text();
                 if (config == null || config.getOpenai() == null) {
                     return Mono.error(AiModelException.configError("OpenAI 未配置，请在插件设置中配置 API Key"));
                 }
                 var openaiConfig = config.getOpenai();
-                String model = openaiConfig.getModel();
-                if (model == null || model.isBlank()) {
-                    model = AiModelConstants.DEFAULT_OPENAI_MODEL;
-                }
-                OpenAiCompatibleChatModel delegate = OpenAiCompatibleChatModel.builder()
-                    .apiKey(openaiConfig.getApiKey())
-                    .baseUrl(openaiConfig.getBaseUrl())
-                    .modelName(model)
-                    .build();
-                return Mono.just((ChatModel) new LoggingChatModel(delegate, logService, null, AiModelConstants.Provider.OPENAI));
+                String configuredModel = openaiConfig.getModel();
+                String model = configuredModel == null || configuredModel.isBlank()
+                    ? AiModelConstants.DEFAULT_OPENAI_MODEL : configuredModel;
+                SettingsKey cacheKey = new SettingsKey(AiModelConstants.Provider.OPENAI, null, snapshot.version());
+                return Mono.just(cached(cacheKey, () -> {
+                    OpenAiCompatibleChatModel delegate = newModelBuilder(AiModelConstants.Provider.OPENAI)
+                        .apiKey(openaiConfig.getApiKey())
+                        .keyPool(keyPool(AiModelConstants.Provider.OPENAI,
+                            openaiConfig.getApiKey(), openaiConfig.getApiKeys()))
+                        .baseUrl(openaiConfig.getBaseUrl())
+                        .modelName(model)
+                        .build();
+                    return withLogging(delegate, AiModelConstants.Provider.OPENAI);
+                }));
             })
             .doOnError(e -> log.error("创建 OpenAI 模型失败", e));
     }
 
     private Mono<ChatModel> createSiliconFlowModel() {
-        return configGetter.getTextModelConfig()
-            .flatMap(config -> {
+        return configGetter.getSnapshot()
+            .flatMap(snapshot -> {
+                var config = snapshot.text();
                 if (config == null || config.getSiliconflow() == null) {
                     return Mono.error(AiModelException.configError("硅基流动未配置，请在插件设置中配置 API Key"));
                 }
                 var sfConfig = config.getSiliconflow();
-                String model = sfConfig.getModel();
-                if (model == null || model.isBlank()) {
-                    model = AiModelConstants.DEFAULT_SILICONFLOW_MODEL;
-                }
-                OpenAiCompatibleChatModel delegate = OpenAiCompatibleChatModel.builder()
-                    .apiKey(sfConfig.getApiKey())
-                    .baseUrl(AiModelConstants.SILICONFLOW_BASE_URL)
-                    .modelName(model)
-                    .build();
-                return Mono.just((ChatModel) new LoggingChatModel(delegate, logService, null, AiModelConstants.Provider.SILICONFLOW));
+                String configuredModel = sfConfig.getModel();
+                String model = configuredModel == null || configuredModel.isBlank()
+                    ? AiModelConstants.DEFAULT_SILICONFLOW_MODEL : configuredModel;
+                SettingsKey cacheKey = new SettingsKey(AiModelConstants.Provider.SILICONFLOW, null, snapshot.version());
+                return Mono.just(cached(cacheKey, () -> {
+                    OpenAiCompatibleChatModel delegate = newModelBuilder(AiModelConstants.Provider.SILICONFLOW)
+                        .apiKey(sfConfig.getApiKey())
+                        .keyPool(keyPool(AiModelConstants.Provider.SILICONFLOW,
+                            sfConfig.getApiKey(), sfConfig.getApiKeys()))
+                        .baseUrl(AiModelConstants.SILICONFLOW_BASE_URL)
+                        .modelName(model)
+                        .build();
+                    return withLogging(delegate, AiModelConstants.Provider.SILICONFLOW);
+                }));
             })
             .doOnError(e -> log.error("创建硅基流动模型失败", e));
     }
 
     private Mono<ChatModel> createZhipuModel() {
-        return configGetter.getTextModelConfig()
-            .flatMap(config -> {
+        return configGetter.getSnapshot()
+            .flatMap(snapshot -> {
+                var config = snapshot.text();
                 if (config == null || config.getZhipu() == null) {
                     return Mono.error(AiModelException.configError("智谱AI未配置，请在插件设置中配置 API Key"));
                 }
                 var zhipuConfig = config.getZhipu();
-                String model = zhipuConfig.getModel();
-                if (model == null || model.isBlank()) {
-                    model = "glm-4-flash";
-                }
-                OpenAiCompatibleChatModel delegate = OpenAiCompatibleChatModel.builder()
-                    .apiKey(zhipuConfig.getApiKey())
-                    .baseUrl("https://open.bigmodel.cn/api/paas/v4")
-                    .modelName(model)
-                    .chatCompletionsPath("/chat/completions")
-                    .build();
-                return Mono.just((ChatModel) new LoggingChatModel(delegate, logService, null, AiModelConstants.Provider.ZHIPU));
+                String configuredModel = zhipuConfig.getModel();
+                String model = configuredModel == null || configuredModel.isBlank()
+                    ? DEFAULT_ZHIPU_MODEL : configuredModel;
+                SettingsKey cacheKey = new SettingsKey(AiModelConstants.Provider.ZHIPU, null, snapshot.version());
+                return Mono.just(cached(cacheKey, () -> {
+                    OpenAiCompatibleChatModel delegate = newModelBuilder(AiModelConstants.Provider.ZHIPU)
+                        .apiKey(zhipuConfig.getApiKey())
+                        .keyPool(keyPool(AiModelConstants.Provider.ZHIPU,
+                            zhipuConfig.getApiKey(), zhipuConfig.getApiKeys()))
+                        .baseUrl(ZHIPU_BASE_URL)
+                        .modelName(model)
+                        .chatCompletionsPath(ZHIPU_CHAT_COMPLETIONS_PATH)
+                        .build();
+                    return withLogging(delegate, AiModelConstants.Provider.ZHIPU);
+                }));
             })
             .doOnError(e -> log.error("创建智谱AI模型失败", e));
     }
 
     @Override
     public Mono<ChatModel> openai(String modelName) {
-        return configGetter.getTextModelConfig()
-            .flatMap(config -> {
+        return configGetter.getSnapshot()
+            .flatMap(snapshot -> {
+                var config = snapshot.text();
                 if (config == null || config.getOpenai() == null) {
                     return Mono.error(AiModelException.configError("OpenAI 未配置"));
                 }
                 var openaiConfig = config.getOpenai();
                 String model = modelName != null ? modelName : AiModelConstants.DEFAULT_OPENAI_MODEL;
-                OpenAiCompatibleChatModel delegate = OpenAiCompatibleChatModel.builder()
-                    .apiKey(openaiConfig.getApiKey())
-                    .baseUrl(openaiConfig.getBaseUrl())
-                    .modelName(model)
-                    .build();
-                return Mono.just((ChatModel) new LoggingChatModel(delegate, logService, null, AiModelConstants.Provider.OPENAI));
+                SettingsKey cacheKey = new SettingsKey(AiModelConstants.Provider.OPENAI, model, snapshot.version());
+                return Mono.just(cached(cacheKey, () -> {
+                    OpenAiCompatibleChatModel delegate = newModelBuilder(AiModelConstants.Provider.OPENAI)
+                        .apiKey(openaiConfig.getApiKey())
+                        .keyPool(keyPool(AiModelConstants.Provider.OPENAI,
+                            openaiConfig.getApiKey(), openaiConfig.getApiKeys()))
+                        .baseUrl(openaiConfig.getBaseUrl())
+                        .modelName(model)
+                        .build();
+                    return withLogging(delegate, AiModelConstants.Provider.OPENAI);
+                }));
             });
     }
 
     @Override
     public Mono<ChatModel> siliconflow(String modelName) {
-        return configGetter.getTextModelConfig()
-            .flatMap(config -> {
+        return configGetter.getSnapshot()
+            .flatMap(snapshot -> {
+                var config = snapshot.text();
                 if (config == null || config.getSiliconflow() == null) {
                     return Mono.error(AiModelException.configError("硅基流动未配置"));
                 }
                 var sfConfig = config.getSiliconflow();
                 String model = modelName != null ? modelName : AiModelConstants.DEFAULT_SILICONFLOW_MODEL;
-                OpenAiCompatibleChatModel delegate = OpenAiCompatibleChatModel.builder()
-                    .apiKey(sfConfig.getApiKey())
-                    .baseUrl(AiModelConstants.SILICONFLOW_BASE_URL)
-                    .modelName(model)
-                    .build();
-                return Mono.just((ChatModel) new LoggingChatModel(delegate, logService, null, AiModelConstants.Provider.SILICONFLOW));
+                SettingsKey cacheKey =
+                    new SettingsKey(AiModelConstants.Provider.SILICONFLOW, model, snapshot.version());
+                return Mono.just(cached(cacheKey, () -> {
+                    OpenAiCompatibleChatModel delegate = newModelBuilder(AiModelConstants.Provider.SILICONFLOW)
+                        .apiKey(sfConfig.getApiKey())
+                        .keyPool(keyPool(AiModelConstants.Provider.SILICONFLOW,
+                            sfConfig.getApiKey(), sfConfig.getApiKeys()))
+                        .baseUrl(AiModelConstants.SILICONFLOW_BASE_URL)
+                        .modelName(model)
+                        .build();
+                    return withLogging(delegate, AiModelConstants.Provider.SILICONFLOW);
+                }));
             });
     }
 
     @Override
     public Mono<ChatModel> zhipu(String modelName) {
-        return configGetter.getTextModelConfig()
-            .flatMap(config -> {
+        return configGetter.getSnapshot()
+            .flatMap(snapshot -> {
+                var config = snapshot.text();
                 if (config == null || config.getZhipu() == null) {
                     return Mono.error(AiModelException.configError("智谱AI未配置"));
                 }
                 var zhipuConfig = config.getZhipu();
-                String model = modelName != null ? modelName : "glm-4-flash";
-                OpenAiCompatibleChatModel delegate = OpenAiCompatibleChatModel.builder()
-                    .apiKey(zhipuConfig.getApiKey())
-                    .baseUrl("https://open.bigmodel.cn/api/paas/v4")
-                    .modelName(model)
-                    .chatCompletionsPath("/chat/completions")
-                    .build();
-                return Mono.just((ChatModel) new LoggingChatModel(delegate, logService, null, AiModelConstants.Provider.ZHIPU));
+                String model = modelName != null ? modelName : DEFAULT_ZHIPU_MODEL;
+                SettingsKey cacheKey = new SettingsKey(AiModelConstants.Provider.ZHIPU, model, snapshot.version());
+                return Mono.just(cached(cacheKey, () -> {
+                    OpenAiCompatibleChatModel delegate = newModelBuilder(AiModelConstants.Provider.ZHIPU)
+                        .apiKey(zhipuConfig.getApiKey())
+                        .keyPool(keyPool(AiModelConstants.Provider.ZHIPU,
+                            zhipuConfig.getApiKey(), zhipuConfig.getApiKeys()))
+                        .baseUrl(ZHIPU_BASE_URL)
+                        .modelName(model)
+                        .chatCompletionsPath(ZHIPU_CHAT_COMPLETIONS_PATH)
+                        .build();
+                    return withLogging(delegate, AiModelConstants.Provider.ZHIPU);
+                }));
             });
     }
 
     @Override
     public Mono<ChatModel> withMemory(String provider, String systemPrompt) {
-        Mono<ChatModel> delegateMono = switch (provider) {
+        return defaultModel(provider).map(delegate -> new StatefulChatModelImpl(delegate, systemPrompt));
+    }
+
+    @Override
+    public Mono<ChatModel> withFallback(List<String> providers) {
+        return Mono.fromCallable(() -> {
+            if (providers == null || providers.isEmpty()) {
+                throw new IllegalArgumentException("至少需要一个供应商");
+            }
+            List<FailoverChatModel.Candidate> candidates = providers.stream()
+                .map(provider -> {
+                    if (!SUPPORTED_PROVIDERS.contains(provider)) {
+                        throw new IllegalArgumentException("不支持的供应商: " + provider);
+                    }
+                    return new FailoverChatModel.Candidate(provider, () -> defaultModel(provider));
+                })
+                .toList();
+            return new FailoverChatModel(candidates, callerResolver);
+        });
+    }
+
+    @Override
+    public Mono<ChatModel> withFallback() {
+        return configGetter.getSnapshot()
+            .map(snapshot -> parseFailoverChain(snapshot.resilience()))
+            .defaultIfEmpty(DEFAULT_FAILOVER_CHAIN)
+            .flatMap(this::withFallback);
+    }
+
+    @Override
+    public Flux<BatchProgress> chatBatch(String provider, List<List<ChatMessage>> conversations,
+                                        BatchOptions options) {
+        if (!SUPPORTED_PROVIDERS.contains(provider)) {
+            return Flux.error(new IllegalArgumentException("不支持的供应商: " + provider));
+        }
+        // 各项在 Reactor 线程上执行，无法再从调用栈识别调用方，在组装时识别后写入上下文
+        String caller = callerResolver.fromStack();
+        Mono<ChatModel> model = options.getChatOptions() != null
+            ? create(provider, options.getChatOptions())
+            : defaultModel(provider);
+        Flux<BatchProgress> batch = chatBatchExecutor.execute(model, conversations, options);
+        if (caller == null) {
+            return batch;
+        }
+        return batch.contextWrite(context -> context.hasKey(ChatModels.CALLER_PLUGIN_KEY)
+            ? context : context.put(ChatModels.CALLER_PLUGIN_KEY, caller));
+    }
+
+    @Override
+    public Mono<String> submitBatchJob(String provider, List<List<ChatMessage>> conversations,
+                                       ChatOptions options) {
+        if (!SUPPORTED_PROVIDERS.contains(provider)) {
+            return Mono.error(new IllegalArgumentException("不支持的供应商: " + provider));
+        }
+        String caller = callerResolver.fromStack();
+        Mono<ChatModel> model = options != null ? create(provider, options) : defaultModel(provider);
+        return model.flatMap(ChatModelFactoryImpl::upstream)
+            .flatMap(upstream -> batchJobService.submit(provider, upstream, conversations, caller, options != null));
+    }
+
+    @Override
+    public Mono<BatchJobStatus> getBatchJob(String name) {
+        return batchJobService.getStatus(name);
+    }
+
+    @Override
+    public Flux<BatchItemResult> batchJobResults(String name) {
+        return batchJobService.results(name);
+    }
+
+    @Override
+    public Mono<BatchJobStatus> cancelBatchJob(String name) {
+        return batchJobService.cancel(name);
+    }
+
+    /**
+     * 取出包装的上游模型（离线批处理直接访问供应商的 Batch API，不经过日志与缓存）
+     */
+    private static Mono<OpenAiCompatibleChatModel> upstream(ChatModel model) {
+        if (model instanceof LoggingChatModel logging) {
+            return Mono.just(logging.getDelegate());
+        }
+        return Mono.error(new IllegalStateException("模型不支持离线批处理: " + model.getClass().getSimpleName()));
+    }
+
+    /**
+     * 获取供应商在插件设置中配置的默认模型
+     */
+    private Mono<ChatModel> defaultModel(String provider) {
+        return switch (provider) {
             case "openai" -> openai();
             case "siliconflow" -> siliconflow();
             case "zhipu" -> zhipu();
             default -> Mono.error(new IllegalArgumentException("不支持的供应商: " + provider));
         };
-        return delegateMono.map(delegate -> new StatefulChatModelImpl(delegate, systemPrompt));
+    }
+
+    /**
+     * 解析设置中的故障转移链（逗号或空白分隔），未配置时使用默认顺序
+     */
+    private static List<String> parseFailoverChain(SettingConfigGetter.ResilienceConfig config) {
+        String chain = config != null && config.getFailover() != null ? config.getFailover().getChain() : null;
+        if (chain == null || chain.isBlank()) {
+            return DEFAULT_FAILOVER_CHAIN;
+        }
+        return Arrays.stream(chain.split("[,\\s]+"))
+            .map(String::trim)
+            .map(String::toLowerCase)
+            .filter(provider -> !provider.isEmpty())
+            .distinct()
+            .toList();
     }
 
     @Override
     public Mono<ChatModel> openai(String apiKey, String model) {
-        return configGetter.getTextModelConfig()
-            .flatMap(config -> {
-                String baseUrl = config.getOpenai() != null ? config.getOpenai().getBaseUrl() : null;
+        return configGetter.getSnapshot()
+            .flatMap(snapshot -> {
+                var config = snapshot.text();
+                String baseUrl = config != null && config.getOpenai() != null ? config.getOpenai().getBaseUrl() : null;
                 String actualModel = model != null ? model : AiModelConstants.DEFAULT_OPENAI_MODEL;
-                OpenAiCompatibleChatModel delegate = OpenAiCompatibleChatModel.builder()
-                    .apiKey(apiKey)
-                    .baseUrl(baseUrl)
-                    .modelName(actualModel)
-                    .build();
-                return Mono.just((ChatModel) new LoggingChatModel(delegate, logService, null, AiModelConstants.Provider.OPENAI));
+                String cacheKey = customKey(AiModelConstants.Provider.OPENAI, apiKey, baseUrl, actualModel);
+                return Mono.just(cached(cacheKey, () -> {
+                    OpenAiCompatibleChatModel delegate = newModelBuilder(AiModelConstants.Provider.OPENAI)
+                        .apiKey(apiKey)
+                        .baseUrl(baseUrl)
+                        .modelName(actualModel)
+                        .build();
+                    return withLogging(delegate, AiModelConstants.Provider.OPENAI);
+                }));
             });
     }
 
     @Override
     public Mono<ChatModel> siliconflow(String apiKey, String model) {
         String actualModel = model != null ? model : AiModelConstants.DEFAULT_SILICONFLOW_MODEL;
-        OpenAiCompatibleChatModel delegate = OpenAiCompatibleChatModel.builder()
-            .apiKey(apiKey)
-            .baseUrl(AiModelConstants.SILICONFLOW_BASE_URL)
-            .modelName(actualModel)
-            .build();
-        return Mono.just((ChatModel) new LoggingChatModel(delegate, logService, null, AiModelConstants.Provider.SILICONFLOW));
+        String cacheKey = customKey(AiModelConstants.Provider.SILICONFLOW, apiKey,
+            AiModelConstants.SILICONFLOW_BASE_URL, actualModel);
+        return Mono.just(cached(cacheKey, () -> {
+            OpenAiCompatibleChatModel delegate = newModelBuilder(AiModelConstants.Provider.SILICONFLOW)
+                .apiKey(apiKey)
+                .baseUrl(AiModelConstants.SILICONFLOW_BASE_URL)
+                .modelName(actualModel)
+                .build();
+            return withLogging(delegate, AiModelConstants.Provider.SILICONFLOW);
+        }));
     }
 
     @Override
     public Mono<ChatModel> zhipu(String apiKey, String model) {
-        String actualModel = model != null ? model : "glm-4-flash";
-        OpenAiCompatibleChatModel delegate = OpenAiCompatibleChatModel.builder()
-            .apiKey(apiKey)
-            .baseUrl("https://open.bigmodel.cn/api/paas/v4")
-            .modelName(actualModel)
-            .chatCompletionsPath("/chat/completions")
-            .build();
-        return Mono.just((ChatModel) new LoggingChatModel(delegate, logService, null, AiModelConstants.Provider.ZHIPU));
+        String actualModel = model != null ? model : DEFAULT_ZHIPU_MODEL;
+        String cacheKey = customKey(AiModelConstants.Provider.ZHIPU, apiKey, ZHIPU_BASE_URL, actualModel);
+        return Mono.just(cached(cacheKey, () -> {
+            OpenAiCompatibleChatModel delegate = newModelBuilder(AiModelConstants.Provider.ZHIPU)
+                .apiKey(apiKey)
+                .baseUrl(ZHIPU_BASE_URL)
+                .modelName(actualModel)
+                .chatCompletionsPath(ZHIPU_CHAT_COMPLETIONS_PATH)
+                .build();
+            return withLogging(delegate, AiModelConstants.Provider.ZHIPU);
+        }));
     }
 
     @Override
@@ -223,8 +455,9 @@ public class ChatModelFactoryImpl implements ChatModelFactory {
 
         String actualProvider = provider != null ? provider.toLowerCase() : "openai";
 
-        return configGetter.getTextModelConfig()
-            .flatMap(config -> {
+        return configGetter.getSnapshot()
+            .flatMap(snapshot -> {
+                var config = snapshot.text();
                 // 解析供应商默认配置
                 ProviderDefaults defaults = getProviderDefaults(actualProvider, config);
                 if (defaults == null) {
@@ -232,53 +465,166 @@ public class ChatModelFactoryImpl implements ChatModelFactory {
                 }
 
                 // 构建模型（优先使用 options，否则用默认值）
-                OpenAiCompatibleChatModel delegate = OpenAiCompatibleChatModel.builder()
-                    .apiKey(options.getApiKey())
-                    .baseUrl(firstNonNull(options.getBaseUrl(), defaults.baseUrl))
-                    .modelName(firstNonNull(options.getModel(), defaults.model))
-                    .chatCompletionsPath(defaults.chatCompletionsPath)
-                    // 生成参数
-                    .temperature(options.getTemperature())
-                    .topP(options.getTopP())
-                    .maxTokens(options.getMaxTokens())
-                    .maxCompletionTokens(options.getMaxCompletionTokens())
-                    .frequencyPenalty(options.getFrequencyPenalty())
-                    .presencePenalty(options.getPresencePenalty())
-                    .stop(options.getStop())
-                    .seed(options.getSeed())
-                    .user(options.getUser())
-                    .logitBias(options.getLogitBias())
-                    // 网络参数
-                    .timeout(options.getTimeout())
-                    .maxRetries(options.getMaxRetries())
-                    .customHeaders(options.getCustomHeaders())
-                    // OpenAI
-                    .organizationId(options.getOrganizationId())
-                    .projectId(options.getProjectId())
-                    // 硅基流动
-                    .enableThinking(options.getEnableThinking())
-                    .thinkingBudget(options.getThinkingBudget())
-                    .minP(options.getMinP())
-                    .topK(options.getTopK())
-                    .repetitionPenalty(options.getRepetitionPenalty())
-                    .n(options.getN())
-                    // 智谱
-                    .requestId(options.getRequestId())
-                    .webSearch(options.getWebSearch())
-                    .toolChoice(options.getToolChoice())
-                    .build();
-
-                return Mono.just((ChatModel) new LoggingChatModel(delegate, logService, null, actualProvider));
+                String cacheKey = optionsKey(actualProvider, options, defaults);
+                return Mono.just(cached(cacheKey, () -> {
+                    OpenAiCompatibleChatModel delegate = newModelBuilder(actualProvider)
+                        .apiKey(options.getApiKey())
+                        .baseUrl(firstNonNull(options.getBaseUrl(), defaults.baseUrl))
+                        .modelName(firstNonNull(options.getModel(), defaults.model))
+                        .chatCompletionsPath(defaults.chatCompletionsPath)
+                        // 生成参数
+                        .temperature(options.getTemperature())
+                        .topP(options.getTopP())
+                        .maxTokens(options.getMaxTokens())
+                        .maxCompletionTokens(options.getMaxCompletionTokens())
+                        .frequencyPenalty(options.getFrequencyPenalty())
+                        .presencePenalty(options.getPresencePenalty())
+                        .stop(options.getStop())
+                        .seed(options.getSeed())
+                        .user(options.getUser())
+                        .logitBias(options.getLogitBias())
+                        // 网络参数
+                        .timeout(options.getTimeout())
+                        .maxRetries(options.getMaxRetries())
+                        .customHeaders(options.getCustomHeaders())
+                        // OpenAI
+                        .organizationId(options.getOrganizationId())
+                        .projectId(options.getProjectId())
+                        // 硅基流动
+                        .enableThinking(options.getEnableThinking())
+                        .thinkingBudget(options.getThinkingBudget())
+                        .minP(options.getMinP())
+                        .topK(options.getTopK())
+                        .repetitionPenalty(options.getRepetitionPenalty())
+                        .n(options.getN())
+                        // 智谱
+                        .requestId(options.getRequestId())
+                        .webSearch(options.getWebSearch())
+                        .toolChoice(options.getToolChoice())
+                        .cacheResponses(options.getCacheResponses())
+                        .responseCacheTtl(options.getResponseCacheTtl())
+                        .cacheSimilarPrompts(options.getCacheSimilarPrompts())
+                        .build();
+                    return withLogging(delegate, actualProvider);
+                }));
             });
     }
 
+    /**
+     * 插件设置变更时清空模型缓存（旧版本的实例不会再被命中）
+     */
+    @EventListener(SettingConfigGetter.SettingsChangedEvent.class)
+    public void onSettingsChanged() {
+        modelCache.invalidateAll();
+        log.debug("插件设置已变更，清空聊天模型缓存");
+    }
+
+    /**
+     * 从缓存获取模型，不存在时构建
+     */
+    private ChatModel cached(Object key, Supplier<ChatModel> builder) {
+        return modelCache.asMap().computeIfAbsent(key, k -> builder.get());
+    }
+
+    /**
+     * 自定义 apiKey/model 的缓存键
+     */
+    private static String customKey(String provider, String apiKey, String baseUrl, String model) {
+        return Fingerprint.builder()
+            .add(provider)
+            .add(apiKey)
+            .addUrl(baseUrl)
+            .add(model)
+            .build();
+    }
+
+    /**
+     * 完整配置的缓存键（只包含参与构建模型的字段）
+     */
+    private static String optionsKey(String provider, ChatOptions options, ProviderDefaults defaults) {
+        return Fingerprint.builder()
+            .add(provider)
+            .add(options.getApiKey())
+            .addUrl(firstNonNull(options.getBaseUrl(), defaults.baseUrl))
+            .add(firstNonNull(options.getModel(), defaults.model))
+            .add(defaults.chatCompletionsPath)
+            .add(options.getTemperature())
+            .add(options.getTopP())
+            .add(options.getMaxTokens())
+            .add(options.getMaxCompletionTokens())
+            .add(options.getFrequencyPenalty())
+            .add(options.getPresencePenalty())
+            .add(options.getStop())
+            .add(options.getSeed())
+            .add(options.getUser())
+            .add(options.getLogitBias())
+            .add(options.getTimeout())
+            .add(options.getMaxRetries())
+            .add(options.getCustomHeaders())
+            .add(options.getOrganizationId())
+            .add(options.getProjectId())
+            .add(options.getEnableThinking())
+            .add(options.getThinkingBudget())
+            .add(options.getMinP())
+            .add(options.getTopK())
+            .add(options.getRepetitionPenalty())
+            .add(options.getN())
+            .add(options.getRequestId())
+            .add(options.getWebSearch())
+            .add(options.getToolChoice())
+            .add(options.getCacheResponses())
+            .add(options.getResponseCacheTtl())
+            .add(options.getCacheSimilarPrompts())
+            .build();
+    }
+
+    /**
+     * 包装日志记录（按调用时识别的插件记录与隔离，非流式调用按配置对冲）
+     */
+    private ChatModel withLogging(OpenAiCompatibleChatModel delegate, String provider) {
+        return new LoggingChatModel(delegate, logService, null, provider, hedgingPolicy, callerResolver,
+            pluginBulkhead, streamLatencyRecorder, modelMetrics, singleFlight, responseCache,
+            nearDuplicateCache);
+    }
+
+    /**
+     * 插件设置中配置了多个密钥时返回密钥池，只有一个密钥时返回 null
+     *
+     * @param extraKeys 备用密钥，每行一个
+     */
+    private ApiKeyPool.KeyPool keyPool(String provider, String apiKey, String extraKeys) {
+        Set<String> keys = new LinkedHashSet<>();
+        if (apiKey != null && !apiKey.isBlank()) {
+            keys.add(apiKey.trim());
+        }
+        if (extraKeys != null) {
+            extraKeys.lines()
+                .map(String::trim)
+                .filter(key -> !key.isEmpty())
+                .forEach(keys::add);
+        }
+        return keys.size() > 1 ? apiKeyPool.pool(provider, List.copyOf(keys)) : null;
+    }
+
+    /**
+     * 创建预置共享组件（传输层、调用记录、熔断器、并发限制）的模型构建器
+     */
+    private OpenAiCompatibleChatModel.OpenAiCompatibleChatModelBuilder newModelBuilder(String provider) {
+        return OpenAiCompatibleChatModel.builder()
+            .provider(provider)
+            .httpTransport(httpTransport)
+            .callRecorder(callRecorder)
+            .circuitBreakers(circuitBreakerRegistry)
+            .concurrencyLimiters(concurrencyLimiter);
+    }
+
     /**
      * 获取供应商默认配置
      */
     private ProviderDefaults getProviderDefaults(String provider, SettingConfigGetter.TextModelConfig config) {
         return switch (provider) {
             case "openai" -> new ProviderDefaults(
-                config.getOpenai() != null ? config.getOpenai().getBaseUrl() : null,
+                config != null && config.getOpenai() != null ? config.getOpenai().getBaseUrl() : null,
                 AiModelConstants.DEFAULT_OPENAI_MODEL,
                 null
             );
@@ -288,9 +634,9 @@ public class ChatModelFactoryImpl implements ChatModelFactory {
                 null
             );
             case "zhipu" -> new ProviderDefaults(
-                "https://open.bigmodel.cn/api/paas/v4",
-                "glm-4-flash",
-                "/chat/completions"
+                ZHIPU_BASE_URL,
+                DEFAULT_ZHIPU_MODEL,
+                ZHIPU_CHAT_COMPLETIONS_PATH
             );
             default -> null;
         };
@@ -298,6 +644,14 @@ public class ChatModelFactoryImpl implements ChatModelFactory {
 
     private record ProviderDefaults(String baseUrl, String model, String chatCompletionsPath) {}
 
+    /**
+     * 插件设置派生模型的缓存键
+     *
+     * @param model   模型名，为空表示使用设置中的默认模型
+     * @param version 构建时的配置快照版本
+     */
+    private record SettingsKey(String provider, String model, long version) {}
+
     private static <T> T firstNonNull(T first, T second) {
         return first != null ? first : second;
     }
@@ -0,0 +1,266 @@
+package com.xhhao.aimodelhub.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.xhhao.aimodelhub.api.EmbeddingModel;
+import com.xhhao.aimodelhub.api.constant.AiModelConstants;
+import com.xhhao.aimodelhub.api.exception.AiModelException;
+import com.xhhao.aimodelhub.api.internal.EmbeddingModelFactory;
+import com.xhhao.aimodelhub.config.SettingConfigGetter;
+import com.xhhao.aimodelhub.service.common.AiChatLogService;
+import com.xhhao.aimodelhub.service.common.CallerResolver;
+import com.xhhao.aimodelhub.service.common.Fingerprint;
+import com.xhhao.aimodelhub.service.common.LoggingEmbeddingModel;
+import com.xhhao.aimodelhub.service.common.ModelMetrics;
+import com.xhhao.aimodelhub.service.embedding.EmbeddingBatcher;
+import com.xhhao.aimodelhub.service.embedding.EmbeddingCache;
+import com.xhhao.aimodelhub.service.openai.OpenAiCompatibleEmbeddingModel;
+import com.xhhao.aimodelhub.service.resilience.ApiKeyPool;
+import com.xhhao.aimodelhub.service.resilience.UpstreamCallRecorder;
+import com.xhhao.aimodelhub.service.transport.HttpTransport;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 向量模型工厂实现
+ * <p>
+ * 复用文本模型的供应商配置（API Key、密钥池、接口地址），向量模型名称与维度单独配置。
+ * 模型实例按有效配置缓存复用：同一模型的所有调用方共用一个实例，也就共用一个请求合并队列。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmbeddingModelFactoryImpl implements EmbeddingModelFactory {
+
+    private static final String OPENAI_BASE_URL = "https://api.openai.com";
+    private static final String ZHIPU_BASE_URL = "https://open.bigmodel.cn/api/paas/v4";
+    private static final String ZHIPU_EMBEDDINGS_PATH = "/embeddings";
+
+    private static final int MODEL_CACHE_MAX_SIZE = 64;
+    private static final long MODEL_CACHE_IDLE_MINUTES = 30;
+
+    private final SettingConfigGetter configGetter;
+    private final AiChatLogService logService;
+    private final HttpTransport httpTransport;
+    private final UpstreamCallRecorder callRecorder;
+    private final ApiKeyPool apiKeyPool;
+    private final CallerResolver callerResolver;
+    private final ModelMetrics modelMetrics;
+    private final EmbeddingBatcher embeddingBatcher;
+    private final EmbeddingCache embeddingCache;
+
+    /**
+     * 模型实例缓存（key: 插件设置派生的 {@link SettingsKey} 或自定义配置的指纹）
+     */
+    private final Cache<Object, EmbeddingModel> modelCache = CacheBuilder.newBuilder()
+        .maximumSize(MODEL_CACHE_MAX_SIZE)
+        .expireAfterAccess(MODEL_CACHE_IDLE_MINUTES, TimeUnit.MINUTES)
+        .build();
+
+    @Override
+    public Mono<EmbeddingModel> openai() {
+        return configGetter.getSnapshot()
+            .flatMap(snapshot -> {
+                var config = snapshot.text();
+                if (config == null || config.getOpenai() == null) {
+                    return Mono.error(AiModelException.configError("OpenAI 未配置，请在插件设置中配置 API Key"));
+                }
+                var openaiConfig = config.getOpenai();
+                String model = orDefault(openaiConfig.getEmbeddingModel(),
+                    AiModelConstants.DEFAULT_OPENAI_EMBEDDING_MODEL);
+                SettingsKey cacheKey = new SettingsKey(AiModelConstants.Provider.OPENAI, snapshot.version());
+                return Mono.just(cached(cacheKey, () -> withLogging(newModelBuilder(AiModelConstants.Provider.OPENAI)
+                    .apiKey(openaiConfig.getApiKey())
+                    .keyPool(keyPool(AiModelConstants.Provider.OPENAI,
+                        openaiConfig.getApiKey(), openaiConfig.getApiKeys()))
+                    .baseUrl(orDefault(openaiConfig.getBaseUrl(), OPENAI_BASE_URL))
+                    .modelName(model)
+                    .dimensions(openaiConfig.getEmbeddingDimensions())
+                    .build())));
+            })
+            .doOnError(e -> log.error("创建 OpenAI 向量模型失败", e));
+    }
+
+    @Override
+    public Mono<EmbeddingModel> siliconflow() {
+        return configGetter.getSnapshot()
+            .flatMap(snapshot -> {
+                var config = snapshot.text();
+                if (config == null || config.getSiliconflow() == null) {
+                    return Mono.error(AiModelException.configError("硅基流动未配置，请在插件设置中配置 API Key"));
+                }
+                var sfConfig = config.getSiliconflow();
+                String model = orDefault(sfConfig.getEmbeddingModel(),
+                    AiModelConstants.DEFAULT_SILICONFLOW_EMBEDDING_MODEL);
+                SettingsKey cacheKey = new SettingsKey(AiModelConstants.Provider.SILICONFLOW, snapshot.version());
+                return Mono.just(cached(cacheKey, () -> withLogging(
+                    newModelBuilder(AiModelConstants.Provider.SILICONFLOW)
+                        .apiKey(sfConfig.getApiKey())
+                        .keyPool(keyPool(AiModelConstants.Provider.SILICONFLOW,
+                            sfConfig.getApiKey(), sfConfig.getApiKeys()))
+                        .baseUrl(AiModelConstants.SILICONFLOW_BASE_URL)
+                        .modelName(model)
+                        .dimensions(sfConfig.getEmbeddingDimensions())
+                        .build())));
+            })
+            .doOnError(e -> log.error("创建硅基流动向量模型失败", e));
+    }
+
+    @Override
+    public Mono<EmbeddingModel> zhipu() {
+        return configGetter.getSnapshot()
+            .flatMap(snapshot -> {
+                var config = snapshot.text();
+                if (config == null || config.getZhipu() == null) {
+                    return Mono.error(AiModelException.configError("智谱AI未配置，请在插件设置中配置 API Key"));
+                }
+                var zhipuConfig = config.getZhipu();
+                String model = orDefault(zhipuConfig.getEmbeddingModel(),
+                    AiModelConstants.DEFAULT_ZHIPU_EMBEDDING_MODEL);
+                SettingsKey cacheKey = new SettingsKey(AiModelConstants.Provider.ZHIPU, snapshot.version());
+                return Mono.just(cached(cacheKey, () -> withLogging(newModelBuilder(AiModelConstants.Provider.ZHIPU)
+                    .apiKey(zhipuConfig.getApiKey())
+                    .keyPool(keyPool(AiModelConstants.Provider.ZHIPU,
+                        zhipuConfig.getApiKey(), zhipuConfig.getApiKeys()))
+                    .baseUrl(ZHIPU_BASE_URL)
+                    .embeddingsPath(ZHIPU_EMBEDDINGS_PATH)
+                    .modelName(model)
+                    .dimensions(zhipuConfig.getEmbeddingDimensions())
+                    .build())));
+            })
+            .doOnError(e -> log.error("创建智谱AI向量模型失败", e));
+    }
+
+    @Override
+    public Mono<EmbeddingModel> create(String provider, String apiKey, String model) {
+        if (apiKey == null || apiKey.isBlank()) {
+            return Mono.error(AiModelException.configError("apiKey 不能为空"));
+        }
+        String actualProvider = provider != null ? provider.toLowerCase() : AiModelConstants.Provider.OPENAI;
+        return configGetter.getSnapshot()
+            .flatMap(snapshot -> {
+                var config = snapshot.text();
+                ProviderDefaults defaults = getProviderDefaults(actualProvider, config);
+                if (defaults == null) {
+                    return Mono.error(new IllegalArgumentException("不支持的供应商: " + actualProvider));
+                }
+                String actualModel = orDefault(model, defaults.model());
+                String cacheKey = Fingerprint.builder()
+                    .add(actualProvider)
+                    .add(apiKey)
+                    .addUrl(defaults.baseUrl())
+                    .add(actualModel)
+                    .build();
+                return Mono.just(cached(cacheKey, () -> withLogging(newModelBuilder(actualProvider)
+                    .apiKey(apiKey)
+                    .baseUrl(defaults.baseUrl())
+                    .embeddingsPath(defaults.embeddingsPath())
+                    .modelName(actualModel)
+                    .build())));
+            });
+    }
+
+    /**
+     * 插件设置变更时清空模型缓存（旧版本的实例不会再被命中）
+     */
+    @EventListener(SettingConfigGetter.SettingsChangedEvent.class)
+    public void onSettingsChanged() {
+        modelCache.invalidateAll();
+        log.debug("插件设置已变更，清空向量模型缓存");
+    }
+
+    /**
+     * 从缓存获取模型，不存在时构建
+     */
+    private EmbeddingModel cached(Object key, Supplier<EmbeddingModel> builder) {
+        return modelCache.asMap().computeIfAbsent(key, k -> builder.get());
+    }
+
+    /**
+     * 包装日志记录与请求合并
+     */
+    private EmbeddingModel withLogging(OpenAiCompatibleEmbeddingModel delegate) {
+        return new LoggingEmbeddingModel(delegate, logService, delegate.getProvider(), callerResolver,
+            embeddingBatcher, embeddingCache, modelMetrics);
+    }
+
+    /**
+     * 插件设置中配置了多个密钥时返回密钥池，只有一个密钥时返回 null
+     *
+     * @param extraKeys 备用密钥，每行一个
+     */
+    private ApiKeyPool.KeyPool keyPool(String provider, String apiKey, String extraKeys) {
+        Set<String> keys = new LinkedHashSet<>();
+        if (apiKey != null && !apiKey.isBlank()) {
+            keys.add(apiKey.trim());
+        }
+        if (extraKeys != null) {
+            extraKeys.lines()
+                .map(String::trim)
+                .filter(key -> !key.isEmpty())
+                .forEach(keys::add);
+        }
+        return keys.size() > 1 ? apiKeyPool.pool(provider, List.copyOf(keys)) : null;
+    }
+
+    /**
+     * 创建预置共享组件（传输层、调用记录）的模型构建器
+     */
+    private OpenAiCompatibleEmbeddingModel.OpenAiCompatibleEmbeddingModelBuilder newModelBuilder(String provider) {
+        return OpenAiCompatibleEmbeddingModel.builder()
+            .provider(provider)
+            .httpTransport(httpTransport)
+            .callRecorder(callRecorder);
+    }
+
+    /**
+     * 获取供应商默认配置
+     */
+    private static ProviderDefaults getProviderDefaults(String provider, SettingConfigGetter.TextModelConfig config) {
+        return switch (provider) {
+            case "openai" -> new ProviderDefaults(
+                orDefault(config != null && config.getOpenai() != null ? config.getOpenai().getBaseUrl() : null,
+                    OPENAI_BASE_URL),
+                AiModelConstants.DEFAULT_OPENAI_EMBEDDING_MODEL,
+                null
+            );
+            case "siliconflow" -> new ProviderDefaults(
+                AiModelConstants.SILICONFLOW_BASE_URL,
+                AiModelConstants.DEFAULT_SILICONFLOW_EMBEDDING_MODEL,
+                null
+            );
+            case "zhipu" -> new ProviderDefaults(
+                ZHIPU_BASE_URL,
+                AiModelConstants.DEFAULT_ZHIPU_EMBEDDING_MODEL,
+                ZHIPU_EMBEDDINGS_PATH
+            );
+            default -> null;
+        };
+    }
+
+    private static String orDefault(String value, String defaultValue) {
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+
+    private record ProviderDefaults(String baseUrl, String model, String embeddingsPath) {}
+
+    /**
+     * 插件设置派生模型的缓存键
+     *
+     * @param version 构建时的配置快照版本
+     */
+    private record SettingsKey(String provider, long version) {}
+}
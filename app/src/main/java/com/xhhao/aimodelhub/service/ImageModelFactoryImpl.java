@@ -5,9 +5,16 @@ import com.xhhao.aimodelhub.api.ImageOptions;
 import com.xhhao.aimodelhub.api.internal.ImageModelFactory;
 import com.xhhao.aimodelhub.config.SettingConfigGetter;
 import com.xhhao.aimodelhub.service.common.AiChatLogService;
+import com.xhhao.aimodelhub.service.common.CallerResolver;
+import com.xhhao.aimodelhub.service.common.Fingerprint;
 import com.xhhao.aimodelhub.service.common.LoggingImageModel;
+import com.xhhao.aimodelhub.service.common.ModelMetrics;
+import com.xhhao.aimodelhub.service.transport.HttpTransport;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.server.ServerWebInputException;
@@ -15,9 +22,14 @@ import reactor.core.publisher.Mono;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * 图像模型工厂实现
+ * <p>
+ * 构建好的模型实例按有效配置缓存复用，插件设置变更时整体失效。
+ * </p>
  *
  * @author Handsome
  * @since 1.0.0
@@ -28,50 +40,78 @@ import java.util.Map;
 public class ImageModelFactoryImpl implements ImageModelFactory {
 
     private static final String OPENAI_IMAGE_API = "https://api.openai.com/v1/images/generations";
+    private static final String ZHIPU_IMAGE_API = "https://open.bigmodel.cn/api/paas/v4/images/generations";
+    private static final String SILICONFLOW_IMAGE_API = "https://api.siliconflow.cn/v1/images/generations";
+
+    private static final int MODEL_CACHE_MAX_SIZE = 128;
+    private static final long MODEL_CACHE_IDLE_MINUTES = 30;
+
 
     private final SettingConfigGetter configGetter;
     private final AiChatLogService logService;
-    private final WebClient webClient = WebClient.builder().build();
+    private final HttpTransport httpTransport;
+    private final CallerResolver callerResolver;
+    private final ModelMetrics modelMetrics;
+
+    /**
+     * 模型实例缓存（key: 插件设置派生的 {@link SettingsKey} 或自定义配置的指纹）
+     */
+    private final Cache<Object, ImageModel> modelCache = CacheBuilder.newBuilder()
+        .maximumSize(MODEL_CACHE_MAX_SIZE)
+        .expireAfterAccess(MODEL_CACHE_IDLE_MINUTES, TimeUnit.MINUTES)
+        .build();
 
     @Override
     public Mono<ImageModel> openai() {
-        return configGetter.getImageModelConfig()
-            .map(config -> {
-                var openaiConfig = config.getOpenai();
+        return configGetter.getSnapshot()
+            .map(snapshot -> {
+                var config = snapshot.image();
+                var openaiConfig = config != null ? config.getOpenai() : null;
                 if (openaiConfig == null || openaiConfig.getApiKey() == null || openaiConfig.getApiKey().isBlank()) {
                     throw new ServerWebInputException("请先在插件设置中配置图像模型 API Key");
                 }
-                ImageModel model = new OpenAiImageModel(openaiConfig, webClient);
-                String modelName = openaiConfig.getModel() != null ? openaiConfig.getModel() : "dall-e-3";
-                return new LoggingImageModel(model, logService, "openai", modelName);
+                return cached(new SettingsKey("openai", snapshot.version()), () -> {
+                    ImageModel model = new OpenAiImageModel(openaiConfig,
+                        httpTransport.webClient(openAiImageApi(openaiConfig.getBaseUrl())));
+                    String modelName = openaiConfig.getModel() != null ? openaiConfig.getModel() : "dall-e-3";
+                    return new LoggingImageModel(model, logService, "openai", modelName, callerResolver, modelMetrics);
+                });
             });
     }
 
     @Override
     public Mono<ImageModel> zhipu() {
-        return configGetter.getImageModelConfig()
-            .map(config -> {
-                var zhipuConfig = config.getZhipu();
+        return configGetter.getSnapshot()
+            .map(snapshot -> {
+                var config = snapshot.image();
+                var zhipuConfig = config != null ? config.getZhipu() : null;
                 if (zhipuConfig == null || zhipuConfig.getApiKey() == null || zhipuConfig.getApiKey().isBlank()) {
                     throw new ServerWebInputException("请先在插件设置中配置智谱AI图像模型 API Key");
                 }
-                ImageModel model = new ZhipuImageModel(zhipuConfig, webClient);
-                String modelName = zhipuConfig.getModel() != null ? zhipuConfig.getModel() : "cogview-3-flash";
-                return new LoggingImageModel(model, logService, "zhipu", modelName);
+                return cached(new SettingsKey("zhipu", snapshot.version()), () -> {
+                    ImageModel model = new ZhipuImageModel(zhipuConfig, httpTransport.webClient(ZHIPU_IMAGE_API));
+                    String modelName = zhipuConfig.getModel() != null ? zhipuConfig.getModel() : "cogview-3-flash";
+                    return new LoggingImageModel(model, logService, "zhipu", modelName, callerResolver, modelMetrics);
+                });
             });
     }
 
     @Override
     public Mono<ImageModel> siliconflow() {
-        return configGetter.getImageModelConfig()
-            .map(config -> {
-                var sfConfig = config.getSiliconflow();
+        return configGetter.getSnapshot()
+            .map(snapshot -> {
+                var config = snapshot.image();
+                var sfConfig = config != null ? config.getSiliconflow() : null;
                 if (sfConfig == null || sfConfig.getApiKey() == null || sfConfig.getApiKey().isBlank()) {
                     throw new ServerWebInputException("请先在插件设置中配置硅基流动图像模型 API Key");
                 }
-                ImageModel model = new SiliconFlowImageModel(sfConfig, webClient);
-                String modelName = sfConfig.getModel() != null ? sfConfig.getModel() : "FLUX.1-schnell";
-                return new LoggingImageModel(model, logService, "siliconflow", modelName);
+                return cached(new SettingsKey("siliconflow", snapshot.version()), () -> {
+                    ImageModel model = new SiliconFlowImageModel(sfConfig,
+                        httpTransport.webClient(SILICONFLOW_IMAGE_API));
+                    String modelName = sfConfig.getModel() != null ? sfConfig.getModel() : "FLUX.1-schnell";
+                    return new LoggingImageModel(model, logService, "siliconflow", modelName, callerResolver,
+                        modelMetrics);
+                });
             });
     }
 
@@ -102,23 +142,80 @@ public class ImageModelFactoryImpl implements ImageModelFactory {
         return switch (actualProvider) {
             case "openai" -> {
                 String actualModel = model != null ? model : "dall-e-3";
-                ImageModel imageModel = new CustomOpenAiImageModel(apiKey, options.getBaseUrl(), actualModel, webClient);
-                yield Mono.just(new LoggingImageModel(imageModel, logService, "openai", actualModel));
+                String cacheKey = Fingerprint.builder()
+                    .add(actualProvider).add(apiKey).addUrl(options.getBaseUrl()).add(actualModel)
+                    .build();
+                yield Mono.just(cached(cacheKey, () -> {
+                    ImageModel imageModel = new CustomOpenAiImageModel(apiKey, options.getBaseUrl(), actualModel,
+                        httpTransport.webClient(openAiImageApi(options.getBaseUrl())));
+                    return new LoggingImageModel(imageModel, logService, "openai", actualModel, callerResolver,
+                        modelMetrics);
+                }));
             }
             case "zhipu" -> {
                 String actualModel = model != null ? model : "cogview-3-flash";
-                ImageModel imageModel = new CustomZhipuImageModel(apiKey, actualModel, webClient);
-                yield Mono.just(new LoggingImageModel(imageModel, logService, "zhipu", actualModel));
+                String cacheKey = Fingerprint.builder()
+                    .add(actualProvider).add(apiKey).add(actualModel)
+                    .build();
+                yield Mono.just(cached(cacheKey, () -> {
+                    ImageModel imageModel = new CustomZhipuImageModel(apiKey, actualModel,
+                        httpTransport.webClient(ZHIPU_IMAGE_API));
+                    return new LoggingImageModel(imageModel, logService, "zhipu", actualModel, callerResolver,
+                        modelMetrics);
+                }));
             }
             case "siliconflow" -> {
                 String actualModel = model != null ? model : "black-forest-labs/FLUX.1-schnell";
-                ImageModel imageModel = new CustomSiliconFlowImageModel(apiKey, actualModel, options, webClient);
-                yield Mono.just(new LoggingImageModel(imageModel, logService, "siliconflow", actualModel));
+                // 硅基流动实例持有 options 作为默认生成参数，需全部参与缓存键
+                String cacheKey = Fingerprint.builder()
+                    .add(actualProvider).add(apiKey).add(actualModel)
+                    .add(options.getSize()).add(options.getQuality()).add(options.getN()).add(options.getStyle())
+                    .add(options.isWatermark()).add(options.getSteps()).add(options.getGuidanceScale())
+                    .add(options.getSeed()).add(options.getNegativePrompt()).add(options.getImageFormat())
+                    .build();
+                yield Mono.just(cached(cacheKey, () -> {
+                    ImageModel imageModel = new CustomSiliconFlowImageModel(apiKey, actualModel, options,
+                        httpTransport.webClient(SILICONFLOW_IMAGE_API));
+                    return new LoggingImageModel(imageModel, logService, "siliconflow", actualModel, callerResolver,
+                        modelMetrics);
+                }));
             }
             default -> throw new ServerWebInputException("不支持的供应商: " + actualProvider);
         };
     }
 
+    /**
+     * 插件设置变更时清空模型缓存（旧版本的实例不会再被命中）
+     */
+    @EventListener(SettingConfigGetter.SettingsChangedEvent.class)
+    public void onSettingsChanged() {
+        modelCache.invalidateAll();
+        log.debug("插件设置已变更，清空图像模型缓存");
+    }
+
+    /**
+     * 从缓存获取模型，不存在时构建
+     */
+    private ImageModel cached(Object key, Supplier<ImageModel> builder) {
+        return modelCache.asMap().computeIfAbsent(key, k -> builder.get());
+    }
+
+    /**
+     * 解析 OpenAI 图像生成接口地址
+     */
+    private static String openAiImageApi(String baseUrl) {
+        return (baseUrl != null && !baseUrl.isBlank())
+            ? baseUrl.replaceAll("/+$", "") + "/v1/images/generations"
+            : OPENAI_IMAGE_API;
+    }
+
+    /**
+     * 插件设置派生模型的缓存键
+     *
+     * @param version 构建时的配置快照版本
+     */
+    private record SettingsKey(String provider, long version) {}
+
     // ==================== 自定义参数的内部实现 ====================
 
     private static class CustomOpenAiImageModel implements ImageModel {
@@ -141,9 +238,7 @@ public class ImageModelFactoryImpl implements ImageModelFactory {
 
         @Override
         public Mono<List<String>> generate(String prompt, ImageOptions options) {
-            String apiUrl = (baseUrl != null && !baseUrl.isBlank())
-                ? baseUrl.replaceAll("/+$", "") + "/v1/images/generations"
-                : OPENAI_IMAGE_API;
+            String apiUrl = openAiImageApi(baseUrl);
             String size = options.getSize() != null ? options.getSize() : "1024x1024";
             int n = model.equals("dall-e-3") ? 1 : Math.max(1, Math.min(options.getN(), 10));
 
@@ -166,7 +261,6 @@ public class ImageModelFactoryImpl implements ImageModelFactory {
     }
 
     private static class CustomZhipuImageModel implements ImageModel {
-        private static final String ZHIPU_API = "https://open.bigmodel.cn/api/paas/v4/images/generations";
         private final String apiKey;
         private final String model;
         private final WebClient webClient;
@@ -186,7 +280,7 @@ public class ImageModelFactoryImpl implements ImageModelFactory {
         public Mono<List<String>> generate(String prompt, ImageOptions options) {
             String size = options.getSize() != null ? options.getSize() : "1024x1024";
             Map<String, Object> request = Map.of("prompt", prompt, "model", model, "size", size);
-            return webClient.post().uri(ZHIPU_API)
+            return webClient.post().uri(ZHIPU_IMAGE_API)
                 .header("Authorization", "Bearer " + apiKey)
                 .header("Content-Type", "application/json")
                 .bodyValue(request).retrieve()
@@ -196,7 +290,6 @@ public class ImageModelFactoryImpl implements ImageModelFactory {
     }
 
     private static class CustomSiliconFlowImageModel implements ImageModel {
-        private static final String SF_API = "https://api.siliconflow.cn/v1/images/generations";
         private final String apiKey;
         private final String model;
         private final ImageOptions defaultOptions;
@@ -226,7 +319,7 @@ public class ImageModelFactoryImpl implements ImageModelFactory {
             if (options.getSeed() != null) request.put("seed", options.getSeed());
             if (options.getNegativePrompt() != null) request.put("negative_prompt", options.getNegativePrompt());
 
-            return webClient.post().uri(SF_API)
+            return webClient.post().uri(SILICONFLOW_IMAGE_API)
                 .header("Authorization", "Bearer " + apiKey)
                 .header("Content-Type", "application/json")
                 .bodyValue(request).retrieve()
@@ -255,10 +348,7 @@ public class ImageModelFactoryImpl implements ImageModelFactory {
 
         @Override
         public Mono<List<String>> generate(String prompt, ImageOptions options) {
-            String baseUrl = config.getBaseUrl();
-            String apiUrl = (baseUrl != null && !baseUrl.isBlank())
-                ? baseUrl.replaceAll("/+$", "") + "/v1/images/generations"
-                : OPENAI_IMAGE_API;
+            String apiUrl = openAiImageApi(config.getBaseUrl());
 
             String model = config.getModel();
             String size = options.getSize() != null ? options.getSize() : config.getSize();
@@ -305,8 +395,6 @@ public class ImageModelFactoryImpl implements ImageModelFactory {
      */
     private static class ZhipuImageModel implements ImageModel {
 
-        private static final String ZHIPU_IMAGE_API = "https://open.bigmodel.cn/api/paas/v4/images/generations";
-
         private final SettingConfigGetter.ImageZhipuConfig config;
         private final WebClient webClient;
 
@@ -357,8 +445,6 @@ public class ImageModelFactoryImpl implements ImageModelFactory {
      */
     private static class SiliconFlowImageModel implements ImageModel {
 
-        private static final String SILICONFLOW_IMAGE_API = "https://api.siliconflow.cn/v1/images/generations";
-
         private final SettingConfigGetter.ImageSiliconFlowConfig config;
         private final WebClient webClient;
 
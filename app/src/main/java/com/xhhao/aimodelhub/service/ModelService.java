@@ -6,10 +6,10 @@ import com.google.common.cache.CacheBuilder;
 import com.xhhao.aimodelhub.api.constant.AiModelConstants;
 import com.xhhao.aimodelhub.config.SettingConfigGetter;
 import com.xhhao.aimodelhub.model.ModelListItem;
+import com.xhhao.aimodelhub.service.transport.HttpTransport;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.server.ServerWebInputException;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
@@ -29,7 +29,7 @@ public class ModelService {
     private static final String SILICONFLOW_MODELS_API = "https://api.siliconflow.cn/v1/models";
 
     private final SettingConfigGetter configGetter;
-    private final WebClient webClient = WebClient.builder().build();
+    private final HttpTransport httpTransport;
 
     private final Cache<String, List<ModelListItem>> modelCache = CacheBuilder.newBuilder()
         .expireAfterWrite(1, TimeUnit.DAYS)
@@ -52,7 +52,7 @@ public class ModelService {
                     return Mono.error(new ServerWebInputException("请先配置硅基流动 API Key"));
                 }
 
-                return webClient.get()
+                return httpTransport.webClient(SILICONFLOW_MODELS_API).get()
                     .uri(SILICONFLOW_MODELS_API)
                     .header("Authorization", "Bearer " + sfConfig.getApiKey())
                     .retrieve()
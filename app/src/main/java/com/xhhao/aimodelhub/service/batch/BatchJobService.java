@@ -0,0 +1,592 @@
+package com.xhhao.aimodelhub.service.batch;
+
+import com.xhhao.aimodelhub.api.BatchItemResult;
+import com.xhhao.aimodelhub.api.BatchJobStatus;
+import com.xhhao.aimodelhub.api.ChatMessage;
+import com.xhhao.aimodelhub.api.exception.AiModelException;
+import com.xhhao.aimodelhub.extension.BatchJob;
+import com.xhhao.aimodelhub.service.openai.OpenAiBatch;
+import com.xhhao.aimodelhub.service.openai.OpenAiBatchClient;
+import com.xhhao.aimodelhub.service.openai.OpenAiCompatibleChatModel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+import run.halo.app.extension.ListOptions;
+import run.halo.app.extension.Metadata;
+import run.halo.app.extension.ReactiveExtensionClient;
+import run.halo.app.plugin.PluginContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * 离线批处理任务服务
+ * <p>
+ * 提交时把对话逐行写入插件数据目录下的 JSONL 文件（{@code plugins-data/<插件名>/batch-jobs/<任务名>}），
+ * 并保存 {@link BatchJob}；之后由后台定时任务推进：上传输入文件、创建批次、按指数退避轮询状态，
+ * 供应商结束处理后把结果与错误文件流式下载到同一目录，读取结果时逐行解析。
+ * </p>
+ * <p>
+ * 每一步完成后立即写回任务状态，插件重启后从上次完成的步骤继续（已上传的文件不会重复上传）。
+ * 使用自定义配置提交的任务不保存访问凭据，插件重启后无法继续跟踪，转为 {@link BatchJob.Phase#DETACHED}
+ * 并记录原因（而不是用插件设置中的凭据访问别人的批次后失败）。
+ * 结束超过保留期限的任务连同本地文件一起删除。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class BatchJobService {
+
+    /**
+     * 单个任务的最大项数（与 OpenAI Batch API 的限制一致）
+     */
+    static final int MAX_ITEMS = 50_000;
+
+    private static final String JOB_NAME_PREFIX = "batch-job-";
+    private static final int JOB_NAME_SUFFIX_LENGTH = 12;
+
+    private static final String INPUT_FILE = "input.jsonl";
+    private static final String OUTPUT_FILE = "output.jsonl";
+    private static final String ERROR_FILE = "errors.jsonl";
+
+    private static final String DETACHED_MESSAGE = "任务使用自定义配置提交，插件重启后缺少访问凭据，已停止跟踪";
+
+    private static final Duration INITIAL_POLL_INTERVAL = Duration.ofSeconds(30);
+    private static final Duration MAX_POLL_INTERVAL = Duration.ofMinutes(10);
+
+    /**
+     * 结束后的保留期限
+     */
+    private static final Duration RETENTION = Duration.ofDays(7);
+
+    private final ReactiveExtensionClient client;
+    private final Path directory;
+
+    /**
+     * 未结束的任务及其下次推进时间
+     */
+    private final ConcurrentHashMap<String, Instant> activeJobs = new ConcurrentHashMap<>();
+
+    /**
+     * 正在推进的任务（同一任务同时只推进一步）
+     */
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 任务使用的客户端（提交时创建，重启后按供应商重新解析）
+     */
+    private final ConcurrentHashMap<String, OpenAiBatchClient> batchClients = new ConcurrentHashMap<>();
+
+    /**
+     * 按供应商解析插件设置中的模型（由模型工厂注册）
+     */
+    private volatile Function<String, Mono<OpenAiCompatibleChatModel>> modelResolver;
+
+    public BatchJobService(ReactiveExtensionClient client, PluginContext pluginContext, Environment environment) {
+        this.client = client;
+        String workDir = environment.getProperty("halo.work-dir",
+            Path.of(System.getProperty("user.home"), ".halo2").toString());
+        this.directory = Path.of(workDir, "plugins-data", pluginContext.getName(), "batch-jobs");
+    }
+
+    /**
+     * 注册按供应商解析模型的方式（用于恢复重启前提交的任务）
+     */
+    public void setModelResolver(Function<String, Mono<OpenAiCompatibleChatModel>> modelResolver) {
+        this.modelResolver = modelResolver;
+    }
+
+    /**
+     * 加载未结束的任务并继续跟踪（插件启动时调用）
+     */
+    public void resume() {
+        client.listAll(BatchJob.class, new ListOptions(), null)
+            .filter(job -> !isTerminal(job))
+            .doOnNext(this::schedule)
+            .count()
+            .subscribe(count -> {
+                if (count > 0) {
+                    log.info("继续跟踪 {} 个离线批处理任务", count);
+                }
+            }, error -> log.warn("加载离线批处理任务失败", error));
+    }
+
+    /**
+     * 提交任务
+     *
+     * @param provider      供应商
+     * @param model         生成输入文件与访问 Batch API 使用的模型
+     * @param conversations 每一项为一次多轮对话的消息列表
+     * @param callerPlugin  调用方插件
+     * @param customOptions 是否使用自定义配置
+     * @return 任务名称（输入文件写入完成、任务保存后返回，上传在后台进行）
+     */
+    public Mono<String> submit(String provider, OpenAiCompatibleChatModel model,
+                               List<List<ChatMessage>> conversations, String callerPlugin, boolean customOptions) {
+        if (conversations == null || conversations.isEmpty()) {
+            return Mono.error(new IllegalArgumentException("对话列表不能为空"));
+        }
+        if (conversations.size() > MAX_ITEMS) {
+            return Mono.error(new IllegalArgumentException("单个离线批处理任务最多 " + MAX_ITEMS + " 项"));
+        }
+        for (int i = 0; i < conversations.size(); i++) {
+            if (conversations.get(i) == null || conversations.get(i).isEmpty()) {
+                return Mono.error(new IllegalArgumentException("第 " + i + " 项消息列表为空"));
+            }
+        }
+        String name = JOB_NAME_PREFIX + UUID.randomUUID().toString().substring(0, JOB_NAME_SUFFIX_LENGTH);
+        OpenAiBatchClient batchClient = new OpenAiBatchClient(model);
+        return Mono.fromCallable(() -> {
+                Path jobDirectory = directory.resolve(name);
+                Files.createDirectories(jobDirectory);
+                batchClient.writeInput(conversations, jobDirectory.resolve(INPUT_FILE));
+                return jobDirectory;
+            })
+            .subscribeOn(Schedulers.boundedElastic())
+            .then(Mono.defer(() -> client.create(newJob(name, provider, model, conversations.size(), batchClient,
+                callerPlugin, customOptions))))
+            .map(created -> {
+                batchClients.put(name, batchClient);
+                schedule(created);
+                pollDueJobs();
+                log.info("已提交离线批处理任务: name={}, provider={}, items={}", name, provider, conversations.size());
+                return name;
+            })
+            .onErrorResume(error -> deleteDirectory(name).then(Mono.error(error)));
+    }
+
+    /**
+     * 查询任务状态
+     */
+    public Mono<BatchJobStatus> getStatus(String name) {
+        return fetchJob(name).map(BatchJobService::toStatus);
+    }
+
+    /**
+     * 列出全部任务（按创建时间倒序）
+     */
+    public Flux<BatchJobStatus> list() {
+        return client.listAll(BatchJob.class, new ListOptions(), null)
+            .map(BatchJobService::toStatus)
+            .sort(Comparator.comparing(BatchJobStatus::getCreateTime,
+                Comparator.nullsLast(Comparator.reverseOrder())));
+    }
+
+    /**
+     * 读取任务结果（逐行解析本地结果文件）
+     */
+    public Flux<BatchItemResult> results(String name) {
+        return fetchJob(name).flatMapMany(job -> {
+            BatchJob.Phase phase = job.getStatus().getPhase();
+            if (!phase.hasResults()) {
+                String reason = phase == BatchJob.Phase.FAILED || phase == BatchJob.Phase.DETACHED
+                    ? "：" + job.getStatus().getLastError() : "";
+                return Flux.error(new IllegalStateException(
+                    "离线批处理任务没有可读取的结果（" + phase + "）" + reason));
+            }
+            Path jobDirectory = directory.resolve(name);
+            return OpenAiBatchClient.readResults(
+                List.of(jobDirectory.resolve(OUTPUT_FILE), jobDirectory.resolve(ERROR_FILE)),
+                job.getSpec().getItemCount());
+        });
+    }
+
+    /**
+     * 取消任务
+     * <p>
+     * 尚未创建批次的任务直接结束；已创建的批次请求供应商取消，之后继续轮询直到供应商确认，再下载已处理部分的结果。
+     * </p>
+     */
+    public Mono<BatchJobStatus> cancel(String name) {
+        return fetchJob(name)
+            .flatMap(job -> {
+                BatchJob.BatchJobStatus status = job.getStatus();
+                if (status.getPhase().isTerminal()) {
+                    return Mono.just(job);
+                }
+                if (status.getRemoteBatchId() == null) {
+                    return updateStatus(name, current -> {
+                        current.setPhase(BatchJob.Phase.CANCELLED);
+                        finish(current);
+                    });
+                }
+                return batchClient(job)
+                    .flatMap(batchClient -> batchClient.cancel(status.getRemoteBatchId()))
+                    .flatMap(batch -> updateStatus(name, current -> {
+                        applyRemote(current, batch);
+                        current.setPhase(BatchJob.Phase.IN_PROGRESS);
+                        current.setPollAttempts(0);
+                        current.setNextPollTime(Instant.now().plus(INITIAL_POLL_INTERVAL));
+                    }));
+            })
+            .doOnNext(this::schedule)
+            .map(BatchJobService::toStatus);
+    }
+
+    /**
+     * 推进到期的任务
+     */
+    @Scheduled(fixedDelay = 5000)
+    void pollDueJobs() {
+        Instant now = Instant.now();
+        activeJobs.forEach((name, due) -> {
+            if (!due.isAfter(now) && inFlight.add(name)) {
+                advance(name)
+                    .doFinally(signal -> inFlight.remove(name))
+                    .subscribe(null, error -> log.warn("推进离线批处理任务失败: {}", name, error));
+            }
+        });
+    }
+
+    /**
+     * 删除结束超过保留期限的任务与本地文件
+     */
+    @Scheduled(fixedDelay = 3600000, initialDelay = 600000)
+    void purgeExpiredJobs() {
+        Instant deadline = Instant.now().minus(RETENTION);
+        client.listAll(BatchJob.class, new ListOptions(), null)
+            .filter(job -> isTerminal(job) && job.getStatus().getFinishTime() != null
+                && job.getStatus().getFinishTime().isBefore(deadline))
+            .concatMap(job -> deleteDirectory(job.getMetadata().getName()).then(client.delete(job)))
+            .count()
+            .subscribe(count -> {
+                if (count > 0) {
+                    log.info("已删除 {} 个过期的离线批处理任务", count);
+                }
+            }, error -> log.warn("删除过期的离线批处理任务失败", error));
+    }
+
+    /**
+     * 按当前阶段推进一步
+     */
+    private Mono<Void> advance(String name) {
+        return client.fetch(BatchJob.class, name)
+            .switchIfEmpty(Mono.fromRunnable(() -> forget(name)))
+            .flatMap(job -> {
+                if (isTerminal(job)) {
+                    forget(name);
+                    return Mono.<Void>empty();
+                }
+                if (isDetached(job)) {
+                    return detach(name);
+                }
+                return batchClient(job)
+                    .flatMap(batchClient -> switch (job.getStatus().getPhase()) {
+                        case PENDING, UPLOADING -> createRemote(job, batchClient);
+                        case SUBMITTED, IN_PROGRESS -> poll(job, batchClient);
+                        case DOWNLOADING -> download(job, batchClient);
+                        default -> Mono.<Void>empty();
+                    })
+                    .onErrorResume(error -> onStepError(name, error));
+            });
+    }
+
+    /**
+     * 上传输入文件（已上传时跳过）并创建批次
+     */
+    private Mono<Void> createRemote(BatchJob job, OpenAiBatchClient batchClient) {
+        String name = job.getMetadata().getName();
+        String uploaded = job.getStatus().getInputFileId();
+        Mono<String> inputFileId = uploaded != null ? Mono.just(uploaded)
+            : updateStatus(name, status -> status.setPhase(BatchJob.Phase.UPLOADING))
+                .then(batchClient.upload(directory.resolve(name).resolve(INPUT_FILE)))
+                .flatMap(fileId -> updateStatus(name, status -> status.setInputFileId(fileId)).thenReturn(fileId));
+        return inputFileId
+            .flatMap(batchClient::create)
+            .flatMap(batch -> updateStatus(name, status -> {
+                    status.setRemoteBatchId(batch.getId());
+                    applyRemote(status, batch);
+                    status.setPhase(BatchJob.Phase.SUBMITTED);
+                    status.setPollAttempts(0);
+                    status.setNextPollTime(Instant.now().plus(INITIAL_POLL_INTERVAL));
+                    status.setLastError(null);
+                })
+                // 创建期间任务已被取消时，取消刚创建的批次
+                .flatMap(updated -> batch.getId().equals(updated.getStatus().getRemoteBatchId())
+                    ? Mono.just(updated)
+                    : batchClient.cancel(batch.getId()).thenReturn(updated)))
+            .doOnNext(this::schedule)
+            .then();
+    }
+
+    /**
+     * 查询批次状态
+     */
+    private Mono<Void> poll(BatchJob job, OpenAiBatchClient batchClient) {
+        String name = job.getMetadata().getName();
+        return batchClient.get(job.getStatus().getRemoteBatchId())
+            .flatMap(batch -> updateStatus(name, status -> {
+                applyRemote(status, batch);
+                status.setLastError(null);
+                String remoteStatus = batch.getStatus() != null ? batch.getStatus() : "";
+                switch (remoteStatus) {
+                    case "completed", "expired", "cancelled" -> {
+                        if (status.getOutputFileId() == null && status.getErrorFileId() == null) {
+                            status.setPhase(terminalPhase(remoteStatus));
+                            finish(status);
+                        } else {
+                            status.setPhase(BatchJob.Phase.DOWNLOADING);
+                            status.setNextPollTime(Instant.now());
+                        }
+                    }
+                    case "failed" -> {
+                        status.setPhase(BatchJob.Phase.FAILED);
+                        status.setLastError(batch.getFirstError() != null ? batch.getFirstError() : "供应商批次处理失败");
+                        finish(status);
+                    }
+                    default -> {
+                        if (!"validating".equals(remoteStatus)) {
+                            status.setPhase(BatchJob.Phase.IN_PROGRESS);
+                        }
+                        backOff(status);
+                    }
+                }
+            }))
+            .doOnNext(this::schedule)
+            .then();
+    }
+
+    /**
+     * 下载结果与错误文件
+     */
+    private Mono<Void> download(BatchJob job, OpenAiBatchClient batchClient) {
+        String name = job.getMetadata().getName();
+        BatchJob.BatchJobStatus current = job.getStatus();
+        Path jobDirectory = directory.resolve(name);
+        Mono<Void> output = current.getOutputFileId() != null
+            ? batchClient.download(current.getOutputFileId(), jobDirectory.resolve(OUTPUT_FILE)) : Mono.empty();
+        Mono<Void> errors = current.getErrorFileId() != null
+            ? batchClient.download(current.getErrorFileId(), jobDirectory.resolve(ERROR_FILE)) : Mono.empty();
+        return output.then(errors)
+            .then(updateStatus(name, status -> {
+                status.setPhase(terminalPhase(status.getRemoteStatus()));
+                status.setLastError(null);
+                finish(status);
+            }))
+            .doOnNext(finished -> log.info("离线批处理任务已结束: name={}, phase={}", name, finished.getStatus().getPhase()))
+            .doOnNext(this::schedule)
+            .then();
+    }
+
+    /**
+     * 单步失败：可恢复的错误（限流、5xx、网络异常）按退避间隔重试，其余错误结束任务
+     */
+    private Mono<Void> onStepError(String name, Throwable error) {
+        boolean retryable = ChatBatchExecutor.isRetryable(error);
+        log.warn("离线批处理任务 {} 执行失败{}: {}", name, retryable ? "，稍后重试" : "", error.getMessage());
+        return updateStatus(name, status -> {
+                status.setLastError(error.getMessage());
+                if (retryable) {
+                    backOff(status);
+                } else {
+                    status.setPhase(BatchJob.Phase.FAILED);
+                    finish(status);
+                }
+            })
+            .doOnNext(this::schedule)
+            .onErrorResume(e -> {
+                log.warn("保存离线批处理任务状态失败: {}", name, e);
+                activeJobs.computeIfPresent(name, (k, due) -> Instant.now().plus(MAX_POLL_INTERVAL));
+                return Mono.empty();
+            })
+            .then();
+    }
+
+    /**
+     * 停止跟踪已丢失自定义配置的任务
+     */
+    private Mono<Void> detach(String name) {
+        log.warn("离线批处理任务 {} 使用自定义配置提交，插件重启后无法继续跟踪", name);
+        return updateStatus(name, status -> {
+                status.setPhase(BatchJob.Phase.DETACHED);
+                status.setLastError(DETACHED_MESSAGE);
+                finish(status);
+            })
+            .doOnNext(this::schedule)
+            .then();
+    }
+
+    /**
+     * 使用自定义配置提交且当前进程中没有对应客户端（插件已重启）
+     */
+    private boolean isDetached(BatchJob job) {
+        return Boolean.TRUE.equals(job.getSpec().getCustomOptions())
+            && !batchClients.containsKey(job.getMetadata().getName());
+    }
+
+    /**
+     * 获取任务使用的客户端
+     */
+    private Mono<OpenAiBatchClient> batchClient(BatchJob job) {
+        String name = job.getMetadata().getName();
+        OpenAiBatchClient existing = batchClients.get(name);
+        if (existing != null) {
+            return Mono.just(existing);
+        }
+        if (Boolean.TRUE.equals(job.getSpec().getCustomOptions())) {
+            return Mono.error(new IllegalStateException(DETACHED_MESSAGE));
+        }
+        Function<String, Mono<OpenAiCompatibleChatModel>> resolver = modelResolver;
+        if (resolver == null) {
+            return Mono.error(AiModelException.configError("模型工厂尚未就绪"));
+        }
+        return resolver.apply(job.getSpec().getProvider())
+            .map(model -> batchClients.computeIfAbsent(name, k -> new OpenAiBatchClient(model)));
+    }
+
+    /**
+     * 读取并修改任务状态后写回（并发修改时重新读取；任务已结束时不再修改）
+     */
+    private Mono<BatchJob> updateStatus(String name, Consumer<BatchJob.BatchJobStatus> mutation) {
+        return Mono.defer(() -> client.fetch(BatchJob.class, name))
+            .flatMap(job -> {
+                if (isTerminal(job)) {
+                    return Mono.just(job);
+                }
+                mutation.accept(job.getStatus());
+                return client.update(job);
+            })
+            .retryWhen(Retry.max(3).filter(OptimisticLockingFailureException.class::isInstance));
+    }
+
+    private Mono<BatchJob> fetchJob(String name) {
+        return client.fetch(BatchJob.class, name)
+            .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("离线批处理任务不存在: " + name)));
+    }
+
+    /**
+     * 按任务状态安排下次推进，已结束的任务停止跟踪
+     */
+    private void schedule(BatchJob job) {
+        String name = job.getMetadata().getName();
+        if (isTerminal(job)) {
+            forget(name);
+            return;
+        }
+        Instant next = job.getStatus().getNextPollTime();
+        activeJobs.put(name, next != null ? next : Instant.now());
+    }
+
+    private void forget(String name) {
+        activeJobs.remove(name);
+        batchClients.remove(name);
+    }
+
+    private Mono<Void> deleteDirectory(String name) {
+        Path jobDirectory = directory.resolve(name);
+        return Mono.<Void>fromRunnable(() -> {
+                if (!Files.exists(jobDirectory)) {
+                    return;
+                }
+                try (Stream<Path> paths = Files.walk(jobDirectory)) {
+                    paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+                } catch (IOException e) {
+                    log.warn("删除离线批处理任务文件失败: {}", jobDirectory, e);
+                }
+            })
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static BatchJob newJob(String name, String provider, OpenAiCompatibleChatModel model, int itemCount,
+                                   OpenAiBatchClient batchClient, String callerPlugin, boolean customOptions) {
+        BatchJob job = new BatchJob();
+        Metadata metadata = new Metadata();
+        metadata.setName(name);
+        job.setMetadata(metadata);
+
+        BatchJob.BatchJobSpec spec = new BatchJob.BatchJobSpec();
+        spec.setCallerPlugin(callerPlugin);
+        spec.setProvider(provider);
+        spec.setModel(model.getModelName());
+        spec.setItemCount(itemCount);
+        spec.setEndpoint(batchClient.getEndpoint());
+        spec.setCustomOptions(customOptions);
+        spec.setCreateTime(Instant.now());
+        job.setSpec(spec);
+
+        BatchJob.BatchJobStatus status = new BatchJob.BatchJobStatus();
+        status.setPhase(BatchJob.Phase.PENDING);
+        status.setPollAttempts(0);
+        status.setNextPollTime(Instant.now());
+        job.setStatus(status);
+        return job;
+    }
+
+    private static void applyRemote(BatchJob.BatchJobStatus status, OpenAiBatch batch) {
+        status.setRemoteStatus(batch.getStatus());
+        if (batch.getOutputFileId() != null) {
+            status.setOutputFileId(batch.getOutputFileId());
+        }
+        if (batch.getErrorFileId() != null) {
+            status.setErrorFileId(batch.getErrorFileId());
+        }
+        OpenAiBatch.RequestCounts counts = batch.getRequestCounts();
+        if (counts != null) {
+            status.setCompletedCount(counts.getCompleted());
+            status.setFailedCount(counts.getFailed());
+        }
+    }
+
+    /**
+     * 指数退避：30 秒起，每次翻倍，最长 10 分钟
+     */
+    private static void backOff(BatchJob.BatchJobStatus status) {
+        int attempts = status.getPollAttempts() != null ? status.getPollAttempts() : 0;
+        long seconds = Math.min(MAX_POLL_INTERVAL.toSeconds(),
+            INITIAL_POLL_INTERVAL.toSeconds() << Math.min(attempts, 16));
+        status.setPollAttempts(attempts + 1);
+        status.setNextPollTime(Instant.now().plusSeconds(seconds));
+    }
+
+    private static void finish(BatchJob.BatchJobStatus status) {
+        status.setFinishTime(Instant.now());
+        status.setNextPollTime(null);
+    }
+
+    private static BatchJob.Phase terminalPhase(String remoteStatus) {
+        if ("expired".equals(remoteStatus)) {
+            return BatchJob.Phase.EXPIRED;
+        }
+        if ("cancelled".equals(remoteStatus)) {
+            return BatchJob.Phase.CANCELLED;
+        }
+        return BatchJob.Phase.COMPLETED;
+    }
+
+    private static boolean isTerminal(BatchJob job) {
+        return job.getStatus() == null || job.getStatus().getPhase() == null
+            || job.getStatus().getPhase().isTerminal();
+    }
+
+    private static BatchJobStatus toStatus(BatchJob job) {
+        BatchJob.BatchJobSpec spec = job.getSpec();
+        BatchJob.BatchJobStatus status = job.getStatus();
+        BatchJob.Phase phase = status != null && status.getPhase() != null ? status.getPhase() : BatchJob.Phase.FAILED;
+        return new BatchJobStatus(job.getMetadata().getName(), spec.getProvider(), spec.getModel(), phase.name(),
+            spec.getItemCount() != null ? spec.getItemCount() : 0,
+            status != null && status.getCompletedCount() != null ? status.getCompletedCount() : 0,
+            status != null && status.getFailedCount() != null ? status.getFailedCount() : 0,
+            status != null ? status.getLastError() : null, spec.getCreateTime(),
+            status != null ? status.getFinishTime() : null, phase.isTerminal(), phase.hasResults());
+    }
+}
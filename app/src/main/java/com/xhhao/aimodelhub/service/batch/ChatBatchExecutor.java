@@ -0,0 +1,158 @@
+package com.xhhao.aimodelhub.service.batch;
+
+import com.xhhao.aimodelhub.api.BatchItemResult;
+import com.xhhao.aimodelhub.api.BatchOptions;
+import com.xhhao.aimodelhub.api.BatchProgress;
+import com.xhhao.aimodelhub.api.ChatMessage;
+import com.xhhao.aimodelhub.api.ChatModel;
+import com.xhhao.aimodelhub.api.exception.AiModelException;
+import com.xhhao.aimodelhub.service.resilience.UpstreamRetry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 批量对话执行器
+ * <p>
+ * 整个批次复用同一个模型实例（及其连接池），用 flatMap 限制同时进行的调用数。
+ * 重试只在这一层进行（通过订阅上下文关闭模型内部的上游重试），每次调用单独计时，
+ * 超时、限流等可恢复的失败按指数退避重试，等待时间不计入超时；
+ * 最终失败转换为该项的错误结果，不中断其他项。完成顺序不定，结果按输入下标归位。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class ChatBatchExecutor {
+
+    /**
+     * 单个批次的最大并发数
+     */
+    static final int MAX_CONCURRENCY = 32;
+
+    /**
+     * 单项最大重试次数
+     */
+    private static final int MAX_ITEM_RETRIES = 5;
+
+    /**
+     * 执行批量对话
+     *
+     * @param model         整个批次使用的模型
+     * @param conversations 每一项为一次多轮对话的消息列表
+     * @param options       批量选项
+     * @return 进度流，每完成一项发出一次，最后一次按输入顺序包含全部结果
+     */
+    public Flux<BatchProgress> execute(Mono<ChatModel> model, List<List<ChatMessage>> conversations,
+                                       BatchOptions options) {
+        if (conversations == null) {
+            return Flux.error(new IllegalArgumentException("对话列表不能为空"));
+        }
+        int total = conversations.size();
+        if (total == 0) {
+            return Flux.just(new BatchProgress(0, 0, 0, 0, null, true, List.of()));
+        }
+        int concurrency = Math.max(1, Math.min(MAX_CONCURRENCY, options.getConcurrency()));
+        return model.flatMapMany(chatModel -> Flux.defer(() -> {
+            BatchItemResult[] results = new BatchItemResult[total];
+            AtomicInteger succeeded = new AtomicInteger();
+            AtomicInteger failed = new AtomicInteger();
+            AtomicInteger completed = new AtomicInteger();
+            return Flux.range(0, total)
+                .flatMap(index -> runItem(chatModel, index, conversations.get(index), options), concurrency)
+                .map(item -> {
+                    results[item.getIndex()] = item;
+                    (item.isSuccess() ? succeeded : failed).incrementAndGet();
+                    int done = completed.incrementAndGet();
+                    return new BatchProgress(total, done, succeeded.get(), failed.get(), item, done == total,
+                        done == total ? List.copyOf(Arrays.asList(results)) : null);
+                });
+        }));
+    }
+
+    /**
+     * 执行单项（不会发出错误信号）
+     */
+    private Mono<BatchItemResult> runItem(ChatModel model, int index, List<ChatMessage> messages,
+                                          BatchOptions options) {
+        return Mono.defer(() -> {
+            long start = System.currentTimeMillis();
+            AtomicInteger attempts = new AtomicInteger();
+            Duration timeout = positive(options.getItemTimeout(), Duration.ofSeconds(120));
+            Mono<String> call = Mono.defer(() -> {
+                attempts.incrementAndGet();
+                if (messages == null || messages.isEmpty()) {
+                    return Mono.error(new IllegalArgumentException("消息列表不能为空"));
+                }
+                return model.chat(messages)
+                    .timeout(timeout)
+                    .contextWrite(context -> context.put(UpstreamRetry.NO_RETRY_KEY, true));
+            });
+            int maxRetries = Math.max(0, Math.min(MAX_ITEM_RETRIES, options.getMaxRetries()));
+            if (maxRetries > 0) {
+                Duration backoff = positive(options.getRetryBackoff(), Duration.ofSeconds(2));
+                call = call.retryWhen(Retry.backoff(maxRetries, backoff)
+                    .filter(ChatBatchExecutor::isRetryable)
+                    .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+            }
+            return call
+                .map(content -> BatchItemResult.success(index, content, attempts.get(),
+                    System.currentTimeMillis() - start))
+                .onErrorResume(e -> {
+                    log.debug("批量对话第 {} 项失败", index, e);
+                    return Mono.just(BatchItemResult.failure(index, errorCode(e), e.getMessage(), attempts.get(),
+                        System.currentTimeMillis() - start));
+                });
+        });
+    }
+
+    /**
+     * 超时、限流、上游 5xx 与熔断可重试，配置与参数错误不重试
+     */
+    static boolean isRetryable(Throwable error) {
+        if (error instanceof AiModelException modelException) {
+            return switch (modelException.getErrorCode()) {
+                case TIMEOUT, RATE_LIMIT, MODEL_UNAVAILABLE -> true;
+                default -> false;
+            };
+        }
+        return error instanceof TimeoutException || UpstreamRetry.isRetryable(error);
+    }
+
+    /**
+     * 将异常归类为 {@link AiModelException.ErrorCode}
+     */
+    static String errorCode(Throwable error) {
+        AiModelException.ErrorCode code;
+        if (error instanceof AiModelException modelException) {
+            code = modelException.getErrorCode();
+        } else if (error instanceof TimeoutException) {
+            code = AiModelException.ErrorCode.TIMEOUT;
+        } else if (error instanceof WebClientResponseException responseException) {
+            int status = responseException.getStatusCode().value();
+            code = status == 429 ? AiModelException.ErrorCode.RATE_LIMIT
+                : status == 401 || status == 403 ? AiModelException.ErrorCode.AUTH_ERROR
+                : AiModelException.ErrorCode.API_ERROR;
+        } else if (error instanceof IllegalArgumentException) {
+            code = AiModelException.ErrorCode.INVALID_PARAM;
+        } else {
+            code = AiModelException.ErrorCode.UNKNOWN;
+        }
+        return code.name();
+    }
+
+    private static Duration positive(Duration value, Duration fallback) {
+        return value != null && !value.isNegative() && !value.isZero() ? value : fallback;
+    }
+}
@@ -0,0 +1,726 @@
+package com.xhhao.aimodelhub.service.cache;
+
+import jakarta.annotation.PreDestroy;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import run.halo.app.plugin.PluginContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 磁盘响应缓存（{@link ResponseCache} 的二级缓存）
+ * <p>
+ * 响应追加写入 Halo 工作目录下的分段文件（{@code plugins-data/<插件名>/response-cache}），
+ * 内存中只保存请求指纹到文件位置的索引。写满的分段以只读方式映射到内存读取，当前写入的分段按位置读取。
+ * 每条记录带 CRC 校验，进程异常退出留下的不完整尾部在启动加载时截断。
+ * </p>
+ * <p>
+ * 写入、加载与整理都在单独的写线程上顺序执行，读取不加锁；整理期间读到已删除的分段按未命中处理。
+ * 定期整理时只保留未过期的最新记录，总大小超过上限时从最早写入的记录开始丢弃。
+ * 分段按引用计数关闭：删除或关闭时等进行中的读取结束后再解除内存映射并关闭文件。
+ * 插件停止时先执行完已排队的写入，再关闭全部分段。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class DiskResponseCache {
+
+    private static final int MAGIC = 0x41494843;
+    private static final int HEADER_BYTES = 4 + 4 + 4 + 8 + 4;
+    private static final int FORMAT_VERSION = 1;
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    /**
+     * 超过上限整理时保留到上限的比例，避免频繁整理
+     */
+    private static final double COMPACT_TARGET_RATIO = 0.8;
+
+    /**
+     * 停止时等待已排队写入完成的最长时间
+     */
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(10);
+
+    /**
+     * 解除映射的方法（JDK 21 没有公开的解除映射接口，使用 sun.misc.Unsafe#invokeCleaner）
+     */
+    private static final MethodHandle INVOKE_CLEANER = findInvokeCleaner();
+
+    private final Path directory;
+    private final Scheduler writer = Schedulers.newSingle("aimodelhub-disk-cache");
+
+    private final ConcurrentHashMap<String, Location> index = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, Segment> segments = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder writeErrors = new LongAdder();
+
+    private volatile DiskCacheSettings settings = new DiskCacheSettings();
+    private volatile boolean ready;
+    private volatile boolean warming;
+
+    /*
+     * 以下字段只在写线程上修改
+     */
+    private Segment active;
+    private long liveBytes;
+    private volatile long compactions;
+    private volatile long lastCompactionMillis = System.currentTimeMillis();
+
+    public DiskResponseCache(PluginContext pluginContext, Environment environment) {
+        String workDir = environment.getProperty("halo.work-dir",
+            Path.of(System.getProperty("user.home"), ".halo2").toString());
+        this.directory = Path.of(workDir, "plugins-data", pluginContext.getName(), "response-cache");
+    }
+
+    /**
+     * 更新配置（开启且尚未加载时开始加载）
+     */
+    public void updateConfig(DiskCacheSettings newSettings) {
+        if (newSettings == null || newSettings.equals(settings)) {
+            return;
+        }
+        this.settings = newSettings;
+        if (newSettings.isEnabled()) {
+            warmUp();
+        }
+        log.info("磁盘响应缓存配置已更新: {}", newSettings);
+    }
+
+    /**
+     * 后台加载已有分段并重建索引（不阻塞调用方，重复调用无副作用）
+     */
+    public void warmUp() {
+        if (ready || warming || !settings.isEnabled()) {
+            return;
+        }
+        warming = true;
+        writer.schedule(() -> {
+            try {
+                load();
+                ready = true;
+                log.info("磁盘响应缓存已加载: {} 条, 目录 {}", index.size(), directory);
+            } catch (Exception e) {
+                log.warn("加载磁盘响应缓存失败，本次运行不使用磁盘缓存: {}", directory, e);
+            } finally {
+                warming = false;
+            }
+        });
+    }
+
+    public boolean isReady() {
+        return ready && settings.isEnabled();
+    }
+
+    /**
+     * 读取缓存（不阻塞写线程）
+     *
+     * @return 未命中、已过期或读取失败时返回 null
+     */
+    public StoredResponse get(String key) {
+        if (!isReady()) {
+            return null;
+        }
+        Location location = index.get(key);
+        if (location == null || location.expiresAtMillis() <= System.currentTimeMillis()) {
+            misses.increment();
+            return null;
+        }
+        Segment segment = segments.get(location.segmentId());
+        try {
+            byte[] record = segment != null ? segment.read(location.offset(), location.length()) : null;
+            ResponseCache.CachedResponse response = record != null ? decode(record, key) : null;
+            if (response == null) {
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return new StoredResponse(response, location.expiresAtMillis());
+        } catch (IOException | RuntimeException e) {
+            // 分段已被整理删除
+            misses.increment();
+            return null;
+        }
+    }
+
+    /**
+     * 异步写入缓存
+     *
+     * @param expiresAtMillis 过期时间（毫秒时间戳）
+     */
+    public void put(String key, ResponseCache.CachedResponse response, long expiresAtMillis) {
+        if (!isReady()) {
+            return;
+        }
+        writer.schedule(() -> {
+            try {
+                append(key, encode(response), expiresAtMillis);
+                if (totalBytes() > settings.getMaxSizeBytes()) {
+                    compact();
+                }
+            } catch (IOException | RuntimeException e) {
+                writeErrors.increment();
+                log.debug("写入磁盘响应缓存失败", e);
+            }
+        });
+    }
+
+    /**
+     * 异步清空缓存（删除全部分段）
+     */
+    public void clear() {
+        if (!ready) {
+            return;
+        }
+        writer.schedule(() -> {
+            try {
+                index.clear();
+                liveBytes = 0;
+                List<Segment> old = new ArrayList<>(segments.values());
+                active = createSegment(nextSegmentId());
+                old.forEach(this::delete);
+            } catch (IOException e) {
+                log.warn("清空磁盘响应缓存失败", e);
+            }
+        });
+    }
+
+    /**
+     * 定期检查是否需要整理（间隔由配置决定）
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void scheduleCompaction() {
+        long interval = settings.getCompactionInterval().toMillis();
+        if (!isReady() || System.currentTimeMillis() - lastCompactionMillis < interval) {
+            return;
+        }
+        writer.schedule(() -> {
+            try {
+                compact();
+            } catch (IOException | RuntimeException e) {
+                log.warn("整理磁盘响应缓存失败", e);
+            }
+        });
+    }
+
+    /**
+     * 停止接收写入，等已排队的写入与整理执行完后关闭全部分段
+     */
+    @PreDestroy
+    void close() {
+        ready = false;
+        try {
+            Mono.fromRunnable(this::closeSegments)
+                .subscribeOn(writer)
+                .timeout(CLOSE_TIMEOUT)
+                .block();
+        } catch (RuntimeException e) {
+            log.warn("等待磁盘响应缓存写入完成超时，未写入的记录将丢失", e);
+        } finally {
+            writer.dispose();
+            closeSegments();
+        }
+    }
+
+    private void closeSegments() {
+        segments.values().forEach(Segment::close);
+    }
+
+    /**
+     * 获取缓存状态
+     */
+    public DiskCacheStats getStats() {
+        return new DiskCacheStats(settings.isEnabled(), ready, directory.toString(), index.size(), segments.size(),
+            totalBytes(), settings.getMaxSizeBytes(), hits.sum(), misses.sum(), writeErrors.sum(), compactions);
+    }
+
+    private long totalBytes() {
+        long total = 0;
+        for (Segment segment : segments.values()) {
+            total += segment.size;
+        }
+        return total;
+    }
+
+    /**
+     * 加载已有分段：校验记录、截断不完整的尾部、重建索引，之后新建分段写入
+     */
+    private void load() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                .sorted(Comparator.comparingInt(DiskResponseCache::segmentId))
+                .toList();
+        }
+        long now = System.currentTimeMillis();
+        for (Path file : files) {
+            int id = segmentId(file);
+            if (id < 0) {
+                continue;
+            }
+            Segment segment = Segment.open(id, file);
+            long valid = scan(segment, now);
+            if (valid < segment.size) {
+                log.warn("磁盘响应缓存分段 {} 尾部不完整，已截断 {} 字节", file, segment.size - valid);
+                segment.truncate(valid);
+            }
+            if (segment.size == 0) {
+                segment.close();
+                Files.deleteIfExists(file);
+                continue;
+            }
+            segments.put(id, segment);
+        }
+        active = createSegment(nextSegmentId());
+    }
+
+    /**
+     * 扫描分段中的记录并加入索引
+     *
+     * @return 有效记录的结束位置
+     */
+    private long scan(Segment segment, long now) throws IOException {
+        long position = 0;
+        CRC32 crc = new CRC32();
+        while (position + HEADER_BYTES <= segment.size) {
+            ByteBuffer header = ByteBuffer.wrap(segment.read(position, HEADER_BYTES));
+            int magic = header.getInt();
+            int keyLength = header.getInt();
+            int valueLength = header.getInt();
+            long expiresAt = header.getLong();
+            int checksum = header.getInt();
+            long length = HEADER_BYTES + (long) keyLength + valueLength;
+            if (magic != MAGIC || keyLength <= 0 || valueLength < 0 || position + length > segment.size) {
+                break;
+            }
+            byte[] body = segment.read(position + HEADER_BYTES, keyLength + valueLength);
+            crc.reset();
+            crc.update(body);
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+            if (expiresAt > now) {
+                String key = new String(body, 0, keyLength, StandardCharsets.UTF_8);
+                index(key, new Location(segment.id, position, (int) length, expiresAt));
+            }
+            position += length;
+        }
+        return position;
+    }
+
+    private void append(String key, byte[] value, long expiresAtMillis) throws IOException {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + keyBytes.length + value.length);
+        CRC32 crc = new CRC32();
+        crc.update(keyBytes);
+        crc.update(value);
+        record.putInt(MAGIC).putInt(keyBytes.length).putInt(value.length).putLong(expiresAtMillis)
+            .putInt((int) crc.getValue()).put(keyBytes).put(value).flip();
+        long offset = active.append(record);
+        index(key, new Location(active.id, offset, record.capacity(), expiresAtMillis));
+        if (active.size >= settings.getSegmentSizeBytes()) {
+            active.seal();
+            active = createSegment(nextSegmentId());
+        }
+    }
+
+    /**
+     * 整理：未过期的最新记录复制到新分段后删除旧分段；超过上限时从最早写入的记录开始丢弃
+     */
+    private void compact() throws IOException {
+        lastCompactionMillis = System.currentTimeMillis();
+        long now = lastCompactionMillis;
+        long total = totalBytes();
+        boolean overSize = total > settings.getMaxSizeBytes();
+        index.entrySet().removeIf(entry -> {
+            if (entry.getValue().expiresAtMillis() > now) {
+                return false;
+            }
+            liveBytes -= entry.getValue().length();
+            return true;
+        });
+        if (!overSize && liveBytes * 2 >= total) {
+            // 失效记录不足一半，不值得重写
+            return;
+        }
+
+        List<Map.Entry<String, Location>> live = new ArrayList<>(index.entrySet());
+        live.sort(Comparator.comparing((Map.Entry<String, Location> entry) -> entry.getValue().segmentId())
+            .thenComparingLong(entry -> entry.getValue().offset()));
+        long budget = overSize ? (long) (settings.getMaxSizeBytes() * COMPACT_TARGET_RATIO) : Long.MAX_VALUE;
+        long kept = 0;
+        int first = live.size();
+        while (first > 0 && kept + live.get(first - 1).getValue().length() <= budget) {
+            first--;
+            kept += live.get(first).getValue().length();
+        }
+
+        List<Segment> old = new ArrayList<>(segments.values());
+        active = createSegment(nextSegmentId());
+        liveBytes = 0;
+        for (int i = 0; i < live.size(); i++) {
+            Map.Entry<String, Location> entry = live.get(i);
+            Location location = entry.getValue();
+            if (i < first) {
+                index.remove(entry.getKey(), location);
+                continue;
+            }
+            Segment source = segments.get(location.segmentId());
+            byte[] record = source.read(location.offset(), location.length());
+            long offset = active.append(ByteBuffer.wrap(record));
+            index.put(entry.getKey(), new Location(active.id, offset, location.length(), location.expiresAtMillis()));
+            liveBytes += location.length();
+            if (active.size >= settings.getSegmentSizeBytes()) {
+                active.seal();
+                active = createSegment(nextSegmentId());
+            }
+        }
+        old.forEach(this::delete);
+        compactions++;
+        log.debug("磁盘响应缓存整理完成: 保留 {} 条, {} -> {} 字节", live.size() - first, total, totalBytes());
+    }
+
+    private void index(String key, Location location) {
+        Location previous = index.put(key, location);
+        if (previous != null) {
+            liveBytes -= previous.length();
+        }
+        liveBytes += location.length();
+    }
+
+    private Segment createSegment(int id) throws IOException {
+        Segment segment = Segment.create(id, directory.resolve(String.format("%08d%s", id, SEGMENT_SUFFIX)));
+        segments.put(id, segment);
+        return segment;
+    }
+
+    private int nextSegmentId() {
+        int max = 0;
+        for (int id : segments.keySet()) {
+            max = Math.max(max, id);
+        }
+        return max + 1;
+    }
+
+    private void delete(Segment segment) {
+        segments.remove(segment.id, segment);
+        segment.close();
+        try {
+            Files.deleteIfExists(segment.path);
+        } catch (IOException e) {
+            log.debug("删除磁盘响应缓存分段失败: {}", segment.path, e);
+        }
+    }
+
+    private static int segmentId(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return Integer.parseInt(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static byte[] encode(ResponseCache.CachedResponse response) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeInt(response.promptTokens() != null ? response.promptTokens() : -1);
+            out.writeInt(response.completionTokens() != null ? response.completionTokens() : -1);
+            writeString(out, response.content());
+            List<String> chunks = response.chunks();
+            out.writeInt(chunks != null ? chunks.size() : -1);
+            if (chunks != null) {
+                for (String chunk : chunks) {
+                    writeString(out, chunk);
+                }
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * 解析记录（校验失败、键不一致或格式不支持时返回 null）
+     */
+    private static ResponseCache.CachedResponse decode(byte[] record, String expectedKey) {
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        if (buffer.getInt() != MAGIC) {
+            return null;
+        }
+        int keyLength = buffer.getInt();
+        buffer.getInt();
+        buffer.getLong();
+        int checksum = buffer.getInt();
+        CRC32 crc = new CRC32();
+        crc.update(record, HEADER_BYTES, record.length - HEADER_BYTES);
+        String key = new String(record, HEADER_BYTES, keyLength, StandardCharsets.UTF_8);
+        buffer.position(HEADER_BYTES + keyLength);
+        if ((int) crc.getValue() != checksum || !key.equals(expectedKey) || buffer.get() != FORMAT_VERSION) {
+            return null;
+        }
+        int promptTokens = buffer.getInt();
+        int completionTokens = buffer.getInt();
+        String content = readString(buffer);
+        int chunkCount = buffer.getInt();
+        List<String> chunks = null;
+        if (chunkCount >= 0) {
+            chunks = new ArrayList<>(chunkCount);
+            for (int i = 0; i < chunkCount; i++) {
+                chunks.add(readString(buffer));
+            }
+            chunks = List.copyOf(chunks);
+        }
+        return new ResponseCache.CachedResponse(content, chunks, promptTokens >= 0 ? promptTokens : null,
+            completionTokens >= 0 ? completionTokens : null);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    private static MethodHandle findInvokeCleaner() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            return MethodHandles.lookup()
+                .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                .bindTo(field.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.debug("无法解除内存映射，分段删除后由 GC 释放映射", e);
+            return null;
+        }
+    }
+
+    /**
+     * 分段文件：写满前按位置读取，写满后映射到内存只读
+     * <p>
+     * 引用计数初始为 1（由缓存持有），每次读取时加 1；{@link #close()} 释放缓存持有的引用，
+     * 计数归零时解除映射并关闭文件，避免读取中的映射被解除。
+     * </p>
+     */
+    private static final class Segment {
+        private final int id;
+        private final Path path;
+        private final FileChannel channel;
+        private final AtomicInteger refs = new AtomicInteger(1);
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile MappedByteBuffer mapped;
+        private volatile long size;
+
+        private Segment(int id, Path path, FileChannel channel, long size) {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+            this.size = size;
+        }
+
+        static Segment create(int id, Path path) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+            return new Segment(id, path, channel, 0);
+        }
+
+        /**
+         * 打开已有分段并映射到内存
+         */
+        static Segment open(int id, Path path) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            Segment segment = new Segment(id, path, channel, channel.size());
+            segment.seal();
+            return segment;
+        }
+
+        long append(ByteBuffer record) throws IOException {
+            long offset = size;
+            while (record.hasRemaining()) {
+                channel.write(record, offset + record.position());
+            }
+            size = offset + record.limit();
+            return offset;
+        }
+
+        void seal() throws IOException {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+
+        /**
+         * 截断不完整的尾部（只在加载时调用，此时没有并发读取）
+         */
+        void truncate(long newSize) throws IOException {
+            MappedByteBuffer previous = mapped;
+            mapped = null;
+            unmap(previous);
+            channel.truncate(newSize);
+            size = newSize;
+            seal();
+        }
+
+        byte[] read(long offset, int length) throws IOException {
+            if (!acquire()) {
+                throw new IOException("分段已关闭: " + path);
+            }
+            try {
+                byte[] bytes = new byte[length];
+                MappedByteBuffer buffer = mapped;
+                if (buffer != null && offset + length <= buffer.capacity()) {
+                    buffer.get((int) offset, bytes);
+                    return bytes;
+                }
+                ByteBuffer target = ByteBuffer.wrap(bytes);
+                while (target.hasRemaining()) {
+                    if (channel.read(target, offset + target.position()) < 0) {
+                        throw new IOException("分段已截断: " + path);
+                    }
+                }
+                return bytes;
+            } finally {
+                release();
+            }
+        }
+
+        /**
+         * 释放缓存持有的引用（重复调用无副作用），进行中的读取结束后解除映射并关闭文件
+         */
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                release();
+            }
+        }
+
+        private boolean acquire() {
+            while (true) {
+                int current = refs.get();
+                if (current <= 0) {
+                    return false;
+                }
+                if (refs.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        private void release() {
+            if (refs.decrementAndGet() != 0) {
+                return;
+            }
+            MappedByteBuffer buffer = mapped;
+            mapped = null;
+            unmap(buffer);
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.debug("关闭磁盘响应缓存分段失败: {}", path, e);
+            }
+        }
+
+        /**
+         * 立即解除内存映射（不支持时交给 GC 回收）
+         */
+        private static void unmap(MappedByteBuffer buffer) {
+            if (buffer == null || INVOKE_CLEANER == null) {
+                return;
+            }
+            try {
+                INVOKE_CLEANER.invokeExact((ByteBuffer) buffer);
+            } catch (Throwable e) {
+                log.debug("解除磁盘响应缓存分段映射失败", e);
+            }
+        }
+    }
+
+    /**
+     * 记录在分段中的位置
+     */
+    private record Location(int segmentId, long offset, int length, long expiresAtMillis) {}
+
+    /**
+     * 磁盘中读取的缓存响应
+     *
+     * @param expiresAtMillis 过期时间（毫秒时间戳）
+     */
+    public record StoredResponse(ResponseCache.CachedResponse response, long expiresAtMillis) {}
+
+    /**
+     * 磁盘响应缓存配置
+     */
+    @Data
+    public static class DiskCacheSettings {
+        private boolean enabled = true;
+
+        /**
+         * 分段文件总大小上限（字节）
+         */
+        private long maxSizeBytes = 256L * 1024 * 1024;
+
+        /**
+         * 单个分段文件大小（字节），写满后映射到内存只读
+         */
+        private long segmentSizeBytes = 16L * 1024 * 1024;
+
+        /**
+         * 整理间隔
+         */
+        private Duration compactionInterval = Duration.ofMinutes(10);
+    }
+
+    /**
+     * 磁盘响应缓存状态
+     *
+     * @param ready     是否已加载完成
+     * @param diskBytes 分段文件总大小（字节）
+     */
+    public record DiskCacheStats(boolean enabled, boolean ready, String directory, int entries, int segments,
+                                 long diskBytes, long maxSizeBytes, long hits, long misses, long writeErrors,
+                                 long compactions) {}
+}
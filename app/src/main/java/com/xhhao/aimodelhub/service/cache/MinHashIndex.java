@@ -0,0 +1,248 @@
+package com.xhhao.aimodelhub.service.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 基于 MinHash 与 LSH 的近似文本索引
+ * <p>
+ * 文本按固定长度的字符片段（shingle）切分，用 {@value #BANDS} × {@value #ROWS} 个哈希函数计算 MinHash 签名，
+ * 两段文本签名中相同位置取值相等的比例即为其 Jaccard 相似度的估计。
+ * 签名按行分段（band），任一段完全相同的条目才作为候选比较，查询时不必遍历全部条目。
+ * </p>
+ * <p>
+ * 每个条目属于一个作用域，只在同一作用域内匹配。总权重超过上限时按最久未访问淘汰，过期条目在查询时移除。
+ * 签名在锁外计算，索引的读写在 this 锁内执行。
+ * </p>
+ *
+ * @param <V> 值
+ * @author Handsome
+ * @since 1.0.0
+ */
+final class MinHashIndex<V> {
+
+    static final int BANDS = 32;
+    static final int ROWS = 4;
+    private static final int SIGNATURE_LENGTH = BANDS * ROWS;
+
+    private final int shingleSize;
+    private final long maxWeight;
+    private final long[] seeds = new long[SIGNATURE_LENGTH];
+
+    /**
+     * 按访问顺序排列，迭代顺序的第一个为最久未访问
+     */
+    private final LinkedHashMap<Long, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final HashMap<Long, Set<Entry<V>>> buckets = new HashMap<>();
+
+    private long nextId;
+    private long totalWeight;
+    private long evictions;
+
+    /**
+     * @param shingleSize 字符片段长度
+     * @param maxWeight   最大总权重
+     */
+    MinHashIndex(int shingleSize, long maxWeight) {
+        this.shingleSize = Math.max(1, shingleSize);
+        this.maxWeight = Math.max(1, maxWeight);
+        long state = 0x2545f4914f6cdd1dL;
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            state += 0x9e3779b97f4a7c15L;
+            seeds[i] = mix(state);
+        }
+    }
+
+    /**
+     * 计算文本的 MinHash 签名（不加锁）
+     */
+    int[] signature(String text) {
+        int[] signature = new int[SIGNATURE_LENGTH];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        int shingles = Math.max(1, text.length() - shingleSize + 1);
+        for (int start = 0; start < shingles; start++) {
+            long hash = shingleHash(text, start, Math.min(text.length(), start + shingleSize));
+            for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+                int value = (int) (mix(hash ^ seeds[i]) >>> 33);
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * 查找同一作用域内与签名最相似的条目
+     *
+     * @param threshold 最低相似度
+     * @return 没有达到阈值的条目时返回 null
+     */
+    synchronized Match<V> findSimilar(long scope, int[] signature, double threshold, long nowNanos) {
+        Entry<V> best = null;
+        int bestAgreement = -1;
+        List<Entry<V>> expired = null;
+        Set<Entry<V>> seen = new HashSet<>();
+        for (int band = 0; band < BANDS; band++) {
+            Set<Entry<V>> bucket = buckets.get(bandKey(scope, signature, band));
+            if (bucket == null) {
+                continue;
+            }
+            for (Entry<V> candidate : bucket) {
+                if (candidate.scope != scope || !seen.add(candidate)) {
+                    continue;
+                }
+                if (candidate.expiresAtNanos - nowNanos <= 0) {
+                    if (expired == null) {
+                        expired = new ArrayList<>();
+                    }
+                    expired.add(candidate);
+                    continue;
+                }
+                int agreement = agreement(signature, candidate.signature);
+                if (agreement > bestAgreement) {
+                    best = candidate;
+                    bestAgreement = agreement;
+                }
+            }
+        }
+        if (expired != null) {
+            expired.forEach(this::remove);
+        }
+        if (best == null) {
+            return null;
+        }
+        double similarity = (double) bestAgreement / SIGNATURE_LENGTH;
+        if (similarity < threshold) {
+            return null;
+        }
+        // 访问顺序移到末尾
+        entries.get(best.id);
+        return new Match<>(best.value, similarity);
+    }
+
+    /**
+     * 写入条目，权重超过总容量的条目不写入
+     */
+    synchronized void put(long scope, int[] signature, V value, long weight, long ttlNanos, long nowNanos) {
+        if (weight > maxWeight) {
+            return;
+        }
+        Entry<V> entry = new Entry<>(nextId++, scope, signature, value, weight, nowNanos + ttlNanos);
+        entries.put(entry.id, entry);
+        for (int band = 0; band < BANDS; band++) {
+            buckets.computeIfAbsent(bandKey(scope, signature, band), k -> new HashSet<>(2)).add(entry);
+        }
+        totalWeight += weight;
+        Iterator<Map.Entry<Long, Entry<V>>> iterator = entries.entrySet().iterator();
+        while (totalWeight > maxWeight && iterator.hasNext()) {
+            Entry<V> eldest = iterator.next().getValue();
+            iterator.remove();
+            unlink(eldest);
+            evictions++;
+        }
+    }
+
+    synchronized void clear() {
+        entries.clear();
+        buckets.clear();
+        totalWeight = 0;
+    }
+
+    synchronized Stats stats() {
+        return new Stats(entries.size(), totalWeight, maxWeight, evictions);
+    }
+
+    private void remove(Entry<V> entry) {
+        if (entries.remove(entry.id) != null) {
+            unlink(entry);
+        }
+    }
+
+    private void unlink(Entry<V> entry) {
+        totalWeight -= entry.weight;
+        for (int band = 0; band < BANDS; band++) {
+            long key = bandKey(entry.scope, entry.signature, band);
+            Set<Entry<V>> bucket = buckets.get(key);
+            if (bucket != null && bucket.remove(entry) && bucket.isEmpty()) {
+                buckets.remove(key);
+            }
+        }
+    }
+
+    private static int agreement(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return equal;
+    }
+
+    private static long bandKey(long scope, int[] signature, int band) {
+        long hash = mix(scope + band);
+        for (int i = band * ROWS; i < (band + 1) * ROWS; i++) {
+            hash = mix(hash ^ signature[i]);
+        }
+        return hash;
+    }
+
+    /**
+     * 字符片段的 64 位 FNV-1a 哈希
+     */
+    private static long shingleHash(String text, int start, int end) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = start; i < end; i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * SplitMix64 混淆函数
+     */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static final class Entry<V> {
+        private final long id;
+        private final long scope;
+        private final int[] signature;
+        private final V value;
+        private final long weight;
+        private final long expiresAtNanos;
+
+        Entry(long id, long scope, int[] signature, V value, long weight, long expiresAtNanos) {
+            this.id = id;
+            this.scope = scope;
+            this.signature = signature;
+            this.value = value;
+            this.weight = weight;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+
+    /**
+     * 查询结果
+     *
+     * @param similarity 估计的 Jaccard 相似度
+     */
+    record Match<V>(V value, double similarity) {}
+
+    /**
+     * 索引状态
+     */
+    record Stats(int size, long weight, long maxWeight, long evictions) {}
+}
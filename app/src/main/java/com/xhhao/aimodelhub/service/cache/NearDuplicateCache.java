@@ -0,0 +1,201 @@
+package com.xhhao.aimodelhub.service.cache;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * 近似提示词缓存
+ * <p>
+ * 补充精确匹配的 {@link ResponseCache}：提示词只在空白、标点或日期时间上有差异时也能命中。
+ * 提示词规范化后计算 MinHash 签名，在本地 LSH 索引中查找估计 Jaccard 相似度达到阈值的历史响应。
+ * 不调用向量模型，内存占用按估算权重限制。
+ * </p>
+ * <p>
+ * 只对最后一条消息做近似匹配，供应商、模型、生成参数与之前的消息须完全一致（由调用方作为作用域传入）。
+ * 是否使用由调用方显式开启（见 {@code LoggingChatModel}）。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class NearDuplicateCache {
+
+    private static final String HOUR = "(?:[01]?\\d|2[0-3])";
+    private static final String MINUTE_OR_SECOND = "[0-5]\\d";
+
+    /**
+     * 日期时间：年月日（可带时分秒与时区，月日须在有效范围内）或完整的时分秒；
+     * 单独的 "3:45"、纯数字等不视为时间，避免比分、比例、编号被抹平
+     */
+    private static final Pattern DATE_TIME = Pattern.compile(
+        "(?<!\\d)(?:19|20)\\d{2}[-/.年](?:0?[1-9]|1[0-2])[-/.月](?:0?[1-9]|[12]\\d|3[01])(?!\\d)日?"
+            + "(?:[ t]?" + HOUR + "[:：时]" + MINUTE_OR_SECOND + "分?(?:[:：]?" + MINUTE_OR_SECOND + "秒?)?"
+            + "(?:\\.\\d+)?(?:z|[+-]\\d{2}:?\\d{2})?)?"
+            + "|(?<![\\d:：])" + HOUR + "[:：]" + MINUTE_OR_SECOND + "[:：]" + MINUTE_OR_SECOND
+            + "(?:\\.\\d+)?(?![\\d:：])");
+    private static final Pattern PUNCTUATION_AND_WHITESPACE = Pattern.compile("[\\p{P}\\s]+");
+    private static final String TIME_PLACEHOLDER = "\u0000";
+
+    private volatile NearDuplicateSettings settings = new NearDuplicateSettings();
+
+    private volatile MinHashIndex<ResponseCache.CachedResponse> index = newIndex(settings);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final DoubleAdder hitSimilarity = new DoubleAdder();
+
+    /**
+     * 更新配置（片段长度或容量变化时清空缓存）
+     */
+    public void updateConfig(NearDuplicateSettings newSettings) {
+        if (newSettings == null || newSettings.equals(settings)) {
+            return;
+        }
+        NearDuplicateSettings previous = settings;
+        this.settings = newSettings;
+        if (previous.getShingleSize() != newSettings.getShingleSize()
+            || previous.getMaxWeightBytes() != newSettings.getMaxWeightBytes()) {
+            this.index = newIndex(newSettings);
+        }
+        if (!newSettings.isEnabled()) {
+            index.clear();
+        }
+        log.info("近似提示词缓存配置已更新: {}", newSettings);
+    }
+
+    public boolean isEnabled() {
+        return settings.isEnabled();
+    }
+
+    /**
+     * 查找相似提示词的缓存响应
+     *
+     * @param scope  作用域（须完全一致的部分的指纹）
+     * @param prompt 参与近似匹配的提示词
+     * @return 未命中时返回 null
+     */
+    public ResponseCache.CachedResponse get(long scope, String prompt) {
+        String normalized = normalize(prompt);
+        if (!hasContent(normalized)) {
+            return null;
+        }
+        MinHashIndex<ResponseCache.CachedResponse> current = index;
+        MinHashIndex.Match<ResponseCache.CachedResponse> match = current.findSimilar(scope,
+            current.signature(normalized), settings.getThreshold(), System.nanoTime());
+        if (match == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        hitSimilarity.add(match.similarity());
+        return match.value();
+    }
+
+    /**
+     * 写入缓存
+     *
+     * @param ttl 存活时间，为空时使用配置的默认值
+     */
+    public void put(long scope, String prompt, ResponseCache.CachedResponse response, Duration ttl) {
+        String normalized = normalize(prompt);
+        if (!hasContent(normalized)) {
+            return;
+        }
+        Duration actualTtl = ttl != null && !ttl.isNegative() && !ttl.isZero() ? ttl : settings.getTtl();
+        MinHashIndex<ResponseCache.CachedResponse> current = index;
+        current.put(scope, current.signature(normalized), response,
+            ResponseCache.weigh(normalized, response) + (long) MinHashIndex.BANDS * MinHashIndex.ROWS * 4,
+            actualTtl.toNanos(), System.nanoTime());
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        index.clear();
+    }
+
+    /**
+     * 获取缓存状态
+     */
+    public NearDuplicateStats getStats() {
+        MinHashIndex.Stats stats = index.stats();
+        long hitCount = hits.sum();
+        long requests = hitCount + misses.sum();
+        return new NearDuplicateStats(settings.isEnabled(), settings.getThreshold(), stats.size(), stats.weight(),
+            stats.maxWeight(), hitCount, misses.sum(), requests > 0 ? (double) hitCount / requests : 0,
+            hitCount > 0 ? hitSimilarity.sum() / hitCount : 0, stats.evictions());
+    }
+
+    /**
+     * 规范化提示词：统一全半角与大小写，日期时间替换为占位符，去除标点与空白
+     */
+    static String normalize(String prompt) {
+        if (prompt == null) {
+            return "";
+        }
+        String text = Normalizer.normalize(prompt, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        text = DATE_TIME.matcher(text).replaceAll(TIME_PLACEHOLDER);
+        return PUNCTUATION_AND_WHITESPACE.matcher(text).replaceAll("");
+    }
+
+    /**
+     * 规范化后只剩日期时间占位符或为空时没有可比较的片段，不做近似匹配
+     */
+    static boolean hasContent(String normalized) {
+        return !normalized.replace(TIME_PLACEHOLDER, "").isEmpty();
+    }
+
+    private static MinHashIndex<ResponseCache.CachedResponse> newIndex(NearDuplicateSettings settings) {
+        return new MinHashIndex<>(settings.getShingleSize(), settings.getMaxWeightBytes());
+    }
+
+    /**
+     * 近似提示词缓存配置
+     */
+    @Data
+    public static class NearDuplicateSettings {
+        private boolean enabled = true;
+
+        /**
+         * 命中所需的最低 Jaccard 相似度
+         */
+        private double threshold = 0.9;
+
+        /**
+         * 字符片段长度
+         */
+        private int shingleSize = 5;
+
+        /**
+         * 最大内存占用（估算，字节）
+         */
+        private long maxWeightBytes = 16L * 1024 * 1024;
+
+        /**
+         * 默认存活时间
+         */
+        private Duration ttl = Duration.ofHours(1);
+    }
+
+    /**
+     * 近似提示词缓存状态
+     *
+     * @param threshold         命中阈值
+     * @param weightBytes       当前估算内存占用（字节）
+     * @param averageSimilarity 命中时的平均相似度
+     */
+    public record NearDuplicateStats(boolean enabled, double threshold, int size, long weightBytes,
+                                     long maxWeightBytes, long hits, long misses, double hitRate,
+                                     double averageSimilarity, long evictions) {}
+}
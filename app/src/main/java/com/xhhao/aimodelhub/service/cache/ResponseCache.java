@@ -0,0 +1,234 @@
+package com.xhhao.aimodelhub.service.cache;
+
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 模型响应缓存
+ * <p>
+ * 以规范化的请求指纹为键缓存完整响应，按估算的内存占用限制总容量，淘汰策略为 W-TinyLFU。
+ * 是否缓存由调用方决定（见 {@code LoggingChatModel}），默认只缓存显式开启的调用。
+ * </p>
+ * <p>
+ * 流式调用的响应按原始片段缓存，命中时按片段重放；非流式调用的响应在流式命中时按固定长度切分重放。
+ * </p>
+ * <p>
+ * 内存缓存之下有 {@link DiskResponseCache} 作为二级缓存：写入时同时追加到磁盘，内存未命中时查询磁盘，
+ * 命中后按剩余存活时间放回内存。插件重启后磁盘中的缓存仍然有效。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ResponseCache {
+
+    /**
+     * 非流式响应按流式重放时每个片段的字符数
+     */
+    private static final int REPLAY_CHUNK_CHARS = 16;
+
+    /**
+     * 每个条目的固定开销估算（字节）
+     */
+    private static final int ENTRY_OVERHEAD_BYTES = 160;
+
+    private final DiskResponseCache diskCache;
+
+    private volatile ResponseCacheSettings settings = new ResponseCacheSettings();
+
+    private volatile TinyLfuCache<String, CachedResponse> cache = newCache(settings);
+
+    /**
+     * 更新配置（容量变化时清空缓存）
+     */
+    public void updateConfig(ResponseCacheSettings newSettings) {
+        if (newSettings == null || newSettings.equals(settings)) {
+            return;
+        }
+        ResponseCacheSettings previous = settings;
+        this.settings = newSettings;
+        if (previous.getMaxWeightBytes() != newSettings.getMaxWeightBytes()
+            || previous.getExpectedEntries() != newSettings.getExpectedEntries()) {
+            this.cache = newCache(newSettings);
+        }
+        if (!newSettings.isEnabled()) {
+            cache.clear();
+        }
+        log.info("响应缓存配置已更新: {}", newSettings);
+    }
+
+    public boolean isEnabled() {
+        return settings.isEnabled();
+    }
+
+    /**
+     * 未显式指定时是否缓存确定性请求（温度为 0 或固定随机种子）
+     */
+    public boolean isCacheDeterministic() {
+        return settings.isCacheDeterministic();
+    }
+
+    /**
+     * 查询缓存
+     *
+     * @return 未命中时返回 null
+     */
+    public CachedResponse get(String key) {
+        CachedResponse cached = cache.get(key, System.nanoTime());
+        if (cached != null || !diskCache.isReady()) {
+            return cached;
+        }
+        DiskResponseCache.StoredResponse stored = diskCache.get(key);
+        if (stored == null) {
+            return null;
+        }
+        long ttlMillis = stored.expiresAtMillis() - System.currentTimeMillis();
+        if (ttlMillis > 0) {
+            cache.put(key, stored.response(), weigh(key, stored.response()),
+                Duration.ofMillis(ttlMillis).toNanos(), System.nanoTime());
+        }
+        return stored.response();
+    }
+
+    /**
+     * 写入缓存
+     *
+     * @param ttl 存活时间，为空时使用配置的默认值
+     */
+    public void put(String key, CachedResponse response, Duration ttl) {
+        Duration actualTtl = ttl != null && !ttl.isNegative() && !ttl.isZero() ? ttl : settings.getTtl();
+        cache.put(key, response, weigh(key, response), actualTtl.toNanos(), System.nanoTime());
+        diskCache.put(key, response, System.currentTimeMillis() + actualTtl.toMillis());
+    }
+
+    /**
+     * 清空缓存（含磁盘缓存）
+     */
+    public void clear() {
+        cache.clear();
+        diskCache.clear();
+    }
+
+    /**
+     * 获取缓存状态
+     */
+    public ResponseCacheStats getStats() {
+        TinyLfuCache.Stats stats = cache.stats();
+        long requests = stats.hits() + stats.misses();
+        return new ResponseCacheStats(settings.isEnabled(), stats.size(), stats.weight(), stats.maxWeight(),
+            stats.hits(), stats.misses(), requests > 0 ? (double) stats.hits() / requests : 0, stats.evictions());
+    }
+
+    /**
+     * 估算条目占用的内存（字符按 2 字节计）
+     */
+    static long weigh(String key, CachedResponse response) {
+        long chars = key.length() + (response.content() != null ? response.content().length() : 0);
+        if (response.chunks() != null) {
+            for (String chunk : response.chunks()) {
+                chars += chunk.length();
+            }
+            chars += response.chunks().size() * 8L;
+        }
+        return ENTRY_OVERHEAD_BYTES + chars * 2;
+    }
+
+    private static TinyLfuCache<String, CachedResponse> newCache(ResponseCacheSettings settings) {
+        return new TinyLfuCache<>(settings.getMaxWeightBytes(), settings.getExpectedEntries());
+    }
+
+    /**
+     * 缓存的响应
+     *
+     * @param content          完整响应内容
+     * @param chunks           流式调用的原始片段，非流式调用为 null
+     * @param promptTokens     原始调用的提示词 token 数
+     * @param completionTokens 原始调用的完成 token 数
+     */
+    public record CachedResponse(String content, List<String> chunks, Integer promptTokens,
+                                 Integer completionTokens) {
+
+        /**
+         * 按流式片段重放：有原始片段时按原始片段，否则按固定长度切分
+         */
+        public List<String> replayChunks() {
+            if (chunks != null) {
+                return chunks;
+            }
+            if (content == null || content.isEmpty()) {
+                return List.of();
+            }
+            List<String> split = new ArrayList<>(content.length() / REPLAY_CHUNK_CHARS + 1);
+            int start = 0;
+            while (start < content.length()) {
+                int end = Math.min(content.length(), start + REPLAY_CHUNK_CHARS);
+                // 不拆开代理对
+                if (end < content.length() && Character.isHighSurrogate(content.charAt(end - 1))) {
+                    end++;
+                }
+                split.add(content.substring(start, end));
+                start = end;
+            }
+            return split;
+        }
+
+        /**
+         * 原始调用消耗的总 token 数（未知时为 null）
+         */
+        public Integer totalTokens() {
+            if (promptTokens == null && completionTokens == null) {
+                return null;
+            }
+            return (promptTokens != null ? promptTokens : 0) + (completionTokens != null ? completionTokens : 0);
+        }
+    }
+
+    /**
+     * 响应缓存配置
+     */
+    @Data
+    public static class ResponseCacheSettings {
+        /**
+         * 总开关，关闭时不读也不写缓存
+         */
+        private boolean enabled = true;
+
+        /**
+         * 未显式指定时缓存确定性请求（温度为 0 或固定随机种子）
+         */
+        private boolean cacheDeterministic = false;
+
+        /**
+         * 最大内存占用（估算，字节）
+         */
+        private long maxWeightBytes = 64L * 1024 * 1024;
+
+        /**
+         * 预计条目数（决定访问频率统计的精度）
+         */
+        private int expectedEntries = 10_000;
+
+        /**
+         * 默认存活时间
+         */
+        private Duration ttl = Duration.ofHours(1);
+    }
+
+    /**
+     * 响应缓存状态
+     *
+     * @param weightBytes 当前估算内存占用（字节）
+     * @param hitRate     命中率
+     */
+    public record ResponseCacheStats(boolean enabled, int size, long weightBytes, long maxWeightBytes, long hits,
+                                     long misses, double hitRate, long evictions) {}
+}
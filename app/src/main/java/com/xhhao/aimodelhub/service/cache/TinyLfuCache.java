@@ -0,0 +1,325 @@
+package com.xhhao.aimodelhub.service.cache;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 按权重限制容量的 W-TinyLFU 缓存
+ * <p>
+ * 新条目先进入占总容量 1% 的窗口区（LRU），被挤出窗口时与主区中最久未访问的条目比较近期访问频率，
+ * 频率更高者留下。主区按 SLRU 分为试用区与保护区（占主区 80%），试用区中再次命中的条目升入保护区。
+ * 访问频率由 4 行 Count-Min Sketch 估算，累计一定次数后全部减半，使频率反映近期热度。
+ * </p>
+ * <p>
+ * 每个条目可设置独立的过期时间，过期条目在访问时移除。所有方法在 this 锁内执行。
+ * </p>
+ *
+ * @param <K> 键
+ * @param <V> 值
+ * @author Handsome
+ * @since 1.0.0
+ */
+final class TinyLfuCache<K, V> {
+
+    private static final double WINDOW_RATIO = 0.01;
+    private static final double PROTECTED_RATIO = 0.8;
+
+    private final long maxWeight;
+    private final long windowMaxWeight;
+    private final long protectedMaxWeight;
+    private final FrequencySketch sketch;
+
+    private final HashMap<K, Node<K, V>> data = new HashMap<>();
+
+    /*
+     * 各区按访问顺序排列，迭代顺序的第一个为最久未访问
+     */
+    private final LinkedHashMap<K, Node<K, V>> window = new LinkedHashMap<>();
+    private final LinkedHashMap<K, Node<K, V>> probation = new LinkedHashMap<>();
+    private final LinkedHashMap<K, Node<K, V>> protectedQueue = new LinkedHashMap<>();
+
+    private long totalWeight;
+    private long windowWeight;
+    private long protectedWeight;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * @param maxWeight       最大总权重
+     * @param expectedEntries 预计条目数（决定频率统计的宽度）
+     */
+    TinyLfuCache(long maxWeight, int expectedEntries) {
+        this.maxWeight = Math.max(1, maxWeight);
+        this.windowMaxWeight = Math.max(1, (long) (this.maxWeight * WINDOW_RATIO));
+        this.protectedMaxWeight = (long) ((this.maxWeight - windowMaxWeight) * PROTECTED_RATIO);
+        this.sketch = new FrequencySketch(expectedEntries);
+    }
+
+    /**
+     * 查询条目（同时记录一次访问）
+     *
+     * @return 未命中或已过期时返回 null
+     */
+    synchronized V get(K key, long nowNanos) {
+        int hash = spread(key.hashCode());
+        sketch.increment(hash);
+        Node<K, V> node = data.get(key);
+        if (node == null) {
+            misses++;
+            return null;
+        }
+        if (node.expiresAtNanos - nowNanos <= 0) {
+            remove(node);
+            misses++;
+            return null;
+        }
+        hits++;
+        onAccess(node);
+        return node.value;
+    }
+
+    /**
+     * 写入条目（已存在时替换），权重超过总容量的条目不缓存
+     *
+     * @param weight    条目权重
+     * @param ttlNanos  存活时间
+     */
+    synchronized void put(K key, V value, long weight, long ttlNanos, long nowNanos) {
+        Node<K, V> existing = data.get(key);
+        if (existing != null) {
+            remove(existing);
+        }
+        if (weight > maxWeight) {
+            return;
+        }
+        Node<K, V> node = new Node<>(key, value, spread(key.hashCode()), weight, nowNanos + ttlNanos);
+        sketch.increment(node.hash);
+        data.put(key, node);
+        window.put(key, node);
+        windowWeight += weight;
+        totalWeight += weight;
+        evict();
+    }
+
+    /**
+     * 清空缓存
+     */
+    synchronized void clear() {
+        data.clear();
+        window.clear();
+        probation.clear();
+        protectedQueue.clear();
+        totalWeight = 0;
+        windowWeight = 0;
+        protectedWeight = 0;
+    }
+
+    synchronized Stats stats() {
+        return new Stats(data.size(), totalWeight, maxWeight, hits, misses, evictions);
+    }
+
+    private void onAccess(Node<K, V> node) {
+        switch (node.queue) {
+            case WINDOW -> reorder(window, node);
+            case PROTECTED -> reorder(protectedQueue, node);
+            case PROBATION -> {
+                probation.remove(node.key);
+                node.queue = Queue.PROTECTED;
+                protectedQueue.put(node.key, node);
+                protectedWeight += node.weight;
+                demoteProtected();
+            }
+        }
+    }
+
+    /**
+     * 保护区超出容量时，把最久未访问的条目降回试用区
+     */
+    private void demoteProtected() {
+        while (protectedWeight > protectedMaxWeight && protectedQueue.size() > 1) {
+            Node<K, V> demoted = pollFirst(protectedQueue);
+            protectedWeight -= demoted.weight;
+            demoted.queue = Queue.PROBATION;
+            probation.put(demoted.key, demoted);
+        }
+    }
+
+    private void evict() {
+        while (windowWeight > windowMaxWeight && !window.isEmpty()) {
+            Node<K, V> candidate = pollFirst(window);
+            windowWeight -= candidate.weight;
+            admit(candidate);
+        }
+        while (totalWeight > maxWeight) {
+            Node<K, V> victim = firstOf(probation);
+            if (victim == null) {
+                victim = firstOf(protectedQueue);
+            }
+            if (victim == null) {
+                victim = firstOf(window);
+            }
+            if (victim == null) {
+                return;
+            }
+            remove(victim);
+            evictions++;
+        }
+    }
+
+    /**
+     * 窗口区挤出的条目与主区最久未访问的条目比较频率，决定是否进入主区
+     */
+    private void admit(Node<K, V> candidate) {
+        while (totalWeight > maxWeight) {
+            Node<K, V> victim = firstOf(probation);
+            if (victim == null) {
+                victim = firstOf(protectedQueue);
+            }
+            if (victim == null) {
+                break;
+            }
+            if (sketch.frequency(candidate.hash) > sketch.frequency(victim.hash)) {
+                remove(victim);
+            } else {
+                data.remove(candidate.key);
+                totalWeight -= candidate.weight;
+                evictions++;
+                return;
+            }
+            evictions++;
+        }
+        candidate.queue = Queue.PROBATION;
+        probation.put(candidate.key, candidate);
+    }
+
+    private void remove(Node<K, V> node) {
+        data.remove(node.key);
+        totalWeight -= node.weight;
+        switch (node.queue) {
+            case WINDOW -> {
+                window.remove(node.key);
+                windowWeight -= node.weight;
+            }
+            case PROBATION -> probation.remove(node.key);
+            case PROTECTED -> {
+                protectedQueue.remove(node.key);
+                protectedWeight -= node.weight;
+            }
+        }
+    }
+
+    private static <K, V> void reorder(LinkedHashMap<K, Node<K, V>> queue, Node<K, V> node) {
+        queue.remove(node.key);
+        queue.put(node.key, node);
+    }
+
+    private static <K, V> Node<K, V> firstOf(LinkedHashMap<K, Node<K, V>> queue) {
+        Iterator<Node<K, V>> iterator = queue.values().iterator();
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+
+    private static <K, V> Node<K, V> pollFirst(LinkedHashMap<K, Node<K, V>> queue) {
+        Iterator<Map.Entry<K, Node<K, V>>> iterator = queue.entrySet().iterator();
+        Node<K, V> first = iterator.next().getValue();
+        iterator.remove();
+        return first;
+    }
+
+    private static int spread(int hash) {
+        hash ^= hash >>> 17;
+        hash *= 0xed5ad4bb;
+        hash ^= hash >>> 11;
+        return hash;
+    }
+
+    private enum Queue {
+        WINDOW, PROBATION, PROTECTED
+    }
+
+    private static final class Node<K, V> {
+        private final K key;
+        private final V value;
+        private final int hash;
+        private final long weight;
+        private final long expiresAtNanos;
+        private Queue queue = Queue.WINDOW;
+
+        Node(K key, V value, int hash, long weight, long expiresAtNanos) {
+            this.key = key;
+            this.value = value;
+            this.hash = hash;
+            this.weight = weight;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+
+    /**
+     * 4 位饱和计数的 Count-Min Sketch（每个计数用一个字节存储）
+     */
+    static final class FrequencySketch {
+        private static final long[] SEEDS =
+            {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+        private static final int MAX_COUNT = 15;
+        private static final int SAMPLE_FACTOR = 10;
+
+        private final byte[][] table;
+        private final int mask;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(int expectedEntries) {
+            int width = Integer.highestOneBit(Math.max(64, Math.min(1 << 24, expectedEntries)) - 1) << 1;
+            this.table = new byte[SEEDS.length][width];
+            this.mask = width - 1;
+            this.sampleSize = width * SAMPLE_FACTOR;
+        }
+
+        void increment(int hash) {
+            boolean added = false;
+            for (int row = 0; row < table.length; row++) {
+                int index = index(hash, row);
+                if (table[row][index] < MAX_COUNT) {
+                    table[row][index]++;
+                    added = true;
+                }
+            }
+            if (added && ++additions >= sampleSize) {
+                reset();
+            }
+        }
+
+        int frequency(int hash) {
+            int frequency = MAX_COUNT;
+            for (int row = 0; row < table.length; row++) {
+                frequency = Math.min(frequency, table[row][index(hash, row)]);
+            }
+            return frequency;
+        }
+
+        /**
+         * 全部计数减半，使旧的访问逐渐失去影响
+         */
+        private void reset() {
+            for (byte[] row : table) {
+                for (int i = 0; i < row.length; i++) {
+                    row[i] = (byte) (row[i] >>> 1);
+                }
+            }
+            additions /= 2;
+        }
+
+        private int index(int hash, int row) {
+            long h = (hash + SEEDS[row]) * SEEDS[row];
+            h += h >>> 32;
+            return (int) h & mask;
+        }
+    }
+
+    /**
+     * 缓存状态
+     */
+    record Stats(int size, long weight, long maxWeight, long hits, long misses, long evictions) {}
+}
@@ -3,6 +3,7 @@ package com.xhhao.aimodelhub.service.common;
 import com.xhhao.aimodelhub.api.constant.AiModelConstants;
 import com.xhhao.aimodelhub.extension.AiChatLog;
 import com.xhhao.aimodelhub.query.AiChatLogQuery;
+import jakarta.annotation.PostConstruct;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,6 +21,7 @@ import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * AI 聊天日志服务
@@ -39,6 +41,17 @@ public class AiChatLogService {
     private static final int LOG_NAME_SUFFIX_LENGTH = 8;
 
     private final ReactiveExtensionClient client;
+    private final ModelMetrics metrics;
+
+    /**
+     * 已提交但尚未写入完成的日志数
+     */
+    private final AtomicInteger pendingWrites = new AtomicInteger();
+
+    @PostConstruct
+    void registerMetrics() {
+        metrics.bindPendingLogWrites(pendingWrites, AtomicInteger::get);
+    }
 
     /**
      * 记录聊天日志
@@ -47,6 +60,20 @@ public class AiChatLogService {
                                    String userMessage, AiChatLog.CallType callType, long startTime,
                                    Integer promptTokens, Integer completionTokens,
                                    boolean success, String errorMessage, String response) {
+        return logChat(callerPlugin, provider, model, userMessage, callType, startTime,
+            promptTokens, completionTokens, success, errorMessage, response, new CallDetails());
+    }
+
+    /**
+     * 记录聊天日志
+     *
+     * @param details 调用附加信息（对冲、故障转移等）
+     */
+    public Mono<AiChatLog> logChat(String callerPlugin, String provider, String model,
+                                   String userMessage, AiChatLog.CallType callType, long startTime,
+                                   Integer promptTokens, Integer completionTokens,
+                                   boolean success, String errorMessage, String response,
+                                   CallDetails details) {
         
         AiChatLog chatLog = new AiChatLog();
         
@@ -63,21 +90,42 @@ public class AiChatLogService {
         spec.setUserMessage(truncate(userMessage, AiModelConstants.USER_MESSAGE_MAX_LENGTH));
         spec.setCallType(callType);
         spec.setRequestTime(Instant.ofEpochMilli(startTime));
+        if (details.isHedged()) {
+            spec.setHedged(true);
+        }
+        spec.setFailoverFrom(details.getFailoverFrom());
+        spec.setResponseSource(details.getResponseSource());
         chatLog.setSpec(spec);
         
-        // 设置 status
+        // 设置 status（未请求上游的调用不计 token）
+        if (details.getResponseSource() != AiChatLog.ResponseSource.UPSTREAM) {
+            promptTokens = 0;
+            completionTokens = 0;
+        }
         AiChatLog.AiChatLogStatus status = new AiChatLog.AiChatLogStatus();
         status.setPromptTokens(promptTokens);
         status.setCompletionTokens(completionTokens);
         status.setTotalTokens((promptTokens != null ? promptTokens : 0) + 
                              (completionTokens != null ? completionTokens : 0));
+        status.setSavedTokens(details.getSavedTokens());
         status.setDurationMs(System.currentTimeMillis() - startTime);
+        StreamLatencyRecorder.StreamTiming timing = details.getStreamTiming();
+        if (timing != null) {
+            status.setTimeToFirstTokenMs(timing.timeToFirstTokenMs());
+            status.setGenerationMs(timing.generationMs());
+            status.setTokensPerSecond(timing.tokensPerSecond());
+            status.setMaxInterTokenGapMs(timing.maxInterTokenGapMs());
+        }
         status.setSuccess(success);
         status.setErrorMessage(errorMessage);
         status.setResponseSummary(truncate(response, AiModelConstants.RESPONSE_SUMMARY_MAX_LENGTH));
         chatLog.setStatus(status);
         
-        return client.create(chatLog)
+        return Mono.defer(() -> {
+                pendingWrites.incrementAndGet();
+                return client.create(chatLog);
+            })
+            .doFinally(signal -> pendingWrites.decrementAndGet())
             .doOnSuccess(saved -> log.debug("Chat log saved: {}", saved.getMetadata().getName()))
             .doOnError(e -> log.error("Failed to save chat log", e));
     }
@@ -114,7 +162,13 @@ public class AiChatLogService {
                         Optional.ofNullable(status.getCompletionTokens()).orElse(0));
                     stats.setTotalTokens(stats.getTotalTokens() + 
                         Optional.ofNullable(status.getTotalTokens()).orElse(0));
+                    stats.setTotalSavedTokens(stats.getTotalSavedTokens() +
+                        Optional.ofNullable(status.getSavedTokens()).orElse(0));
                 });
+                if (log.getSpec() != null && log.getSpec().getResponseSource() != null
+                    && log.getSpec().getResponseSource() != AiChatLog.ResponseSource.UPSTREAM) {
+                    stats.setReusedCalls(stats.getReusedCalls() + 1);
+                }
                 
                 // 统计今日
                 Optional.ofNullable(log.getSpec())
@@ -160,6 +214,37 @@ public class AiChatLogService {
         return str.substring(0, maxLength) + "...";
     }
 
+    /**
+     * 调用附加信息
+     */
+    @Data
+    public static class CallDetails {
+        /**
+         * 是否触发了对冲请求
+         */
+        private boolean hedged;
+
+        /**
+         * 故障转移前的首选供应商（未发生故障转移时为空）
+         */
+        private String failoverFrom;
+
+        /**
+         * 流式调用计时（非流式调用为空）
+         */
+        private StreamLatencyRecorder.StreamTiming streamTiming;
+
+        /**
+         * 响应来源
+         */
+        private AiChatLog.ResponseSource responseSource = AiChatLog.ResponseSource.UPSTREAM;
+
+        /**
+         * 节省的 token 数（未请求上游时为原始调用消耗的 token 数）
+         */
+        private Integer savedTokens;
+    }
+
     /**
      * 统计信息
      */
@@ -171,6 +256,16 @@ public class AiChatLogService {
         private long totalPromptTokens;
         private long totalCompletionTokens;
         private long totalTokens;
+
+        /**
+         * 命中缓存或合并到其他调用、未请求上游的调用数
+         */
+        private int reusedCalls;
+
+        /**
+         * 未请求上游而节省的 token 数
+         */
+        private long totalSavedTokens;
         private int todayCalls;
         private long todayTokens;
     }
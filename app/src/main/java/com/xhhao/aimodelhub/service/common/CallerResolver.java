@@ -0,0 +1,103 @@
+package com.xhhao.aimodelhub.service.common;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.xhhao.aimodelhub.api.ChatModels;
+import lombok.RequiredArgsConstructor;
+import org.pf4j.PluginManager;
+import org.pf4j.PluginWrapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * 调用方插件识别
+ * <p>
+ * 优先使用订阅上下文中显式声明的 {@link ChatModels#CALLER_PLUGIN_KEY}；
+ * 否则在调用方法时沿调用栈向上查找第一个由其他插件类加载器加载的类，按类加载器识别插件。
+ * 调用栈只能在组装调用链时（调用 chat/chatStream 的线程上）获取，订阅发生在其他线程时无法识别。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+public class CallerResolver {
+
+    private static final StackWalker STACK_WALKER =
+        StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    /**
+     * 本插件与 Halo 本体的类加载器，这些加载器加载的类不属于调用方
+     */
+    private static final ClassLoader OWN_LOADER = CallerResolver.class.getClassLoader();
+    private static final ClassLoader HOST_LOADER = Mono.class.getClassLoader();
+
+    private final ObjectProvider<PluginManager> pluginManager;
+
+    /**
+     * 类加载器 -> 插件名称（弱引用，插件卸载后自动清理）
+     */
+    private final Cache<ClassLoader, Optional<String>> pluginByLoader = CacheBuilder.newBuilder()
+        .weakKeys()
+        .build();
+
+    /**
+     * 从当前调用栈识别调用方插件
+     *
+     * @return 插件名称，无法识别时返回 null
+     */
+    public String fromStack() {
+        return STACK_WALKER.walk(frames -> frames
+                .map(StackWalker.StackFrame::getDeclaringClass)
+                .filter(CallerResolver::isForeign)
+                .findFirst())
+            .map(this::pluginOf)
+            .orElse(null);
+    }
+
+    /**
+     * 解析调用方插件：上下文中显式声明的优先，其次为组装调用链时识别的结果
+     *
+     * @param context   订阅上下文
+     * @param fromStack 组装调用链时从调用栈识别的插件
+     */
+    public static String resolve(ContextView context, String fromStack) {
+        Object explicit = context.getOrDefault(ChatModels.CALLER_PLUGIN_KEY, null);
+        if (explicit instanceof String name && !name.isBlank()) {
+            return name;
+        }
+        return fromStack;
+    }
+
+    private String pluginOf(Class<?> type) {
+        try {
+            return pluginByLoader.get(type.getClassLoader(), () -> Optional.ofNullable(lookup(type)))
+                .orElse(null);
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    private String lookup(Class<?> type) {
+        PluginManager manager = pluginManager.getIfAvailable();
+        if (manager == null) {
+            return null;
+        }
+        PluginWrapper wrapper = manager.whichPlugin(type);
+        return wrapper != null ? wrapper.getPluginId() : null;
+    }
+
+    private static boolean isForeign(Class<?> type) {
+        ClassLoader loader = type.getClassLoader();
+        return loader != null
+            && loader != OWN_LOADER
+            && loader != HOST_LOADER
+            && loader != ClassLoader.getPlatformClassLoader();
+    }
+}
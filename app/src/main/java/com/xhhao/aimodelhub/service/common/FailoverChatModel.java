@@ -0,0 +1,152 @@
+package com.xhhao.aimodelhub.service.common;
+
+import com.xhhao.aimodelhub.api.ChatMessage;
+import com.xhhao.aimodelhub.api.ChatModel;
+import com.xhhao.aimodelhub.api.ChatModels;
+import com.xhhao.aimodelhub.api.exception.AiModelException;
+import com.xhhao.aimodelhub.service.resilience.UpstreamRetry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 按顺序故障转移的 ChatModel
+ * <p>
+ * 依次尝试链上的供应商：当前供应商未配置、熔断、超时或返回可重试错误（429/5xx/连接异常）时切换到下一个。
+ * 流式调用一旦已向下游输出内容就不再切换，避免拼接出两个模型的回答。
+ * </p>
+ * <p>
+ * 切换后的调用通过订阅上下文写入首选供应商，由 {@link LoggingChatModel} 记录到日志。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Slf4j
+public class FailoverChatModel implements ChatModel {
+
+    /**
+     * 订阅上下文键：故障转移前的首选供应商
+     */
+    static final String FAILOVER_FROM_KEY = FailoverChatModel.class.getName() + ".failoverFrom";
+
+    private final List<Candidate> candidates;
+
+    /**
+     * 调用方插件识别（为空时不识别）
+     */
+    private final CallerResolver callerResolver;
+
+    /**
+     * @param candidates     按优先级排列的候选供应商，至少一个
+     * @param callerResolver 调用方插件识别；切换后的调用在其他线程上发起，需在入口处识别并写入上下文
+     */
+    public FailoverChatModel(List<Candidate> candidates, CallerResolver callerResolver) {
+        if (candidates == null || candidates.isEmpty()) {
+            throw new IllegalArgumentException("故障转移链不能为空");
+        }
+        this.candidates = List.copyOf(candidates);
+        this.callerResolver = callerResolver;
+    }
+
+    @Override
+    public Mono<String> chat(String userMessage) {
+        return chat(0, model -> model.chat(userMessage)).contextWrite(withCaller(callerFromStack()));
+    }
+
+    @Override
+    public Flux<String> chatStream(String userMessage) {
+        return chatStream(0, model -> model.chatStream(userMessage)).contextWrite(withCaller(callerFromStack()));
+    }
+
+    @Override
+    public Mono<String> chat(List<ChatMessage> messages) {
+        return chat(0, model -> model.chat(messages)).contextWrite(withCaller(callerFromStack()));
+    }
+
+    @Override
+    public Flux<String> chatStream(List<ChatMessage> messages) {
+        return chatStream(0, model -> model.chatStream(messages)).contextWrite(withCaller(callerFromStack()));
+    }
+
+    private String callerFromStack() {
+        return callerResolver != null ? callerResolver.fromStack() : null;
+    }
+
+    /**
+     * 上下文中未显式声明调用方插件时写入识别结果
+     */
+    private static Function<Context, Context> withCaller(String caller) {
+        return context -> caller == null || context.hasKey(ChatModels.CALLER_PLUGIN_KEY)
+            ? context : context.put(ChatModels.CALLER_PLUGIN_KEY, caller);
+    }
+
+    private Mono<String> chat(int index, Function<ChatModel, Mono<String>> call) {
+        Candidate candidate = candidates.get(index);
+        Mono<String> attempt = Mono.defer(candidate.model()).flatMap(call);
+        if (index > 0) {
+            attempt = attempt.contextWrite(context -> context.put(FAILOVER_FROM_KEY, candidates.get(0).provider()));
+        }
+        if (index == candidates.size() - 1) {
+            return attempt;
+        }
+        return attempt.onErrorResume(FailoverChatModel::canFailover, e -> {
+            logFailover(index, e);
+            return chat(index + 1, call);
+        });
+    }
+
+    private Flux<String> chatStream(int index, Function<ChatModel, Flux<String>> call) {
+        Candidate candidate = candidates.get(index);
+        return Flux.defer(() -> {
+            AtomicBoolean emitted = new AtomicBoolean();
+            Flux<String> attempt = Mono.defer(candidate.model())
+                .flatMapMany(call)
+                .doOnNext(token -> emitted.set(true));
+            if (index > 0) {
+                attempt = attempt.contextWrite(
+                    context -> context.put(FAILOVER_FROM_KEY, candidates.get(0).provider()));
+            }
+            if (index == candidates.size() - 1) {
+                return attempt;
+            }
+            return attempt.onErrorResume(e -> !emitted.get() && canFailover(e), e -> {
+                logFailover(index, e);
+                return chatStream(index + 1, call);
+            });
+        });
+    }
+
+    private void logFailover(int index, Throwable error) {
+        log.warn("供应商 {} 调用失败，切换到 {}: {}", candidates.get(index).provider(),
+            candidates.get(index + 1).provider(), error.getMessage());
+    }
+
+    /**
+     * 判断错误是否允许切换到下一个供应商
+     */
+    static boolean canFailover(Throwable error) {
+        if (error instanceof AiModelException modelException) {
+            return switch (modelException.getErrorCode()) {
+                case CONFIG_ERROR, TIMEOUT, RATE_LIMIT, MODEL_UNAVAILABLE -> true;
+                default -> false;
+            };
+        }
+        return error instanceof TimeoutException || UpstreamRetry.isRetryable(error);
+    }
+
+    /**
+     * 候选供应商
+     *
+     * @param provider 供应商名称
+     * @param model    每次调用时获取模型（模型实例由工厂缓存）
+     */
+    public record Candidate(String provider, Supplier<Mono<ChatModel>> model) {}
+}
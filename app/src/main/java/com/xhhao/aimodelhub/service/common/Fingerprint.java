@@ -0,0 +1,92 @@
+package com.xhhao.aimodelhub.service.common;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 配置指纹构建器
+ * <p>
+ * 将一组有序字段规范化后计算 SHA-256，用作缓存键。
+ * 敏感字段（如 API Key）只以摘要形式参与计算，不会出现在键中。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+public final class Fingerprint {
+
+    private static final byte FIELD_SEPARATOR = 0x1F;
+    private static final byte NULL_MARKER = 0x00;
+
+    private final MessageDigest digest;
+
+    private Fingerprint() {
+        this.digest = newDigest();
+    }
+
+    /**
+     * 创建指纹构建器
+     */
+    public static Fingerprint builder() {
+        return new Fingerprint();
+    }
+
+    /**
+     * 计算字符串的 SHA-256 摘要（十六进制）
+     */
+    public static String sha256(String value) {
+        MessageDigest md = newDigest();
+        return HexFormat.of().formatHex(md.digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * 追加字段
+     * <p>
+     * Map 按 key 排序、集合按迭代顺序写入，null 与空字符串可区分。
+     * </p>
+     */
+    public Fingerprint add(Object value) {
+        if (value == null) {
+            digest.update(NULL_MARKER);
+        } else if (value instanceof Map<?, ?> map) {
+            digest.update((byte) '{');
+            new TreeMap<>(map).forEach((k, v) -> add(k).add(v));
+            digest.update((byte) '}');
+        } else if (value instanceof Collection<?> collection) {
+            digest.update((byte) '[');
+            collection.forEach(this::add);
+            digest.update((byte) ']');
+        } else {
+            digest.update(value.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update(FIELD_SEPARATOR);
+        return this;
+    }
+
+    /**
+     * 追加规范化后的地址（去除首尾空白与末尾斜杠）
+     */
+    public Fingerprint addUrl(String url) {
+        return add(url == null ? null : url.trim().replaceAll("/+$", ""));
+    }
+
+    /**
+     * 生成指纹（十六进制）
+     */
+    public String build() {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+    }
+}
@@ -2,16 +2,24 @@ package com.xhhao.aimodelhub.service.common;
 
 import com.xhhao.aimodelhub.api.ChatMessage;
 import com.xhhao.aimodelhub.api.ChatModel;
+import com.xhhao.aimodelhub.api.ChatModels;
 import com.xhhao.aimodelhub.extension.AiChatLog;
+import com.xhhao.aimodelhub.service.cache.NearDuplicateCache;
+import com.xhhao.aimodelhub.service.cache.ResponseCache;
 import com.xhhao.aimodelhub.service.openai.OpenAiCompatibleChatModel;
 import com.xhhao.aimodelhub.service.openai.OpenAiChatRequest;
 import com.xhhao.aimodelhub.service.openai.OpenAiChatResponse;
 import com.xhhao.aimodelhub.service.openai.OpenAiMessage;
+import com.xhhao.aimodelhub.service.openai.OpenAiStreamChunk;
+import com.xhhao.aimodelhub.service.resilience.HedgingPolicy;
+import com.xhhao.aimodelhub.service.resilience.PluginBulkhead;
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
+import reactor.util.context.ContextView;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -33,12 +41,76 @@ public class LoggingChatModel implements ChatModel {
     private final String callerPlugin;
     private final String provider;
 
+    /**
+     * 对冲请求策略（为空时不对冲）
+     */
+    private final HedgingPolicy hedgingPolicy;
+
+    /**
+     * 调用方插件识别（{@code callerPlugin} 为空时使用，为空时不识别）
+     */
+    private final CallerResolver callerResolver;
+
+    /**
+     * 按调用方插件的并发隔离（为空时不隔离）
+     */
+    private final PluginBulkhead bulkhead;
+
+    /**
+     * 流式调用延迟直方图（为空时不汇总）
+     */
+    private final StreamLatencyRecorder.StreamHistograms streamHistograms;
+
+    /**
+     * 调用指标（为空时不记录）
+     */
+    private final ModelMetrics.CallMeters chatMeters;
+    private final ModelMetrics.CallMeters streamMeters;
+
+    /**
+     * 相同请求合并（为空时不合并）
+     */
+    private final SingleFlight singleFlight;
+
+    /**
+     * 响应缓存（为空时不缓存）
+     */
+    private final ResponseCache responseCache;
+
+    /**
+     * 近似提示词缓存（为空时不使用）
+     */
+    private final NearDuplicateCache nearDuplicateCache;
+
     public LoggingChatModel(OpenAiCompatibleChatModel delegate, AiChatLogService logService,
-                            String callerPlugin, String provider) {
+                            String callerPlugin, String provider, HedgingPolicy hedgingPolicy,
+                            CallerResolver callerResolver, PluginBulkhead bulkhead,
+                            StreamLatencyRecorder latencyRecorder, ModelMetrics metrics,
+                            SingleFlight singleFlight, ResponseCache responseCache,
+                            NearDuplicateCache nearDuplicateCache) {
         this.delegate = delegate;
         this.logService = logService;
         this.callerPlugin = callerPlugin;
         this.provider = provider;
+        this.hedgingPolicy = hedgingPolicy;
+        this.callerResolver = callerResolver;
+        this.bulkhead = bulkhead;
+        this.streamHistograms = latencyRecorder != null
+            ? latencyRecorder.histograms(provider, delegate.getModelName()) : null;
+        this.chatMeters = metrics != null
+            ? metrics.callMeters(provider, delegate.getModelName(), AiChatLog.CallType.CHAT) : null;
+        this.streamMeters = metrics != null
+            ? metrics.callMeters(provider, delegate.getModelName(), AiChatLog.CallType.STREAM) : null;
+        this.singleFlight = singleFlight;
+        this.responseCache = responseCache;
+        this.nearDuplicateCache = nearDuplicateCache;
+    }
+
+    /**
+     * 获取被包装的上游模型
+     */
+    public OpenAiCompatibleChatModel getDelegate() {
+        return delegate;
     }
 
     @Override
@@ -53,31 +125,298 @@ public class LoggingChatModel implements ChatModel {
 
     @Override
     public Mono<String> chat(List<ChatMessage> messages) {
-        long startTime = System.currentTimeMillis();
-        String userMessage = extractLastUserMessage(messages);
-        OpenAiChatRequest request = buildRequest(messages, false);
+        String stackCaller = callerFromStack();
+        return Mono.deferContextual(context -> {
+            long startTime = System.currentTimeMillis();
+            long startNanos = System.nanoTime();
+            String caller = CallerResolver.resolve(context, stackCaller);
+            String userMessage = extractLastUserMessage(messages);
+            AiChatLogService.CallDetails details = callDetails(context);
 
-        return delegate.chat(request)
-            .doOnSuccess(response -> asyncLogSuccess(userMessage, AiChatLog.CallType.CHAT, startTime, response))
-            .doOnError(e -> asyncLogError(userMessage, AiChatLog.CallType.CHAT, startTime, e))
-            .map(OpenAiChatResponse::getContent);
+            String cacheKey = isCacheable(context) ? requestKey(messages) : null;
+            Long similarScope = isSimilarCacheable(context) ? similarScope(messages) : null;
+            ResponseCache.CachedResponse cached = lookupCache(cacheKey, similarScope, messages, details);
+            if (cached != null) {
+                recordMetrics(chatMeters, caller, ModelMetrics.Outcome.CACHED, startNanos, null);
+                asyncLogSuccess(caller, userMessage, AiChatLog.CallType.CHAT, startTime, cached.content(), null,
+                    details);
+                return Mono.just(cached.content());
+            }
+
+            Mono<OpenAiChatResponse> call = hedgingPolicy != null
+                ? hedgingPolicy.execute(provider, delegate.getModelName(),
+                    () -> delegate.chat(buildRequest(messages, false)), () -> details.setHedged(true))
+                : delegate.chat(buildRequest(messages, false));
+
+            Mono<OpenAiChatResponse> upstream = isolated(caller, call);
+            if (singleFlight != null && singleFlight.isEnabled()) {
+                upstream = singleFlight.execute(cacheKey != null ? cacheKey : requestKey(messages), upstream,
+                    () -> details.setResponseSource(AiChatLog.ResponseSource.SHARED));
+            }
+
+            return upstream
+                .doOnSuccess(response -> {
+                    String content = response != null ? response.getContent() : null;
+                    OpenAiChatResponse.Usage reported = response != null ? response.getUsage() : null;
+                    OpenAiChatResponse.Usage usage = billedUsage(reported, details);
+                    if (content != null && isUpstream(details)) {
+                        store(cacheKey, similarScope, messages, content, null, reported);
+                    }
+                    recordMetrics(chatMeters, caller, ModelMetrics.Outcome.SUCCESS, startNanos, usage);
+                    asyncLogSuccess(caller, userMessage, AiChatLog.CallType.CHAT, startTime, content, usage,
+                        details);
+                })
+                .doOnError(e -> {
+                    recordMetrics(chatMeters, caller, ModelMetrics.Outcome.of(e), startNanos, null);
+                    asyncLogError(caller, userMessage, AiChatLog.CallType.CHAT, startTime, e, details);
+                })
+                .doOnCancel(() -> recordMetrics(chatMeters, caller, ModelMetrics.Outcome.CANCELLED, startNanos, null))
+                .map(OpenAiChatResponse::getContent);
+        });
     }
 
     @Override
     public Flux<String> chatStream(List<ChatMessage> messages) {
-        long startTime = System.currentTimeMillis();
-        String userMessage = extractLastUserMessage(messages);
-        OpenAiChatRequest request = buildRequest(messages, true);
+        String stackCaller = callerFromStack();
+        return Flux.deferContextual(context -> {
+            long startTime = System.currentTimeMillis();
+            String caller = CallerResolver.resolve(context, stackCaller);
+            String userMessage = extractLastUserMessage(messages);
+            OpenAiChatRequest request = buildRequest(messages, true);
+            AiChatLogService.CallDetails details = callDetails(context);
+            long startNanos = System.nanoTime();
+
+            String cacheKey = isCacheable(context) ? requestKey(messages) : null;
+            Long similarScope = isSimilarCacheable(context) ? similarScope(messages) : null;
+            ResponseCache.CachedResponse cached = lookupCache(cacheKey, similarScope, messages, details);
+            if (cached != null) {
+                recordMetrics(streamMeters, caller, ModelMetrics.Outcome.CACHED, startNanos, null);
+                asyncLogStreamSuccess(caller, userMessage, startTime, cached.content(), null, details);
+                return Flux.fromIterable(cached.replayChunks());
+            }
+
+            StreamLatencyRecorder.StreamTiming timing = StreamLatencyRecorder.StreamTiming.start();
+            details.setStreamTiming(timing);
+            List<String> chunks = cacheKey != null || similarScope != null ? new ArrayList<>() : null;
+
+            StringBuilder fullResponse = new StringBuilder();
+            AtomicReference<OpenAiChatResponse.Usage> usageRef = new AtomicReference<>();
+
+            Flux<OpenAiStreamChunk> upstream = isolated(caller, delegate.chatStream(request));
+            if (singleFlight != null && singleFlight.isStreamEnabled()) {
+                upstream = singleFlight.executeStream(cacheKey != null ? cacheKey : requestKey(messages), upstream,
+                    () -> details.setResponseSource(AiChatLog.ResponseSource.SHARED));
+            }
+
+            return upstream
+                .doOnNext(chunk -> collectStreamResponse(chunk, fullResponse, usageRef))
+                .filter(chunk -> chunk.getContent() != null && !chunk.getContent().isEmpty())
+                .doOnNext(chunk -> timing.onChunk())
+                .map(OpenAiStreamChunk::getContent)
+                .doOnNext(content -> {
+                    if (chunks != null) {
+                        chunks.add(content);
+                    }
+                })
+                .doOnComplete(() -> {
+                    OpenAiChatResponse.Usage reported = usageRef.get();
+                    timing.finish(reported != null ? reported.getCompletionTokens() : null);
+                    OpenAiChatResponse.Usage usage = billedUsage(reported, details);
+                    if (chunks != null && isUpstream(details)) {
+                        store(cacheKey, similarScope, messages, fullResponse.toString(), List.copyOf(chunks),
+                            reported);
+                    }
+                    if (streamHistograms != null) {
+                        streamHistograms.record(timing);
+                    }
+                    recordMetrics(streamMeters, caller, ModelMetrics.Outcome.SUCCESS, startNanos, usage);
+                    asyncLogStreamSuccess(caller, userMessage, startTime, fullResponse.toString(), usage, details);
+                })
+                .doOnError(e -> {
+                    recordMetrics(streamMeters, caller, ModelMetrics.Outcome.of(e), startNanos, null);
+                    asyncLogError(caller, userMessage, AiChatLog.CallType.STREAM, startTime, e, details);
+                })
+                .doOnCancel(() -> recordMetrics(streamMeters, caller, ModelMetrics.Outcome.CANCELLED, startNanos,
+                    null));
+        });
+    }
+
+    /**
+     * 组装调用链时识别调用方插件（构造时已指定则直接使用）
+     */
+    private String callerFromStack() {
+        if (callerPlugin != null || callerResolver == null) {
+            return callerPlugin;
+        }
+        return callerResolver.fromStack();
+    }
+
+    /**
+     * 在调用方插件的并发名额内执行调用
+     */
+    private <T> Mono<T> isolated(String caller, Mono<T> call) {
+        if (bulkhead == null) {
+            return call;
+        }
+        return bulkhead.acquire(caller).flatMap(lease -> call.doFinally(signal -> lease.release()));
+    }
+
+    /**
+     * 在调用方插件的并发名额内执行流式调用（占用名额直到流结束）
+     */
+    private <T> Flux<T> isolated(String caller, Flux<T> call) {
+        if (bulkhead == null) {
+            return call;
+        }
+        return bulkhead.acquire(caller).flatMapMany(lease -> call.doFinally(signal -> lease.release()));
+    }
+
+    /**
+     * 请求键：供应商、模型、模型级生成参数与完整消息列表
+     */
+    private String requestKey(List<ChatMessage> messages) {
+        Fingerprint fingerprint = Fingerprint.builder()
+            .add(provider)
+            .add(delegate.getModelName())
+            .add(delegate.getGenerationFingerprint());
+        for (ChatMessage message : messages) {
+            fingerprint.add(message.getRole()).add(message.getContent());
+        }
+        return fingerprint.build();
+    }
+
+    /**
+     * 计入本次调用的 token 用量：合并到其他调用的结果不重复计入，原始用量记为节省的 token
+     */
+    private static OpenAiChatResponse.Usage billedUsage(OpenAiChatResponse.Usage usage,
+                                                        AiChatLogService.CallDetails details) {
+        if (isUpstream(details)) {
+            return usage;
+        }
+        if (usage != null && usage.getTotalTokens() != null) {
+            details.setSavedTokens(usage.getTotalTokens());
+        }
+        return null;
+    }
+
+    /**
+     * 判断本次调用是否使用响应缓存
+     * <p>
+     * 优先级：订阅上下文中的 {@link ChatModels#RESPONSE_CACHE_KEY} > 模型参数中的缓存开关 >
+     * 插件设置（开启时缓存温度为 0 或固定随机种子的确定性请求）。
+     * </p>
+     */
+    private boolean isCacheable(ContextView context) {
+        if (responseCache == null || !responseCache.isEnabled()) {
+            return false;
+        }
+        Object explicit = context.getOrDefault(ChatModels.RESPONSE_CACHE_KEY, null);
+        if (explicit instanceof Boolean enabled) {
+            return enabled;
+        }
+        if (delegate.getCacheResponses() != null) {
+            return delegate.getCacheResponses();
+        }
+        Double temperature = delegate.getTemperature();
+        return responseCache.isCacheDeterministic()
+            && ((temperature != null && temperature == 0) || delegate.getSeed() != null);
+    }
 
-        StringBuilder fullResponse = new StringBuilder();
-        AtomicReference<OpenAiChatResponse.Usage> usageRef = new AtomicReference<>();
+    /**
+     * 判断本次调用是否使用近似提示词缓存（只在显式开启时使用）
+     * <p>
+     * 优先级：订阅上下文中的 {@link ChatModels#SIMILAR_CACHE_KEY} > 模型参数中的开关。
+     * </p>
+     */
+    private boolean isSimilarCacheable(ContextView context) {
+        if (nearDuplicateCache == null || !nearDuplicateCache.isEnabled()) {
+            return false;
+        }
+        Object explicit = context.getOrDefault(ChatModels.SIMILAR_CACHE_KEY, null);
+        if (explicit instanceof Boolean enabled) {
+            return enabled;
+        }
+        return Boolean.TRUE.equals(delegate.getCacheSimilarPrompts());
+    }
 
-        return delegate.chatStream(request)
-            .doOnNext(response -> collectStreamResponse(response, fullResponse, usageRef))
-            .filter(response -> response.getContent() != null && !response.getContent().isEmpty())
-            .map(OpenAiChatResponse::getContent)
-            .doOnComplete(() -> asyncLogStreamSuccess(userMessage, startTime, fullResponse.toString(), usageRef.get()))
-            .doOnError(e -> asyncLogError(userMessage, AiChatLog.CallType.STREAM, startTime, e));
+    /**
+     * 近似匹配的作用域：除最后一条消息内容外的请求键
+     */
+    private long similarScope(List<ChatMessage> messages) {
+        Fingerprint fingerprint = Fingerprint.builder()
+            .add(provider)
+            .add(delegate.getModelName())
+            .add(delegate.getGenerationFingerprint());
+        for (int i = 0; i < messages.size() - 1; i++) {
+            fingerprint.add(messages.get(i).getRole()).add(messages.get(i).getContent());
+        }
+        fingerprint.add(messages.isEmpty() ? null : messages.get(messages.size() - 1).getRole());
+        return Long.parseUnsignedLong(fingerprint.build().substring(0, 16), 16);
+    }
+
+    private static String lastContent(List<ChatMessage> messages) {
+        return messages.isEmpty() ? null : messages.get(messages.size() - 1).getContent();
+    }
+
+    /**
+     * 依次查询精确缓存与近似缓存，命中时记录响应来源与节省的 token
+     */
+    private ResponseCache.CachedResponse lookupCache(String cacheKey, Long similarScope, List<ChatMessage> messages,
+                                                     AiChatLogService.CallDetails details) {
+        ResponseCache.CachedResponse cached = cacheKey != null ? responseCache.get(cacheKey) : null;
+        AiChatLog.ResponseSource source = AiChatLog.ResponseSource.CACHE;
+        if (cached == null && similarScope != null) {
+            cached = nearDuplicateCache.get(similarScope, lastContent(messages));
+            source = AiChatLog.ResponseSource.SIMILAR;
+        }
+        if (cached != null) {
+            details.setResponseSource(source);
+            details.setSavedTokens(cached.totalTokens());
+        }
+        return cached;
+    }
+
+    private void store(String cacheKey, Long similarScope, List<ChatMessage> messages, String content,
+                       List<String> chunks, OpenAiChatResponse.Usage usage) {
+        if (cacheKey == null && similarScope == null) {
+            return;
+        }
+        ResponseCache.CachedResponse response = new ResponseCache.CachedResponse(content, chunks,
+            usage != null ? usage.getPromptTokens() : null, usage != null ? usage.getCompletionTokens() : null);
+        if (cacheKey != null) {
+            responseCache.put(cacheKey, response, delegate.getResponseCacheTtl());
+        }
+        if (similarScope != null) {
+            nearDuplicateCache.put(similarScope, lastContent(messages), response, delegate.getResponseCacheTtl());
+        }
+    }
+
+    private static boolean isUpstream(AiChatLogService.CallDetails details) {
+        return details.getResponseSource() == AiChatLog.ResponseSource.UPSTREAM;
+    }
+
+    /**
+     * 记录调用指标
+     */
+    private static void recordMetrics(ModelMetrics.CallMeters meters, String caller, ModelMetrics.Outcome outcome,
+                                      long startNanos, OpenAiChatResponse.Usage usage) {
+        if (meters == null) {
+            return;
+        }
+        ModelMetrics.CallerMeters callerMeters = meters.caller(caller);
+        callerMeters.record(outcome, startNanos);
+        if (usage != null) {
+            callerMeters.recordTokens(usage.getPromptTokens(), usage.getCompletionTokens());
+        }
+    }
+
+    /**
+     * 从订阅上下文中读取调用附加信息（如故障转移链写入的首选供应商）
+     */
+    private static AiChatLogService.CallDetails callDetails(ContextView context) {
+        AiChatLogService.CallDetails details = new AiChatLogService.CallDetails();
+        details.setFailoverFrom(context.getOrDefault(FailoverChatModel.FAILOVER_FROM_KEY, null));
+        return details;
     }
 
     /**
@@ -103,31 +442,30 @@ public class LoggingChatModel implements ChatModel {
     /**
      * 收集流式响应数据
      */
-    private void collectStreamResponse(OpenAiChatResponse response, StringBuilder fullResponse,
+    private void collectStreamResponse(OpenAiStreamChunk chunk, StringBuilder fullResponse,
                                        AtomicReference<OpenAiChatResponse.Usage> usageRef) {
-        String content = response.getContent();
+        String content = chunk.getContent();
         if (content != null) {
             fullResponse.append(content);
         }
-        if (response.getUsage() != null) {
-            usageRef.set(response.getUsage());
+        if (chunk.getUsage() != null) {
+            usageRef.set(chunk.getUsage());
         }
     }
 
     /**
      * 异步记录成功日志
      */
-    private void asyncLogSuccess(String userMessage, AiChatLog.CallType callType,
-                                 long startTime, OpenAiChatResponse response) {
+    private void asyncLogSuccess(String caller, String userMessage, AiChatLog.CallType callType,
+                                 long startTime, String content, OpenAiChatResponse.Usage usage,
+                                 AiChatLogService.CallDetails details) {
         executeAsync(() -> {
-            String content = response != null ? response.getContent() : null;
-            OpenAiChatResponse.Usage usage = response != null ? response.getUsage() : null;
             Integer promptTokens = usage != null ? usage.getPromptTokens() : null;
             Integer completionTokens = usage != null ? usage.getCompletionTokens() : null;
 
-            logService.logChat(callerPlugin, provider, delegate.getModelName(),
+            logService.logChat(caller, provider, delegate.getModelName(),
                     userMessage, callType, startTime, promptTokens, completionTokens,
-                    true, null, content)
+                    true, null, content, details)
                 .subscribe(
                     saved -> log.debug("日志已保存: {}", saved.getMetadata().getName()),
                     e -> log.warn("保存日志失败", e)
@@ -138,15 +476,16 @@ public class LoggingChatModel implements ChatModel {
     /**
      * 异步记录流式成功日志
      */
-    private void asyncLogStreamSuccess(String userMessage, long startTime,
-                                       String fullResponse, OpenAiChatResponse.Usage usage) {
+    private void asyncLogStreamSuccess(String caller, String userMessage, long startTime,
+                                       String fullResponse, OpenAiChatResponse.Usage usage,
+                                       AiChatLogService.CallDetails details) {
         executeAsync(() -> {
             Integer promptTokens = usage != null ? usage.getPromptTokens() : null;
             Integer completionTokens = usage != null ? usage.getCompletionTokens() : null;
 
-            logService.logChat(callerPlugin, provider, delegate.getModelName(),
+            logService.logChat(caller, provider, delegate.getModelName(),
                     userMessage, AiChatLog.CallType.STREAM, startTime, promptTokens, completionTokens,
-                    true, null, fullResponse)
+                    true, null, fullResponse, details)
                 .subscribe(
                     saved -> log.debug("流式日志已保存: {}", saved.getMetadata().getName()),
                     e -> log.warn("保存流式日志失败", e)
@@ -157,11 +496,11 @@ public class LoggingChatModel implements ChatModel {
     /**
      * 异步记录错误日志
      */
-    private void asyncLogError(String userMessage, AiChatLog.CallType callType,
-                               long startTime, Throwable error) {
-        executeAsync(() -> logService.logChat(callerPlugin, provider, delegate.getModelName(),
+    private void asyncLogError(String caller, String userMessage, AiChatLog.CallType callType,
+                               long startTime, Throwable error, AiChatLogService.CallDetails details) {
+        executeAsync(() -> logService.logChat(caller, provider, delegate.getModelName(),
                 userMessage, callType, startTime, null, null,
-                false, error.getMessage(), null)
+                false, error.getMessage(), null, details)
             .subscribe(
                 saved -> log.debug("错误日志已保存: {}", saved.getMetadata().getName()),
                 e -> log.warn("保存错误日志失败", e)
@@ -0,0 +1,208 @@
+package com.xhhao.aimodelhub.service.common;
+
+import com.xhhao.aimodelhub.api.EmbeddingModel;
+import com.xhhao.aimodelhub.extension.AiChatLog;
+import com.xhhao.aimodelhub.service.embedding.EmbeddingBatcher;
+import com.xhhao.aimodelhub.service.embedding.EmbeddingCache;
+import com.xhhao.aimodelhub.service.openai.OpenAiCompatibleEmbeddingModel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 带日志记录、向量缓存与请求合并的 EmbeddingModel 包装器
+ * <p>
+ * 先按文本内容查 {@link EmbeddingCache}，只有未命中的文本才进入 {@link EmbeddingBatcher} 队列与其他调用（包括其他插件）合并后发出，
+ * 日志与指标按上游请求记录：一次上游请求中每个调用方各记一条日志，token 按请求条数分摊。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Slf4j
+public class LoggingEmbeddingModel implements EmbeddingModel {
+
+    /**
+     * 日志中记录的文本最大长度
+     */
+    private static final int MAX_LOGGED_TEXT_LENGTH = 200;
+
+    @Getter
+    private final OpenAiCompatibleEmbeddingModel delegate;
+    private final AiChatLogService logService;
+    private final String provider;
+    private final CallerResolver callerResolver;
+    private final EmbeddingBatcher.Queue queue;
+    private final EmbeddingCache cache;
+
+    /**
+     * 缓存中的模型标识（接口地址与输出维度不同的同名模型分开缓存）
+     */
+    private final String cacheModel;
+
+    /**
+     * 调用指标（为空时不记录）
+     */
+    private final ModelMetrics.CallMeters meters;
+
+    public LoggingEmbeddingModel(OpenAiCompatibleEmbeddingModel delegate, AiChatLogService logService,
+                                 String provider, CallerResolver callerResolver, EmbeddingBatcher batcher,
+                                 EmbeddingCache cache, ModelMetrics metrics) {
+        this.delegate = delegate;
+        this.logService = logService;
+        this.provider = provider;
+        this.callerResolver = callerResolver;
+        this.queue = batcher.newQueue(this::callUpstream);
+        this.cache = cache;
+        this.cacheModel = String.join("|", provider, String.valueOf(delegate.getBaseUrl()),
+            delegate.getModelName(), String.valueOf(delegate.getDimensions()));
+        this.meters = metrics != null
+            ? metrics.callMeters(provider, delegate.getModelName(), AiChatLog.CallType.EMBEDDING) : null;
+    }
+
+    @Override
+    public Mono<float[]> embed(String text) {
+        if (text == null) {
+            return Mono.error(new IllegalArgumentException("文本不能为空"));
+        }
+        // 请求在队列线程上合并发出，组装时识别调用方
+        String stackCaller = callerResolver.fromStack();
+        return Mono.deferContextual(context -> {
+            EmbeddingCache.Key key = cache.key(cacheModel, text);
+            float[] cached = cache.get(key);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            return queue.submit(text, CallerResolver.resolve(context, stackCaller))
+                .doOnNext(vector -> cache.put(key, vector));
+        });
+    }
+
+    @Override
+    public Mono<List<float[]>> embedAll(List<String> texts) {
+        if (texts == null || texts.contains(null)) {
+            return Mono.error(new IllegalArgumentException("文本不能为空"));
+        }
+        if (texts.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        String stackCaller = callerResolver.fromStack();
+        return Mono.deferContextual(context -> {
+            // 命中缓存的文本直接填入结果，其余按原顺序合并请求
+            float[][] results = new float[texts.size()][];
+            List<EmbeddingCache.Key> missedKeys = new ArrayList<>();
+            List<Integer> missedPositions = new ArrayList<>();
+            List<String> missedTexts = new ArrayList<>();
+            for (int i = 0; i < texts.size(); i++) {
+                EmbeddingCache.Key key = cache.key(cacheModel, texts.get(i));
+                results[i] = cache.get(key);
+                if (results[i] == null) {
+                    missedKeys.add(key);
+                    missedPositions.add(i);
+                    missedTexts.add(texts.get(i));
+                }
+            }
+            if (missedTexts.isEmpty()) {
+                return Mono.just(Arrays.asList(results));
+            }
+            return queue.submitAll(missedTexts, CallerResolver.resolve(context, stackCaller))
+                .map(vectors -> {
+                    for (int i = 0; i < vectors.size(); i++) {
+                        results[missedPositions.get(i)] = vectors.get(i);
+                        cache.put(missedKeys.get(i), vectors.get(i));
+                    }
+                    return Arrays.asList(results);
+                });
+        });
+    }
+
+    /**
+     * 发出一次上游请求并按调用方记录日志与指标
+     */
+    private Mono<List<float[]>> callUpstream(EmbeddingBatcher.Batch batch) {
+        long startTime = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        Map<String, Integer> requestsByCaller = new LinkedHashMap<>();
+        batch.callers().forEach(caller -> requestsByCaller.merge(caller, 1, Integer::sum));
+
+        return delegate.embedBatch(batch.texts())
+            .doOnSuccess(result -> {
+                requestsByCaller.forEach((caller, count) -> {
+                    Integer tokens = share(result.promptTokens(), count, batch.callers().size());
+                    recordMetrics(caller, ModelMetrics.Outcome.SUCCESS, startNanos, tokens);
+                    asyncLog(caller, batch, startTime, tokens, null);
+                });
+            })
+            .doOnError(e -> requestsByCaller.keySet().forEach(caller -> {
+                recordMetrics(caller, ModelMetrics.Outcome.of(e), startNanos, null);
+                asyncLog(caller, batch, startTime, null, e);
+            }))
+            .map(OpenAiCompatibleEmbeddingModel.Embeddings::vectors);
+    }
+
+    /**
+     * 按请求条数分摊 token
+     */
+    private static Integer share(Integer promptTokens, int count, int total) {
+        if (promptTokens == null || total == 0) {
+            return null;
+        }
+        return (int) Math.round((double) promptTokens * count / total);
+    }
+
+    private void recordMetrics(String caller, ModelMetrics.Outcome outcome, long startNanos, Integer tokens) {
+        if (meters == null) {
+            return;
+        }
+        ModelMetrics.CallerMeters callerMeters = meters.caller(caller);
+        callerMeters.record(outcome, startNanos);
+        callerMeters.recordTokens(tokens, null);
+    }
+
+    /**
+     * 异步记录日志（error 为空表示成功）
+     */
+    private void asyncLog(String caller, EmbeddingBatcher.Batch batch, long startTime, Integer tokens,
+                          Throwable error) {
+        String summary = summarize(batch);
+        executeAsync(() -> logService.logChat(caller, provider, delegate.getModelName(),
+                summary, AiChatLog.CallType.EMBEDDING, startTime, tokens, null,
+                error == null, error != null ? error.getMessage() : null,
+                error == null ? String.format("%d 条向量", batch.texts().size()) : null)
+            .subscribe(
+                saved -> log.debug("向量日志已保存: {}", saved.getMetadata().getName()),
+                e -> log.warn("保存向量日志失败", e)
+            ));
+    }
+
+    /**
+     * 日志中的请求摘要：文本条数、合并的请求数与第一条文本
+     */
+    private static String summarize(EmbeddingBatcher.Batch batch) {
+        String first = batch.texts().get(0);
+        if (first.length() > MAX_LOGGED_TEXT_LENGTH) {
+            first = first.substring(0, MAX_LOGGED_TEXT_LENGTH) + "...";
+        }
+        return String.format("[%d 条文本，合并 %d 个请求] %s", batch.texts().size(), batch.callers().size(), first);
+    }
+
+    /**
+     * 在弹性线程池中异步执行任务
+     */
+    private void executeAsync(Runnable task) {
+        Mono.fromRunnable(() -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                log.warn("异步任务执行失败", e);
+            }
+        }).subscribeOn(Schedulers.boundedElastic()).subscribe();
+    }
+}
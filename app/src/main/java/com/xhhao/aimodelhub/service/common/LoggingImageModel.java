@@ -26,12 +26,29 @@ public class LoggingImageModel implements ImageModel {
     private final String provider;
     private final String model;
 
+    /**
+     * 调用方插件识别（为空时调用方记为 unknown）
+     */
+    private final CallerResolver callerResolver;
+
+    /**
+     * 调用指标（为空时不记录）
+     */
+    private final ModelMetrics.CallMeters meters;
+
     public LoggingImageModel(ImageModel delegate, AiChatLogService logService, 
                              String provider, String model) {
+        this(delegate, logService, provider, model, null, null);
+    }
+
+    public LoggingImageModel(ImageModel delegate, AiChatLogService logService, String provider, String model,
+                             CallerResolver callerResolver, ModelMetrics metrics) {
         this.delegate = delegate;
         this.logService = logService;
         this.provider = provider;
         this.model = model;
+        this.callerResolver = callerResolver;
+        this.meters = metrics != null ? metrics.callMeters(provider, model, AiChatLog.CallType.IMAGE) : null;
     }
 
     @Override
@@ -41,23 +58,44 @@ public class LoggingImageModel implements ImageModel {
 
     @Override
     public Mono<List<String>> generate(String prompt, ImageOptions options) {
-        long startTime = System.currentTimeMillis();
+        String stackCaller = callerResolver != null ? callerResolver.fromStack() : null;
+        return Mono.deferContextual(context -> {
+            long startTime = System.currentTimeMillis();
+            long startNanos = System.nanoTime();
+            String caller = CallerResolver.resolve(context, stackCaller);
+
+            return delegate.generate(prompt, options)
+                .doOnSuccess(urls -> {
+                    recordMetrics(caller, ModelMetrics.Outcome.SUCCESS, startNanos);
+                    asyncLogSuccess(caller, prompt, startTime, urls);
+                })
+                .doOnError(e -> {
+                    recordMetrics(caller, ModelMetrics.Outcome.of(e), startNanos);
+                    asyncLogError(caller, prompt, startTime, e);
+                })
+                .doOnCancel(() -> recordMetrics(caller, ModelMetrics.Outcome.CANCELLED, startNanos));
+        });
+    }
 
-        return delegate.generate(prompt, options)
-            .doOnSuccess(urls -> asyncLogSuccess(prompt, startTime, urls))
-            .doOnError(e -> asyncLogError(prompt, startTime, e));
+    /**
+     * 按调用方插件记录调用指标
+     */
+    private void recordMetrics(String caller, ModelMetrics.Outcome outcome, long startNanos) {
+        if (meters != null) {
+            meters.caller(caller).record(outcome, startNanos);
+        }
     }
 
     /**
      * 异步记录成功日志
      */
-    private void asyncLogSuccess(String prompt, long startTime, List<String> imageUrls) {
+    private void asyncLogSuccess(String caller, String prompt, long startTime, List<String> imageUrls) {
         executeAsync(() -> {
             String response = imageUrls != null && !imageUrls.isEmpty() 
                 ? String.format("生成 %d 张图像: %s", imageUrls.size(), String.join(", ", imageUrls))
                 : "无图像生成";
 
-            logService.logChat(null, provider, model,
+            logService.logChat(caller, provider, model,
                     prompt, AiChatLog.CallType.IMAGE, startTime, null, null,
                     true, null, response)
                 .subscribe(
@@ -70,8 +108,8 @@ public class LoggingImageModel implements ImageModel {
     /**
      * 异步记录错误日志
      */
-    private void asyncLogError(String prompt, long startTime, Throwable error) {
-        executeAsync(() -> logService.logChat(null, provider, model,
+    private void asyncLogError(String caller, String prompt, long startTime, Throwable error) {
+        executeAsync(() -> logService.logChat(caller, provider, model,
                 prompt, AiChatLog.CallType.IMAGE, startTime, null, null,
                 false, error.getMessage(), null)
             .subscribe(
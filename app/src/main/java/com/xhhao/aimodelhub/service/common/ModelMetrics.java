@@ -0,0 +1,242 @@
+package com.xhhao.aimodelhub.service.common;
+
+import com.xhhao.aimodelhub.api.exception.AiModelException;
+import com.xhhao.aimodelhub.extension.AiChatLog;
+import com.xhhao.aimodelhub.service.resilience.UpstreamCallRecorder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 模型调用指标
+ * <p>
+ * 使用 Halo 的 {@link MeterRegistry} 注册 Micrometer 指标（容器中没有时使用全局注册表），
+ * 由 Halo actuator 的 Prometheus 端点统一暴露。
+ * 指标对象在模型实例创建时与首次出现某个调用方插件时解析，调用路径上只做计数，不再创建标签或查找注册表。
+ * 插件停止时从注册表中移除本插件注册的指标，避免重新启用后沿用旧实例。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Component
+public class ModelMetrics {
+
+    static final String CALLS = "aimodelhub.calls";
+    static final String TOKENS = "aimodelhub.tokens";
+    static final String UPSTREAM_ATTEMPTS = "aimodelhub.upstream.attempts";
+    static final String UPSTREAM_RETRIES = "aimodelhub.upstream.retries";
+    static final String RATE_LIMIT_REJECTIONS = "aimodelhub.ratelimit.rejections";
+    static final String LOG_PENDING_WRITES = "aimodelhub.log.pending.writes";
+
+    private static final String UNKNOWN_CALLER = "unknown";
+
+    private final MeterRegistry registry;
+
+    private final ConcurrentHashMap<String, CallMeters> callMeters = new ConcurrentHashMap<>();
+
+    /**
+     * 已注册的指标，插件停止时移除
+     */
+    private final ConcurrentLinkedQueue<Meter> registered = new ConcurrentLinkedQueue<>();
+
+    public ModelMetrics(ObjectProvider<MeterRegistry> registry) {
+        this.registry = registry.getIfAvailable(() -> Metrics.globalRegistry);
+    }
+
+    @PreDestroy
+    void removeMeters() {
+        Meter meter;
+        while ((meter = registered.poll()) != null) {
+            registry.remove(meter);
+        }
+    }
+
+    private <M extends Meter> M track(M meter) {
+        registered.add(meter);
+        return meter;
+    }
+
+    /**
+     * 获取（供应商, 模型, 调用类型）对应的调用指标
+     * <p>
+     * 模型实例创建时解析一次，调用路径上直接使用。
+     * </p>
+     */
+    public CallMeters callMeters(String provider, String model, AiChatLog.CallType callType) {
+        return callMeters.computeIfAbsent(provider + "/" + model + "/" + callType,
+            k -> new CallMeters(this, provider, model, callType));
+    }
+
+    /**
+     * 注册上游请求计数（读取 {@link UpstreamCallRecorder.CallCounters} 的累计值，不额外计数）
+     */
+    public void bindUpstream(String provider, String model, UpstreamCallRecorder.CallCounters counters) {
+        for (UpstreamCallRecorder.AttemptOutcome outcome : UpstreamCallRecorder.AttemptOutcome.values()) {
+            track(FunctionCounter.builder(UPSTREAM_ATTEMPTS, counters, c -> c.attemptCount(outcome))
+                .description("实际发往上游的请求数（含重试与对冲）")
+                .tags("provider", provider, "model", model, "outcome", outcome.name().toLowerCase())
+                .register(registry));
+        }
+        track(FunctionCounter.builder(UPSTREAM_RETRIES, counters, UpstreamCallRecorder.CallCounters::retryCount)
+            .description("上游请求重试次数")
+            .tags("provider", provider, "model", model)
+            .register(registry));
+    }
+
+    /**
+     * 注册限流拒绝计数
+     *
+     * @param scope 限流维度（ip/user）
+     */
+    public Counter rateLimitRejections(String scope) {
+        return track(Counter.builder(RATE_LIMIT_REJECTIONS)
+            .description("被请求限流拒绝的调用数")
+            .tag("scope", scope)
+            .register(registry));
+    }
+
+    /**
+     * 注册待写入日志数
+     */
+    public <T> void bindPendingLogWrites(T source, ToDoubleFunction<T> pending) {
+        track(Gauge.builder(LOG_PENDING_WRITES, source, pending)
+            .description("已提交但尚未写入完成的调用日志数")
+            .register(registry));
+    }
+
+    /**
+     * 调用结果
+     */
+    public enum Outcome {
+        SUCCESS,
+        ERROR,
+        TIMEOUT,
+        RATE_LIMITED,
+        /**
+         * 调用方取消（如客户端断开）
+         */
+        CANCELLED,
+        /**
+         * 命中响应缓存，未请求上游
+         */
+        CACHED;
+
+        private final String tag = name().toLowerCase();
+
+        /**
+         * 按异常判断调用结果
+         */
+        public static Outcome of(Throwable error) {
+            if (error instanceof TimeoutException) {
+                return TIMEOUT;
+            }
+            if (error instanceof AiModelException modelException) {
+                return switch (modelException.getErrorCode()) {
+                    case TIMEOUT -> TIMEOUT;
+                    case RATE_LIMIT -> RATE_LIMITED;
+                    default -> ERROR;
+                };
+            }
+            return ERROR;
+        }
+    }
+
+    /**
+     * （供应商, 模型, 调用类型）维度的调用指标
+     */
+    public static final class CallMeters {
+        private final ModelMetrics metrics;
+        private final String provider;
+        private final String model;
+        private final String callType;
+        private final ConcurrentHashMap<String, CallerMeters> byCaller = new ConcurrentHashMap<>();
+
+        CallMeters(ModelMetrics metrics, String provider, String model, AiChatLog.CallType callType) {
+            this.metrics = metrics;
+            this.provider = provider;
+            this.model = model;
+            this.callType = callType.name().toLowerCase();
+        }
+
+        /**
+         * 获取调用方插件对应的指标（首次出现时注册）
+         *
+         * @param caller 调用方插件，为空时归入 unknown
+         */
+        public CallerMeters caller(String caller) {
+            String name = caller != null ? caller : UNKNOWN_CALLER;
+            CallerMeters meters = byCaller.get(name);
+            return meters != null ? meters : byCaller.computeIfAbsent(name, this::register);
+        }
+
+        private CallerMeters register(String caller) {
+            Timer[] timers = new Timer[Outcome.values().length];
+            for (Outcome outcome : Outcome.values()) {
+                timers[outcome.ordinal()] = metrics.track(Timer.builder(CALLS)
+                    .description("模型调用耗时（流式调用为整个流的耗时）")
+                    .tags("provider", provider, "model", model, "caller", caller, "type", callType,
+                        "outcome", outcome.tag)
+                    .register(metrics.registry));
+            }
+            return new CallerMeters(timers, tokenCounter(caller, "in"), tokenCounter(caller, "out"));
+        }
+
+        private Counter tokenCounter(String caller, String direction) {
+            return metrics.track(Counter.builder(TOKENS)
+                .description("消耗的 token 数（in: 提示词, out: 完成）")
+                .tags("provider", provider, "model", model, "caller", caller, "type", callType,
+                    "direction", direction)
+                .register(metrics.registry));
+        }
+    }
+
+    /**
+     * 单个调用方插件的指标
+     */
+    public static final class CallerMeters {
+        private final Timer[] timers;
+        private final Counter tokensIn;
+        private final Counter tokensOut;
+
+        CallerMeters(Timer[] timers, Counter tokensIn, Counter tokensOut) {
+            this.timers = timers;
+            this.tokensIn = tokensIn;
+            this.tokensOut = tokensOut;
+        }
+
+        /**
+         * 记录一次调用
+         *
+         * @param startNanos 调用开始时的 {@link System#nanoTime()}
+         */
+        public void record(Outcome outcome, long startNanos) {
+            timers[outcome.ordinal()].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * 记录 token 用量（上游未返回时为空）
+         */
+        public void recordTokens(Integer promptTokens, Integer completionTokens) {
+            if (promptTokens != null) {
+                tokensIn.increment(promptTokens);
+            }
+            if (completionTokens != null) {
+                tokensOut.increment(completionTokens);
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.xhhao.aimodelhub.service.common;
 
+import io.micrometer.core.instrument.Counter;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -37,6 +38,17 @@ public class RateLimiterService {
     private volatile int maxRequestsPerDay = 1000;
     private volatile boolean enabled = false;
 
+    /**
+     * 限流拒绝计数
+     */
+    private final Counter ipRejections;
+    private final Counter userRejections;
+
+    public RateLimiterService(ModelMetrics metrics) {
+        this.ipRejections = metrics.rateLimitRejections("ip");
+        this.userRejections = metrics.rateLimitRejections("user");
+    }
+
     /**
      * 检查是否允许请求（基于 IP）
      *
@@ -53,6 +65,7 @@ public class RateLimiterService {
         
         boolean allowed = bucket.tryAcquire();
         if (!allowed) {
+            ipRejections.increment();
             log.warn("IP {} 触发限流，每分钟限制: {}, 每日限制: {}", ip, maxRequestsPerMinute, maxRequestsPerDay);
         }
         return allowed;
@@ -74,6 +87,7 @@ public class RateLimiterService {
         
         boolean allowed = bucket.tryAcquire();
         if (!allowed) {
+            userRejections.increment();
             log.warn("用户 {} 触发限流，每分钟限制: {}, 每日限制: {}", username, maxRequestsPerMinute, maxRequestsPerDay);
         }
         return allowed;
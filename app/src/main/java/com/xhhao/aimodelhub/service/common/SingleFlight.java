@@ -0,0 +1,144 @@
+package com.xhhao.aimodelhub.service.common;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 相同请求合并（single-flight）
+ * <p>
+ * 键相同的并发调用共用一次上游调用：第一个调用发起请求，请求结束前到达的调用直接订阅同一结果。
+ * 请求结束（成功、失败或所有订阅方都已取消）后移除，之后的调用重新发起请求，不缓存结果。
+ * </p>
+ * <p>
+ * 流式调用可选合并：后加入的订阅方先收到已输出的全部片段，再继续接收后续片段。
+ * 共用的上游调用使用发起方的订阅上下文（调用方插件、并发名额等都记在发起方名下）。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class SingleFlight {
+
+    private final ConcurrentHashMap<String, Mono<?>> calls = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Flux<?>> streams = new ConcurrentHashMap<>();
+    private final LongAdder shared = new LongAdder();
+
+    private volatile SingleFlightSettings settings = new SingleFlightSettings();
+
+    /**
+     * 更新配置（只影响之后到达的调用）
+     */
+    public void updateConfig(SingleFlightSettings newSettings) {
+        if (newSettings == null || newSettings.equals(settings)) {
+            return;
+        }
+        this.settings = newSettings;
+        log.info("相同请求合并配置已更新: {}", newSettings);
+    }
+
+    public boolean isEnabled() {
+        return settings.isEnabled();
+    }
+
+    public boolean isStreamEnabled() {
+        return settings.isEnabled() && settings.isStreamEnabled();
+    }
+
+    /**
+     * 合并相同的非流式调用
+     *
+     * @param key      请求键
+     * @param call     上游调用
+     * @param onShared 本次调用加入了已有请求时回调
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> execute(String key, Mono<T> call, Runnable onShared) {
+        if (!isEnabled()) {
+            return call;
+        }
+        return Mono.defer(() -> {
+            boolean[] created = new boolean[1];
+            Mono<T> flight = (Mono<T>) calls.computeIfAbsent(key, k -> {
+                created[0] = true;
+                AtomicReference<Mono<T>> self = new AtomicReference<>();
+                Mono<T> shareable = call.doFinally(signal -> calls.remove(k, self.get())).share();
+                self.set(shareable);
+                return shareable;
+            });
+            if (!created[0]) {
+                shared.increment();
+                onShared.run();
+            }
+            return flight;
+        });
+    }
+
+    /**
+     * 合并相同的流式调用（未启用流式合并时直接返回原调用）
+     *
+     * @param key      请求键
+     * @param call     上游调用
+     * @param onShared 本次调用加入了已有请求时回调
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Flux<T> executeStream(String key, Flux<T> call, Runnable onShared) {
+        if (!isStreamEnabled()) {
+            return call;
+        }
+        return Flux.defer(() -> {
+            boolean[] created = new boolean[1];
+            Flux<T> flight = (Flux<T>) streams.computeIfAbsent(key, k -> {
+                created[0] = true;
+                AtomicReference<Flux<T>> self = new AtomicReference<>();
+                Flux<T> shareable = call.doFinally(signal -> streams.remove(k, self.get()))
+                    .replay()
+                    .refCount();
+                self.set(shareable);
+                return shareable;
+            });
+            if (!created[0]) {
+                shared.increment();
+                onShared.run();
+            }
+            return flight;
+        });
+    }
+
+    /**
+     * 获取当前状态
+     */
+    public SingleFlightStats getStats() {
+        return new SingleFlightStats(calls.size(), streams.size(), shared.sum());
+    }
+
+    /**
+     * 相同请求合并配置
+     */
+    @Data
+    public static class SingleFlightSettings {
+        private boolean enabled = true;
+
+        /**
+         * 是否合并流式调用（后加入的订阅方会一次性收到已输出的片段）
+         */
+        private boolean streamEnabled = false;
+    }
+
+    /**
+     * 相同请求合并状态
+     *
+     * @param inFlightCalls   进行中的非流式请求数
+     * @param inFlightStreams 进行中的流式请求数
+     * @param shared          累计合并的调用数
+     */
+    public record SingleFlightStats(int inFlightCalls, int inFlightStreams, long shared) {}
+}
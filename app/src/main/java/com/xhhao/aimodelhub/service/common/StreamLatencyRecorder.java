@@ -0,0 +1,255 @@
+package com.xhhao.aimodelhub.service.common;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 流式调用延迟记录器
+ * <p>
+ * 按（供应商, 模型）汇总成功流式调用的首字延迟（TTFT）、生成耗时、最大片段间隔与生成速度，
+ * 使用固定分桶直方图累计，记录路径上只有无锁计数，分位数按桶上界估算。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Component
+public class StreamLatencyRecorder {
+
+    /**
+     * 延迟分桶上界（毫秒）
+     */
+    private static final long[] LATENCY_BOUNDS_MILLIS =
+        {10, 25, 50, 100, 250, 500, 1_000, 2_500, 5_000, 10_000, 30_000, 60_000, 120_000};
+
+    /**
+     * 生成速度分桶上界（token/秒）
+     */
+    private static final long[] RATE_BOUNDS = {1, 5, 10, 20, 30, 50, 75, 100, 150, 200, 500};
+
+    private final ConcurrentHashMap<String, StreamHistograms> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * 获取（供应商, 模型）对应的直方图
+     * <p>
+     * 模型实例创建时解析一次，调用路径上直接累加。
+     * </p>
+     */
+    public StreamHistograms histograms(String provider, String model) {
+        return histograms.computeIfAbsent(provider + "/" + model, k -> new StreamHistograms(provider, model));
+    }
+
+    /**
+     * 获取统计信息
+     */
+    public List<StreamLatencyStats> getStats() {
+        List<StreamLatencyStats> stats = new ArrayList<>(histograms.size());
+        histograms.values().forEach(h -> stats.add(h.snapshot()));
+        return stats;
+    }
+
+    /**
+     * （供应商, 模型）维度的直方图
+     */
+    public static final class StreamHistograms {
+        private final String provider;
+        private final String model;
+        private final Histogram timeToFirstToken = new Histogram(LATENCY_BOUNDS_MILLIS);
+        private final Histogram generation = new Histogram(LATENCY_BOUNDS_MILLIS);
+        private final Histogram maxInterTokenGap = new Histogram(LATENCY_BOUNDS_MILLIS);
+        private final Histogram tokensPerSecond = new Histogram(RATE_BOUNDS);
+
+        StreamHistograms(String provider, String model) {
+            this.provider = provider;
+            this.model = model;
+        }
+
+        /**
+         * 记录一次成功的流式调用
+         */
+        public void record(StreamTiming timing) {
+            if (timing.timeToFirstTokenMs() == null) {
+                return;
+            }
+            timeToFirstToken.record(timing.timeToFirstTokenMs());
+            generation.record(timing.generationMs());
+            maxInterTokenGap.record(timing.maxInterTokenGapMs());
+            if (timing.tokensPerSecond() != null) {
+                tokensPerSecond.record(Math.round(timing.tokensPerSecond()));
+            }
+        }
+
+        StreamLatencyStats snapshot() {
+            return new StreamLatencyStats(provider, model, timeToFirstToken.snapshot(), generation.snapshot(),
+                maxInterTokenGap.snapshot(), tokensPerSecond.snapshot());
+        }
+    }
+
+    /**
+     * 单次流式调用的计时
+     * <p>
+     * 在调用链上按片段到达顺序调用，不做同步。
+     * </p>
+     */
+    public static final class StreamTiming {
+        private final long startNanos;
+        private long firstChunkNanos;
+        private long lastChunkNanos;
+        private long maxGapNanos;
+        private int chunks;
+        private Double tokensPerSecond;
+
+        private StreamTiming(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * 从当前时刻开始计时
+         */
+        public static StreamTiming start() {
+            return new StreamTiming(System.nanoTime());
+        }
+
+        /**
+         * 记录一个非空内容片段到达
+         */
+        public void onChunk() {
+            long now = System.nanoTime();
+            if (chunks == 0) {
+                firstChunkNanos = now;
+            } else {
+                maxGapNanos = Math.max(maxGapNanos, now - lastChunkNanos);
+            }
+            lastChunkNanos = now;
+            chunks++;
+        }
+
+        /**
+         * 首字延迟（毫秒），未收到内容时为 null
+         */
+        public Long timeToFirstTokenMs() {
+            return chunks > 0 ? toMillis(firstChunkNanos - startNanos) : null;
+        }
+
+        /**
+         * 首个片段到最后一个片段的生成耗时（毫秒）
+         */
+        public Long generationMs() {
+            return chunks > 0 ? toMillis(lastChunkNanos - firstChunkNanos) : null;
+        }
+
+        /**
+         * 相邻内容片段的最大间隔（毫秒）
+         */
+        public Long maxInterTokenGapMs() {
+            return chunks > 0 ? toMillis(maxGapNanos) : null;
+        }
+
+        /**
+         * 流结束时计算生成速度
+         *
+         * @param completionTokens 上游返回的完成 token 数，为空时按片段数估算
+         */
+        public void finish(Integer completionTokens) {
+            long elapsed = lastChunkNanos - firstChunkNanos;
+            if (chunks < 2 || elapsed <= 0) {
+                return;
+            }
+            int tokens = completionTokens != null && completionTokens > 0 ? completionTokens : chunks;
+            tokensPerSecond = tokens * 1_000_000_000.0 / elapsed;
+        }
+
+        /**
+         * 生成速度（token/秒），未调用 {@link #finish(Integer)} 或只有一个片段时为 null
+         */
+        public Double tokensPerSecond() {
+            return tokensPerSecond;
+        }
+
+        private static long toMillis(long nanos) {
+            return nanos / 1_000_000;
+        }
+    }
+
+    /**
+     * 固定分桶直方图（最后一个桶收集超过所有上界的样本）
+     */
+    static final class Histogram {
+        private final long[] bounds;
+        private final LongAdder[] buckets;
+        private final LongAdder sum = new LongAdder();
+
+        Histogram(long[] bounds) {
+            this.bounds = bounds;
+            this.buckets = new LongAdder[bounds.length + 1];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void record(long value) {
+            int index = 0;
+            while (index < bounds.length && value > bounds[index]) {
+                index++;
+            }
+            buckets[index].increment();
+            sum.add(value);
+        }
+
+        HistogramStats snapshot() {
+            long[] counts = new long[buckets.length];
+            long total = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                counts[i] = buckets[i].sum();
+                total += counts[i];
+            }
+            Double mean = total > 0 ? (double) sum.sum() / total : null;
+            return new HistogramStats(total, mean, percentile(counts, total, 0.5),
+                percentile(counts, total, 0.95), percentile(counts, total, 0.99), bounds.clone(), counts);
+        }
+
+        /**
+         * 按桶上界估算分位数，落在最后一个桶时返回 null（超出最大上界）
+         */
+        private Long percentile(long[] counts, long total, double quantile) {
+            if (total == 0) {
+                return null;
+            }
+            long rank = (long) Math.ceil(total * quantile);
+            long seen = 0;
+            for (int i = 0; i < bounds.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return bounds[i];
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 直方图统计
+     *
+     * @param p50    中位数（桶上界估算）
+     * @param bounds 桶上界
+     * @param counts 各桶样本数，比上界多一个，最后一个为超出最大上界的样本
+     */
+    public record HistogramStats(long count, Double mean, Long p50, Long p95, Long p99, long[] bounds,
+                                 long[] counts) {}
+
+    /**
+     * 流式调用延迟统计
+     *
+     * @param timeToFirstTokenMs 首字延迟（毫秒）
+     * @param generationMs       生成耗时（毫秒）
+     * @param maxInterTokenGapMs 最大片段间隔（毫秒）
+     * @param tokensPerSecond    生成速度（token/秒）
+     */
+    public record StreamLatencyStats(String provider, String model, HistogramStats timeToFirstTokenMs,
+                                     HistogramStats generationMs, HistogramStats maxInterTokenGapMs,
+                                     HistogramStats tokensPerSecond) {}
+}
@@ -0,0 +1,288 @@
+package com.xhhao.aimodelhub.service.embedding;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * 向量请求合并（micro-batching）
+ * <p>
+ * 向量接口一次请求可以包含多条文本，逐条调用时大部分开销花在往返与排队上。
+ * 同一模型的单条请求先进入队列，队列攒满 {@code maxBatchSize} 条或第一条等待超过
+ * {@code maxDelay} 时整体发出一次上游请求，结果按位置分发给各自的调用方。
+ * 不同插件的请求同样会合并，日志与指标由上游函数按调用方拆分记录。
+ * </p>
+ * <p>
+ * 同一批次中相同的文本只发送一次；上游失败时该批次内的所有请求都收到同一个错误。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class EmbeddingBatcher {
+
+    /**
+     * 批量提交时同时进行的分段请求数
+     */
+    private static final int MAX_CONCURRENT_CHUNKS = 4;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder batchedRequests = new LongAdder();
+    private final LongAdder upstreamCalls = new LongAdder();
+    private final LongAdder dedupedInputs = new LongAdder();
+
+    private volatile EmbeddingBatchSettings settings = new EmbeddingBatchSettings();
+
+    /**
+     * 更新配置（只影响之后到达的请求）
+     */
+    public void updateConfig(EmbeddingBatchSettings newSettings) {
+        if (newSettings == null || newSettings.equals(settings)) {
+            return;
+        }
+        this.settings = newSettings;
+        log.info("向量请求合并配置已更新: {}", newSettings);
+    }
+
+    public EmbeddingBatchSettings getSettings() {
+        return settings;
+    }
+
+    /**
+     * 为一个模型创建请求队列
+     *
+     * @param upstream 上游调用，返回与 {@link Batch#texts()} 顺序一致的向量
+     */
+    public Queue newQueue(Function<Batch, Mono<List<float[]>>> upstream) {
+        return new Queue(upstream);
+    }
+
+    /**
+     * 记录一次直接发出（未经队列）的批量请求
+     */
+    void recordDirect(int size) {
+        requests.add(size);
+        batchedRequests.add(size);
+        upstreamCalls.increment();
+    }
+
+    /**
+     * 获取当前状态
+     */
+    public EmbeddingBatchStats getStats() {
+        long calls = upstreamCalls.sum();
+        double averageBatchSize = calls > 0 ? (double) batchedRequests.sum() / calls : 0;
+        EmbeddingBatchSettings current = settings;
+        return new EmbeddingBatchStats(current.isEnabled(), current.getMaxBatchSize(),
+            current.getMaxDelay().toMillis(), requests.sum(), calls, averageBatchSize, dedupedInputs.sum());
+    }
+
+    /**
+     * 单个模型的请求队列
+     */
+    public final class Queue {
+
+        private final Function<Batch, Mono<List<float[]>>> upstream;
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private List<Pending> pending = new ArrayList<>();
+        private Disposable timer;
+
+        /**
+         * 批次序号，用于识别已经按条数发出的批次对应的过期定时器
+         */
+        private long generation;
+
+        private Queue(Function<Batch, Mono<List<float[]>>> upstream) {
+            this.upstream = upstream;
+        }
+
+        /**
+         * 提交单条文本
+         *
+         * @param caller 调用方插件（为空表示未识别）
+         */
+        public Mono<float[]> submit(String text, String caller) {
+            EmbeddingBatchSettings current = settings;
+            if (!current.isEnabled() || current.getMaxBatchSize() <= 1) {
+                recordDirect(1);
+                return upstream.apply(new Batch(List.of(text), Collections.singletonList(caller)))
+                    .map(vectors -> vectors.get(0));
+            }
+            return Mono.create(sink -> enqueue(new Pending(text, caller, sink), current));
+        }
+
+        /**
+         * 批量提交（已经成批的请求不进入队列，按 {@code maxBatchSize} 分段直接发出）
+         */
+        public Mono<List<float[]>> submitAll(List<String> texts, String caller) {
+            int chunkSize = Math.max(1, settings.getMaxBatchSize());
+            List<Mono<List<float[]>>> chunks = new ArrayList<>();
+            for (int from = 0; from < texts.size(); from += chunkSize) {
+                List<String> chunk = texts.subList(from, Math.min(texts.size(), from + chunkSize));
+                chunks.add(Mono.defer(() -> {
+                    recordDirect(chunk.size());
+                    return upstream.apply(new Batch(List.copyOf(chunk), Collections.nCopies(chunk.size(), caller)));
+                }));
+            }
+            return Flux.fromIterable(chunks)
+                .flatMapSequential(Function.identity(), MAX_CONCURRENT_CHUNKS)
+                .collectList()
+                .map(results -> {
+                    List<float[]> vectors = new ArrayList<>(texts.size());
+                    results.forEach(vectors::addAll);
+                    return vectors;
+                });
+        }
+
+        private void enqueue(Pending item, EmbeddingBatchSettings current) {
+            List<Pending> ready = null;
+            lock.lock();
+            try {
+                pending.add(item);
+                if (pending.size() >= current.getMaxBatchSize()) {
+                    ready = drain();
+                } else if (pending.size() == 1) {
+                    long scheduled = generation;
+                    timer = Schedulers.parallel().schedule(() -> flushExpired(scheduled),
+                        current.getMaxDelay().toNanos(), TimeUnit.NANOSECONDS);
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (ready != null) {
+                dispatch(ready);
+            }
+        }
+
+        private void flushExpired(long scheduled) {
+            List<Pending> ready = null;
+            lock.lock();
+            try {
+                if (scheduled == generation && !pending.isEmpty()) {
+                    ready = drain();
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (ready != null) {
+                dispatch(ready);
+            }
+        }
+
+        /**
+         * 取出当前批次（调用方持有锁）
+         */
+        private List<Pending> drain() {
+            List<Pending> ready = pending;
+            pending = new ArrayList<>();
+            generation++;
+            if (timer != null) {
+                timer.dispose();
+                timer = null;
+            }
+            return ready;
+        }
+
+        private void dispatch(List<Pending> batch) {
+            // 相同文本只发送一次，slots 记录每个请求对应的去重后位置
+            Map<String, Integer> positions = new HashMap<>();
+            List<String> texts = new ArrayList<>(batch.size());
+            List<String> callers = new ArrayList<>(batch.size());
+            int[] slots = new int[batch.size()];
+            for (int i = 0; i < batch.size(); i++) {
+                Pending item = batch.get(i);
+                Integer position = positions.putIfAbsent(item.text(), texts.size());
+                if (position == null) {
+                    position = texts.size();
+                    texts.add(item.text());
+                }
+                slots[i] = position;
+                callers.add(item.caller());
+            }
+            requests.add(batch.size());
+            batchedRequests.add(batch.size());
+            upstreamCalls.increment();
+            dedupedInputs.add(batch.size() - texts.size());
+
+            Mono<List<float[]>> call;
+            try {
+                call = upstream.apply(new Batch(texts, callers));
+            } catch (RuntimeException e) {
+                call = Mono.error(e);
+            }
+            call.subscribe(
+                vectors -> {
+                    boolean[] delivered = new boolean[texts.size()];
+                    for (int i = 0; i < batch.size(); i++) {
+                        float[] vector = vectors.get(slots[i]);
+                        // 重复文本各自拿到独立的数组，避免调用方修改时相互影响
+                        batch.get(i).sink().success(delivered[slots[i]] ? vector.clone() : vector);
+                        delivered[slots[i]] = true;
+                    }
+                },
+                error -> batch.forEach(item -> item.sink().error(error))
+            );
+        }
+    }
+
+    private record Pending(String text, String caller, MonoSink<float[]> sink) {}
+
+    /**
+     * 一次上游请求
+     *
+     * @param texts   去重后的文本
+     * @param callers 合并进本次请求的各个请求的调用方（与请求一一对应，可能包含 null）
+     */
+    public record Batch(List<String> texts, List<String> callers) {}
+
+    /**
+     * 向量请求合并配置
+     */
+    @Data
+    public static class EmbeddingBatchSettings {
+        private boolean enabled = true;
+
+        /**
+         * 单次上游请求最多包含的文本条数
+         */
+        private int maxBatchSize = 32;
+
+        /**
+         * 第一条请求进入队列后最长等待时间
+         */
+        private Duration maxDelay = Duration.ofMillis(10);
+    }
+
+    /**
+     * 向量请求合并状态
+     *
+     * @param enabled          是否启用合并
+     * @param maxBatchSize     单次请求最多文本条数
+     * @param maxDelayMillis   最长等待时间（毫秒）
+     * @param requests         累计文本请求数
+     * @param upstreamCalls    累计上游请求数
+     * @param averageBatchSize 平均每次上游请求包含的文本条数
+     * @param dedupedInputs    批次内去重省下的文本条数
+     */
+    public record EmbeddingBatchStats(boolean enabled, int maxBatchSize, long maxDelayMillis, long requests,
+                                      long upstreamCalls, double averageBatchSize, long dedupedInputs) {}
+}
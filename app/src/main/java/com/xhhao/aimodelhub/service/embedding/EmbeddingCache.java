@@ -0,0 +1,593 @@
+package com.xhhao.aimodelhub.service.embedding;
+
+import jakarta.annotation.PreDestroy;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import run.halo.app.plugin.PluginContext;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 向量持久化缓存
+ * <p>
+ * 以（模型，规范化文本的 SHA-256）为键缓存向量，内容未变化的文章重建索引时不再重复调用上游。
+ * 每个模型一个文件（{@code plugins-data/<插件名>/embedding-cache}），整体映射到内存：
+ * 文件头之后是开放寻址（线性探测）的哈希槽，每槽 8 字节（记录编号、摘要标签），槽数至少为记录数的 2 倍，
+ * 其后是定长记录（32 字节摘要 + 向量）。查找只需探测哈希槽并直接读取记录中的向量，不做反序列化。
+ * </p>
+ * <p>
+ * 记录按环形顺序写入，写满后覆盖最早的记录（先进先出），被覆盖记录的哈希槽按后移删除，不留墓碑。
+ * 读取使用乐观读，写入互斥；每次命中都会校验记录中的完整摘要，进程异常退出留下的不完整写入只会造成未命中。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class EmbeddingCache {
+
+    private static final int MAGIC = 0x454D4243;
+    private static final int FORMAT_VERSION = 1;
+    private static final String FILE_SUFFIX = ".emb";
+
+    private static final int HEADER_BYTES = 64;
+    private static final int SLOT_BYTES = 8;
+    private static final int DIGEST_BYTES = 32;
+
+    private static final int OFFSET_MAGIC = 0;
+    private static final int OFFSET_VERSION = 4;
+    private static final int OFFSET_DIMENSION = 8;
+    private static final int OFFSET_SLOTS = 12;
+    private static final int OFFSET_CAPACITY = 16;
+    private static final int OFFSET_COUNT = 20;
+    private static final int OFFSET_CURSOR = 24;
+
+    /**
+     * 单个文件整体映射，不超过 1GB
+     */
+    private static final long MAX_FILE_BYTES = 1024L * 1024 * 1024;
+    private static final int MIN_CAPACITY = 1024;
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+", Pattern.UNICODE_CHARACTER_CLASS);
+
+    private final Path directory;
+    private final ConcurrentHashMap<String, Store> stores = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private volatile EmbeddingCacheSettings settings = new EmbeddingCacheSettings();
+
+    public EmbeddingCache(PluginContext pluginContext, Environment environment) {
+        String workDir = environment.getProperty("halo.work-dir",
+            Path.of(System.getProperty("user.home"), ".halo2").toString());
+        this.directory = Path.of(workDir, "plugins-data", pluginContext.getName(), "embedding-cache");
+    }
+
+    /**
+     * 更新配置（容量只影响之后新建的缓存文件）
+     */
+    public void updateConfig(EmbeddingCacheSettings newSettings) {
+        if (newSettings == null || newSettings.equals(settings)) {
+            return;
+        }
+        this.settings = newSettings;
+        log.info("向量缓存配置已更新: {}", newSettings);
+    }
+
+    public boolean isEnabled() {
+        return settings.isEnabled();
+    }
+
+    /**
+     * 计算缓存键
+     *
+     * @param model 模型标识（供应商、接口地址与模型名称）
+     * @param text  原始文本（规范化后计算摘要）
+     */
+    public Key key(String model, String text) {
+        return new Key(model, sha256(normalize(text)));
+    }
+
+    /**
+     * 查找缓存的向量
+     *
+     * @return 向量副本，未命中或未启用时返回 null
+     */
+    public float[] get(Key key) {
+        if (!settings.isEnabled()) {
+            return null;
+        }
+        Store store = store(key.model(), 0);
+        float[] vector = null;
+        if (store != null) {
+            try {
+                vector = store.get(key.digest());
+            } catch (RuntimeException e) {
+                log.debug("读取向量缓存失败: {}", store.path, e);
+            }
+        }
+        if (vector != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return vector;
+    }
+
+    /**
+     * 写入向量（已存在时忽略）
+     */
+    public void put(Key key, float[] vector) {
+        if (!settings.isEnabled() || vector == null || vector.length == 0) {
+            return;
+        }
+        Store store = store(key.model(), vector.length);
+        if (store == null) {
+            return;
+        }
+        try {
+            if (store.put(key.digest(), vector)) {
+                writes.increment();
+            }
+        } catch (RuntimeException e) {
+            log.debug("写入向量缓存失败: {}", store.path, e);
+        }
+    }
+
+    /**
+     * 清空全部缓存文件
+     */
+    public void clear() {
+        stores.values().forEach(Store::close);
+        stores.clear();
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(path -> path.toString().endsWith(FILE_SUFFIX)).toList()) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            log.warn("清空向量缓存失败: {}", directory, e);
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        stores.values().forEach(Store::close);
+        stores.clear();
+    }
+
+    /**
+     * 获取缓存状态
+     */
+    public EmbeddingCacheStats getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long lookups = hitCount + missCount;
+        List<StoreStats> storeStats = stores.values().stream()
+            .map(store -> new StoreStats(store.model, store.dimension, store.size(), store.capacity,
+                store.buffer.capacity()))
+            .sorted(Comparator.comparing(StoreStats::model))
+            .toList();
+        return new EmbeddingCacheStats(settings.isEnabled(), hitCount, missCount,
+            lookups > 0 ? (double) hitCount / lookups : 0, writes.sum(), evictions.sum(), storeStats);
+    }
+
+    /**
+     * 规范化文本：Unicode NFC、去掉首尾空白、连续空白合并为一个空格
+     */
+    static String normalize(String text) {
+        String composed = Normalizer.normalize(text, Normalizer.Form.NFC);
+        return WHITESPACE.matcher(composed.strip()).replaceAll(" ");
+    }
+
+    private static byte[] sha256(String text) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 获取模型对应的缓存文件
+     *
+     * @param dimension 写入时的向量维度，查找时为 0（文件不存在则不创建）
+     */
+    private Store store(String model, int dimension) {
+        Store store = stores.get(model);
+        if (store != null && (dimension == 0 || store.dimension == dimension)) {
+            return store;
+        }
+        return stores.compute(model, (key, current) -> {
+            if (current != null && (dimension == 0 || current.dimension == dimension)) {
+                return current;
+            }
+            Path path = directory.resolve(HexFormat.of().formatHex(sha256(key), 0, 8) + FILE_SUFFIX);
+            try {
+                if (current != null) {
+                    // 模型输出维度变化（如更换了同名模型），旧缓存作废
+                    current.close();
+                    Files.deleteIfExists(path);
+                } else if (Files.exists(path)) {
+                    Store opened = Store.open(key, path, evictions);
+                    if (opened != null && (dimension == 0 || opened.dimension == dimension)) {
+                        return opened;
+                    }
+                    if (opened != null) {
+                        opened.close();
+                    }
+                    Files.deleteIfExists(path);
+                }
+                if (dimension == 0) {
+                    return null;
+                }
+                Files.createDirectories(directory);
+                return Store.create(key, path, dimension, settings.getMaxSizeBytes(), evictions);
+            } catch (IOException e) {
+                log.warn("打开向量缓存文件失败: {}", path, e);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 缓存键
+     *
+     * @param model  模型标识
+     * @param digest 规范化文本的 SHA-256
+     */
+    public record Key(String model, byte[] digest) {}
+
+    /**
+     * 向量缓存配置
+     */
+    @Data
+    public static class EmbeddingCacheSettings {
+        private boolean enabled = true;
+
+        /**
+         * 单个模型缓存文件大小上限（字节），写满后覆盖最早的记录
+         */
+        private long maxSizeBytes = 256L * 1024 * 1024;
+    }
+
+    /**
+     * 向量缓存状态
+     *
+     * @param enabled   是否启用
+     * @param hits      累计命中次数
+     * @param misses    累计未命中次数
+     * @param hitRate   命中率
+     * @param writes    累计写入条数
+     * @param evictions 累计被覆盖的条数
+     * @param stores    各模型缓存文件
+     */
+    public record EmbeddingCacheStats(boolean enabled, long hits, long misses, double hitRate, long writes,
+                                      long evictions, List<StoreStats> stores) {}
+
+    /**
+     * 单个模型缓存文件状态
+     *
+     * @param model     模型标识
+     * @param dimension 向量维度
+     * @param entries   已缓存条数
+     * @param capacity  最多可缓存条数
+     * @param bytes     文件大小
+     */
+    public record StoreStats(String model, int dimension, int entries, int capacity, long bytes) {}
+
+    /**
+     * 单个模型的缓存文件
+     */
+    private static final class Store {
+        private final String model;
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private final int dimension;
+        private final int slots;
+        private final int capacity;
+        private final int recordBytes;
+        private final long recordsOffset;
+        private final LongAdder evictions;
+        private final StampedLock lock = new StampedLock();
+
+        /*
+         * 以下字段只在写锁内修改，同时写回文件头
+         */
+        private int count;
+        private int cursor;
+
+        private Store(String model, Path path, FileChannel channel, MappedByteBuffer buffer, LongAdder evictions) {
+            this.model = model;
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+            this.evictions = evictions;
+            this.dimension = buffer.getInt(OFFSET_DIMENSION);
+            this.slots = buffer.getInt(OFFSET_SLOTS);
+            this.capacity = buffer.getInt(OFFSET_CAPACITY);
+            this.recordBytes = DIGEST_BYTES + dimension * Float.BYTES;
+            this.recordsOffset = HEADER_BYTES + (long) slots * SLOT_BYTES;
+            this.count = buffer.getInt(OFFSET_COUNT);
+            this.cursor = buffer.getInt(OFFSET_CURSOR);
+        }
+
+        static Store create(String model, Path path, int dimension, long maxBytes, LongAdder evictions)
+            throws IOException {
+            long recordBytes = DIGEST_BYTES + (long) dimension * Float.BYTES;
+            // 哈希槽数取不小于 2 倍记录数的 2 的幂，装载率不超过 0.5；槽数确定后按剩余空间重算记录数
+            long budget = Math.min(maxBytes, MAX_FILE_BYTES) - HEADER_BYTES;
+            int estimate = (int) Math.max(MIN_CAPACITY, budget / (recordBytes + 2L * SLOT_BYTES));
+            int slots = Integer.highestOneBit(estimate * 2 - 1) << 1;
+            int capacity = (int) Math.max(MIN_CAPACITY,
+                Math.min(slots / 2, (budget - (long) slots * SLOT_BYTES) / recordBytes));
+            long size = HEADER_BYTES + (long) slots * SLOT_BYTES + capacity * recordBytes;
+            if (size > MAX_FILE_BYTES) {
+                capacity = (int) ((MAX_FILE_BYTES - HEADER_BYTES - (long) slots * SLOT_BYTES) / recordBytes);
+                size = HEADER_BYTES + (long) slots * SLOT_BYTES + capacity * recordBytes;
+            }
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+            try {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                buffer.putInt(OFFSET_MAGIC, MAGIC);
+                buffer.putInt(OFFSET_VERSION, FORMAT_VERSION);
+                buffer.putInt(OFFSET_DIMENSION, dimension);
+                buffer.putInt(OFFSET_SLOTS, slots);
+                buffer.putInt(OFFSET_CAPACITY, capacity);
+                buffer.putInt(OFFSET_COUNT, 0);
+                buffer.putInt(OFFSET_CURSOR, 0);
+                log.info("创建向量缓存 {}（{} 维，{} 条）", model, dimension, capacity);
+                return new Store(model, path, channel, buffer, evictions);
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        /**
+         * 打开已有文件，文件头无效（包括哈希槽不足记录数 2 倍的旧文件）时返回 null
+         */
+        static Store open(String model, Path path, LongAdder evictions) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > MAX_FILE_BYTES) {
+                channel.close();
+                return null;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            int dimension = buffer.getInt(OFFSET_DIMENSION);
+            int slots = buffer.getInt(OFFSET_SLOTS);
+            int capacity = buffer.getInt(OFFSET_CAPACITY);
+            int count = buffer.getInt(OFFSET_COUNT);
+            int cursor = buffer.getInt(OFFSET_CURSOR);
+            boolean valid = buffer.getInt(OFFSET_MAGIC) == MAGIC && buffer.getInt(OFFSET_VERSION) == FORMAT_VERSION
+                && dimension > 0 && capacity > 0 && Integer.bitCount(slots) == 1 && slots / 2 >= capacity
+                && count >= 0 && count <= capacity && cursor >= 0 && cursor < capacity
+                && HEADER_BYTES + (long) slots * SLOT_BYTES
+                + capacity * (DIGEST_BYTES + (long) dimension * Float.BYTES) == size;
+            if (!valid) {
+                channel.close();
+                return null;
+            }
+            return new Store(model, path, channel, buffer, evictions);
+        }
+
+        int size() {
+            return count;
+        }
+
+        /**
+         * 查找向量：先乐观读，期间有写入时退回读锁重试
+         */
+        float[] get(byte[] digest) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0) {
+                try {
+                    float[] vector = find(digest);
+                    if (lock.validate(stamp)) {
+                        return vector;
+                    }
+                } catch (RuntimeException e) {
+                    // 并发写入导致读到中间状态，加锁重读
+                }
+            }
+            stamp = lock.readLock();
+            try {
+                return find(digest);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        /**
+         * 写入向量，已存在时返回 false
+         */
+        boolean put(byte[] digest, float[] vector) {
+            if (vector.length != dimension) {
+                return false;
+            }
+            long stamp = lock.writeLock();
+            try {
+                if (findSlot(digest) >= 0) {
+                    return false;
+                }
+                int record = cursor;
+                if (count == capacity) {
+                    removeSlot(slotOf(record));
+                    evictions.increment();
+                } else {
+                    count++;
+                }
+                long offset = recordOffset(record);
+                for (int i = 0; i < DIGEST_BYTES; i++) {
+                    buffer.put((int) offset + i, digest[i]);
+                }
+                floats(record).put(0, vector);
+
+                int slot = homeSlot(digest);
+                while (buffer.getInt(slotOffset(slot)) != 0) {
+                    slot = (slot + 1) & (slots - 1);
+                }
+                buffer.putInt(slotOffset(slot) + 4, tag(digest));
+                buffer.putInt(slotOffset(slot), record + 1);
+
+                cursor = (record + 1) % capacity;
+                buffer.putInt(OFFSET_COUNT, count);
+                buffer.putInt(OFFSET_CURSOR, cursor);
+                return true;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        void close() {
+            long stamp = lock.writeLock();
+            try {
+                buffer.force();
+                channel.close();
+            } catch (IOException | RuntimeException e) {
+                log.debug("关闭向量缓存文件失败: {}", path, e);
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        private float[] find(byte[] digest) {
+            int slot = findSlot(digest);
+            if (slot < 0) {
+                return null;
+            }
+            float[] vector = new float[dimension];
+            floats(buffer.getInt(slotOffset(slot)) - 1).get(0, vector);
+            return vector;
+        }
+
+        /**
+         * 线性探测查找摘要所在的哈希槽，不存在时返回 -1
+         */
+        private int findSlot(byte[] digest) {
+            int tag = tag(digest);
+            int slot = homeSlot(digest);
+            for (int probe = 0; probe < slots; probe++) {
+                int entry = buffer.getInt(slotOffset(slot));
+                if (entry == 0) {
+                    return -1;
+                }
+                int record = entry - 1;
+                if (buffer.getInt(slotOffset(slot) + 4) == tag && record >= 0 && record < capacity
+                    && digestEquals(record, digest)) {
+                    return slot;
+                }
+                slot = (slot + 1) & (slots - 1);
+            }
+            return -1;
+        }
+
+        /**
+         * 查找指向指定记录的哈希槽（记录中保存了摘要，从其起始槽开始探测）
+         */
+        private int slotOf(int record) {
+            int slot = Integer.remainderUnsigned(buffer.getInt((int) recordOffset(record)), slots);
+            for (int probe = 0; probe < slots; probe++) {
+                int entry = buffer.getInt(slotOffset(slot));
+                if (entry == record + 1) {
+                    return slot;
+                }
+                if (entry == 0) {
+                    return -1;
+                }
+                slot = (slot + 1) & (slots - 1);
+            }
+            return -1;
+        }
+
+        /**
+         * 后移删除：把探测链上后续的槽前移填补空位，保持线性探测查找不中断
+         */
+        private void removeSlot(int slot) {
+            if (slot < 0) {
+                return;
+            }
+            int mask = slots - 1;
+            int hole = slot;
+            int next = (hole + 1) & mask;
+            while (true) {
+                int entry = buffer.getInt(slotOffset(next));
+                if (entry == 0) {
+                    break;
+                }
+                int home = Integer.remainderUnsigned(buffer.getInt((int) recordOffset(entry - 1)), slots);
+                // 起始槽不在 (hole, next] 区间内的条目可以前移到空位
+                boolean movable = hole <= next ? home <= hole || home > next : home <= hole && home > next;
+                if (movable) {
+                    buffer.putLong(slotOffset(hole), buffer.getLong(slotOffset(next)));
+                    hole = next;
+                }
+                next = (next + 1) & mask;
+            }
+            buffer.putLong(slotOffset(hole), 0L);
+        }
+
+        private boolean digestEquals(int record, byte[] digest) {
+            int offset = (int) recordOffset(record);
+            for (int i = 0; i < DIGEST_BYTES; i++) {
+                if (buffer.get(offset + i) != digest[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private FloatBuffer floats(int record) {
+            return buffer.slice((int) recordOffset(record) + DIGEST_BYTES, dimension * Float.BYTES)
+                .order(ByteOrder.nativeOrder())
+                .asFloatBuffer();
+        }
+
+        private int homeSlot(byte[] digest) {
+            return Integer.remainderUnsigned(ByteBuffer.wrap(digest).getInt(0), slots);
+        }
+
+        private static int tag(byte[] digest) {
+            return ByteBuffer.wrap(digest).getInt(4);
+        }
+
+        private static int slotOffset(int slot) {
+            return HEADER_BYTES + slot * SLOT_BYTES;
+        }
+
+        private long recordOffset(int record) {
+            return recordsOffset + (long) record * recordBytes;
+        }
+    }
+}
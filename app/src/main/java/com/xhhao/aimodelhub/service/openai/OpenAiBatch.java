@@ -0,0 +1,81 @@
+package com.xhhao.aimodelhub.service.openai;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * OpenAI Batch 对象
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OpenAiBatch {
+    private String id;
+
+    /**
+     * validating/in_progress/finalizing/completed/failed/expired/cancelling/cancelled
+     */
+    private String status;
+
+    @JsonProperty("input_file_id")
+    private String inputFileId;
+
+    @JsonProperty("output_file_id")
+    private String outputFileId;
+
+    @JsonProperty("error_file_id")
+    private String errorFileId;
+
+    @JsonProperty("request_counts")
+    private RequestCounts requestCounts;
+
+    private Errors errors;
+
+    /** 获取第一条批次级错误信息 */
+    public String getFirstError() {
+        if (errors == null || errors.getData() == null || errors.getData().isEmpty()) return null;
+        ErrorItem error = errors.getData().get(0);
+        return error.getCode() != null ? error.getCode() + ": " + error.getMessage() : error.getMessage();
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RequestCounts {
+        private Integer total;
+        private Integer completed;
+        private Integer failed;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Errors {
+        private List<ErrorItem> data;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ErrorItem {
+        private String code;
+        private String message;
+        private Integer line;
+    }
+
+    /**
+     * Files 接口上传结果
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class UploadedFile {
+        private String id;
+        private Long bytes;
+        private String purpose;
+    }
+}
@@ -0,0 +1,337 @@
+package com.xhhao.aimodelhub.service.openai;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.xhhao.aimodelhub.api.BatchItemResult;
+import com.xhhao.aimodelhub.api.ChatMessage;
+import com.xhhao.aimodelhub.api.exception.AiModelException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * OpenAI 兼容 Batch API 客户端
+ * <p>
+ * 使用模型实例的 WebClient（共用连接池与自定义请求头），访问与对话接口同一前缀下的 Files 与 Batches 接口：
+ * 上传 JSONL 输入文件、创建与查询批次、下载结果文件。所有地址都相对于模型的 baseUrl，
+ * 自定义 baseUrl 即可指向本地的模拟服务。
+ * </p>
+ * <p>
+ * 文件与批次归属于上传时使用的密钥，配置了多密钥时固定使用主密钥，重启后仍能查询到同一批次。
+ * 输入文件逐行写出、结果文件逐行解析，内存占用与批次大小无关。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Slf4j
+public class OpenAiBatchClient {
+
+    /**
+     * 目前各供应商只支持 24 小时的完成时限
+     */
+    public static final String COMPLETION_WINDOW = "24h";
+
+    private static final String CHAT_COMPLETIONS_SUFFIX = "/chat/completions";
+    private static final String CUSTOM_ID_PREFIX = "item-";
+    private static final String AUTH_HEADER = "Authorization";
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    /**
+     * 与对话请求使用相同的序列化规则（字段名由注解指定）
+     */
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final OpenAiCompatibleChatModel model;
+
+    /**
+     * Files 与 Batches 接口的路径前缀（如 /v1，对话路径不含版本时为空）
+     */
+    private final String apiPrefix;
+
+    /**
+     * 输入文件中每项请求的接口路径（如 /v1/chat/completions、/v4/chat/completions）
+     */
+    private final String endpoint;
+
+    public OpenAiBatchClient(OpenAiCompatibleChatModel model) {
+        this.model = model;
+        String path = model.getChatCompletionsPath();
+        this.apiPrefix = path.endsWith(CHAT_COMPLETIONS_SUFFIX)
+            ? path.substring(0, path.length() - CHAT_COMPLETIONS_SUFFIX.length()) : "";
+        // 版本号在 baseUrl 中时（如智谱的 .../api/paas/v4），请求路径以 baseUrl 的最后一段开头
+        this.endpoint = apiPrefix.isEmpty() ? lastPathSegment(model.getBaseUrl()) + path : path;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * 逐行写出输入文件（阻塞，调用方须在弹性线程池中调用）
+     *
+     * @param conversations 每一项为一次多轮对话的消息列表，下标作为结果中的 custom_id
+     */
+    public void writeInput(List<List<ChatMessage>> conversations, Path file) throws IOException {
+        ObjectWriter writer = MAPPER.writer();
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < conversations.size(); i++) {
+                OpenAiChatRequest body = model.batchRequest(conversations.get(i));
+                out.write(writer.writeValueAsString(new RequestLine(CUSTOM_ID_PREFIX + i, "POST", endpoint, body)));
+                out.write('\n');
+            }
+        }
+    }
+
+    /**
+     * 上传输入文件（从磁盘流式读取）
+     *
+     * @return 文件 ID
+     */
+    public Mono<String> upload(Path file) {
+        MultipartBodyBuilder parts = new MultipartBodyBuilder();
+        parts.part("purpose", "batch");
+        parts.part("file", new FileSystemResource(file)).filename(file.getFileName().toString());
+        return request(HttpMethod.POST, apiPrefix + "/files")
+            .contentType(MediaType.MULTIPART_FORM_DATA)
+            .body(BodyInserters.fromMultipartData(parts.build()))
+            .retrieve()
+            .bodyToMono(OpenAiBatch.UploadedFile.class)
+            .flatMap(uploaded -> uploaded.getId() != null ? Mono.just(uploaded.getId())
+                : Mono.error(AiModelException.apiError("上传批处理输入文件未返回文件 ID",
+                    model.getProvider(), model.getModelName(), null)));
+    }
+
+    /**
+     * 创建批次
+     */
+    public Mono<OpenAiBatch> create(String inputFileId) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("input_file_id", inputFileId);
+        body.put("endpoint", endpoint);
+        body.put("completion_window", COMPLETION_WINDOW);
+        return request(HttpMethod.POST, apiPrefix + "/batches")
+            .bodyValue(body)
+            .retrieve()
+            .bodyToMono(OpenAiBatch.class)
+            .timeout(model.getTimeout())
+            .flatMap(batch -> batch.getId() != null ? Mono.just(batch)
+                : Mono.error(AiModelException.apiError("创建批次未返回批次 ID",
+                    model.getProvider(), model.getModelName(), null)));
+    }
+
+    /**
+     * 查询批次
+     */
+    public Mono<OpenAiBatch> get(String batchId) {
+        return request(HttpMethod.GET, apiPrefix + "/batches/{id}", batchId)
+            .retrieve()
+            .bodyToMono(OpenAiBatch.class)
+            .timeout(model.getTimeout());
+    }
+
+    /**
+     * 取消批次（供应商会先进入 cancelling，已处理部分的结果仍会写入结果文件）
+     */
+    public Mono<OpenAiBatch> cancel(String batchId) {
+        return request(HttpMethod.POST, apiPrefix + "/batches/{id}/cancel", batchId)
+            .retrieve()
+            .bodyToMono(OpenAiBatch.class)
+            .timeout(model.getTimeout());
+    }
+
+    /**
+     * 下载文件内容（流式写入临时文件，完成后原子替换目标文件，中断时不会留下不完整的目标文件）
+     */
+    public Mono<Void> download(String fileId, Path target) {
+        return Mono.defer(() -> {
+            Path partial = target.resolveSibling(target.getFileName() + ".part");
+            Flux<DataBuffer> content = request(HttpMethod.GET, apiPrefix + "/files/{id}/content", fileId)
+                .retrieve()
+                .bodyToFlux(DataBuffer.class);
+            return DataBufferUtils.write(content, partial, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)
+                .then(Mono.fromCallable(() -> Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE)).subscribeOn(Schedulers.boundedElastic()))
+                .then();
+        });
+    }
+
+    /**
+     * 逐行解析结果文件
+     * <p>
+     * 依次读取各文件（结果文件、错误文件），同一项只取第一次出现的结果；
+     * 文件中都没有的项在最后以失败结果补齐。
+     * </p>
+     *
+     * @param files 结果文件，不存在的文件跳过
+     * @param total 总项数
+     */
+    public static Flux<BatchItemResult> readResults(List<Path> files, int total) {
+        return Flux.defer(() -> {
+            BitSet seen = new BitSet(total);
+            return Flux.fromIterable(files)
+                .filter(Files::exists)
+                .concatMap(file -> Flux.using(() -> Files.newBufferedReader(file, StandardCharsets.UTF_8),
+                    reader -> Flux.fromStream(reader.lines()), OpenAiBatchClient::closeQuietly))
+                .<BatchItemResult>handle((line, sink) -> {
+                    BatchItemResult item = line.isBlank() ? null : parseResultLine(line, total);
+                    if (item != null && !seen.get(item.getIndex())) {
+                        seen.set(item.getIndex());
+                        sink.next(item);
+                    }
+                })
+                .concatWith(Flux.defer(() -> Flux.range(0, total)
+                    .filter(index -> !seen.get(index))
+                    .map(index -> BatchItemResult.failure(index, AiModelException.ErrorCode.UNKNOWN.name(),
+                        "供应商未返回该项结果", 1, 0))));
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * 解析结果文件中的一行
+     *
+     * @return 无法识别的行返回 null
+     */
+    static BatchItemResult parseResultLine(String line, int total) {
+        JsonNode node;
+        try {
+            node = MAPPER.readTree(line);
+        } catch (IOException e) {
+            log.warn("批处理结果行解析失败: {}", line.length() > 200 ? line.substring(0, 200) : line, e);
+            return null;
+        }
+        String customId = text(node.path("custom_id"));
+        int index = parseIndex(customId);
+        if (index < 0 || index >= total) {
+            log.warn("忽略无法识别的批处理结果: custom_id={}", customId);
+            return null;
+        }
+        JsonNode error = node.path("error");
+        JsonNode response = node.path("response");
+        int statusCode = response.path("status_code").asInt(0);
+        JsonNode body = response.path("body");
+        if (!error.isObject() && statusCode == 200) {
+            try {
+                String content = MAPPER.treeToValue(body, OpenAiChatResponse.class).getContent();
+                return BatchItemResult.success(index, content, 1, 0);
+            } catch (IOException e) {
+                return BatchItemResult.failure(index, AiModelException.ErrorCode.API_ERROR.name(),
+                    "响应解析失败: " + e.getMessage(), 1, 0);
+            }
+        }
+        JsonNode detail = error.isObject() ? error : body.path("error");
+        String code = text(detail.path("code"));
+        String message = text(detail.path("message"));
+        return BatchItemResult.failure(index, errorCode(statusCode, code).name(),
+            message != null ? message : "HTTP " + statusCode, 1, 0);
+    }
+
+    /**
+     * 将单项的 HTTP 状态与错误码归类为 {@link AiModelException.ErrorCode}
+     */
+    private static AiModelException.ErrorCode errorCode(int statusCode, String code) {
+        if ("batch_expired".equals(code)) {
+            return AiModelException.ErrorCode.TIMEOUT;
+        }
+        return switch (statusCode) {
+            case 429 -> AiModelException.ErrorCode.RATE_LIMIT;
+            case 401, 403 -> AiModelException.ErrorCode.AUTH_ERROR;
+            case 400, 422 -> AiModelException.ErrorCode.INVALID_PARAM;
+            default -> AiModelException.ErrorCode.API_ERROR;
+        };
+    }
+
+    /**
+     * 节点的文本值，字段缺失或为 null 时返回 null
+     */
+    private static String text(JsonNode node) {
+        return node.isMissingNode() || node.isNull() ? null : node.asText();
+    }
+
+    private static int parseIndex(String customId) {
+        if (customId == null || !customId.startsWith(CUSTOM_ID_PREFIX)) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(customId.substring(CUSTOM_ID_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * 创建单次请求（配置了多密钥时固定使用主密钥）
+     */
+    private WebClient.RequestBodySpec request(HttpMethod method, String uri, Object... variables) {
+        WebClient.RequestBodySpec spec = model.getWebClient().method(method).uri(uri, variables);
+        if (model.getKeyPool() != null) {
+            spec.header(AUTH_HEADER, BEARER_PREFIX + model.getApiKey());
+        }
+        return spec;
+    }
+
+    /**
+     * baseUrl 路径的最后一段（如 /v4），没有路径时为空
+     */
+    private static String lastPathSegment(String baseUrl) {
+        if (baseUrl == null) {
+            return "";
+        }
+        String path;
+        try {
+            path = URI.create(baseUrl).getPath();
+        } catch (IllegalArgumentException e) {
+            return "";
+        }
+        if (path == null) {
+            return "";
+        }
+        while (path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        int slash = path.lastIndexOf('/');
+        return slash >= 0 ? path.substring(slash) : "";
+    }
+
+    private static void closeQuietly(BufferedReader reader) {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            log.debug("关闭批处理结果文件失败", e);
+        }
+    }
+
+    /**
+     * 输入文件中的一行
+     */
+    private record RequestLine(@JsonProperty("custom_id") String customId, String method, String url,
+                               OpenAiChatRequest body) {}
+}
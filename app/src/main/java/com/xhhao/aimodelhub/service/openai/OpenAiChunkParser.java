@@ -0,0 +1,283 @@
+package com.xhhao.aimodelhub.service.openai;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 流式分片解析器
+ * <p>
+ * 快速路径基于 Jackson 流式 {@link JsonParser}，只提取 choices[0] 的
+ * content / reasoning_content / finish_reason / tool_calls 与 usage，其余字段直接跳过。
+ * 遇到与 OpenAI 格式不符的结构（如 content 为数组）时，回退到基于 {@link JsonNode} 的完整解析。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+public final class OpenAiChunkParser {
+
+    private final ObjectMapper mapper;
+    private final JsonFactory factory;
+    private final boolean fastPath;
+
+    /**
+     * @param mapper   完整解析使用的 ObjectMapper
+     * @param fastPath 是否启用快速路径（未知供应商应关闭，始终完整解析）
+     */
+    public OpenAiChunkParser(ObjectMapper mapper, boolean fastPath) {
+        this.mapper = mapper;
+        this.factory = mapper.getFactory();
+        this.fastPath = fastPath;
+    }
+
+    /**
+     * 解析一个分片
+     */
+    public OpenAiStreamChunk parse(byte[] data, int offset, int length) throws IOException {
+        if (fastPath) {
+            try (JsonParser parser = factory.createParser(data, offset, length)) {
+                return parseChunk(parser);
+            } catch (UnexpectedShapeException e) {
+                // 结构不符合预期，按完整解析处理
+            }
+        }
+        return parseTree(mapper.readTree(data, offset, length));
+    }
+
+    // ==================== 快速路径 ====================
+
+    private static OpenAiStreamChunk parseChunk(JsonParser parser) throws IOException {
+        expect(parser.nextToken(), JsonToken.START_OBJECT);
+        OpenAiStreamChunk chunk = new OpenAiStreamChunk();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "choices" -> parseChoices(parser, value, chunk);
+                case "usage" -> {
+                    if (value == JsonToken.START_OBJECT) {
+                        chunk.setUsage(parseUsage(parser));
+                    } else {
+                        expectNull(value);
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        return chunk;
+    }
+
+    private static void parseChoices(JsonParser parser, JsonToken value, OpenAiStreamChunk chunk)
+        throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return;
+        }
+        expect(value, JsonToken.START_ARRAY);
+        boolean first = true;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (first) {
+                expect(token, JsonToken.START_OBJECT);
+                parseChoice(parser, chunk);
+                first = false;
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private static void parseChoice(JsonParser parser, OpenAiStreamChunk chunk) throws IOException {
+        String messageContent = null;
+        String deltaContent = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "delta" -> deltaContent = parseDelta(parser, value, chunk);
+                case "message" -> messageContent = parseDelta(parser, value, chunk);
+                case "finish_reason" -> chunk.setFinishReason(textOrNull(parser, value));
+                default -> parser.skipChildren();
+            }
+        }
+        // 与 OpenAiChatResponse#getContent 一致：message 优先于 delta
+        chunk.setContent(messageContent != null ? messageContent : deltaContent);
+    }
+
+    /**
+     * 解析 delta/message，返回其中的 content
+     */
+    private static String parseDelta(JsonParser parser, JsonToken value, OpenAiStreamChunk chunk)
+        throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expect(value, JsonToken.START_OBJECT);
+        String content = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                case "content" -> content = textOrNull(parser, token);
+                case "reasoning_content" -> chunk.setReasoningContent(textOrNull(parser, token));
+                case "tool_calls" -> chunk.setToolCalls(parseToolCalls(parser, token));
+                default -> parser.skipChildren();
+            }
+        }
+        return content;
+    }
+
+    private static List<OpenAiStreamChunk.ToolCallDelta> parseToolCalls(JsonParser parser, JsonToken value)
+        throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expect(value, JsonToken.START_ARRAY);
+        List<OpenAiStreamChunk.ToolCallDelta> calls = new ArrayList<>(1);
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            expect(token, JsonToken.START_OBJECT);
+            OpenAiStreamChunk.ToolCallDelta call = new OpenAiStreamChunk.ToolCallDelta();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken fieldValue = parser.nextToken();
+                switch (field) {
+                    case "index" -> call.setIndex(intOrNull(parser, fieldValue));
+                    case "id" -> call.setId(textOrNull(parser, fieldValue));
+                    case "type" -> call.setType(textOrNull(parser, fieldValue));
+                    case "function" -> parseFunction(parser, fieldValue, call);
+                    default -> parser.skipChildren();
+                }
+            }
+            calls.add(call);
+        }
+        return calls;
+    }
+
+    private static void parseFunction(JsonParser parser, JsonToken value, OpenAiStreamChunk.ToolCallDelta call)
+        throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return;
+        }
+        expect(value, JsonToken.START_OBJECT);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                case "name" -> call.setName(textOrNull(parser, token));
+                case "arguments" -> call.setArguments(textOrNull(parser, token));
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    private static OpenAiChatResponse.Usage parseUsage(JsonParser parser) throws IOException {
+        OpenAiChatResponse.Usage usage = new OpenAiChatResponse.Usage();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                case "prompt_tokens" -> usage.setPromptTokens(intOrNull(parser, token));
+                case "completion_tokens" -> usage.setCompletionTokens(intOrNull(parser, token));
+                case "total_tokens" -> usage.setTotalTokens(intOrNull(parser, token));
+                default -> parser.skipChildren();
+            }
+        }
+        return usage;
+    }
+
+    private static String textOrNull(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        }
+        expectNull(token);
+        return null;
+    }
+
+    private static Integer intOrNull(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getIntValue();
+        }
+        expectNull(token);
+        return null;
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected) {
+        if (actual != expected) {
+            throw UnexpectedShapeException.INSTANCE;
+        }
+    }
+
+    private static void expectNull(JsonToken token) {
+        expect(token, JsonToken.VALUE_NULL);
+    }
+
+    // ==================== 完整解析 ====================
+
+    private static OpenAiStreamChunk parseTree(JsonNode root) {
+        OpenAiStreamChunk chunk = new OpenAiStreamChunk();
+        JsonNode choice = root.path("choices").path(0);
+        if (choice.isObject()) {
+            JsonNode message = choice.path("message");
+            JsonNode delta = choice.path("delta");
+            String content = text(message.get("content"));
+            chunk.setContent(content != null ? content : text(delta.get("content")));
+            JsonNode source = delta.isObject() ? delta : message;
+            chunk.setReasoningContent(text(source.get("reasoning_content")));
+            JsonNode toolCalls = source.get("tool_calls");
+            if (toolCalls != null && toolCalls.isArray()) {
+                List<OpenAiStreamChunk.ToolCallDelta> calls = new ArrayList<>(toolCalls.size());
+                for (JsonNode call : toolCalls) {
+                    JsonNode function = call.path("function");
+                    calls.add(new OpenAiStreamChunk.ToolCallDelta(
+                        call.hasNonNull("index") ? call.get("index").asInt() : null,
+                        text(call.get("id")), text(call.get("type")),
+                        text(function.get("name")), text(function.get("arguments"))));
+                }
+                chunk.setToolCalls(calls);
+            }
+            chunk.setFinishReason(text(choice.get("finish_reason")));
+        }
+        JsonNode usage = root.get("usage");
+        if (usage != null && usage.isObject()) {
+            chunk.setUsage(new OpenAiChatResponse.Usage(
+                integer(usage.get("prompt_tokens")),
+                integer(usage.get("completion_tokens")),
+                integer(usage.get("total_tokens"))));
+        }
+        return chunk;
+    }
+
+    /**
+     * 文本值；非文本值（如数组形式的 content）按其 JSON 文本返回
+     */
+    private static String text(JsonNode node) {
+        if (node == null || node.isNull() || node.isMissingNode()) {
+            return null;
+        }
+        return node.isTextual() ? node.asText() : node.toString();
+    }
+
+    private static Integer integer(JsonNode node) {
+        return node != null && node.isNumber() ? node.asInt() : null;
+    }
+
+    /**
+     * 快速路径遇到非预期结构时抛出（无堆栈，仅用于控制流）
+     */
+    private static final class UnexpectedShapeException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private static final UnexpectedShapeException INSTANCE = new UnexpectedShapeException();
+
+        private UnexpectedShapeException() {
+            super("unexpected chunk shape", null, false, false);
+        }
+    }
+}
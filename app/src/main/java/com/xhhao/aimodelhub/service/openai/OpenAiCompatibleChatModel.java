@@ -1,25 +1,40 @@
 package com.xhhao.aimodelhub.service.openai;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.xhhao.aimodelhub.api.ChatMessage;
 import com.xhhao.aimodelhub.api.ChatModel;
 import com.xhhao.aimodelhub.api.constant.AiModelConstants;
+import com.xhhao.aimodelhub.api.exception.AiModelException;
+import com.xhhao.aimodelhub.service.common.Fingerprint;
+import com.xhhao.aimodelhub.service.resilience.AdaptiveConcurrencyLimiter;
+import com.xhhao.aimodelhub.service.resilience.ApiKeyPool;
+import com.xhhao.aimodelhub.service.resilience.CircuitBreakerRegistry;
+import com.xhhao.aimodelhub.service.resilience.UpstreamCallRecorder;
+import com.xhhao.aimodelhub.service.resilience.UpstreamRetry;
+import com.xhhao.aimodelhub.service.transport.HttpTransport;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.MediaType;
-import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.web.reactive.function.BodyInserter;
+import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * OpenAI 兼容 API 客户端
@@ -35,7 +50,6 @@ import java.util.Map;
 public class OpenAiCompatibleChatModel implements ChatModel {
 
     private static final String DEFAULT_CHAT_COMPLETIONS_PATH = "/v1/chat/completions";
-    private static final String SSE_DONE_SIGNAL = "[DONE]";
     private static final String AUTH_HEADER = "Authorization";
     private static final String BEARER_PREFIX = "Bearer ";
 
@@ -43,9 +57,16 @@ public class OpenAiCompatibleChatModel implements ChatModel {
         .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
         .setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE);
 
-    private static final ParameterizedTypeReference<ServerSentEvent<String>> SSE_TYPE_REF =
-        new ParameterizedTypeReference<>() {};
+    /**
+     * 流式分片可使用快速解析的供应商（格式与 OpenAI 一致）
+     */
+    private static final Set<String> FAST_CHUNK_PROVIDERS = Set.of(
+        AiModelConstants.Provider.OPENAI,
+        AiModelConstants.Provider.SILICONFLOW,
+        AiModelConstants.Provider.ZHIPU
+    );
 
+    private final String provider;
     private final String apiKey;
     private final String modelName;
     private final String baseUrl;
@@ -83,13 +104,68 @@ public class OpenAiCompatibleChatModel implements ChatModel {
     private final Boolean webSearch;
     private final String toolChoice;
 
+    /**
+     * 共享传输层（为空时使用独立连接）
+     */
+    private final HttpTransport httpTransport;
+
     /**
      * 缓存的 WebClient 实例
      */
     private final WebClient webClient;
 
+    /**
+     * 调用结果计数器（为空时不记录）
+     */
+    private final UpstreamCallRecorder.CallCounters callCounters;
+
+    /**
+     * 流式分片解析：直接从 SSE 字节切片提取所需字段
+     */
+    private final SseEventFramer.DataHandler<OpenAiStreamChunk> chunkHandler;
+
+    /**
+     * 请求体快速序列化（预先序列化模型级默认参数）
+     */
+    private final OpenAiRequestWriter requestWriter;
+
+    /**
+     * 多密钥调度（为空时固定使用 {@code apiKey}）
+     */
+    private final ApiKeyPool.KeyPool keyPool;
+
+    /**
+     * 熔断器（为空时不做熔断）
+     */
+    private final CircuitBreakerRegistry.CircuitBreaker circuitBreaker;
+
+    /**
+     * 自适应并发限制（为空时不限制）
+     */
+    private final AdaptiveConcurrencyLimiter.Limiter concurrencyLimiter;
+
+    /**
+     * 地址与模型级生成参数的指纹（不含密钥），相同指纹的模型对相同消息发出的请求体一致
+     */
+    private final String generationFingerprint;
+
+    /**
+     * 响应缓存开关（为空时按插件设置），由装饰器读取
+     */
+    private final Boolean cacheResponses;
+
+    /**
+     * 响应缓存存活时间（为空时使用插件设置）
+     */
+    private final Duration responseCacheTtl;
+
+    /**
+     * 近似提示词缓存开关（为空时不使用）
+     */
+    private final Boolean cacheSimilarPrompts;
+
     @Builder
-    public OpenAiCompatibleChatModel(String apiKey, String modelName, String baseUrl,
+    public OpenAiCompatibleChatModel(String provider, String apiKey, String modelName, String baseUrl,
                                      Map<String, String> customHeaders, Duration timeout, Integer maxRetries,
                                      Double temperature, Double topP, Integer maxTokens, Integer maxCompletionTokens,
                                      Double frequencyPenalty, Double presencePenalty, List<String> stop,
@@ -101,7 +177,15 @@ public class OpenAiCompatibleChatModel implements ChatModel {
                                      Boolean enableThinking, Integer thinkingBudget, Double minP,
                                      Integer topK, Double repetitionPenalty, Integer n,
                                      // 智谱
-                                     String requestId, Boolean webSearch, String toolChoice) {
+                                     String requestId, Boolean webSearch, String toolChoice,
+                                     // 传输层
+                                     HttpTransport httpTransport, UpstreamCallRecorder callRecorder,
+                                     ApiKeyPool.KeyPool keyPool, CircuitBreakerRegistry circuitBreakers,
+                                     AdaptiveConcurrencyLimiter concurrencyLimiters,
+                                     // 响应缓存
+                                     Boolean cacheResponses, Duration responseCacheTtl,
+                                     Boolean cacheSimilarPrompts) {
+        this.provider = provider;
         this.apiKey = apiKey;
         this.modelName = modelName;
         this.baseUrl = baseUrl;
@@ -134,35 +218,92 @@ public class OpenAiCompatibleChatModel implements ChatModel {
         this.requestId = requestId;
         this.webSearch = webSearch;
         this.toolChoice = toolChoice;
+        this.httpTransport = httpTransport;
+        this.keyPool = keyPool;
+        this.cacheResponses = cacheResponses;
+        this.responseCacheTtl = responseCacheTtl;
+        this.cacheSimilarPrompts = cacheSimilarPrompts;
         this.webClient = createWebClient();
+        this.callCounters = callRecorder != null ? callRecorder.counters(provider, modelName) : null;
+        this.circuitBreaker = circuitBreakers != null ? circuitBreakers.breaker(provider, modelName) : null;
+        this.concurrencyLimiter = concurrencyLimiters != null
+            ? concurrencyLimiters.limiter(provider, modelName) : null;
+        OpenAiChatRequest defaults = new OpenAiChatRequest();
+        applyDefaults(defaults);
+        this.requestWriter = new OpenAiRequestWriter(defaults);
+        this.generationFingerprint = Fingerprint.builder()
+            .addUrl(baseUrl)
+            .add(this.chatCompletionsPath)
+            .add(temperature).add(topP).add(maxTokens).add(maxCompletionTokens)
+            .add(frequencyPenalty).add(presencePenalty).add(stop).add(seed).add(user).add(logitBias)
+            .add(enableThinking).add(thinkingBudget).add(minP).add(topK).add(repetitionPenalty).add(n)
+            .add(requestId).add(webSearch).add(toolChoice)
+            .build();
+        this.chunkHandler = createChunkHandler(new OpenAiChunkParser(MAPPER, FAST_CHUNK_PROVIDERS.contains(provider)));
     }
 
     /**
      * 发送聊天请求（非流式）
+     * <p>
+     * 每次请求受 {@code timeout} 限制，429/5xx/连接异常按 {@code maxRetries} 退避重试；
+     * 熔断器打开时直接失败，不再发出请求；并发超出自适应限制时先排队。
+     * </p>
      */
     public Mono<OpenAiChatResponse> chat(OpenAiChatRequest request) {
-        prepareRequest(request, false);
-        return webClient.post()
-            .uri(chatCompletionsPath)
-            .bodyValue(request)
-            .retrieve()
-            .bodyToMono(OpenAiChatResponse.class);
+        BodyInserter<?, ? super ClientHttpRequest> body = prepareRequest(request, false);
+        Mono<OpenAiChatResponse> attempt = limited(guarded(Mono.defer(() -> {
+                ApiKeyPool.KeyLease lease = acquireKey();
+                return post(lease)
+                    .body(body)
+                    .retrieve()
+                    .bodyToMono(OpenAiChatResponse.class)
+                    .doFinally(signal -> releaseKey(lease));
+            })
+            .timeout(timeout)
+            .doOnSuccess(response -> recordAttempt(null))
+            .doOnError(this::recordAttempt)));
+
+        return attempt
+            .retryWhen(UpstreamRetry.create(maxRetries, () -> true, this::recordRetry, keyPool))
+            .onErrorMap(TimeoutException.class, e -> AiModelException.timeout(provider, modelName))
+            .doOnSubscribe(s -> recordCall());
     }
 
     /**
      * 发送流式聊天请求
+     * <p>
+     * {@code timeout} 同时作为首个事件与相邻事件之间的最长等待时间；
+     * 仅在首个事件到达之前允许重试，避免向下游重复输出内容。
+     * </p>
      */
-    public Flux<OpenAiChatResponse> chatStream(OpenAiChatRequest request) {
-        prepareRequest(request, true);
-        return webClient.post()
-            .uri(chatCompletionsPath)
-            .accept(MediaType.TEXT_EVENT_STREAM)
-            .bodyValue(request)
-            .retrieve()
-            .bodyToFlux(SSE_TYPE_REF)
-            .filter(sse -> sse.data() != null && !SSE_DONE_SIGNAL.equals(sse.data()))
-            .map(ServerSentEvent::data)
-            .mapNotNull(this::parseResponse);
+    public Flux<OpenAiStreamChunk> chatStream(OpenAiChatRequest request) {
+        BodyInserter<?, ? super ClientHttpRequest> body = prepareRequest(request, true);
+        return Flux.defer(() -> {
+                AtomicBoolean firstEventReceived = new AtomicBoolean();
+                Flux<OpenAiStreamChunk> attempt = limited(guarded(Flux.defer(() -> {
+                        SseEventFramer<OpenAiStreamChunk> framer = new SseEventFramer<>(chunkHandler);
+                        ApiKeyPool.KeyLease lease = acquireKey();
+                        return post(lease)
+                            .accept(MediaType.TEXT_EVENT_STREAM)
+                            .body(body)
+                            .retrieve()
+                            .bodyToFlux(DataBuffer.class)
+                            // 按原始字节计时，心跳注释同样视为连接存活
+                            .timeout(Mono.delay(timeout), buffer -> Mono.delay(timeout))
+                            .concatMapIterable(framer::feed)
+                            .concatWith(Flux.defer(() -> Flux.fromIterable(framer.finish())))
+                            .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                            .doFinally(signal -> releaseKey(lease));
+                    })
+                    .doOnNext(response -> firstEventReceived.set(true))
+                    .doOnComplete(() -> recordAttempt(null))
+                    .doOnError(this::recordAttempt)));
+
+                return attempt.retryWhen(
+                    UpstreamRetry.create(maxRetries, () -> !firstEventReceived.get(), this::recordRetry, keyPool));
+            })
+            .onErrorMap(TimeoutException.class, e -> AiModelException.timeout(provider, modelName))
+            .doOnSubscribe(s -> recordCall());
     }
 
     @Override
@@ -185,8 +326,8 @@ public class OpenAiCompatibleChatModel implements ChatModel {
     public Flux<String> chatStream(List<ChatMessage> messages) {
         OpenAiChatRequest request = buildRequest(messages);
         return chatStream(request)
-            .filter(response -> response.getContent() != null && !response.getContent().isEmpty())
-            .map(OpenAiChatResponse::getContent);
+            .filter(chunk -> chunk.getContent() != null && !chunk.getContent().isEmpty())
+            .map(OpenAiStreamChunk::getContent);
     }
 
     /**
@@ -203,27 +344,144 @@ public class OpenAiCompatibleChatModel implements ChatModel {
     }
 
     /**
-     * 准备请求：设置默认值
+     * 构建离线批处理中的单项请求（合并默认参数，供 {@link OpenAiBatchClient} 写入输入文件）
+     */
+    OpenAiChatRequest batchRequest(List<ChatMessage> messages) {
+        OpenAiChatRequest request = buildRequest(messages);
+        applyDefaults(request);
+        return request;
+    }
+
+    /**
+     * 准备请求：设置默认值并选择序列化方式
+     * <p>
+     * 只包含消息与流式参数的请求走快速序列化，其余请求合并默认值后交给 Jackson 编码器。
+     * </p>
      */
-    private void prepareRequest(OpenAiChatRequest request, boolean stream) {
+    private BodyInserter<?, ? super ClientHttpRequest> prepareRequest(OpenAiChatRequest request, boolean stream) {
         if (request.getModel() == null) {
             request.setModel(modelName);
         }
         if (stream) {
             request.setStream(true);
         }
+        if (requestWriter.canWrite(request)) {
+            return requestWriter.inserter(request);
+        }
         applyDefaults(request);
+        return BodyInserters.fromValue(request);
+    }
+
+    /**
+     * 经熔断器保护的单次请求（熔断时抛出 {@link AiModelException}，不可重试）
+     */
+    private <T> Mono<T> guarded(Mono<T> attempt) {
+        if (circuitBreaker == null) {
+            return attempt;
+        }
+        return Mono.defer(() -> {
+            CircuitBreakerRegistry.Permit permit = circuitBreaker.acquire();
+            long start = System.nanoTime();
+            return attempt
+                .doOnSuccess(response -> permit.record(System.nanoTime() - start, null))
+                .doOnError(e -> permit.record(System.nanoTime() - start, e))
+                .doFinally(signal -> permit.release());
+        });
+    }
+
+    /**
+     * 经熔断器保护的单次流式请求
+     * <p>
+     * 以首个事件到达的耗时判定慢调用；首个事件之后的错误不计入熔断统计。
+     * </p>
+     */
+    private <T> Flux<T> guarded(Flux<T> attempt) {
+        if (circuitBreaker == null) {
+            return attempt;
+        }
+        return Flux.defer(() -> {
+            CircuitBreakerRegistry.Permit permit = circuitBreaker.acquire();
+            long start = System.nanoTime();
+            return attempt
+                .doOnNext(chunk -> permit.record(System.nanoTime() - start, null))
+                .doOnComplete(() -> permit.record(System.nanoTime() - start, null))
+                .doOnError(e -> permit.record(System.nanoTime() - start, e))
+                .doFinally(signal -> permit.release());
+        });
+    }
+
+    /**
+     * 在自适应并发限制内执行单次请求（排队时间不计入请求超时）
+     */
+    private <T> Mono<T> limited(Mono<T> attempt) {
+        if (concurrencyLimiter == null) {
+            return attempt;
+        }
+        return concurrencyLimiter.acquire().flatMap(permit -> {
+            long start = System.nanoTime();
+            return attempt
+                .doOnSuccess(response -> permit.record(System.nanoTime() - start, null))
+                .doOnError(e -> permit.record(System.nanoTime() - start, e))
+                .doFinally(signal -> permit.release());
+        });
+    }
+
+    /**
+     * 在自适应并发限制内执行单次流式请求（占用名额直到流结束，以首个事件耗时调整限制值）
+     */
+    private <T> Flux<T> limited(Flux<T> attempt) {
+        if (concurrencyLimiter == null) {
+            return attempt;
+        }
+        return concurrencyLimiter.acquire().flatMapMany(permit -> {
+            long start = System.nanoTime();
+            return attempt
+                .doOnNext(chunk -> permit.record(System.nanoTime() - start, null))
+                .doOnError(e -> permit.record(System.nanoTime() - start, e))
+                .doFinally(signal -> permit.release());
+        });
+    }
+
+    /**
+     * 创建单次请求（配置了多密钥时为本次请求设置所选密钥）
+     */
+    private WebClient.RequestBodySpec post(ApiKeyPool.KeyLease lease) {
+        WebClient.RequestBodySpec spec = webClient.post().uri(chatCompletionsPath);
+        if (lease != null) {
+            spec.header(AUTH_HEADER, BEARER_PREFIX + lease.key())
+                .attribute(ApiKeyPool.LEASE_ATTRIBUTE, lease);
+        }
+        return spec;
+    }
+
+    private ApiKeyPool.KeyLease acquireKey() {
+        return keyPool != null ? keyPool.acquire() : null;
+    }
+
+    private static void releaseKey(ApiKeyPool.KeyLease lease) {
+        if (lease != null) {
+            lease.release();
+        }
     }
 
     /**
      * 创建 WebClient 实例
+     * <p>
+     * 配置了共享传输层时基于共享 WebClient 派生，派生实例与其他模型共用同一连接池。
+     * 配置了多密钥时不设置默认认证头，由每次请求单独设置。
+     * </p>
      */
     private WebClient createWebClient() {
-        WebClient.Builder builder = WebClient.builder()
+        WebClient.Builder builder = (httpTransport != null ? httpTransport.webClient(baseUrl).mutate() : WebClient.builder())
             .baseUrl(baseUrl)
-            .defaultHeader(AUTH_HEADER, BEARER_PREFIX + apiKey)
             .defaultHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE);
 
+        if (keyPool != null) {
+            builder.filter(keyPool.filter());
+        } else {
+            builder.defaultHeader(AUTH_HEADER, BEARER_PREFIX + apiKey);
+        }
+
         if (organizationId != null) {
             builder.defaultHeader("OpenAI-Organization", organizationId);
         }
@@ -237,6 +495,21 @@ public class OpenAiCompatibleChatModel implements ChatModel {
         return builder.build();
     }
 
+    private static SseEventFramer.DataHandler<OpenAiStreamChunk> createChunkHandler(OpenAiChunkParser parser) {
+        return new SseEventFramer.DataHandler<>() {
+            @Override
+            public OpenAiStreamChunk handle(byte[] data, int offset, int length) throws IOException {
+                return parser.parse(data, offset, length);
+            }
+
+            @Override
+            public OpenAiStreamChunk onError(byte[] data, int offset, int length, IOException error) {
+                log.warn("解析响应失败: {}", new String(data, offset, length, StandardCharsets.UTF_8), error);
+                return null;
+            }
+        };
+    }
+
     /**
      * 应用默认参数
      */
@@ -276,15 +549,34 @@ public class OpenAiCompatibleChatModel implements ChatModel {
         }
     }
 
+    private void recordCall() {
+        if (callCounters != null) {
+            callCounters.recordCall();
+        }
+    }
+
+    private void recordRetry(Duration delay) {
+        if (callCounters != null) {
+            callCounters.recordRetry();
+        }
+        log.debug("上游请求失败，{} ms 后重试: provider={}, model={}", delay.toMillis(), provider, modelName);
+    }
+
     /**
-     * 解析 SSE 响应 JSON
+     * 记录单次请求结果（error 为 null 表示成功）
      */
-    private OpenAiChatResponse parseResponse(String json) {
-        try {
-            return MAPPER.readValue(json, OpenAiChatResponse.class);
-        } catch (JsonProcessingException e) {
-            log.warn("解析响应失败: {}", json, e);
-            return null;
+    private void recordAttempt(Throwable error) {
+        if (callCounters == null) {
+            return;
+        }
+        if (error == null) {
+            callCounters.recordAttempt(UpstreamCallRecorder.AttemptOutcome.SUCCESS);
+        } else if (error instanceof TimeoutException) {
+            callCounters.recordAttempt(UpstreamCallRecorder.AttemptOutcome.TIMEOUT);
+        } else if (UpstreamRetry.isRetryable(error)) {
+            callCounters.recordAttempt(UpstreamCallRecorder.AttemptOutcome.RETRYABLE_FAILURE);
+        } else {
+            callCounters.recordAttempt(UpstreamCallRecorder.AttemptOutcome.FAILURE);
         }
     }
 }
@@ -0,0 +1,283 @@
+package com.xhhao.aimodelhub.service.openai;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.xhhao.aimodelhub.api.EmbeddingModel;
+import com.xhhao.aimodelhub.api.constant.AiModelConstants;
+import com.xhhao.aimodelhub.api.exception.AiModelException;
+import com.xhhao.aimodelhub.service.resilience.ApiKeyPool;
+import com.xhhao.aimodelhub.service.resilience.UpstreamCallRecorder;
+import com.xhhao.aimodelhub.service.resilience.UpstreamRetry;
+import com.xhhao.aimodelhub.service.transport.HttpTransport;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * OpenAI 兼容向量接口客户端
+ * <p>
+ * 调用 {@code /v1/embeddings}（智谱为 {@code /v4/embeddings}），一次请求可包含多条文本。
+ * 响应按流式方式解析，向量直接读入 {@code float[]}，不经过 {@code List<Double>}。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Slf4j
+@Getter
+public class OpenAiCompatibleEmbeddingModel implements EmbeddingModel {
+
+    private static final String DEFAULT_EMBEDDINGS_PATH = "/v1/embeddings";
+    private static final String AUTH_HEADER = "Authorization";
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    /**
+     * 单次响应的最大字节数（约 64 条 3072 维向量的文本表示）
+     */
+    private static final int MAX_RESPONSE_BYTES = 64 * 1024 * 1024;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final String provider;
+    private final String apiKey;
+    private final String modelName;
+    private final String baseUrl;
+    private final String embeddingsPath;
+    private final Duration timeout;
+    private final Integer maxRetries;
+
+    /**
+     * 输出向量维度（仅部分模型支持，为空时使用模型默认维度）
+     */
+    private final Integer dimensions;
+
+    private final WebClient webClient;
+    private final ApiKeyPool.KeyPool keyPool;
+    private final UpstreamCallRecorder.CallCounters callCounters;
+
+    @Builder
+    public OpenAiCompatibleEmbeddingModel(String provider, String apiKey, String modelName, String baseUrl,
+                                          String embeddingsPath, Duration timeout, Integer maxRetries,
+                                          Integer dimensions, HttpTransport httpTransport,
+                                          UpstreamCallRecorder callRecorder, ApiKeyPool.KeyPool keyPool) {
+        this.provider = provider;
+        this.apiKey = apiKey;
+        this.modelName = modelName;
+        this.baseUrl = baseUrl;
+        this.embeddingsPath = embeddingsPath != null ? embeddingsPath : DEFAULT_EMBEDDINGS_PATH;
+        this.timeout = timeout != null ? timeout : Duration.ofSeconds(AiModelConstants.DEFAULT_TIMEOUT_SECONDS);
+        this.maxRetries = maxRetries != null ? maxRetries : AiModelConstants.DEFAULT_MAX_RETRIES;
+        this.dimensions = dimensions;
+        this.keyPool = keyPool;
+        this.callCounters = callRecorder != null ? callRecorder.counters(provider, modelName) : null;
+        WebClient.Builder builder = (httpTransport != null ? httpTransport.webClient(baseUrl).mutate()
+            : WebClient.builder())
+            .baseUrl(baseUrl)
+            .defaultHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE);
+        if (keyPool != null) {
+            builder.filter(keyPool.filter());
+        } else {
+            builder.defaultHeader(AUTH_HEADER, BEARER_PREFIX + apiKey);
+        }
+        this.webClient = builder.build();
+    }
+
+    @Override
+    public Mono<float[]> embed(String text) {
+        return embedBatch(List.of(text)).map(result -> result.vectors().get(0));
+    }
+
+    @Override
+    public Mono<List<float[]>> embedAll(List<String> texts) {
+        return embedBatch(texts).map(Embeddings::vectors);
+    }
+
+    /**
+     * 一次请求计算多条文本的向量
+     * <p>
+     * 每次请求受 {@code timeout} 限制，429/5xx/连接异常按 {@code maxRetries} 退避重试。
+     * </p>
+     *
+     * @param texts 文本列表（调用方负责控制单次请求的条数）
+     * @return 与输入顺序一致的向量及提示词 token 数
+     */
+    public Mono<Embeddings> embedBatch(List<String> texts) {
+        if (texts == null || texts.isEmpty()) {
+            return Mono.just(new Embeddings(List.of(), 0));
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("model", modelName);
+        body.put("input", texts);
+        if (dimensions != null) {
+            body.put("dimensions", dimensions);
+        }
+        Mono<Embeddings> attempt = Mono.defer(() -> {
+                ApiKeyPool.KeyLease lease = keyPool != null ? keyPool.acquire() : null;
+                WebClient.RequestBodySpec spec = webClient.post().uri(embeddingsPath);
+                if (lease != null) {
+                    spec.header(AUTH_HEADER, BEARER_PREFIX + lease.key())
+                        .attribute(ApiKeyPool.LEASE_ATTRIBUTE, lease);
+                }
+                return DataBufferUtils.join(spec.bodyValue(body).retrieve().bodyToFlux(DataBuffer.class),
+                        MAX_RESPONSE_BYTES)
+                    .map(buffer -> {
+                        try (InputStream in = buffer.asInputStream(true)) {
+                            return parse(in, texts.size());
+                        } catch (IOException e) {
+                            throw AiModelException.apiError("向量响应解析失败: " + e.getMessage(),
+                                provider, modelName, e);
+                        }
+                    })
+                    .doFinally(signal -> {
+                        if (lease != null) {
+                            lease.release();
+                        }
+                    });
+            })
+            .timeout(timeout)
+            .doOnSuccess(result -> recordAttempt(null))
+            .doOnError(this::recordAttempt);
+
+        return attempt
+            .retryWhen(UpstreamRetry.create(maxRetries, () -> true, delay -> {
+                if (callCounters != null) {
+                    callCounters.recordRetry();
+                }
+            }, keyPool))
+            .onErrorMap(TimeoutException.class, e -> AiModelException.timeout(provider, modelName))
+            .doOnSubscribe(s -> {
+                if (callCounters != null) {
+                    callCounters.recordCall();
+                }
+            });
+    }
+
+    /**
+     * 流式解析向量响应
+     *
+     * @param expected 输入条数
+     */
+    static Embeddings parse(InputStream in, int expected) throws IOException {
+        float[][] vectors = new float[expected][];
+        Integer promptTokens = null;
+        try (JsonParser parser = JSON_FACTORY.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("响应不是 JSON 对象");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "data" -> readData(parser, vectors);
+                    case "usage" -> promptTokens = readPromptTokens(parser);
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        for (int i = 0; i < vectors.length; i++) {
+            if (vectors[i] == null) {
+                throw new IOException("响应缺少第 " + i + " 条文本的向量");
+            }
+        }
+        return new Embeddings(Arrays.asList(vectors), promptTokens);
+    }
+
+    private static void readData(JsonParser parser, float[][] vectors) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        int position = 0;
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            int index = -1;
+            float[] vector = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("index".equals(field) && value == JsonToken.VALUE_NUMBER_INT) {
+                    index = parser.getIntValue();
+                } else if ("embedding".equals(field) && value == JsonToken.START_ARRAY) {
+                    vector = readFloats(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            int slot = index >= 0 ? index : position;
+            position++;
+            if (vector != null && slot < vectors.length) {
+                vectors[slot] = vector;
+            }
+        }
+    }
+
+    private static float[] readFloats(JsonParser parser) throws IOException {
+        float[] buffer = new float[1024];
+        int size = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (size == buffer.length) {
+                buffer = Arrays.copyOf(buffer, size * 2);
+            }
+            buffer[size++] = parser.getFloatValue();
+        }
+        return size == buffer.length ? buffer : Arrays.copyOf(buffer, size);
+    }
+
+    private static Integer readPromptTokens(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        Integer promptTokens = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("prompt_tokens".equals(field) || ("total_tokens".equals(field) && promptTokens == null)) {
+                promptTokens = parser.getValueAsInt();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return promptTokens;
+    }
+
+    /**
+     * 记录单次请求结果（error 为 null 表示成功）
+     */
+    private void recordAttempt(Throwable error) {
+        if (callCounters == null) {
+            return;
+        }
+        if (error == null) {
+            callCounters.recordAttempt(UpstreamCallRecorder.AttemptOutcome.SUCCESS);
+        } else if (error instanceof TimeoutException) {
+            callCounters.recordAttempt(UpstreamCallRecorder.AttemptOutcome.TIMEOUT);
+        } else if (UpstreamRetry.isRetryable(error)) {
+            callCounters.recordAttempt(UpstreamCallRecorder.AttemptOutcome.RETRYABLE_FAILURE);
+        } else {
+            callCounters.recordAttempt(UpstreamCallRecorder.AttemptOutcome.FAILURE);
+        }
+    }
+
+    /**
+     * 一次请求的结果
+     *
+     * @param vectors      与输入顺序一致的向量
+     * @param promptTokens 上游返回的 token 数（未返回时为空）
+     */
+    public record Embeddings(List<float[]> vectors, Integer promptTokens) {}
+}
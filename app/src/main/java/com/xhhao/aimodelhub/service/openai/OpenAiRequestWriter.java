@@ -0,0 +1,153 @@
+package com.xhhao.aimodelhub.service.openai;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.function.BodyInserter;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 请求体快速序列化
+ * <p>
+ * 模型级默认参数在构造时序列化为一段 JSON 片段，每次请求只需写入 messages、model、stream
+ * 与 stream_options，再拼接该片段，直接写入连接的池化 {@link DataBuffer}。
+ * 输出与 WebClient 默认 Jackson 编码器序列化 {@link OpenAiChatRequest} 的结果逐字节一致：
+ * 字段顺序按声明顺序，且上述四个字段均声明在所有默认参数之前。
+ * </p>
+ * <p>
+ * 仅适用于除上述四个字段外没有其他字段的请求，其余请求由调用方走常规路径。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+final class OpenAiRequestWriter {
+
+    /**
+     * 与 WebClient 默认 Jackson 编码器一致的 ObjectMapper
+     */
+    private static final ObjectMapper MAPPER = Jackson2ObjectMapperBuilder.json().build();
+
+    private static final int BUFFER_HEADROOM = 512;
+
+    /**
+     * 默认参数片段（形如 {@code ,"temperature":0.7,"top_p":0.9}，无默认参数时为空）
+     */
+    private final String defaultsFragment;
+
+    /**
+     * @param defaults 仅包含模型级默认参数的请求
+     */
+    OpenAiRequestWriter(OpenAiChatRequest defaults) {
+        this.defaultsFragment = toFragment(defaults);
+    }
+
+    /**
+     * 请求是否可走快速路径（只包含 messages/model/stream/stream_options）
+     */
+    boolean canWrite(OpenAiChatRequest request) {
+        return defaultsFragment != null
+            && request.getMessages() != null
+            && request.getModel() != null
+            && request.getTemperature() == null
+            && request.getTopP() == null
+            && request.getN() == null
+            && request.getStop() == null
+            && request.getMaxTokens() == null
+            && request.getMaxCompletionTokens() == null
+            && request.getPresencePenalty() == null
+            && request.getFrequencyPenalty() == null
+            && request.getLogitBias() == null
+            && request.getLogprobs() == null
+            && request.getTopLogprobs() == null
+            && request.getUser() == null
+            && request.getSeed() == null
+            && request.getTools() == null
+            && request.getToolChoice() == null
+            && request.getParallelToolCalls() == null
+            && request.getResponseFormat() == null
+            && request.getReasoningEffort() == null
+            && request.getServiceTier() == null
+            && request.getStore() == null
+            && request.getMetadata() == null
+            && request.getEnableThinking() == null
+            && request.getThinkingBudget() == null
+            && request.getMinP() == null
+            && request.getTopK() == null
+            && request.getRepetitionPenalty() == null
+            && request.getRequestId() == null
+            && request.getWebSearch() == null;
+    }
+
+    /**
+     * 创建请求体写入器（每次请求尝试都会重新写入，可安全重试）
+     */
+    BodyInserter<Object, ClientHttpRequest> inserter(OpenAiChatRequest request) {
+        return (message, context) -> {
+            DataBuffer buffer;
+            try {
+                buffer = encode(request, message.bufferFactory());
+            } catch (IOException | RuntimeException e) {
+                return Mono.error(e);
+            }
+            message.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            message.getHeaders().setContentLength(buffer.readableByteCount());
+            return message.writeWith(Mono.just(buffer));
+        };
+    }
+
+    /**
+     * 把请求写入新分配的 buffer（失败时释放 buffer）
+     */
+    DataBuffer encode(OpenAiChatRequest request, DataBufferFactory bufferFactory) throws IOException {
+        DataBuffer buffer = bufferFactory.allocateBuffer(defaultsFragment.length() + BUFFER_HEADROOM);
+        try {
+            write(request, buffer.asOutputStream());
+            return buffer;
+        } catch (IOException | RuntimeException e) {
+            DataBufferUtils.release(buffer);
+            throw e;
+        }
+    }
+
+    private void write(OpenAiChatRequest request, OutputStream out) throws IOException {
+        try (JsonGenerator generator = MAPPER.getFactory().createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeFieldName("messages");
+            MAPPER.writeValue(generator, request.getMessages());
+            generator.writeStringField("model", request.getModel());
+            if (request.getStream() != null) {
+                generator.writeBooleanField("stream", request.getStream());
+            }
+            if (request.getStreamOptions() != null) {
+                generator.writeFieldName("stream_options");
+                MAPPER.writeValue(generator, request.getStreamOptions());
+            }
+            generator.writeRaw(defaultsFragment);
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * 序列化默认参数并去掉外层花括号；序列化失败时返回 null（禁用快速路径）
+     */
+    private static String toFragment(OpenAiChatRequest defaults) {
+        try {
+            String json = MAPPER.writeValueAsString(defaults);
+            if (json.length() <= 2) {
+                return "";
+            }
+            return "," + json.substring(1, json.length() - 1);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.xhhao.aimodelhub.service.openai;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 流式响应分片
+ * <p>
+ * 只保留流式场景关心的字段（choices[0] 的增量内容、思考内容、结束原因、工具调用增量与用量），
+ * 由 {@link OpenAiChunkParser} 直接从字节解析，不构建完整的 {@link OpenAiChatResponse} 对象图。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+public class OpenAiStreamChunk {
+    private String content;
+    private String reasoningContent;
+    private String finishReason;
+    private List<ToolCallDelta> toolCalls;
+    private OpenAiChatResponse.Usage usage;
+
+    /**
+     * 工具调用增量（arguments 为本次新增的片段）
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ToolCallDelta {
+        private Integer index;
+        private String id;
+        private String type;
+        private String name;
+        private String arguments;
+    }
+}
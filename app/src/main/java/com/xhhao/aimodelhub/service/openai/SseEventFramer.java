@@ -0,0 +1,232 @@
+package com.xhhao.aimodelhub.service.openai;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * SSE 字节级分帧器
+ * <p>
+ * 直接在上游返回的 {@link DataBuffer} 上按行切分 SSE 事件，只处理 {@code data:} 字段，
+ * 注释行（心跳）与 {@code [DONE]} 在字节层面识别，不产生任何对象。
+ * 完整的 data 负载以字节切片形式交给 {@link DataHandler} 解析，不经过 String 中转。
+ * </p>
+ * <p>
+ * 实例持有跨 buffer 的半行状态，每个流（每次请求尝试）使用独立实例，非线程安全。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+public final class SseEventFramer<T> {
+
+    /**
+     * 单个事件的最大字节数，超出视为异常响应
+     */
+    private static final int MAX_EVENT_BYTES = 1024 * 1024;
+
+    private static final int INITIAL_CAPACITY = 4096;
+
+    private static final IntPredicate LINE_BREAK = b -> b == '\n' || b == '\r';
+
+    private static final byte[] DATA_FIELD = {'d', 'a', 't', 'a', ':'};
+    private static final byte[] DONE_SIGNAL = {'[', 'D', 'O', 'N', 'E', ']'};
+
+    private final DataHandler<T> handler;
+
+    /**
+     * 当前行（可能跨多个 buffer）
+     */
+    private byte[] line = new byte[INITIAL_CAPACITY];
+    private int lineLength;
+
+    /**
+     * 当前事件已累积的 data（多行 data 以换行拼接）
+     */
+    private byte[] data = new byte[INITIAL_CAPACITY];
+    private int dataLength;
+    private boolean hasData;
+
+    /**
+     * 上一个 buffer 是否以 \r 结尾（用于合并跨 buffer 的 \r\n）
+     */
+    private boolean pendingCr;
+
+    private boolean done;
+
+    public SseEventFramer(DataHandler<T> handler) {
+        this.handler = handler;
+    }
+
+    /**
+     * 处理一段上游字节，返回其中完整事件的解析结果；处理完毕后释放 buffer
+     */
+    public List<T> feed(DataBuffer buffer) {
+        try {
+            List<T> events = null;
+            int position = buffer.readPosition();
+            int limit = buffer.writePosition();
+            while (position < limit && !done) {
+                if (pendingCr) {
+                    pendingCr = false;
+                    if (buffer.getByte(position) == '\n') {
+                        position++;
+                        continue;
+                    }
+                }
+                int end = buffer.indexOf(LINE_BREAK, position);
+                if (end < 0) {
+                    appendLine(buffer, position, limit - position);
+                    break;
+                }
+                appendLine(buffer, position, end - position);
+                if (buffer.getByte(end) == '\r') {
+                    if (end + 1 < limit) {
+                        if (buffer.getByte(end + 1) == '\n') {
+                            end++;
+                        }
+                    } else {
+                        pendingCr = true;
+                    }
+                }
+                position = end + 1;
+                T event = endOfLine();
+                if (event != null) {
+                    if (events == null) {
+                        events = new ArrayList<>(2);
+                    }
+                    events.add(event);
+                }
+            }
+            return events != null ? events : List.of();
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    /**
+     * 上游结束时处理未以空行结尾的最后一个事件
+     */
+    public List<T> finish() {
+        if (done) {
+            return List.of();
+        }
+        if (lineLength > 0) {
+            endOfLine();
+        }
+        T event = dispatch();
+        return event != null ? List.of(event) : List.of();
+    }
+
+    private void appendLine(DataBuffer buffer, int offset, int length) {
+        if (length <= 0) {
+            return;
+        }
+        ensureLimit(lineLength + length);
+        if (lineLength + length > line.length) {
+            line = Arrays.copyOf(line, Math.max(line.length * 2, lineLength + length));
+        }
+        buffer.readPosition(offset);
+        buffer.read(line, lineLength, length);
+        lineLength += length;
+    }
+
+    /**
+     * 处理一行：空行分发事件，注释行忽略，data 行累积，其余字段（event/id/retry）忽略
+     */
+    private T endOfLine() {
+        if (lineLength == 0) {
+            return dispatch();
+        }
+        if (startsWith(line, lineLength, DATA_FIELD)) {
+            int valueStart = DATA_FIELD.length;
+            if (valueStart < lineLength && line[valueStart] == ' ') {
+                valueStart++;
+            }
+            appendData(valueStart, lineLength - valueStart);
+        }
+        lineLength = 0;
+        return null;
+    }
+
+    private void appendData(int offset, int length) {
+        int separator = hasData ? 1 : 0;
+        int required = dataLength + separator + length;
+        ensureLimit(required);
+        if (required > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, required));
+        }
+        if (hasData) {
+            data[dataLength++] = '\n';
+        }
+        System.arraycopy(line, offset, data, dataLength, length);
+        dataLength += length;
+        hasData = true;
+    }
+
+    private T dispatch() {
+        if (!hasData) {
+            return null;
+        }
+        int length = dataLength;
+        hasData = false;
+        dataLength = 0;
+        if (length == 0) {
+            return null;
+        }
+        if (length == DONE_SIGNAL.length && startsWith(data, length, DONE_SIGNAL)) {
+            done = true;
+            return null;
+        }
+        try {
+            return handler.handle(data, 0, length);
+        } catch (IOException e) {
+            return handler.onError(data, 0, length, e);
+        }
+    }
+
+    private static void ensureLimit(int size) {
+        if (size > MAX_EVENT_BYTES) {
+            throw new DataBufferLimitException("SSE 事件超过最大长度 " + MAX_EVENT_BYTES + " 字节");
+        }
+    }
+
+    private static boolean startsWith(byte[] bytes, int length, byte[] prefix) {
+        if (length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (bytes[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 事件负载处理器
+     * <p>
+     * 传入的数组在返回后会被复用，实现方不得持有引用。
+     * </p>
+     */
+    public interface DataHandler<T> {
+
+        /**
+         * 解析一个事件的 data 负载，返回 null 表示忽略该事件
+         */
+        T handle(byte[] data, int offset, int length) throws IOException;
+
+        /**
+         * 解析失败时回调，默认忽略该事件
+         */
+        default T onError(byte[] data, int offset, int length, IOException error) {
+            return null;
+        }
+    }
+}
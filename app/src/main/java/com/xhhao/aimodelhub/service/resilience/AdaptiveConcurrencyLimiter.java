@@ -0,0 +1,280 @@
+package com.xhhao.aimodelhub.service.resilience;
+
+import com.xhhao.aimodelhub.api.exception.AiModelException;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 自适应并发限制器
+ * <p>
+ * 按（供应商, 模型）限制同时进行的上游请求数，限制值按 AIMD 调整：
+ * 请求成功且并发已用到一半以上时线性增加（每个限制周期 +1）；
+ * 上游返回 429/503 或超时时减半，近期耗时明显高于长期耗时（上游开始排队）时降低 10%。
+ * 同一秒内最多降低一次，避免一批并发请求同时失败时把限制值打到最低。
+ * </p>
+ * <p>
+ * 超出限制的请求进入有界队列等待，队列已满或等待超时时返回 {@link AiModelException}（速率限制）。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private final ConcurrentHashMap<String, Limiter> limiters = new ConcurrentHashMap<>();
+
+    private volatile LimiterSettings settings = new LimiterSettings();
+
+    /**
+     * 更新配置（已有限制器的限制值在下一次调整时收敛到新的上下限内）
+     */
+    public void updateConfig(LimiterSettings newSettings) {
+        if (newSettings == null || newSettings.equals(settings)) {
+            return;
+        }
+        this.settings = newSettings;
+        log.info("并发限制配置已更新: {}", newSettings);
+    }
+
+    /**
+     * 获取（供应商, 模型）对应的限制器
+     * <p>
+     * 模型实例创建时解析一次，调用路径上直接使用。
+     * </p>
+     */
+    public Limiter limiter(String provider, String model) {
+        return limiters.computeIfAbsent(provider + "/" + model, k -> new Limiter(this, provider, model));
+    }
+
+    /**
+     * 获取所有限制器状态
+     */
+    public List<LimiterStats> getStats() {
+        List<LimiterStats> stats = new ArrayList<>(limiters.size());
+        limiters.values().forEach(limiter -> stats.add(limiter.snapshot()));
+        return stats;
+    }
+
+    /**
+     * 判断错误是否表示上游过载
+     */
+    static boolean isOverload(Throwable error) {
+        if (error instanceof WebClientResponseException responseException) {
+            int status = responseException.getStatusCode().value();
+            return status == 429 || status == 503;
+        }
+        return error instanceof TimeoutException;
+    }
+
+    /**
+     * 单个（供应商, 模型）的并发限制器
+     */
+    public static final class Limiter {
+        /**
+         * 近期耗时超过长期耗时的该倍数时视为上游排队
+         */
+        private static final double LATENCY_TOLERANCE = 2.0;
+        private static final double OVERLOAD_BACKOFF = 0.5;
+        private static final double LATENCY_BACKOFF = 0.9;
+        private static final double SHORT_RTT_WEIGHT = 0.2;
+        private static final double LONG_RTT_WEIGHT = 0.02;
+        private static final long DECREASE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+        private final AdaptiveConcurrencyLimiter registry;
+        private final String provider;
+        private final String model;
+        private final QueuedSemaphore semaphore;
+
+        /**
+         * 当前限制值（在 this 锁内修改）
+         */
+        private volatile double limit;
+
+        /*
+         * 以下状态均在 this 锁内读写
+         */
+        private double shortRttNanos;
+        private double longRttNanos;
+        private long lastDecreaseNanos;
+
+        Limiter(AdaptiveConcurrencyLimiter registry, String provider, String model) {
+            this.registry = registry;
+            this.provider = provider;
+            this.model = model;
+            this.limit = registry.settings.getInitialLimit();
+            this.semaphore = new QueuedSemaphore(this::currentLimit,
+                () -> AiModelException.rateLimited(
+                    "模型 " + provider + "/" + model + " 并发已满且排队请求过多，请稍后重试", provider, model),
+                () -> AiModelException.rateLimited("模型 " + provider + "/" + model + " 排队等待超时", provider, model));
+        }
+
+        /**
+         * 申请一个并发名额，名额不足时排队等待
+         *
+         * @return 许可，调用方在请求结束时必须 {@link Permit#release()}
+         */
+        public Mono<Permit> acquire() {
+            LimiterSettings current = registry.settings;
+            if (!current.isEnabled()) {
+                return Mono.just(Permit.NOOP);
+            }
+            return semaphore.acquire(current.getMaxQueue(), current.getMaxWait())
+                .map(lease -> new Permit(this, lease));
+        }
+
+        private void record(long elapsedNanos, Throwable error) {
+            boolean increased;
+            synchronized (this) {
+                increased = adjust(elapsedNanos, error);
+            }
+            if (increased) {
+                semaphore.drain();
+            }
+        }
+
+        /**
+         * 按请求结果调整限制值
+         *
+         * @return 限制值的整数部分是否提高
+         */
+        private boolean adjust(long elapsedNanos, Throwable error) {
+            LimiterSettings current = registry.settings;
+            long now = System.nanoTime();
+            if (error != null) {
+                if (isOverload(error)) {
+                    decrease(now, OVERLOAD_BACKOFF, current);
+                }
+                return false;
+            }
+            shortRttNanos = shortRttNanos == 0 ? elapsedNanos
+                : shortRttNanos + SHORT_RTT_WEIGHT * (elapsedNanos - shortRttNanos);
+            longRttNanos = longRttNanos == 0 ? elapsedNanos
+                : longRttNanos + LONG_RTT_WEIGHT * (elapsedNanos - longRttNanos);
+            if (shortRttNanos > longRttNanos * LATENCY_TOLERANCE) {
+                decrease(now, LATENCY_BACKOFF, current);
+                return false;
+            }
+            double previous = limit;
+            if (semaphore.inFlight() * 2 >= previous) {
+                limit = Math.min(current.getMaxLimit(), previous + 1.0 / previous);
+            }
+            return (int) limit > (int) previous;
+        }
+
+        private void decrease(long now, double ratio, LimiterSettings current) {
+            if (lastDecreaseNanos != 0 && now - lastDecreaseNanos < DECREASE_INTERVAL_NANOS) {
+                return;
+            }
+            lastDecreaseNanos = now;
+            double previous = limit;
+            limit = Math.max(current.getMinLimit(), previous * ratio);
+            if ((int) previous != (int) limit) {
+                log.info("并发限制下调: provider={}, model={}, {} -> {}", provider, model, (int) previous, (int) limit);
+            }
+        }
+
+        /**
+         * 当前限制值（按最新配置的上下限收敛）
+         */
+        private int currentLimit() {
+            LimiterSettings current = registry.settings;
+            return (int) Math.max(current.getMinLimit(), Math.min(current.getMaxLimit(), limit));
+        }
+
+        LimiterStats snapshot() {
+            Long rttMillis;
+            synchronized (this) {
+                rttMillis = shortRttNanos > 0 ? (long) (shortRttNanos / 1_000_000) : null;
+            }
+            return new LimiterStats(provider, model, currentLimit(), semaphore.inFlight(), semaphore.queued(),
+                semaphore.rejected(), semaphore.timedOut(), rttMillis);
+        }
+    }
+
+    /**
+     * 并发许可（只释放一次，后续调用无副作用）
+     */
+    public static final class Permit {
+        static final Permit NOOP = new Permit(null, null);
+
+        private final Limiter limiter;
+        private final QueuedSemaphore.Lease lease;
+        private final AtomicBoolean recorded = new AtomicBoolean();
+
+        Permit(Limiter limiter, QueuedSemaphore.Lease lease) {
+            this.limiter = limiter;
+            this.lease = lease;
+        }
+
+        /**
+         * 记录请求结果，用于调整限制值
+         *
+         * @param elapsedNanos 请求耗时（流式调用为首个事件到达的耗时）
+         * @param error        异常，成功时为 null
+         */
+        public void record(long elapsedNanos, Throwable error) {
+            if (limiter != null && recorded.compareAndSet(false, true)) {
+                limiter.record(elapsedNanos, error);
+            }
+        }
+
+        /**
+         * 释放并发名额
+         */
+        public void release() {
+            if (lease != null) {
+                lease.release();
+            }
+        }
+    }
+
+    /**
+     * 并发限制配置
+     */
+    @Data
+    public static class LimiterSettings {
+        private boolean enabled = true;
+
+        /**
+         * 初始并发限制
+         */
+        private int initialLimit = 20;
+
+        private int minLimit = 1;
+
+        private int maxLimit = 200;
+
+        /**
+         * 最大排队请求数
+         */
+        private int maxQueue = 100;
+
+        /**
+         * 最长排队时间
+         */
+        private Duration maxWait = Duration.ofSeconds(30);
+    }
+
+    /**
+     * 并发限制器状态
+     *
+     * @param limit     当前并发限制
+     * @param queued    排队中的请求数
+     * @param rttMillis 近期请求耗时（指数加权平均，流式调用为首个事件耗时）
+     */
+    public record LimiterStats(String provider, String model, int limit, int inFlight, int queued,
+                               long rejected, long timedOut, Long rttMillis) {}
+}
@@ -0,0 +1,335 @@
+package com.xhhao.aimodelhub.service.resilience;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 多 API Key 调度
+ * <p>
+ * 每个供应商配置多个密钥时，按（进行中请求数最少, 剩余额度最多）选择密钥；
+ * 剩余额度从上游 x-ratelimit-remaining-* 响应头学习。
+ * 返回 401 的密钥停用较长时间，返回 429 的密钥按上游提示（或默认冷却时间）停用，
+ * 重试时立即换用其他可用密钥（见 {@link UpstreamRetry}）。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class ApiKeyPool {
+
+    /**
+     * 请求属性名：本次请求使用的密钥租约
+     */
+    public static final String LEASE_ATTRIBUTE = ApiKeyPool.class.getName() + ".lease";
+
+    private static final Duration UNAUTHORIZED_COOLDOWN = Duration.ofMinutes(10);
+    private static final Duration RATE_LIMITED_COOLDOWN = Duration.ofSeconds(30);
+
+    private static final String REMAINING_REQUESTS = "x-ratelimit-remaining-requests";
+    private static final String REMAINING_TOKENS = "x-ratelimit-remaining-tokens";
+    private static final String RESET_REQUESTS = "x-ratelimit-reset-requests";
+    private static final String RESET_TOKENS = "x-ratelimit-reset-tokens";
+
+    /**
+     * 供应商 -> 密钥池
+     */
+    private final ConcurrentHashMap<String, KeyPool> pools = new ConcurrentHashMap<>();
+
+    /**
+     * 获取供应商的密钥池
+     * <p>
+     * 密钥列表变化时替换密钥池，仍保留的密钥沿用原有的计数与额度状态。
+     * </p>
+     */
+    public KeyPool pool(String provider, List<String> keys) {
+        return pools.compute(provider, (p, existing) -> {
+            if (existing != null && existing.hasKeys(keys)) {
+                return existing;
+            }
+            return new KeyPool(provider, keys, existing);
+        });
+    }
+
+    /**
+     * 获取所有密钥的使用情况（密钥已脱敏）
+     */
+    public List<KeyStats> getStats() {
+        List<KeyStats> stats = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        pools.values().forEach(pool -> {
+            for (KeyState key : pool.keys) {
+                stats.add(key.snapshot(pool.provider, now));
+            }
+        });
+        return stats;
+    }
+
+    /**
+     * 脱敏显示密钥
+     */
+    static String mask(String key) {
+        if (key == null || key.length() <= 8) {
+            return "****";
+        }
+        return key.substring(0, 4) + "****" + key.substring(key.length() - 4);
+    }
+
+    /**
+     * 单个供应商的密钥池
+     */
+    public static final class KeyPool {
+        private final String provider;
+        private final KeyState[] keys;
+
+        KeyPool(String provider, List<String> keys, KeyPool previous) {
+            this.provider = provider;
+            Map<String, KeyState> reusable = new HashMap<>();
+            if (previous != null) {
+                for (KeyState state : previous.keys) {
+                    reusable.put(state.key, state);
+                }
+            }
+            this.keys = keys.stream()
+                .map(key -> reusable.getOrDefault(key, new KeyState(key)))
+                .toArray(KeyState[]::new);
+        }
+
+        boolean hasKeys(List<String> candidate) {
+            if (candidate.size() != keys.length) {
+                return false;
+            }
+            for (int i = 0; i < keys.length; i++) {
+                if (!keys[i].key.equals(candidate.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * 选择密钥并占用一个进行中名额，调用方必须在请求结束时 {@link KeyLease#release()}
+         * <p>
+         * 全部密钥都在停用期时，选择最早恢复的密钥。
+         * </p>
+         */
+        public KeyLease acquire() {
+            long now = System.currentTimeMillis();
+            KeyState best = null;
+            KeyState earliest = null;
+            for (KeyState candidate : keys) {
+                if (candidate.isQuarantined(now)) {
+                    if (earliest == null || candidate.quarantinedUntil < earliest.quarantinedUntil) {
+                        earliest = candidate;
+                    }
+                    continue;
+                }
+                if (best == null || candidate.isPreferredOver(best, now)) {
+                    best = candidate;
+                }
+            }
+            KeyState chosen = best != null ? best : earliest;
+            chosen.inFlight.incrementAndGet();
+            chosen.requests.increment();
+            return new KeyLease(chosen);
+        }
+
+        /**
+         * 距离有密钥可用的时间（有未停用的密钥时为 0）
+         */
+        public Duration availableIn() {
+            long now = System.currentTimeMillis();
+            long earliest = Long.MAX_VALUE;
+            for (KeyState candidate : keys) {
+                if (!candidate.isQuarantined(now)) {
+                    return Duration.ZERO;
+                }
+                earliest = Math.min(earliest, candidate.quarantinedUntil);
+            }
+            return Duration.ofMillis(Math.max(0, earliest - now));
+        }
+
+        /**
+         * 读取响应状态与限额头的过滤器（需配合 {@link #LEASE_ATTRIBUTE} 请求属性）
+         */
+        public ExchangeFilterFunction filter() {
+            return (request, next) -> {
+                KeyLease lease = leaseOf(request);
+                if (lease == null) {
+                    return next.exchange(request);
+                }
+                return next.exchange(request)
+                    .doOnNext(response -> lease.state.observe(response.statusCode().value(),
+                        response.headers().asHttpHeaders()));
+            };
+        }
+
+        private static KeyLease leaseOf(ClientRequest request) {
+            return request.attribute(LEASE_ATTRIBUTE)
+                .filter(KeyLease.class::isInstance)
+                .map(KeyLease.class::cast)
+                .orElse(null);
+        }
+    }
+
+    /**
+     * 密钥租约
+     */
+    public static final class KeyLease {
+        private final KeyState state;
+        private final AtomicInteger released = new AtomicInteger();
+
+        KeyLease(KeyState state) {
+            this.state = state;
+        }
+
+        public String key() {
+            return state.key;
+        }
+
+        /**
+         * 释放进行中名额（重复调用无副作用）
+         */
+        public void release() {
+            if (released.compareAndSet(0, 1)) {
+                state.inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * 单个密钥的运行状态
+     */
+    static final class KeyState {
+        private final String key;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder unauthorized = new LongAdder();
+        private final LongAdder rateLimited = new LongAdder();
+
+        /**
+         * 剩余额度（-1 表示未知）及其恢复时间
+         */
+        private volatile long remainingRequests = -1;
+        private volatile long remainingTokens = -1;
+        private volatile long quotaResetAt;
+
+        private volatile long quarantinedUntil;
+
+        KeyState(String key) {
+            this.key = key;
+        }
+
+        boolean isQuarantined(long now) {
+            return quarantinedUntil > now;
+        }
+
+        /**
+         * 进行中请求更少者优先；相同时额度更多者优先（额度未知视为充足）
+         */
+        boolean isPreferredOver(KeyState other, long now) {
+            int inFlightDiff = inFlight.get() - other.inFlight.get();
+            if (inFlightDiff != 0) {
+                return inFlightDiff < 0;
+            }
+            return effectiveRemaining(now) > other.effectiveRemaining(now);
+        }
+
+        private long effectiveRemaining(long now) {
+            if (quotaResetAt != 0 && quotaResetAt <= now) {
+                return Long.MAX_VALUE;
+            }
+            long requestsLeft = remainingRequests < 0 ? Long.MAX_VALUE : remainingRequests;
+            long tokensLeft = remainingTokens < 0 ? Long.MAX_VALUE : remainingTokens;
+            return Math.min(requestsLeft, tokensLeft);
+        }
+
+        void observe(int status, HttpHeaders headers) {
+            long now = System.currentTimeMillis();
+            Long requestsLeft = parseLong(headers.getFirst(REMAINING_REQUESTS));
+            Long tokensLeft = parseLong(headers.getFirst(REMAINING_TOKENS));
+            if (requestsLeft != null) {
+                remainingRequests = requestsLeft;
+            }
+            if (tokensLeft != null) {
+                remainingTokens = tokensLeft;
+            }
+            Duration reset = longer(UpstreamRetry.parseReset(headers.getFirst(RESET_REQUESTS)),
+                UpstreamRetry.parseReset(headers.getFirst(RESET_TOKENS)));
+            if (reset != null) {
+                quotaResetAt = now + reset.toMillis();
+            }
+
+            if (status == 401) {
+                unauthorized.increment();
+                quarantine(now, UNAUTHORIZED_COOLDOWN);
+            } else if (status == 429) {
+                rateLimited.increment();
+                Duration hint = UpstreamRetry.parseRetryAfter(headers);
+                if (hint == null) {
+                    hint = reset;
+                }
+                quarantine(now, hint != null ? hint : RATE_LIMITED_COOLDOWN);
+            } else if (status < 300 && Long.valueOf(0).equals(requestsLeft) && reset != null) {
+                // 额度已用尽，在恢复前不再选择该密钥
+                quarantine(now, reset);
+            }
+        }
+
+        private void quarantine(long now, Duration cooldown) {
+            quarantinedUntil = now + cooldown.toMillis();
+            log.warn("API Key {} 已停用 {} 秒", mask(key), cooldown.toSeconds());
+        }
+
+        KeyStats snapshot(String provider, long now) {
+            long quarantineLeft = Math.max(0, quarantinedUntil - now);
+            return new KeyStats(provider, mask(key), inFlight.get(), requests.sum(), unauthorized.sum(),
+                rateLimited.sum(), remainingRequests < 0 ? null : remainingRequests,
+                remainingTokens < 0 ? null : remainingTokens, quarantineLeft);
+        }
+
+        private static Long parseLong(String value) {
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            try {
+                return Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        private static Duration longer(Duration a, Duration b) {
+            if (a == null) {
+                return b;
+            }
+            if (b == null) {
+                return a;
+            }
+            return a.compareTo(b) >= 0 ? a : b;
+        }
+    }
+
+    /**
+     * 密钥使用情况
+     *
+     * @param key               脱敏后的密钥
+     * @param quarantineMillis  剩余停用时间（毫秒），0 表示可用
+     */
+    public record KeyStats(String provider, String key, int inFlight, long requests, long unauthorized,
+                           long rateLimited, Long remainingRequests, Long remainingTokens,
+                           long quarantineMillis) {}
+}
@@ -0,0 +1,339 @@
+package com.xhhao.aimodelhub.service.resilience;
+
+import com.xhhao.aimodelhub.api.exception.AiModelException;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 熔断器注册表
+ * <p>
+ * 按（供应商, 模型）维护熔断器。每个熔断器以最近 N 次请求为滑动窗口统计失败率与慢调用率，
+ * 任一超过阈值即打开并在打开期间快速失败；打开时间结束后进入半开状态，
+ * 只放行少量试探请求，全部成功则关闭，任一失败或过慢则重新打开。
+ * </p>
+ * <p>
+ * 只有 429、5xx、连接异常与超时计为失败；其余错误（如 400）说明上游可达，按成功计入。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class CircuitBreakerRegistry {
+
+    private final ConcurrentHashMap<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    private volatile CircuitBreakerSettings settings = new CircuitBreakerSettings();
+
+    /**
+     * 更新配置（已有熔断器在下一次记录结果时按新的窗口大小重置窗口）
+     */
+    public void updateConfig(CircuitBreakerSettings newSettings) {
+        if (newSettings == null || newSettings.equals(settings)) {
+            return;
+        }
+        this.settings = newSettings;
+        log.info("熔断器配置已更新: {}", newSettings);
+    }
+
+    /**
+     * 获取（供应商, 模型）对应的熔断器
+     * <p>
+     * 模型实例创建时解析一次，调用路径上直接使用。
+     * </p>
+     */
+    public CircuitBreaker breaker(String provider, String model) {
+        return breakers.computeIfAbsent(provider + "/" + model, k -> new CircuitBreaker(this, provider, model));
+    }
+
+    /**
+     * 获取所有熔断器状态
+     */
+    public List<BreakerStats> getStats() {
+        List<BreakerStats> stats = new ArrayList<>(breakers.size());
+        breakers.values().forEach(breaker -> stats.add(breaker.snapshot()));
+        return stats;
+    }
+
+    /**
+     * 判断异常是否计为失败
+     */
+    static boolean isFailure(Throwable error) {
+        return error instanceof TimeoutException || UpstreamRetry.isRetryable(error);
+    }
+
+    /**
+     * 熔断器状态
+     */
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    /**
+     * 单个（供应商, 模型）的熔断器
+     */
+    public static final class CircuitBreaker {
+        private static final byte OUTCOME_FAILURE = 1;
+        private static final byte OUTCOME_SLOW = 2;
+
+        private final CircuitBreakerRegistry registry;
+        private final String provider;
+        private final String model;
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder opened = new LongAdder();
+
+        /*
+         * 以下状态均在 this 锁内读写
+         */
+        private State state = State.CLOSED;
+        /**
+         * 每次状态切换递增，旧状态下发出的请求结果不再计入
+         */
+        private long epoch;
+        private long openUntil;
+        private byte[] window = new byte[0];
+        private int windowNext;
+        private int windowCount;
+        private int windowFailures;
+        private int windowSlow;
+        private int halfOpenIssued;
+        private int halfOpenSucceeded;
+
+        CircuitBreaker(CircuitBreakerRegistry registry, String provider, String model) {
+            this.registry = registry;
+            this.provider = provider;
+            this.model = model;
+        }
+
+        /**
+         * 申请一次调用许可
+         *
+         * @return 许可，调用方在请求结束时必须记录结果或释放
+         * @throws AiModelException 熔断器打开或半开试探名额已满时抛出
+         */
+        public Permit acquire() {
+            CircuitBreakerSettings current = registry.settings;
+            if (!current.isEnabled()) {
+                return Permit.NOOP;
+            }
+            long now = System.currentTimeMillis();
+            synchronized (this) {
+                if (state == State.OPEN && now >= openUntil) {
+                    transition(State.HALF_OPEN, now, current);
+                }
+                if (state == State.CLOSED) {
+                    return new Permit(this, epoch);
+                }
+                if (state == State.HALF_OPEN && halfOpenIssued < current.getHalfOpenCalls()) {
+                    halfOpenIssued++;
+                    return new Permit(this, epoch);
+                }
+            }
+            rejected.increment();
+            throw rejection(now);
+        }
+
+        /**
+         * 当前状态
+         */
+        public synchronized State state() {
+            return state;
+        }
+
+        private AiModelException rejection(long now) {
+            long waitSeconds;
+            synchronized (this) {
+                waitSeconds = state == State.OPEN ? Math.max(1, (openUntil - now + 999) / 1000) : 1;
+            }
+            return AiModelException.modelUnavailable(
+                "模型 " + provider + "/" + model + " 近期调用失败率过高，已熔断，" + waitSeconds + " 秒后重试",
+                provider, model);
+        }
+
+        private synchronized void record(long permitEpoch, long elapsedNanos, Throwable error) {
+            if (permitEpoch != epoch) {
+                return;
+            }
+            CircuitBreakerSettings current = registry.settings;
+            long now = System.currentTimeMillis();
+            boolean failure = error != null && isFailure(error);
+            boolean slow = current.getSlowCallDuration() != null
+                && elapsedNanos >= current.getSlowCallDuration().toNanos();
+            if (state == State.HALF_OPEN) {
+                if (failure || slow) {
+                    transition(State.OPEN, now, current);
+                } else if (++halfOpenSucceeded >= current.getHalfOpenCalls()) {
+                    transition(State.CLOSED, now, current);
+                }
+                return;
+            }
+            if (state != State.CLOSED) {
+                return;
+            }
+            if (window.length != current.getWindowSize()) {
+                resetWindow(current.getWindowSize());
+            }
+            if (windowCount == window.length) {
+                byte evicted = window[windowNext];
+                windowFailures -= evicted & OUTCOME_FAILURE;
+                windowSlow -= (evicted & OUTCOME_SLOW) >> 1;
+            } else {
+                windowCount++;
+            }
+            byte outcome = (byte) ((failure ? OUTCOME_FAILURE : 0) | (slow ? OUTCOME_SLOW : 0));
+            window[windowNext] = outcome;
+            windowNext = (windowNext + 1) % window.length;
+            windowFailures += outcome & OUTCOME_FAILURE;
+            windowSlow += (outcome & OUTCOME_SLOW) >> 1;
+
+            if (windowCount >= Math.min(current.getMinimumCalls(), window.length)
+                && (windowFailures * 100 >= current.getFailureRateThreshold() * windowCount
+                || windowSlow * 100 >= current.getSlowCallRateThreshold() * windowCount)) {
+                log.warn("熔断器打开: provider={}, model={}, 失败 {}/{}, 慢调用 {}/{}",
+                    provider, model, windowFailures, windowCount, windowSlow, windowCount);
+                transition(State.OPEN, now, current);
+            }
+        }
+
+        private synchronized void release(long permitEpoch) {
+            if (permitEpoch == epoch && state == State.HALF_OPEN && halfOpenIssued > 0) {
+                halfOpenIssued--;
+            }
+        }
+
+        private void transition(State target, long now, CircuitBreakerSettings current) {
+            log.info("熔断器状态变更: provider={}, model={}, {} -> {}", provider, model, state, target);
+            state = target;
+            epoch++;
+            halfOpenIssued = 0;
+            halfOpenSucceeded = 0;
+            if (target == State.OPEN) {
+                opened.increment();
+                openUntil = now + current.getOpenDuration().toMillis();
+            }
+            if (target == State.CLOSED) {
+                resetWindow(current.getWindowSize());
+            }
+        }
+
+        private void resetWindow(int size) {
+            window = new byte[Math.max(1, size)];
+            windowNext = 0;
+            windowCount = 0;
+            windowFailures = 0;
+            windowSlow = 0;
+        }
+
+        synchronized BreakerStats snapshot() {
+            long openRemaining = state == State.OPEN ? Math.max(0, openUntil - System.currentTimeMillis()) : 0;
+            double failureRate = windowCount > 0 ? (double) windowFailures / windowCount : 0;
+            double slowCallRate = windowCount > 0 ? (double) windowSlow / windowCount : 0;
+            return new BreakerStats(provider, model, state, windowCount, failureRate, slowCallRate,
+                rejected.sum(), opened.sum(), openRemaining);
+        }
+    }
+
+    /**
+     * 调用许可（结果只记录一次，后续调用无副作用）
+     */
+    public static final class Permit {
+        static final Permit NOOP = new Permit(null, 0);
+
+        private final CircuitBreaker breaker;
+        private final long epoch;
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        Permit(CircuitBreaker breaker, long epoch) {
+            this.breaker = breaker;
+            this.epoch = epoch;
+        }
+
+        /**
+         * 记录调用结果
+         *
+         * @param elapsedNanos 调用耗时（流式调用为首个事件到达的耗时）
+         * @param error        异常，成功时为 null
+         */
+        public void record(long elapsedNanos, Throwable error) {
+            if (breaker != null && done.compareAndSet(false, true)) {
+                breaker.record(epoch, elapsedNanos, error);
+            }
+        }
+
+        /**
+         * 释放未记录结果的许可（如请求被取消），不计入统计
+         */
+        public void release() {
+            if (breaker != null && done.compareAndSet(false, true)) {
+                breaker.release(epoch);
+            }
+        }
+    }
+
+    /**
+     * 熔断器配置
+     */
+    @Data
+    public static class CircuitBreakerSettings {
+        private boolean enabled = true;
+
+        /**
+         * 滑动窗口大小（最近的请求数）
+         */
+        private int windowSize = 20;
+
+        /**
+         * 窗口内至少累计该数量的请求后才计算失败率
+         */
+        private int minimumCalls = 10;
+
+        /**
+         * 失败率阈值（%）
+         */
+        private int failureRateThreshold = 50;
+
+        /**
+         * 超过该耗时计为慢调用
+         */
+        private Duration slowCallDuration = Duration.ofSeconds(30);
+
+        /**
+         * 慢调用率阈值（%）
+         */
+        private int slowCallRateThreshold = 80;
+
+        /**
+         * 打开状态持续时间
+         */
+        private Duration openDuration = Duration.ofSeconds(30);
+
+        /**
+         * 半开状态放行的试探请求数
+         */
+        private int halfOpenCalls = 3;
+    }
+
+    /**
+     * 熔断器状态统计
+     *
+     * @param bufferedCalls     当前窗口内的请求数
+     * @param rejected          累计快速失败次数
+     * @param opened            累计打开次数
+     * @param openRemainingMillis 距离进入半开状态的剩余时间（毫秒）
+     */
+    public record BreakerStats(String provider, String model, State state, int bufferedCalls,
+                               double failureRate, double slowCallRate, long rejected, long opened,
+                               long openRemainingMillis) {}
+}
@@ -0,0 +1,230 @@
+package com.xhhao.aimodelhub.service.resilience;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 对冲请求策略（非流式调用）
+ * <p>
+ * 请求发出后若在对冲延迟内仍未返回，再发出一个相同的请求，取先返回者并取消另一个。
+ * 对冲延迟可固定配置，未配置时使用该（供应商, 模型）近期成功请求的 p95 耗时。
+ * 额外请求受全局预算约束：每次主请求存入 {@code budgetPercent}% 个令牌，每次对冲消耗 1 个。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class HedgingPolicy {
+
+    /**
+     * 预算以千分之一请求为单位计数
+     */
+    private static final long TOKEN_SCALE = 1000;
+
+    /**
+     * 预算最多累积的对冲次数（允许短时突发）
+     */
+    private static final long MAX_BURST_HEDGES = 10;
+
+    private final ConcurrentHashMap<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+    private final AtomicLong budgetTokens = new AtomicLong();
+
+    private final LongAdder primaryCalls = new LongAdder();
+    private final LongAdder hedgesFired = new LongAdder();
+    private final LongAdder hedgesWon = new LongAdder();
+    private final LongAdder hedgesDenied = new LongAdder();
+
+    private volatile HedgingSettings settings = new HedgingSettings();
+
+    /**
+     * 更新配置
+     */
+    public void updateConfig(HedgingSettings newSettings) {
+        if (newSettings == null || newSettings.equals(settings)) {
+            return;
+        }
+        this.settings = newSettings;
+        log.info("对冲请求配置已更新: {}", newSettings);
+    }
+
+    /**
+     * 执行调用，必要时发出对冲请求
+     *
+     * @param provider 供应商
+     * @param model    模型
+     * @param call     每次调用都会产生一个新的独立请求
+     * @param onHedge  对冲请求实际发出时回调
+     */
+    public <T> Mono<T> execute(String provider, String model, Supplier<Mono<T>> call, Runnable onHedge) {
+        HedgingSettings current = settings;
+        LatencyWindow window = latencies.computeIfAbsent(provider + "/" + model, k -> new LatencyWindow());
+        if (!current.isEnabled()) {
+            return timed(call.get(), window);
+        }
+        Duration delay = current.getDelay() != null ? current.getDelay() : window.p95();
+        if (delay == null) {
+            // 样本不足，暂不对冲
+            return timed(call.get(), window);
+        }
+        return Mono.defer(() -> {
+            primaryCalls.increment();
+            deposit(current.getBudgetPercent());
+
+            // 仍在进行中的请求数；某一路失败时若另一路仍在进行，则忽略该失败
+            AtomicInteger activeLegs = new AtomicInteger(1);
+            Mono<T> primary = timed(call.get(), window)
+                .onErrorResume(e -> activeLegs.decrementAndGet() > 0 ? Mono.empty() : Mono.error(e));
+            Mono<T> hedge = Mono.delay(delay)
+                .flatMap(tick -> {
+                    if (!tryStartHedge(activeLegs)) {
+                        return Mono.<T>empty();
+                    }
+                    hedgesFired.increment();
+                    if (onHedge != null) {
+                        onHedge.run();
+                    }
+                    return timed(call.get(), window)
+                        .doOnNext(value -> hedgesWon.increment())
+                        .onErrorResume(e -> activeLegs.decrementAndGet() > 0 ? Mono.empty() : Mono.error(e));
+                });
+            return Flux.merge(primary, hedge).next();
+        });
+    }
+
+    /**
+     * 获取统计信息
+     */
+    public HedgingStats getStats() {
+        List<LatencyStats> windows = new ArrayList<>(latencies.size());
+        latencies.forEach((key, window) -> {
+            Duration p95 = window.p95();
+            windows.add(new LatencyStats(key, window.size(), p95 != null ? p95.toMillis() : null));
+        });
+        return new HedgingStats(settings.isEnabled(), primaryCalls.sum(), hedgesFired.sum(), hedgesWon.sum(),
+            hedgesDenied.sum(), (double) budgetTokens.get() / TOKEN_SCALE, windows);
+    }
+
+    private boolean tryStartHedge(AtomicInteger activeLegs) {
+        int legs;
+        do {
+            legs = activeLegs.get();
+            if (legs <= 0) {
+                // 主请求已失败并向下游报告，不再对冲
+                return false;
+            }
+        } while (!activeLegs.compareAndSet(legs, legs + 1));
+        if (!withdraw()) {
+            activeLegs.decrementAndGet();
+            hedgesDenied.increment();
+            return false;
+        }
+        return true;
+    }
+
+    private void deposit(int budgetPercent) {
+        long amount = TOKEN_SCALE * Math.max(0, budgetPercent) / 100;
+        long max = TOKEN_SCALE * MAX_BURST_HEDGES;
+        budgetTokens.accumulateAndGet(amount, (current, add) -> Math.min(max, current + add));
+    }
+
+    private boolean withdraw() {
+        long current;
+        do {
+            current = budgetTokens.get();
+            if (current < TOKEN_SCALE) {
+                return false;
+            }
+        } while (!budgetTokens.compareAndSet(current, current - TOKEN_SCALE));
+        return true;
+    }
+
+    private static <T> Mono<T> timed(Mono<T> call, LatencyWindow window) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call.doOnNext(value -> window.record(System.nanoTime() - start));
+        });
+    }
+
+    /**
+     * 近期成功请求耗时的滑动窗口（环形缓冲，p95 每累计若干样本重新计算一次）
+     */
+    static final class LatencyWindow {
+        private static final int CAPACITY = 256;
+        private static final int MIN_SAMPLES = 20;
+        private static final int RECOMPUTE_INTERVAL = 16;
+
+        private final long[] samples = new long[CAPACITY];
+        private int count;
+        private int next;
+        private int sinceRecompute;
+        private volatile Duration p95;
+
+        synchronized void record(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % CAPACITY;
+            if (count < CAPACITY) {
+                count++;
+            }
+            if (++sinceRecompute >= RECOMPUTE_INTERVAL && count >= MIN_SAMPLES) {
+                sinceRecompute = 0;
+                long[] sorted = Arrays.copyOf(samples, count);
+                Arrays.sort(sorted);
+                p95 = Duration.ofNanos(sorted[(int) Math.ceil(count * 0.95) - 1]);
+            }
+        }
+
+        synchronized int size() {
+            return count;
+        }
+
+        Duration p95() {
+            return p95;
+        }
+    }
+
+    /**
+     * 对冲配置
+     */
+    @Data
+    public static class HedgingSettings {
+        private boolean enabled;
+
+        /**
+         * 固定对冲延迟，为空时使用观测到的 p95
+         */
+        private Duration delay;
+
+        /**
+         * 额外请求预算（占主请求数的百分比）
+         */
+        private int budgetPercent = 5;
+    }
+
+    /**
+     * 对冲统计
+     *
+     * @param budgetAvailable 当前可用的对冲次数
+     */
+    public record HedgingStats(boolean enabled, long primaryCalls, long hedgesFired, long hedgesWon,
+                               long hedgesDenied, double budgetAvailable, List<LatencyStats> latencies) {}
+
+    /**
+     * 耗时窗口统计
+     */
+    public record LatencyStats(String key, int samples, Long p95Millis) {}
+}
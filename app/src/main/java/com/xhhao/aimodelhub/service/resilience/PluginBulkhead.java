@@ -0,0 +1,168 @@
+package com.xhhao.aimodelhub.service.resilience;
+
+import com.xhhao.aimodelhub.api.exception.AiModelException;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 按调用方插件隔离的并发舱壁
+ * <p>
+ * 每个调用方插件独立限制同时进行的调用数与排队数（含重试、对冲在内的一次完整调用占一个名额），
+ * 批量任务插件占满自己的名额后只会在自己的队列中等待，不影响其他插件。
+ * 无法识别调用方的调用（控制台测试、订阅发生在其他线程等）共用一个舱壁，单独设置更大的并发数，
+ * 避免互不相关的调用方挤在默认名额内。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class PluginBulkhead {
+
+    /**
+     * 无法识别调用方时使用的舱壁名称
+     */
+    public static final String UNKNOWN_CALLER = "unknown";
+
+    private final ConcurrentHashMap<String, Compartment> compartments = new ConcurrentHashMap<>();
+
+    private volatile BulkheadSettings settings = new BulkheadSettings();
+
+    /**
+     * 更新配置（名额上限提高后立即放行排队请求）
+     */
+    public void updateConfig(BulkheadSettings newSettings) {
+        if (newSettings == null || newSettings.equals(settings)) {
+            return;
+        }
+        this.settings = newSettings;
+        compartments.values().forEach(compartment -> compartment.semaphore.drain());
+        log.info("插件并发隔离配置已更新: {}", newSettings);
+    }
+
+    /**
+     * 为调用方插件申请一个调用名额，名额不足时排队等待
+     *
+     * @param callerPlugin 调用方插件名称，为空时归入 {@link #UNKNOWN_CALLER}
+     * @return 名额，调用结束时必须释放
+     */
+    public Mono<Lease> acquire(String callerPlugin) {
+        BulkheadSettings current = settings;
+        if (!current.isEnabled()) {
+            return Mono.just(Lease.NOOP);
+        }
+        String name = callerPlugin != null ? callerPlugin : UNKNOWN_CALLER;
+        Compartment compartment = compartments.computeIfAbsent(name, Compartment::new);
+        return compartment.semaphore.acquire(current.getMaxQueue(), current.getMaxWait())
+            .map(Lease::new);
+    }
+
+    /**
+     * 获取各插件的占用情况
+     */
+    public List<BulkheadStats> getStats() {
+        List<BulkheadStats> stats = new ArrayList<>(compartments.size());
+        compartments.values().forEach(compartment -> stats.add(compartment.snapshot()));
+        return stats;
+    }
+
+    private int limitOf(String plugin) {
+        BulkheadSettings current = settings;
+        Integer override = current.getPluginLimits().get(plugin);
+        if (override == null) {
+            override = UNKNOWN_CALLER.equals(plugin) ? current.getUnknownMaxConcurrent() : current.getMaxConcurrent();
+        }
+        return Math.max(1, override);
+    }
+
+    /**
+     * 单个插件的舱壁
+     */
+    private final class Compartment {
+        private final String plugin;
+        private final QueuedSemaphore semaphore;
+
+        Compartment(String plugin) {
+            this.plugin = plugin;
+            this.semaphore = new QueuedSemaphore(() -> limitOf(plugin),
+                () -> AiModelException.rateLimited("插件 " + plugin + " 的并发调用与排队数已达上限，请稍后重试",
+                    null, null),
+                () -> AiModelException.rateLimited("插件 " + plugin + " 的调用排队等待超时", null, null));
+        }
+
+        BulkheadStats snapshot() {
+            return new BulkheadStats(plugin, limitOf(plugin), semaphore.inFlight(), semaphore.queued(),
+                semaphore.rejected(), semaphore.timedOut());
+        }
+    }
+
+    /**
+     * 调用名额（只释放一次，后续调用无副作用）
+     */
+    public static final class Lease {
+        static final Lease NOOP = new Lease(null);
+
+        private final QueuedSemaphore.Lease lease;
+
+        Lease(QueuedSemaphore.Lease lease) {
+            this.lease = lease;
+        }
+
+        public void release() {
+            if (lease != null) {
+                lease.release();
+            }
+        }
+    }
+
+    /**
+     * 插件并发隔离配置
+     */
+    @Data
+    public static class BulkheadSettings {
+        private boolean enabled = true;
+
+        /**
+         * 每个插件默认的最大并发调用数
+         */
+        private int maxConcurrent = 10;
+
+        /**
+         * 无法识别调用方时的最大并发调用数（所有未识别的调用共用）
+         */
+        private int unknownMaxConcurrent = 50;
+
+        /**
+         * 每个插件的最大排队数
+         */
+        private int maxQueue = 100;
+
+        /**
+         * 最长排队时间
+         */
+        private Duration maxWait = Duration.ofSeconds(60);
+
+        /**
+         * 单独指定的插件并发数（插件名称 -> 最大并发调用数）
+         */
+        private Map<String, Integer> pluginLimits = Map.of();
+    }
+
+    /**
+     * 插件占用情况
+     *
+     * @param limit  最大并发调用数
+     * @param queued 排队中的调用数
+     */
+    public record BulkheadStats(String plugin, int limit, int inFlight, int queued, long rejected,
+                                long timedOut) {}
+}
@@ -0,0 +1,189 @@
+package com.xhhao.aimodelhub.service.resilience;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 带有界等待队列的信号量
+ * <p>
+ * 名额不足时请求按先后顺序排队，队列已满或等待超时时返回调用方提供的异常。
+ * 名额上限由调用方提供且可随时变化，上限提高后调用 {@link #drain()} 放行排队请求。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+final class QueuedSemaphore {
+
+    private final IntSupplier limit;
+    private final Supplier<? extends Throwable> queueFullError;
+    private final Supplier<? extends Throwable> timeoutError;
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+
+    /*
+     * 以下状态均在 this 锁内读写
+     */
+    private int inFlight;
+    private final ArrayDeque<Waiter> queue = new ArrayDeque<>();
+
+    /**
+     * @param limit          名额上限（在锁内读取，不能反过来获取本对象的锁）
+     * @param queueFullError 队列已满时的异常
+     * @param timeoutError   等待超时时的异常
+     */
+    QueuedSemaphore(IntSupplier limit, Supplier<? extends Throwable> queueFullError,
+                    Supplier<? extends Throwable> timeoutError) {
+        this.limit = limit;
+        this.queueFullError = queueFullError;
+        this.timeoutError = timeoutError;
+    }
+
+    /**
+     * 申请一个名额，名额不足时排队等待
+     *
+     * @param maxQueue 最大排队数
+     * @param maxWait  最长等待时间
+     * @return 名额，调用方在使用结束时必须 {@link Lease#release()}
+     */
+    Mono<Lease> acquire(int maxQueue, Duration maxWait) {
+        return Mono.create(sink -> {
+            Waiter waiter;
+            synchronized (this) {
+                if (queue.isEmpty() && inFlight < limit.getAsInt()) {
+                    inFlight++;
+                    sink.success(new Lease(this));
+                    return;
+                }
+                if (queue.size() >= maxQueue) {
+                    rejected.increment();
+                    sink.error(queueFullError.get());
+                    return;
+                }
+                waiter = new Waiter(sink);
+                queue.addLast(waiter);
+            }
+            waiter.timer = Schedulers.parallel().schedule(() -> expire(waiter),
+                maxWait.toMillis(), TimeUnit.MILLISECONDS);
+            sink.onCancel(() -> cancel(waiter));
+        });
+    }
+
+    /**
+     * 按当前上限放行排队请求
+     */
+    void drain() {
+        List<Waiter> granted = new ArrayList<>();
+        synchronized (this) {
+            int available = limit.getAsInt();
+            while (!queue.isEmpty() && inFlight < available) {
+                Waiter waiter = queue.pollFirst();
+                inFlight++;
+                waiter.lease = new Lease(this);
+                granted.add(waiter);
+            }
+        }
+        for (Waiter waiter : granted) {
+            waiter.disposeTimer();
+            waiter.sink.success(waiter.lease);
+        }
+    }
+
+    synchronized int inFlight() {
+        return inFlight;
+    }
+
+    synchronized int queued() {
+        return queue.size();
+    }
+
+    long rejected() {
+        return rejected.sum();
+    }
+
+    long timedOut() {
+        return timedOut.sum();
+    }
+
+    private void release() {
+        synchronized (this) {
+            inFlight--;
+        }
+        drain();
+    }
+
+    private void expire(Waiter waiter) {
+        synchronized (this) {
+            if (!queue.remove(waiter)) {
+                return;
+            }
+        }
+        timedOut.increment();
+        waiter.sink.error(timeoutError.get());
+    }
+
+    private void cancel(Waiter waiter) {
+        waiter.disposeTimer();
+        Lease granted;
+        synchronized (this) {
+            if (queue.remove(waiter)) {
+                return;
+            }
+            granted = waiter.lease;
+        }
+        // 名额已分配但订阅已取消，归还名额
+        if (granted != null) {
+            granted.release();
+        }
+    }
+
+    /**
+     * 已获得的名额（只释放一次，后续调用无副作用）
+     */
+    static final class Lease {
+        private final QueuedSemaphore semaphore;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Lease(QueuedSemaphore semaphore) {
+            this.semaphore = semaphore;
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                semaphore.release();
+            }
+        }
+    }
+
+    /**
+     * 排队中的请求
+     */
+    private static final class Waiter {
+        private final MonoSink<Lease> sink;
+        private volatile Disposable timer;
+        private Lease lease;
+
+        Waiter(MonoSink<Lease> sink) {
+            this.sink = sink;
+        }
+
+        void disposeTimer() {
+            Disposable current = timer;
+            if (current != null) {
+                current.dispose();
+            }
+        }
+    }
+}
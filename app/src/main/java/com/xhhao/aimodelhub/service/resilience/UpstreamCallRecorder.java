@@ -0,0 +1,153 @@
+package com.xhhao.aimodelhub.service.resilience;
+
+import com.xhhao.aimodelhub.service.common.ModelMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 上游调用结果记录器
+ * <p>
+ * 按（供应商, 模型）统计逻辑调用次数与每次实际请求（attempt）的结果，
+ * 用于观察重试带来的请求放大。计数同时以 Micrometer 指标暴露。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+public class UpstreamCallRecorder {
+
+    private final ModelMetrics metrics;
+
+    private final ConcurrentHashMap<String, CallCounters> counters = new ConcurrentHashMap<>();
+
+    /**
+     * 获取（供应商, 模型）对应的计数器
+     * <p>
+     * 模型实例创建时解析一次，调用路径上直接累加，无需再查表。
+     * </p>
+     */
+    public CallCounters counters(String provider, String model) {
+        String key = provider + "/" + model;
+        return counters.computeIfAbsent(key, k -> {
+            CallCounters created = new CallCounters(provider, model);
+            metrics.bindUpstream(provider, model, created);
+            return created;
+        });
+    }
+
+    /**
+     * 获取统计信息
+     */
+    public List<CallStats> getStats() {
+        List<CallStats> stats = new ArrayList<>(counters.size());
+        counters.values().forEach(c -> stats.add(c.snapshot()));
+        return stats;
+    }
+
+    /**
+     * 单次请求结果
+     */
+    public enum AttemptOutcome {
+        /**
+         * 成功
+         */
+        SUCCESS,
+        /**
+         * 可重试的失败（429/5xx/连接异常）
+         */
+        RETRYABLE_FAILURE,
+        /**
+         * 不可重试的失败
+         */
+        FAILURE,
+        /**
+         * 超时
+         */
+        TIMEOUT
+    }
+
+    /**
+     * （供应商, 模型）维度的计数器
+     */
+    public static class CallCounters {
+        private final String provider;
+        private final String model;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder[] attempts = new LongAdder[AttemptOutcome.values().length];
+
+        CallCounters(String provider, String model) {
+            this.provider = provider;
+            this.model = model;
+            for (int i = 0; i < attempts.length; i++) {
+                attempts[i] = new LongAdder();
+            }
+        }
+
+        /**
+         * 记录一次逻辑调用
+         */
+        public void recordCall() {
+            calls.increment();
+        }
+
+        /**
+         * 记录一次重试
+         */
+        public void recordRetry() {
+            retries.increment();
+        }
+
+        /**
+         * 记录一次实际请求的结果
+         */
+        public void recordAttempt(AttemptOutcome outcome) {
+            attempts[outcome.ordinal()].increment();
+        }
+
+        /**
+         * 累计重试次数
+         */
+        public long retryCount() {
+            return retries.sum();
+        }
+
+        /**
+         * 指定结果的累计请求数
+         */
+        public long attemptCount(AttemptOutcome outcome) {
+            return attempts[outcome.ordinal()].sum();
+        }
+
+        CallStats snapshot() {
+            long callCount = calls.sum();
+            long attemptCount = 0;
+            for (LongAdder adder : attempts) {
+                attemptCount += adder.sum();
+            }
+            double amplification = callCount > 0 ? (double) attemptCount / callCount : 0;
+            return new CallStats(provider, model, callCount, attemptCount, retries.sum(),
+                attempts[AttemptOutcome.SUCCESS.ordinal()].sum(),
+                attempts[AttemptOutcome.RETRYABLE_FAILURE.ordinal()].sum(),
+                attempts[AttemptOutcome.FAILURE.ordinal()].sum(),
+                attempts[AttemptOutcome.TIMEOUT.ordinal()].sum(),
+                amplification);
+        }
+    }
+
+    /**
+     * 调用统计
+     *
+     * @param amplification 请求放大系数（实际请求数 / 逻辑调用数）
+     */
+    public record CallStats(String provider, String model, long calls, long attempts, long retries,
+                            long successes, long retryableFailures, long failures, long timeouts,
+                            double amplification) {}
+}
@@ -0,0 +1,254 @@
+package com.xhhao.aimodelhub.service.resilience;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * 上游调用重试策略
+ * <p>
+ * 仅对 429、5xx 与连接异常重试，退避采用指数退避 + 全抖动（full jitter），
+ * 上游返回 Retry-After / x-ratelimit-reset 时优先按上游提示等待。
+ * 配置了多密钥时，429 只让当前密钥冷却：还有可用密钥就立即换用重试，全部冷却时才等到最早恢复的密钥。
+ * 订阅上下文中 {@link #NO_RETRY_KEY} 为 true 时不重试，由外层（如批量对话）统一重试。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+public final class UpstreamRetry {
+
+    /**
+     * 退避基准时间
+     */
+    private static final long BASE_BACKOFF_MILLIS = 500;
+
+    /**
+     * 单次退避上限
+     */
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    /**
+     * 上游提示的等待时间超过该值时不再重试，直接返回错误
+     */
+    private static final long MAX_SERVER_HINT_MILLIS = 60_000;
+
+    /**
+     * 订阅上下文键：为 true 时只调用一次，失败直接交给外层处理
+     */
+    public static final String NO_RETRY_KEY = UpstreamRetry.class.getName() + ".noRetry";
+
+    private static final String RETRY_AFTER_MS = "retry-after-ms";
+    private static final String RATE_LIMIT_RESET = "x-ratelimit-reset";
+    private static final String RATE_LIMIT_RESET_REQUESTS = "x-ratelimit-reset-requests";
+    private static final String RATE_LIMIT_RESET_TOKENS = "x-ratelimit-reset-tokens";
+
+    private UpstreamRetry() {
+    }
+
+    /**
+     * 创建重试策略
+     *
+     * @param maxRetries 最大重试次数
+     * @param canRetry   额外的重试条件（如流式调用在首个 token 到达后不可重试）
+     * @param onRetry    每次决定重试时回调，参数为本次等待时间
+     * @return Reactor 重试策略
+     */
+    public static Retry create(int maxRetries, BooleanSupplier canRetry, Consumer<Duration> onRetry) {
+        return create(maxRetries, canRetry, onRetry, null);
+    }
+
+    /**
+     * 创建重试策略（多密钥）
+     *
+     * @param keyPool 密钥池，429 时据此决定立即换用密钥还是等待，为空时等同单密钥
+     */
+    public static Retry create(int maxRetries, BooleanSupplier canRetry, Consumer<Duration> onRetry,
+                               ApiKeyPool.KeyPool keyPool) {
+        return Retry.from(signals -> Flux.deferContextual(context -> signals.concatMap(signal -> {
+            Throwable failure = signal.failure();
+            long retries = signal.totalRetries();
+            if (retries >= maxRetries || !isRetryable(failure) || !canRetry.getAsBoolean()
+                || context.getOrDefault(NO_RETRY_KEY, false)) {
+                return Mono.error(failure);
+            }
+            Duration hint = serverHint(failure);
+            Duration delay = hint != null ? hint : fullJitter(retries);
+            if (keyPool != null && isRateLimited(failure)) {
+                // 限流的密钥已由密钥池冷却，其他密钥可用时无需等待
+                Duration keyWait = keyPool.availableIn();
+                if (keyWait.compareTo(delay) < 0) {
+                    delay = keyWait;
+                }
+            }
+            if (delay.toMillis() > MAX_SERVER_HINT_MILLIS) {
+                return Mono.error(failure);
+            }
+            if (onRetry != null) {
+                onRetry.accept(delay);
+            }
+            return Mono.delay(delay);
+        })));
+    }
+
+    /**
+     * 判断异常是否可重试（429、5xx、连接异常）
+     */
+    public static boolean isRetryable(Throwable error) {
+        if (error instanceof WebClientResponseException responseException) {
+            int status = responseException.getStatusCode().value();
+            return status == 429 || status >= 500;
+        }
+        return error instanceof WebClientRequestException;
+    }
+
+    private static boolean isRateLimited(Throwable error) {
+        return error instanceof WebClientResponseException responseException
+            && responseException.getStatusCode().value() == 429;
+    }
+
+    /**
+     * 指数退避 + 全抖动：在 [0, min(上限, 基准 * 2^n)] 内随机
+     */
+    static Duration fullJitter(long retries) {
+        long ceiling = BASE_BACKOFF_MILLIS << Math.min(retries, 16);
+        long cap = Math.min(MAX_BACKOFF_MILLIS, ceiling);
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(cap + 1));
+    }
+
+    /**
+     * 从上游响应头中解析建议的等待时间
+     *
+     * @return 等待时间，无提示时返回 null
+     */
+    static Duration serverHint(Throwable error) {
+        if (!(error instanceof WebClientResponseException responseException)) {
+            return null;
+        }
+        HttpHeaders headers = responseException.getHeaders();
+        Duration retryAfter = parseRetryAfter(headers);
+        if (retryAfter != null) {
+            return retryAfter;
+        }
+        if (responseException.getStatusCode().value() != 429) {
+            return null;
+        }
+        Duration reset = null;
+        for (String name : new String[] {RATE_LIMIT_RESET, RATE_LIMIT_RESET_REQUESTS, RATE_LIMIT_RESET_TOKENS}) {
+            Duration value = parseReset(headers.getFirst(name));
+            if (value != null && (reset == null || value.compareTo(reset) > 0)) {
+                reset = value;
+            }
+        }
+        return reset;
+    }
+
+    /**
+     * 解析 Retry-After（秒数或 HTTP 日期）与 retry-after-ms
+     */
+    static Duration parseRetryAfter(HttpHeaders headers) {
+        String millis = headers.getFirst(RETRY_AFTER_MS);
+        if (millis != null) {
+            try {
+                return Duration.ofMillis(Math.max(0, (long) Double.parseDouble(millis.trim())));
+            } catch (NumberFormatException ignored) {
+                // 继续尝试 Retry-After
+            }
+        }
+        String value = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        value = value.trim();
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value)));
+        } catch (NumberFormatException ignored) {
+            // 非秒数格式，按 HTTP 日期解析
+        }
+        try {
+            ZonedDateTime date = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+            long delay = date.toInstant().toEpochMilli() - System.currentTimeMillis();
+            return Duration.ofMillis(Math.max(0, delay));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 解析 x-ratelimit-reset 系列响应头
+     * <p>
+     * 兼容 "6m0s"、"1.5s"、"20ms" 形式的时长，以及秒数、Unix 时间戳（秒/毫秒）
+     * </p>
+     */
+    static Duration parseReset(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        value = value.trim();
+        try {
+            double number = Double.parseDouble(value);
+            long now = System.currentTimeMillis();
+            if (number > 1e12) {
+                return Duration.ofMillis(Math.max(0, (long) number - now));
+            }
+            if (number > 1e9) {
+                return Duration.ofMillis(Math.max(0, (long) (number * 1000) - now));
+            }
+            return Duration.ofMillis(Math.max(0, (long) (number * 1000)));
+        } catch (NumberFormatException ignored) {
+            // 非数字，按时长格式解析
+        }
+        return parseGoDuration(value);
+    }
+
+    /**
+     * 解析 Go 风格时长（如 1h2m3.5s、20ms）
+     */
+    private static Duration parseGoDuration(String value) {
+        double totalMillis = 0;
+        int i = 0;
+        int length = value.length();
+        boolean matched = false;
+        while (i < length) {
+            int start = i;
+            while (i < length && (Character.isDigit(value.charAt(i)) || value.charAt(i) == '.')) {
+                i++;
+            }
+            if (start == i) {
+                return null;
+            }
+            double number;
+            try {
+                number = Double.parseDouble(value.substring(start, i));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            int unitStart = i;
+            while (i < length && Character.isLetter(value.charAt(i))) {
+                i++;
+            }
+            switch (value.substring(unitStart, i)) {
+                case "ms" -> totalMillis += number;
+                case "s" -> totalMillis += number * 1000;
+                case "m" -> totalMillis += number * 60_000;
+                case "h" -> totalMillis += number * 3_600_000;
+                default -> {
+                    return null;
+                }
+            }
+            matched = true;
+        }
+        return matched ? Duration.ofMillis((long) totalMillis) : null;
+    }
+}
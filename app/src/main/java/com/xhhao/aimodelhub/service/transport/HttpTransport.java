@@ -0,0 +1,334 @@
+package com.xhhao.aimodelhub.service.transport;
+
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.http.client.reactive.ClientHttpResponse;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.transport.ProxyProvider;
+
+import java.net.SocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 共享 HTTP 传输层
+ * <p>
+ * 按（上游主机, 连接池与代理配置）维度维护 Reactor Netty 连接池，所有模型客户端共享同一连接池，
+ * 复用已建立的 TCP/TLS 连接，避免每次请求都重新握手。
+ * </p>
+ * <p>
+ * 对外提供的 WebClient 不绑定具体连接池，每次请求时才按当前配置选择连接池。
+ * 配置变更后新请求进入新连接池，已缓存或被调用方持有的模型实例无需重建；
+ * 旧连接池不再接收新请求，等进行中的请求（包括流式输出）归还连接后再关闭。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class HttpTransport {
+
+    private static final String POOL_NAME_PREFIX = "aimodel-hub-";
+    private static final String DEFAULT_POOL_HOST = "default";
+
+    /**
+     * 旧连接池停止接收新请求后的等待时间（已选中旧连接池、尚未取到连接的请求仍可完成获取）
+     */
+    private static final Duration RETIRE_GRACE_PERIOD = Duration.ofSeconds(5);
+
+    /**
+     * 旧连接池等待进行中的请求归还连接的最长时间，超时后强制关闭
+     */
+    private static final Duration RETIRE_DISPOSE_TIMEOUT = Duration.ofMinutes(10);
+
+    /**
+     * 连接池（key: 主机 + 连接池与代理配置）
+     */
+    private final ConcurrentHashMap<PoolKey, PooledClient> clients = new ConcurrentHashMap<>();
+
+    /**
+     * 对外提供的 WebClient（key: 主机），请求时按当前配置选择连接池
+     */
+    private final ConcurrentHashMap<String, WebClient> webClients = new ConcurrentHashMap<>();
+
+    /**
+     * 连接池代数，每次配置变更加一，用于区分新旧连接池的名称
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * 连接池指标（key: 连接池名称 + 远端地址）
+     */
+    private final ConcurrentHashMap<String, PoolMetricsEntry> poolMetrics = new ConcurrentHashMap<>();
+
+    /**
+     * 当前连接池配置
+     */
+    private volatile PoolSettings settings = PoolSettings.defaults();
+
+    /**
+     * 获取指定地址对应的共享 WebClient
+     * <p>
+     * 返回的 WebClient 不带任何默认请求头，调用方可通过 {@code mutate()} 追加认证信息，
+     * 追加后的实例仍然共享同一连接池。实例可以长期持有，连接池配置变更后自动使用新连接池。
+     * </p>
+     *
+     * @param url 上游地址（baseUrl 或完整 URL）
+     * @return 共享 WebClient
+     */
+    public WebClient webClient(String url) {
+        return webClients.computeIfAbsent(resolveHost(url), host -> WebClient.builder()
+            .clientConnector(new PoolSelectingConnector(host))
+            .build());
+    }
+
+    /**
+     * 更新连接池配置
+     * <p>
+     * 新请求立即使用按新配置创建的连接池；旧连接池等进行中的请求归还连接后关闭，
+     * 最长等待 {@link #RETIRE_DISPOSE_TIMEOUT}。
+     * </p>
+     */
+    public void updateConfig(PoolSettings newSettings) {
+        if (newSettings == null || newSettings.equals(settings)) {
+            return;
+        }
+        this.settings = newSettings;
+        generation.incrementAndGet();
+
+        List<PoolKey> retired = clients.keySet().stream()
+            .filter(key -> !key.settings().equals(newSettings))
+            .toList();
+        for (PoolKey key : retired) {
+            PooledClient client = clients.remove(key);
+            if (client != null) {
+                retire(client.provider());
+            }
+        }
+
+        log.info("连接池配置已更新: {}", newSettings);
+    }
+
+    /**
+     * 获取当前配置
+     */
+    public PoolSettings getConfig() {
+        return settings;
+    }
+
+    /**
+     * 获取所有连接池的实时指标
+     */
+    public List<PoolStats> getPoolStats() {
+        List<PoolStats> stats = new ArrayList<>(poolMetrics.size());
+        for (Map.Entry<String, PoolMetricsEntry> entry : poolMetrics.entrySet()) {
+            PoolMetricsEntry value = entry.getValue();
+            ConnectionPoolMetrics metrics = value.metrics();
+            stats.add(new PoolStats(value.poolName(), value.remoteAddress(),
+                metrics.acquiredSize(), metrics.idleSize(), metrics.pendingAcquireSize(),
+                metrics.allocatedSize(), metrics.maxAllocatedSize(), metrics.maxPendingAcquireSize()));
+        }
+        return stats;
+    }
+
+    /**
+     * 仍在分配连接的连接池（不含已停止接收新请求的旧连接池）
+     */
+    Collection<PooledClient> activeClients() {
+        return clients.values();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        clients.values().forEach(client -> client.provider().dispose());
+        clients.clear();
+        webClients.clear();
+        poolMetrics.clear();
+    }
+
+    /**
+     * 按当前配置选择连接池，不存在时创建
+     * <p>
+     * 创建期间配置已变更时，{@link #updateConfig} 可能在放入之前就清理完旧连接池，
+     * 由这里移除并关闭刚放入的旧连接池（本次请求仍可在宽限期内使用）。
+     * </p>
+     */
+    PooledClient currentClient(String host) {
+        PoolSettings current = settings;
+        PoolKey key = new PoolKey(host, current);
+        PooledClient client = clients.computeIfAbsent(key, this::createClient);
+        if (!current.equals(settings) && clients.remove(key, client)) {
+            retire(client.provider());
+        }
+        return client;
+    }
+
+    /**
+     * 关闭旧连接池：宽限期后停止分配，等待已借出的连接归还
+     */
+    private void retire(ConnectionProvider provider) {
+        Mono.delay(RETIRE_GRACE_PERIOD)
+            .then(provider.disposeLater())
+            .subscribe(
+                null,
+                e -> log.warn("关闭连接池失败: {}", provider.name(), e),
+                () -> {
+                    poolMetrics.values().removeIf(entry -> entry.poolName().equals(provider.name()));
+                    log.debug("旧连接池已关闭: {}", provider.name());
+                }
+            );
+    }
+
+    /**
+     * 创建连接池及对应的连接器
+     */
+    private PooledClient createClient(PoolKey key) {
+        PoolSettings current = key.settings();
+        String proxy = current.proxyAddress();
+        // 名称包含代理与配置代数，不同代理、新旧配置的连接池指标互不覆盖
+        String poolName = POOL_NAME_PREFIX + key.host() + (proxy != null ? "-via-" + proxy : "")
+            + "-g" + generation.get();
+        ConnectionProvider provider = ConnectionProvider.builder(poolName)
+            .disposeTimeout(RETIRE_DISPOSE_TIMEOUT)
+            .maxConnections(current.getMaxConnections())
+            .pendingAcquireMaxCount(current.getPendingAcquireMaxCount())
+            .pendingAcquireTimeout(current.getPendingAcquireTimeout())
+            .maxIdleTime(current.getMaxIdleTime())
+            .maxLifeTime(current.getMaxLifeTime())
+            .evictInBackground(current.getEvictInterval())
+            .metrics(true, () -> new PoolMeterRegistrar())
+            .build();
+
+        HttpClient httpClient = HttpClient.create(provider)
+            .keepAlive(current.isKeepAlive())
+            .option(ChannelOption.SO_KEEPALIVE, current.isKeepAlive())
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) current.getConnectTimeout().toMillis());
+
+        if (proxy != null) {
+            httpClient = httpClient.proxy(spec -> spec.type(ProxyProvider.Proxy.HTTP)
+                .host(current.getProxyHost())
+                .port(current.getProxyPort()));
+        }
+
+        log.debug("创建连接池: {}, proxy={}", poolName, proxy);
+        return new PooledClient(provider, new ReactorClientHttpConnector(httpClient));
+    }
+
+    /**
+     * 从地址中解析主机（含端口）
+     */
+    private static String resolveHost(String url) {
+        if (url == null || url.isBlank()) {
+            return DEFAULT_POOL_HOST;
+        }
+        try {
+            URI uri = URI.create(url.trim());
+            if (uri.getHost() == null) {
+                return DEFAULT_POOL_HOST;
+            }
+            return uri.getPort() > 0 ? uri.getHost() + ":" + uri.getPort() : uri.getHost();
+        } catch (IllegalArgumentException e) {
+            return DEFAULT_POOL_HOST;
+        }
+    }
+
+    /**
+     * 连接池指标注册器
+     */
+    private class PoolMeterRegistrar implements ConnectionProvider.MeterRegistrar {
+
+        @Override
+        public void registerMetrics(String poolName, String id, SocketAddress remoteAddress,
+                                    ConnectionPoolMetrics metrics) {
+            poolMetrics.put(poolName + "|" + id,
+                new PoolMetricsEntry(poolName, String.valueOf(remoteAddress), metrics));
+        }
+
+        @Override
+        public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+            poolMetrics.remove(poolName + "|" + id);
+        }
+    }
+
+    /**
+     * 按主机选择连接池的连接器，每次请求时读取当前配置
+     */
+    private class PoolSelectingConnector implements ClientHttpConnector {
+        private final String host;
+
+        PoolSelectingConnector(String host) {
+            this.host = host;
+        }
+
+        @Override
+        public Mono<ClientHttpResponse> connect(HttpMethod method, URI uri,
+                                                Function<? super ClientHttpRequest, Mono<Void>> requestCallback) {
+            return Mono.defer(() -> currentClient(host).connector().connect(method, uri, requestCallback));
+        }
+    }
+
+    /**
+     * 连接池键：主机与完整的连接池、代理配置，配置不同的连接池不会复用
+     */
+    private record PoolKey(String host, PoolSettings settings) {}
+
+    record PooledClient(ConnectionProvider provider, ClientHttpConnector connector) {}
+
+    private record PoolMetricsEntry(String poolName, String remoteAddress, ConnectionPoolMetrics metrics) {}
+
+    /**
+     * 连接池指标
+     */
+    public record PoolStats(String pool, String remoteAddress, int active, int idle, int pending,
+                            int allocated, int maxConnections, int maxPending) {}
+
+    /**
+     * 连接池配置
+     */
+    @Data
+    public static class PoolSettings {
+        private int maxConnections = 50;
+        private int pendingAcquireMaxCount = 500;
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(45);
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+        private Duration evictInterval = Duration.ofSeconds(30);
+        private Duration connectTimeout = Duration.ofSeconds(10);
+        private boolean keepAlive = true;
+        private String proxyHost;
+        private Integer proxyPort;
+
+        public static PoolSettings defaults() {
+            return new PoolSettings();
+        }
+
+        /**
+         * 代理地址（未配置代理时为 null）
+         */
+        String proxyAddress() {
+            if (proxyHost == null || proxyHost.isBlank() || proxyPort == null) {
+                return null;
+            }
+            return proxyHost + ":" + proxyPort;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.xhhao.aimodelhub.service.transport;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 流式输出合并器
+ * <p>
+ * 上游模型通常每次只返回几个字符，逐个转发给 SSE 客户端会产生大量小事件。
+ * 合并器把连续的片段攒到指定字节数，或距首个未发送片段超过最长延迟时再一次性输出。
+ * </p>
+ * <p>
+ * 合并结果先进入有界缓冲区再交给下游：上游连接始终按自身速度读取，
+ * 读取缓慢的客户端只会占用缓冲区，缓冲区写满时以错误结束该客户端的流，而不会阻塞上游连接。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class StreamCoalescer {
+
+    /**
+     * 最长延迟计时器使用的调度器
+     */
+    private final Scheduler timerScheduler;
+
+    private volatile CoalesceSettings settings = new CoalesceSettings();
+
+    public StreamCoalescer() {
+        this(Schedulers.parallel());
+    }
+
+    StreamCoalescer(Scheduler timerScheduler) {
+        this.timerScheduler = timerScheduler;
+    }
+
+    /**
+     * 更新配置（只影响之后开始的流）
+     */
+    public void updateConfig(CoalesceSettings newSettings) {
+        if (newSettings == null || newSettings.equals(settings)) {
+            return;
+        }
+        this.settings = newSettings;
+        log.info("流式输出合并配置已更新: {}", newSettings);
+    }
+
+    /**
+     * 合并流式输出片段
+     *
+     * @param tokens 模型输出的片段
+     * @return 合并后的片段，经过有界缓冲与上游解耦
+     */
+    public Flux<String> coalesce(Flux<String> tokens) {
+        CoalesceSettings current = settings;
+        Flux<String> chunks = current.isEnabled()
+            ? Flux.create(sink -> new Coalescer(sink, current, timerScheduler).subscribe(tokens))
+            : tokens;
+        return chunks.onBackpressureBuffer(current.getMaxPendingChunks(),
+            dropped -> log.warn("客户端读取过慢，流式输出缓冲区已满（{} 个片段），结束该流",
+                current.getMaxPendingChunks()),
+            BufferOverflowStrategy.ERROR);
+    }
+
+    /**
+     * 按 UTF-8 编码计算字节数（不分配字节数组）
+     */
+    static int utf8Length(CharSequence text) {
+        int bytes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * 单个流的合并状态
+     */
+    private static final class Coalescer {
+        private final FluxSink<String> sink;
+        private final int maxBytes;
+        private final Duration maxDelay;
+        private final Scheduler timerScheduler;
+
+        /*
+         * 以下状态均在 this 锁内读写
+         */
+        private final StringBuilder pending = new StringBuilder();
+        private int pendingBytes;
+        private Disposable timer;
+
+        /**
+         * 计时器代数，每次启动计时器加一；取消时已开始执行的计时器按代数识别为过期并忽略
+         */
+        private long generation;
+
+        Coalescer(FluxSink<String> sink, CoalesceSettings settings, Scheduler timerScheduler) {
+            this.sink = sink;
+            this.maxBytes = settings.getMaxBytes();
+            this.maxDelay = settings.getMaxDelay();
+            this.timerScheduler = timerScheduler;
+        }
+
+        void subscribe(Flux<String> tokens) {
+            Disposable subscription = tokens
+                .contextWrite(sink.contextView())
+                .subscribe(this::append, this::error, this::complete);
+            sink.onDispose(() -> {
+                subscription.dispose();
+                cancelTimer();
+            });
+        }
+
+        private synchronized void append(String token) {
+            if (token == null || token.isEmpty()) {
+                return;
+            }
+            if (pending.isEmpty()) {
+                long scheduled = ++generation;
+                timer = timerScheduler.schedule(() -> flushOnTimer(scheduled), maxDelay.toMillis(),
+                    TimeUnit.MILLISECONDS);
+            }
+            pending.append(token);
+            pendingBytes += utf8Length(token);
+            if (pendingBytes >= maxBytes) {
+                flush();
+            }
+        }
+
+        private synchronized void flushOnTimer(long scheduled) {
+            if (scheduled != generation) {
+                return;
+            }
+            timer = null;
+            flush();
+        }
+
+        private synchronized void error(Throwable error) {
+            flush();
+            sink.error(error);
+        }
+
+        private synchronized void complete() {
+            flush();
+            sink.complete();
+        }
+
+        /**
+         * 输出已攒下的片段（调用方持有 this 锁，保证片段顺序）
+         */
+        private void flush() {
+            cancelTimer();
+            if (pending.isEmpty()) {
+                return;
+            }
+            String chunk = pending.toString();
+            pending.setLength(0);
+            pendingBytes = 0;
+            sink.next(chunk);
+        }
+
+        private synchronized void cancelTimer() {
+            if (timer != null) {
+                timer.dispose();
+                timer = null;
+            }
+        }
+    }
+
+    /**
+     * 流式输出合并配置
+     */
+    @Data
+    public static class CoalesceSettings {
+        private boolean enabled = true;
+
+        /**
+         * 攒够该字节数（UTF-8）立即输出
+         */
+        private int maxBytes = 32;
+
+        /**
+         * 片段最长等待时间
+         */
+        private Duration maxDelay = Duration.ofMillis(30);
+
+        /**
+         * 等待客户端读取的最大片段数
+         */
+        private int maxPendingChunks = 256;
+    }
+}
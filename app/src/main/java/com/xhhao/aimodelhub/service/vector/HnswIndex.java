@@ -0,0 +1,815 @@
+package com.xhhao.aimodelhub.service.vector;
+
+import com.xhhao.aimodelhub.api.VectorIndex;
+import com.xhhao.aimodelhub.api.VectorMatch;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * HNSW 向量索引
+ * <p>
+ * 分层可导航小世界图（Malkov &amp; Yashunin）：每个节点随机分配层数，高层稀疏、第 0 层包含全部节点，
+ * 检索从最高层入口贪心下降，在第 0 层以 {@code ef} 大小的候选集做束搜索。
+ * 向量写入时归一化，相似度即点积；向量存放在 {@link VectorSegments} 内存映射分段中，堆内只保存图结构。
+ * </p>
+ * <p>
+ * 并发：写入可以并发进行。编号分配与扩容在分配锁内完成，连边时只锁被修改邻居列表的节点，
+ * 邻居列表写时复制，检索不加锁。删除只做标记，已删除节点仍参与导航但不出现在结果中，
+ * 加载快照时已删除节点过多会重建图。
+ * </p>
+ * <p>
+ * 过滤检索在第 0 层搜索时只把满足条件的节点放入结果集，其余节点仍用于导航；
+ * 过滤条件很严格时结果集迟迟填不满，搜索范围会相应扩大，最坏情况退化为遍历整张图。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Slf4j
+final class HnswIndex implements VectorIndex {
+
+    static final int DEFAULT_M = 16;
+    static final int DEFAULT_EF_CONSTRUCTION = 128;
+    static final int DEFAULT_EF_SEARCH = 64;
+
+    private static final int MAGIC = 0x484E5357;
+    private static final int FORMAT_VERSION = 1;
+
+    /**
+     * 快照中单个字符串（id、元数据键值）的长度上限，防止损坏的文件在校验前申请过大内存
+     */
+    private static final int MAX_STRING_BYTES = 64 * 1024 * 1024;
+    private static final String SNAPSHOT_FILE = "graph.snapshot";
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * 加载快照时已删除节点占比超过该值则重建图
+     */
+    private static final double REBUILD_DELETED_RATIO = 0.25;
+
+    private static final Comparator<Scored> BY_SCORE = Comparator.comparingDouble(Scored::score);
+
+    private final String name;
+    private final int dimension;
+    private final Path directory;
+    private final int m;
+    private final int maxM0;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final VectorSegments vectors;
+
+    private final ConcurrentHashMap<String, Integer> idToNode = new ConcurrentHashMap<>();
+    private final ReentrantLock allocationLock = new ReentrantLock();
+    private final ReentrantReadWriteLock snapshotLock = new ReentrantReadWriteLock();
+    private final Object entryLock = new Object();
+    private final AtomicInteger deleted = new AtomicInteger();
+    private final AtomicLong modifications = new AtomicLong();
+
+    private volatile Node[] nodes = new Node[INITIAL_CAPACITY];
+    private volatile int nodeCount;
+    private volatile EntryPoint entryPoint;
+    private volatile long savedModifications;
+    private volatile int efSearch = DEFAULT_EF_SEARCH;
+
+    /**
+     * 已关闭（索引被删除或插件停止），调用方仍持有的实例不能再使用
+     */
+    private volatile boolean closed;
+
+    private HnswIndex(String name, Path directory, int dimension, int m, int efConstruction) {
+        this.name = name;
+        this.directory = directory;
+        this.dimension = dimension;
+        this.m = m;
+        this.maxM0 = m * 2;
+        this.efConstruction = efConstruction;
+        this.levelMultiplier = 1 / Math.log(m);
+        this.vectors = new VectorSegments(directory, dimension);
+    }
+
+    /**
+     * 创建空索引
+     */
+    static HnswIndex create(String name, Path directory, int dimension) throws IOException {
+        Files.createDirectories(directory);
+        HnswIndex index = new HnswIndex(name, directory, dimension, DEFAULT_M, DEFAULT_EF_CONSTRUCTION);
+        index.vectors.deleteUnused(0);
+        index.modifications.incrementAndGet();
+        return index;
+    }
+
+    /**
+     * 目录中是否有可加载的快照
+     */
+    static boolean exists(Path directory) {
+        return Files.isRegularFile(directory.resolve(SNAPSHOT_FILE));
+    }
+
+    /**
+     * 从快照加载索引（已删除节点过多时先重建）
+     */
+    static HnswIndex open(String name, Path directory) throws IOException {
+        HnswIndex index = read(name, directory);
+        int total = index.nodeCount;
+        if (total == 0 || index.deleted.get() <= total * REBUILD_DELETED_RATIO) {
+            return index;
+        }
+        log.info("向量索引 {} 已删除节点 {}/{}，重建图", name, index.deleted.get(), total);
+        Path rebuildDirectory = directory.resolveSibling(directory.getFileName() + "~rebuild");
+        deleteDirectory(rebuildDirectory);
+        HnswIndex rebuilt = create(name, rebuildDirectory, index.dimension);
+        try {
+            index.idToNode.values().parallelStream()
+                .forEach(node -> rebuilt.insert(index.nodes[node].id, index.vectors.get(node),
+                    index.nodes[node].metadata, false));
+            rebuilt.saveSnapshot();
+        } finally {
+            rebuilt.close();
+            index.close();
+        }
+        Path retired = directory.resolveSibling(directory.getFileName() + "~retired");
+        deleteDirectory(retired);
+        Files.move(directory, retired, StandardCopyOption.ATOMIC_MOVE);
+        Files.move(rebuildDirectory, directory, StandardCopyOption.ATOMIC_MOVE);
+        deleteDirectory(retired);
+        return read(name, directory);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int getDimension() {
+        return dimension;
+    }
+
+    @Override
+    public int size() {
+        return idToNode.size();
+    }
+
+    @Override
+    public Mono<Void> add(String id, float[] vector) {
+        return add(id, vector, null);
+    }
+
+    @Override
+    public Mono<Void> add(String id, float[] vector, Map<String, String> metadata) {
+        return Mono.<Void>fromRunnable(() -> insert(id, vector, metadata, true))
+            .subscribeOn(Schedulers.parallel());
+    }
+
+    @Override
+    public Mono<Boolean> remove(String id) {
+        return Mono.fromCallable(() -> delete(id));
+    }
+
+    @Override
+    public Mono<List<VectorMatch>> search(float[] query, int k) {
+        return search(query, k, null);
+    }
+
+    @Override
+    public Mono<List<VectorMatch>> search(float[] query, int k, Predicate<Map<String, String>> filter) {
+        return Mono.fromCallable(() -> searchNow(query, k, filter))
+            .subscribeOn(Schedulers.parallel());
+    }
+
+    @Override
+    public Mono<Void> save() {
+        return Mono.<Void>fromRunnable(() -> {
+                try {
+                    saveSnapshot();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            })
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * 写入向量（同一 id 已存在时标记旧节点删除）
+     *
+     * @param normalize 是否需要归一化（重建时读取的向量已归一化）
+     */
+    void insert(String id, float[] vector, Map<String, String> metadata, boolean normalize) {
+        if (id == null || id.isEmpty()) {
+            throw new IllegalArgumentException("向量 id 不能为空");
+        }
+        float[] normalized = normalize ? normalize(vector) : vector;
+        Node created = new Node(id, metadata == null || metadata.isEmpty() ? Map.of() : Map.copyOf(metadata),
+            randomLevel());
+        snapshotLock.readLock().lock();
+        try {
+            ensureOpen();
+            int node;
+            allocationLock.lock();
+            try {
+                node = nodeCount;
+                ensureCapacity(node + 1);
+                vectors.set(node, normalized);
+                nodes[node] = created;
+                nodeCount = node + 1;
+                Integer previous = idToNode.put(id, node);
+                if (previous != null) {
+                    markDeleted(previous);
+                }
+            } finally {
+                allocationLock.unlock();
+            }
+            link(node, created, normalized);
+            modifications.incrementAndGet();
+        } finally {
+            snapshotLock.readLock().unlock();
+        }
+    }
+
+    boolean delete(String id) {
+        snapshotLock.readLock().lock();
+        try {
+            ensureOpen();
+            Integer node = idToNode.remove(id);
+            if (node == null) {
+                return false;
+            }
+            markDeleted(node);
+            modifications.incrementAndGet();
+            return true;
+        } finally {
+            snapshotLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 近似检索
+     */
+    List<VectorMatch> searchNow(float[] query, int k, Predicate<Map<String, String>> filter) {
+        ensureOpen();
+        try {
+            return searchGraph(query, k, filter);
+        } catch (RuntimeException e) {
+            throw closed ? closedException(e) : e;
+        }
+    }
+
+    /**
+     * 精确检索（逐条计算，用于评估召回率）
+     */
+    List<VectorMatch> exactSearch(float[] query, int k, Predicate<Map<String, String>> filter) {
+        ensureOpen();
+        try {
+            return scanAll(query, k, filter);
+        } catch (RuntimeException e) {
+            throw closed ? closedException(e) : e;
+        }
+    }
+
+    private List<VectorMatch> searchGraph(float[] query, int k, Predicate<Map<String, String>> filter) {
+        if (k <= 0) {
+            return List.of();
+        }
+        float[] normalized = normalize(query);
+        EntryPoint entry = entryPoint;
+        if (entry == null) {
+            return List.of();
+        }
+        Scored current = descend(normalized, entry, 0);
+        IntPredicate accept = node -> {
+            Node candidate = nodes[node];
+            return !candidate.deleted && (filter == null || filter.test(candidate.metadata));
+        };
+        List<Scored> found = searchLayer(normalized, current, Math.max(efSearch, k), 0, accept);
+        return toMatches(found, k);
+    }
+
+    private List<VectorMatch> scanAll(float[] query, int k, Predicate<Map<String, String>> filter) {
+        if (k <= 0) {
+            return List.of();
+        }
+        float[] normalized = normalize(query);
+        PriorityQueue<Scored> results = new PriorityQueue<>(k + 1, BY_SCORE);
+        // 先读节点数再读数组：节点数之内的节点一定已经放入数组
+        int count = nodeCount;
+        Node[] snapshot = nodes;
+        for (int node = 0; node < count; node++) {
+            Node candidate = snapshot[node];
+            if (candidate.deleted || (filter != null && !filter.test(candidate.metadata))) {
+                continue;
+            }
+            float score = vectors.dot(node, normalized);
+            if (results.size() < k) {
+                results.add(new Scored(node, score));
+            } else if (score > results.peek().score()) {
+                results.poll();
+                results.add(new Scored(node, score));
+            }
+        }
+        List<Scored> sorted = new ArrayList<>(results);
+        sorted.sort(BY_SCORE.reversed());
+        return toMatches(sorted, k);
+    }
+
+    /**
+     * 设置第 0 层检索的候选集大小（越大召回率越高、速度越慢）
+     */
+    void setEfSearch(int efSearch) {
+        this.efSearch = Math.max(1, efSearch);
+    }
+
+    int deletedCount() {
+        return deleted.get();
+    }
+
+    boolean isDirty() {
+        return modifications.get() != savedModifications;
+    }
+
+    Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * 保存快照：先刷向量分段，再写图结构到临时文件后原子替换
+     */
+    void saveSnapshot() throws IOException {
+        snapshotLock.writeLock().lock();
+        try {
+            ensureOpen();
+            long current = modifications.get();
+            if (current == savedModifications) {
+                return;
+            }
+            vectors.force();
+            Path temp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+            CRC32 crc = new CRC32();
+            try (DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temp)), crc))) {
+                writeGraph(out);
+                out.flush();
+                out.writeLong(crc.getValue());
+            }
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Files.move(temp, directory.resolve(SNAPSHOT_FILE), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+            savedModifications = current;
+        } finally {
+            snapshotLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 关闭索引：等待进行中的写入与保存结束后释放向量分段，之后的调用抛出 {@link IllegalStateException}
+     */
+    void close() {
+        closed = true;
+        snapshotLock.writeLock().lock();
+        try {
+            vectors.close();
+        } finally {
+            snapshotLock.writeLock().unlock();
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw closedException(null);
+        }
+    }
+
+    /**
+     * 检索与关闭并发时，读到已释放的分段会抛出数组越界等异常，统一转换为明确的状态异常
+     */
+    private IllegalStateException closedException(Throwable cause) {
+        return new IllegalStateException("向量索引已删除或关闭: " + name, cause);
+    }
+
+    private void writeGraph(DataOutputStream out) throws IOException {
+        EntryPoint entry = entryPoint;
+        int count = nodeCount;
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(dimension);
+        out.writeInt(m);
+        out.writeInt(efConstruction);
+        out.writeInt(count);
+        out.writeInt(entry != null ? entry.node() : -1);
+        out.writeInt(entry != null ? entry.level() : -1);
+        for (int i = 0; i < count; i++) {
+            Node node = nodes[i];
+            out.writeBoolean(node.deleted);
+            writeString(out, node.id);
+            out.writeInt(node.metadata.size());
+            for (Map.Entry<String, String> item : node.metadata.entrySet()) {
+                writeString(out, item.getKey());
+                writeString(out, item.getValue());
+            }
+            out.writeInt(node.level());
+            for (int level = 0; level <= node.level(); level++) {
+                int[] links = node.links.get(level);
+                out.writeInt(links.length);
+                for (int link : links) {
+                    out.writeInt(link);
+                }
+            }
+        }
+    }
+
+    private static HnswIndex read(String name, Path directory) throws IOException {
+        CRC32 crc = new CRC32();
+        try (DataInputStream in = new DataInputStream(new CheckedInputStream(
+            new BufferedInputStream(Files.newInputStream(directory.resolve(SNAPSHOT_FILE))), crc))) {
+            int magic = in.readInt();
+            int version = in.readInt();
+            if (magic != MAGIC || version != FORMAT_VERSION) {
+                throw new IOException("无法识别的向量索引快照: " + directory);
+            }
+            int dimension = in.readInt();
+            int m = in.readInt();
+            int efConstruction = in.readInt();
+            HnswIndex index = new HnswIndex(name, directory, dimension, m, efConstruction);
+            try {
+                int count = in.readInt();
+                int entryNode = in.readInt();
+                int entryLevel = in.readInt();
+                index.ensureCapacity(count);
+                for (int i = 0; i < count; i++) {
+                    boolean deleted = in.readBoolean();
+                    String id = readString(in);
+                    int metadataSize = in.readInt();
+                    Map<String, String> metadata = new HashMap<>(metadataSize * 2);
+                    for (int j = 0; j < metadataSize; j++) {
+                        metadata.put(readString(in), readString(in));
+                    }
+                    Node node = new Node(id, Map.copyOf(metadata), in.readInt());
+                    for (int level = 0; level <= node.level(); level++) {
+                        int[] links = new int[in.readInt()];
+                        for (int j = 0; j < links.length; j++) {
+                            links[j] = in.readInt();
+                        }
+                        node.links.set(level, links);
+                    }
+                    node.deleted = deleted;
+                    index.nodes[i] = node;
+                    if (deleted) {
+                        index.deleted.incrementAndGet();
+                    } else {
+                        index.idToNode.put(id, i);
+                    }
+                }
+                long expected = crc.getValue();
+                if (in.readLong() != expected) {
+                    throw new IOException("向量索引快照校验失败: " + directory);
+                }
+                index.nodeCount = count;
+                index.entryPoint = entryNode >= 0 ? new EntryPoint(entryNode, entryLevel) : null;
+                // 快照之后写入的分段未被引用，丢弃
+                index.vectors.deleteUnused(count);
+                return index;
+            } catch (IOException | RuntimeException e) {
+                index.close();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * 写入字符串：4 字节长度 + UTF-8 字节（不受 writeUTF 的 65535 字节限制）
+     */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > MAX_STRING_BYTES) {
+            throw new IOException("向量索引快照中的字符串长度无效: " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 连边：从入口下降到新节点的最高层，逐层搜索候选并按启发式选择邻居，再反向连边
+     */
+    private void link(int node, Node created, float[] vector) {
+        EntryPoint entry = entryPoint;
+        if (entry == null) {
+            synchronized (entryLock) {
+                if (entryPoint == null) {
+                    entryPoint = new EntryPoint(node, created.level());
+                    return;
+                }
+                entry = entryPoint;
+            }
+        }
+        Scored current = descend(vector, entry, created.level());
+        for (int level = Math.min(created.level(), entry.level()); level >= 0; level--) {
+            List<Scored> candidates = searchLayer(vector, current, efConstruction, level, n -> true);
+            int[] selected = selectNeighbors(candidates, level == 0 ? maxM0 : m);
+            setLinks(node, level, selected);
+            for (int neighbor : selected) {
+                connect(neighbor, node, level);
+            }
+            current = candidates.get(0);
+        }
+        if (created.level() > entry.level()) {
+            synchronized (entryLock) {
+                if (created.level() > entryPoint.level()) {
+                    entryPoint = new EntryPoint(node, created.level());
+                }
+            }
+        }
+    }
+
+    /**
+     * 写入新节点某一层的邻居（连边期间其他写入可能已经反向连到该节点，需要合并）
+     */
+    private void setLinks(int target, int level, int[] selected) {
+        Node node = nodes[target];
+        synchronized (node) {
+            int[] existing = node.links.get(level);
+            if (existing.length == 0) {
+                node.links.set(level, selected);
+                return;
+            }
+            int[] merged = Arrays.copyOf(selected, selected.length + existing.length);
+            int size = selected.length;
+            for (int link : existing) {
+                if (Arrays.stream(selected).noneMatch(chosen -> chosen == link)) {
+                    merged[size++] = link;
+                }
+            }
+            node.links.set(level, prune(target, Arrays.copyOf(merged, size), level == 0 ? maxM0 : m));
+        }
+    }
+
+    /**
+     * 在 target 的邻居列表中加入 source，超出上限时按启发式重新挑选
+     */
+    private void connect(int target, int source, int level) {
+        Node node = nodes[target];
+        synchronized (node) {
+            int[] current = node.links.get(level);
+            for (int link : current) {
+                if (link == source) {
+                    return;
+                }
+            }
+            int[] grown = Arrays.copyOf(current, current.length + 1);
+            grown[current.length] = source;
+            node.links.set(level, prune(target, grown, level == 0 ? maxM0 : m));
+        }
+    }
+
+    /**
+     * 邻居超出上限时按启发式重新挑选
+     */
+    private int[] prune(int target, int[] links, int max) {
+        if (links.length <= max) {
+            return links;
+        }
+        List<Scored> candidates = new ArrayList<>(links.length);
+        for (int link : links) {
+            candidates.add(new Scored(link, vectors.dot(target, link)));
+        }
+        candidates.sort(BY_SCORE.reversed());
+        return selectNeighbors(candidates, max);
+    }
+
+    /**
+     * 启发式选择邻居：候选按相似度从高到低，与已选邻居比与目标更相近的候选被跳过，
+     * 使邻居分布在不同方向上，提高图的连通性
+     *
+     * @param candidates 按相似度从高到低排列的候选
+     */
+    private int[] selectNeighbors(List<Scored> candidates, int max) {
+        int[] selected = new int[Math.min(max, candidates.size())];
+        int size = 0;
+        for (Scored candidate : candidates) {
+            if (size == selected.length) {
+                break;
+            }
+            boolean diverse = true;
+            for (int i = 0; i < size; i++) {
+                if (vectors.dot(candidate.node(), selected[i]) > candidate.score()) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) {
+                selected[size++] = candidate.node();
+            }
+        }
+        return size == selected.length ? selected : Arrays.copyOf(selected, size);
+    }
+
+    /**
+     * 从入口贪心下降到 targetLevel 层（不含）之上，返回该层的起点
+     */
+    private Scored descend(float[] vector, EntryPoint entry, int targetLevel) {
+        int current = entry.node();
+        float currentScore = vectors.dot(current, vector);
+        for (int level = entry.level(); level > targetLevel; level--) {
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                for (int neighbor : nodes[current].links.get(level)) {
+                    float score = vectors.dot(neighbor, vector);
+                    if (score > currentScore) {
+                        current = neighbor;
+                        currentScore = score;
+                        changed = true;
+                    }
+                }
+            }
+        }
+        return new Scored(current, currentScore);
+    }
+
+    /**
+     * 单层束搜索
+     *
+     * @param accept 可放入结果集的节点（其余节点只用于导航）
+     * @return 按相似度从高到低排列的结果
+     */
+    private List<Scored> searchLayer(float[] vector, Scored entry, int ef, int level, IntPredicate accept) {
+        BitSet visited = new BitSet(nodeCount);
+        PriorityQueue<Scored> candidates = new PriorityQueue<>(BY_SCORE.reversed());
+        PriorityQueue<Scored> results = new PriorityQueue<>(ef + 1, BY_SCORE);
+        visited.set(entry.node());
+        candidates.add(entry);
+        if (accept.test(entry.node())) {
+            results.add(entry);
+        }
+        while (!candidates.isEmpty()) {
+            Scored candidate = candidates.poll();
+            if (results.size() >= ef && candidate.score() < results.peek().score()) {
+                break;
+            }
+            // 每次重新读取节点数组：邻居可能是检索开始后才加入的节点
+            for (int neighbor : nodes[candidate.node()].links.get(level)) {
+                if (visited.get(neighbor)) {
+                    continue;
+                }
+                visited.set(neighbor);
+                float score = vectors.dot(neighbor, vector);
+                if (results.size() < ef || score > results.peek().score()) {
+                    Scored scored = new Scored(neighbor, score);
+                    candidates.add(scored);
+                    if (accept.test(neighbor)) {
+                        results.add(scored);
+                        if (results.size() > ef) {
+                            results.poll();
+                        }
+                    }
+                }
+            }
+        }
+        List<Scored> sorted = new ArrayList<>(results);
+        sorted.sort(BY_SCORE.reversed());
+        return sorted;
+    }
+
+    private List<VectorMatch> toMatches(List<Scored> found, int k) {
+        List<VectorMatch> matches = new ArrayList<>(Math.min(k, found.size()));
+        for (Scored scored : found) {
+            if (matches.size() == k) {
+                break;
+            }
+            Node node = nodes[scored.node()];
+            matches.add(new VectorMatch(node.id, scored.score(), node.metadata));
+        }
+        return matches;
+    }
+
+    private void markDeleted(int node) {
+        Node target = nodes[node];
+        if (!target.deleted) {
+            target.deleted = true;
+            deleted.incrementAndGet();
+        }
+    }
+
+    /**
+     * 扩容节点数组与向量分段（调用方持有分配锁或处于加载阶段）
+     */
+    private void ensureCapacity(int count) {
+        try {
+            vectors.ensureCapacity(count);
+        } catch (IOException e) {
+            throw new UncheckedIOException("扩容向量分段失败: " + directory, e);
+        }
+        Node[] current = nodes;
+        if (count > current.length) {
+            nodes = Arrays.copyOf(current, Math.max(count, current.length * 2));
+        }
+    }
+
+    private int randomLevel() {
+        double random = 1 - ThreadLocalRandom.current().nextDouble();
+        return (int) (-Math.log(random) * levelMultiplier);
+    }
+
+    private float[] normalize(float[] vector) {
+        if (vector == null || vector.length != dimension) {
+            throw new IllegalArgumentException("向量维度应为 " + dimension + "，实际为 "
+                + (vector == null ? "null" : vector.length));
+        }
+        double norm = 0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        if (norm == 0 || Double.isNaN(norm)) {
+            throw new IllegalArgumentException("向量不能为零向量或包含 NaN");
+        }
+        float scale = (float) (1 / Math.sqrt(norm));
+        float[] normalized = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            normalized[i] = vector[i] * scale;
+        }
+        return normalized;
+    }
+
+    static void deleteDirectory(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (var files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    /**
+     * 图节点（向量存放在分段中，编号即数组下标）
+     */
+    private static final class Node {
+        private final String id;
+        private final Map<String, String> metadata;
+
+        /**
+         * 各层邻居列表（写时复制，修改时锁定节点）
+         */
+        private final AtomicReferenceArray<int[]> links;
+        private volatile boolean deleted;
+
+        private Node(String id, Map<String, String> metadata, int level) {
+            this.id = id;
+            this.metadata = metadata;
+            this.links = new AtomicReferenceArray<>(level + 1);
+            for (int i = 0; i <= level; i++) {
+                links.set(i, new int[0]);
+            }
+        }
+
+        int level() {
+            return links.length() - 1;
+        }
+    }
+
+    private record EntryPoint(int node, int level) {}
+
+    private record Scored(int node, float score) {}
+}
@@ -0,0 +1,173 @@
+package com.xhhao.aimodelhub.service.vector;
+
+import com.xhhao.aimodelhub.api.VectorIndex;
+import com.xhhao.aimodelhub.api.internal.VectorIndexFactory;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import run.halo.app.plugin.PluginContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * 向量索引管理
+ * <p>
+ * 索引存放在 Halo 工作目录下（{@code plugins-data/<插件名>/vector-indexes/<索引名>}），
+ * 首次获取时从快照加载，有修改的索引每分钟保存一次，插件停止时全部保存。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class VectorIndexService implements VectorIndexFactory {
+
+    private static final Pattern NAME_PATTERN = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]{0,127}");
+    private static final int MAX_DIMENSION = 4096;
+
+    private final Path directory;
+    private final ConcurrentHashMap<String, HnswIndex> indexes = new ConcurrentHashMap<>();
+
+    public VectorIndexService(PluginContext pluginContext, Environment environment) {
+        String workDir = environment.getProperty("halo.work-dir",
+            Path.of(System.getProperty("user.home"), ".halo2").toString());
+        this.directory = Path.of(workDir, "plugins-data", pluginContext.getName(), "vector-indexes");
+    }
+
+    @Override
+    public Mono<VectorIndex> getOrCreate(String name, int dimension) {
+        return Mono.<VectorIndex>fromCallable(() -> {
+                validateName(name);
+                if (dimension <= 0 || dimension > MAX_DIMENSION) {
+                    throw new IllegalArgumentException("向量维度应在 1 ~ " + MAX_DIMENSION + " 之间: " + dimension);
+                }
+                HnswIndex index = indexes.computeIfAbsent(name, key -> {
+                    try {
+                        Path indexDirectory = directory.resolve(key);
+                        if (HnswIndex.exists(indexDirectory)) {
+                            return HnswIndex.open(key, indexDirectory);
+                        }
+                        log.info("创建向量索引 {}（{} 维）", key, dimension);
+                        return HnswIndex.create(key, indexDirectory, dimension);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("加载向量索引失败: " + key, e);
+                    }
+                });
+                if (index.getDimension() != dimension) {
+                    throw new IllegalArgumentException(String.format("向量索引 %s 的维度为 %d，与请求的 %d 不一致",
+                        name, index.getDimension(), dimension));
+                }
+                return index;
+            })
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<VectorIndex> get(String name) {
+        return Mono.<VectorIndex>fromCallable(() -> {
+                validateName(name);
+                HnswIndex loaded = indexes.get(name);
+                if (loaded != null) {
+                    return loaded;
+                }
+                Path indexDirectory = directory.resolve(name);
+                if (!HnswIndex.exists(indexDirectory)) {
+                    return null;
+                }
+                return indexes.computeIfAbsent(name, key -> {
+                    try {
+                        return HnswIndex.open(key, indexDirectory);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("加载向量索引失败: " + key, e);
+                    }
+                });
+            })
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<Boolean> drop(String name) {
+        return Mono.fromCallable(() -> {
+                validateName(name);
+                Path indexDirectory = directory.resolve(name);
+                HnswIndex removed = indexes.remove(name);
+                if (removed != null) {
+                    removed.close();
+                }
+                boolean existed = removed != null || HnswIndex.exists(indexDirectory);
+                HnswIndex.deleteDirectory(indexDirectory);
+                if (existed) {
+                    log.info("已删除向量索引 {}", name);
+                }
+                return existed;
+            })
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * 定期保存有修改的索引
+     */
+    @Scheduled(fixedDelay = 60_000, initialDelay = 60_000)
+    void saveDirtyIndexes() {
+        indexes.values().forEach(this::saveQuietly);
+    }
+
+    @PreDestroy
+    void close() {
+        indexes.values().forEach(index -> {
+            saveQuietly(index);
+            index.close();
+        });
+        indexes.clear();
+    }
+
+    /**
+     * 列出已加载索引的状态
+     */
+    public List<VectorIndexStats> list() {
+        return indexes.values().stream()
+            .map(index -> new VectorIndexStats(index.getName(), index.getDimension(), index.size(),
+                index.deletedCount(), index.isDirty()))
+            .sorted(Comparator.comparing(VectorIndexStats::name))
+            .toList();
+    }
+
+    private void saveQuietly(HnswIndex index) {
+        if (!index.isDirty()) {
+            return;
+        }
+        try {
+            index.saveSnapshot();
+        } catch (IOException | RuntimeException e) {
+            log.warn("保存向量索引失败: {}", index.getName(), e);
+        }
+    }
+
+    private static void validateName(String name) {
+        if (name == null || !NAME_PATTERN.matcher(name).matches()) {
+            throw new IllegalArgumentException("索引名称只能包含字母、数字、点、下划线与连字符，最长 128 个字符: " + name);
+        }
+    }
+
+    /**
+     * 向量索引状态
+     *
+     * @param name      索引名称
+     * @param dimension 向量维度
+     * @param size      向量条数
+     * @param deleted   已删除但仍保留在图中的节点数
+     * @param dirty     是否有未保存的修改
+     */
+    public record VectorIndexStats(String name, int dimension, int size, int deleted, boolean dirty) {}
+}
@@ -0,0 +1,193 @@
+package com.xhhao.aimodelhub.service.vector;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 内存映射的向量分段
+ * <p>
+ * 向量按编号顺序存放在固定大小的分段文件中（每段 {@link #VECTORS_PER_SEGMENT} 条），
+ * 分段整体映射到内存，向量数据不占用堆内存。写入后的向量不会再修改，替换向量时分配新编号。
+ * </p>
+ * <p>
+ * 扩容只在索引的分配锁内进行；读取不加锁，分段数组整体替换，
+ * 读取方拿到的编号一定已经写入（编号通过图的邻居列表发布）。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Slf4j
+final class VectorSegments implements Closeable {
+
+    static final int VECTORS_PER_SEGMENT = 1024;
+    private static final String SEGMENT_PREFIX = "vectors-";
+    private static final String SEGMENT_SUFFIX = ".f32";
+
+    private final Path directory;
+    private final int dimension;
+    private final long segmentBytes;
+
+    private final List<FileChannel> channels = new ArrayList<>();
+    private final List<MappedByteBuffer> mapped = new ArrayList<>();
+    private volatile FloatBuffer[] segments = new FloatBuffer[0];
+
+    VectorSegments(Path directory, int dimension) {
+        this.directory = directory;
+        this.dimension = dimension;
+        this.segmentBytes = (long) VECTORS_PER_SEGMENT * dimension * Float.BYTES;
+    }
+
+    /**
+     * 保证至少能容纳 count 条向量（调用方持有分配锁）
+     */
+    void ensureCapacity(int count) throws IOException {
+        int required = (count + VECTORS_PER_SEGMENT - 1) / VECTORS_PER_SEGMENT;
+        FloatBuffer[] current = segments;
+        if (required <= current.length) {
+            return;
+        }
+        FloatBuffer[] grown = Arrays.copyOf(current, required);
+        for (int i = current.length; i < required; i++) {
+            FileChannel channel = FileChannel.open(segmentPath(i), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+            buffer.order(ByteOrder.nativeOrder());
+            channels.add(channel);
+            mapped.add(buffer);
+            grown[i] = buffer.asFloatBuffer();
+        }
+        segments = grown;
+    }
+
+    void set(int node, float[] vector) {
+        segment(node).put(offset(node), vector);
+    }
+
+    float[] get(int node) {
+        float[] vector = new float[dimension];
+        segment(node).get(offset(node), vector);
+        return vector;
+    }
+
+    /**
+     * 已存向量与查询向量的点积
+     */
+    float dot(int node, float[] query) {
+        FloatBuffer buffer = segment(node);
+        int base = offset(node);
+        // 四路累加打破加法依赖链，便于 JIT 流水线执行
+        float s0 = 0;
+        float s1 = 0;
+        float s2 = 0;
+        float s3 = 0;
+        int i = 0;
+        int bound = dimension & ~3;
+        for (; i < bound; i += 4) {
+            s0 += buffer.get(base + i) * query[i];
+            s1 += buffer.get(base + i + 1) * query[i + 1];
+            s2 += buffer.get(base + i + 2) * query[i + 2];
+            s3 += buffer.get(base + i + 3) * query[i + 3];
+        }
+        for (; i < dimension; i++) {
+            s0 += buffer.get(base + i) * query[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    /**
+     * 两条已存向量的点积
+     */
+    float dot(int a, int b) {
+        FloatBuffer left = segment(a);
+        FloatBuffer right = segment(b);
+        int leftBase = offset(a);
+        int rightBase = offset(b);
+        float s0 = 0;
+        float s1 = 0;
+        float s2 = 0;
+        float s3 = 0;
+        int i = 0;
+        int bound = dimension & ~3;
+        for (; i < bound; i += 4) {
+            s0 += left.get(leftBase + i) * right.get(rightBase + i);
+            s1 += left.get(leftBase + i + 1) * right.get(rightBase + i + 1);
+            s2 += left.get(leftBase + i + 2) * right.get(rightBase + i + 2);
+            s3 += left.get(leftBase + i + 3) * right.get(rightBase + i + 3);
+        }
+        for (; i < dimension; i++) {
+            s0 += left.get(leftBase + i) * right.get(rightBase + i);
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    /**
+     * 将已写入的向量刷到磁盘（保存快照前调用）
+     */
+    void force() {
+        mapped.forEach(MappedByteBuffer::force);
+    }
+
+    /**
+     * 删除超出 count 条向量所需的分段文件（快照之后写入、未被快照引用的分段）
+     */
+    void deleteUnused(int count) throws IOException {
+        int used = (count + VECTORS_PER_SEGMENT - 1) / VECTORS_PER_SEGMENT;
+        try (var files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                String name = file.getFileName().toString();
+                if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)
+                    && segmentIndex(name) >= used) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        for (FileChannel channel : channels) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.debug("关闭向量分段失败: {}", directory, e);
+            }
+        }
+        channels.clear();
+        mapped.clear();
+        segments = new FloatBuffer[0];
+    }
+
+    private FloatBuffer segment(int node) {
+        return segments[node / VECTORS_PER_SEGMENT];
+    }
+
+    private int offset(int node) {
+        return (node % VECTORS_PER_SEGMENT) * dimension;
+    }
+
+    private Path segmentPath(int index) {
+        return directory.resolve(String.format("%s%05d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+    }
+
+    private static int segmentIndex(String fileName) {
+        String number = fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_SUFFIX.length());
+        try {
+            return Integer.parseInt(number);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
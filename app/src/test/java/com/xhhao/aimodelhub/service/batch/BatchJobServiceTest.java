@@ -0,0 +1,243 @@
+package com.xhhao.aimodelhub.service.batch;
+
+import com.xhhao.aimodelhub.api.BatchItemResult;
+import com.xhhao.aimodelhub.api.BatchJobStatus;
+import com.xhhao.aimodelhub.api.ChatMessage;
+import com.xhhao.aimodelhub.extension.BatchJob;
+import com.xhhao.aimodelhub.service.openai.OpenAiCompatibleChatModel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerResponse;
+import run.halo.app.extension.ReactiveExtensionClient;
+import run.halo.app.plugin.PluginContext;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link BatchJobService} 测试（供应商 Files 与 Batches 接口由本地模拟服务提供）
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+class BatchJobServiceTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @TempDir
+    Path workDir;
+
+    /**
+     * 模拟服务收到的请求（方法 路径 请求体）
+     */
+    private final Queue<String> requests = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 依次返回的批次查询结果
+     */
+    private final Queue<String> batchStates = new ConcurrentLinkedQueue<>();
+
+    private final Map<String, String> files = new ConcurrentHashMap<>();
+
+    private final Map<String, BatchJob> jobs = new ConcurrentHashMap<>();
+
+    private DisposableServer server;
+
+    private BatchJobService service;
+
+    private OpenAiCompatibleChatModel model;
+
+    @BeforeEach
+    void setUp() {
+        server = HttpServer.create()
+            .host("127.0.0.1")
+            .port(0)
+            .route(routes -> routes
+                .post("/v1/files", (request, response) -> request.receive().aggregate().asString()
+                    .doOnNext(body -> requests.add("POST /v1/files " + body))
+                    .then(json(response, "{\"id\":\"file-input\",\"purpose\":\"batch\"}")))
+                .post("/v1/batches", (request, response) -> request.receive().aggregate().asString()
+                    .doOnNext(body -> requests.add("POST /v1/batches " + body))
+                    .then(json(response, "{\"id\":\"batch-1\",\"status\":\"validating\"}")))
+                .get("/v1/batches/{id}", (request, response) -> {
+                    requests.add("GET /v1/batches/" + request.param("id"));
+                    return json(response, batchStates.poll());
+                })
+                .get("/v1/files/{id}/content", (request, response) -> {
+                    requests.add("GET /v1/files/" + request.param("id") + "/content");
+                    return response.sendString(Mono.just(files.get(request.param("id")))).then();
+                }))
+            .bindNow();
+
+        ReactiveExtensionClient client = mock(ReactiveExtensionClient.class);
+        when(client.create(any(BatchJob.class))).thenAnswer(invocation -> {
+            BatchJob job = invocation.getArgument(0);
+            jobs.put(job.getMetadata().getName(), job);
+            return Mono.just(job);
+        });
+        when(client.fetch(eq(BatchJob.class), anyString()))
+            .thenAnswer(invocation -> Mono.justOrEmpty(jobs.get(invocation.<String>getArgument(1))));
+        when(client.update(any(BatchJob.class))).thenAnswer(invocation -> {
+            BatchJob job = invocation.getArgument(0);
+            // 模拟轮询间隔已经过去，下次推进立即到期
+            if (job.getStatus().getNextPollTime() != null) {
+                job.getStatus().setNextPollTime(Instant.now());
+            }
+            jobs.put(job.getMetadata().getName(), job);
+            return Mono.just(job);
+        });
+
+        PluginContext pluginContext = mock(PluginContext.class);
+        when(pluginContext.getName()).thenReturn("aimodel-hub");
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources()
+            .addFirst(new MapPropertySource("test", Map.of("halo.work-dir", workDir.toString())));
+        service = new BatchJobService(client, pluginContext, environment);
+
+        model = OpenAiCompatibleChatModel.builder()
+            .provider("openai")
+            .apiKey("sk-test")
+            .modelName("gpt-4o-mini")
+            .baseUrl("http://127.0.0.1:" + server.port())
+            .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.disposeNow();
+    }
+
+    @Test
+    void runsCompletedBatchAndMapsResults() {
+        batchStates.add(batch("in_progress", null, null, ""));
+        batchStates.add(batch("completed", "file-output", "file-errors", ""));
+        files.put("file-output", resultLine(0, 200, "{\"choices\":[{\"message\":{\"content\":\"一\"}}]}")
+            + resultLine(1, 200, "{\"choices\":[{\"message\":{\"content\":\"二\"}}]}"));
+        files.put("file-errors", resultLine(2, 429, "{\"error\":{\"code\":\"rate_limit_exceeded\","
+            + "\"message\":\"too many requests\"}}"));
+
+        String name = submit(3);
+        BatchJobStatus status = awaitTerminal(name);
+
+        assertThat(status.getPhase()).isEqualTo(BatchJob.Phase.COMPLETED.name());
+        assertThat(status.getCompleted()).isEqualTo(2);
+        assertThat(status.getFailed()).isEqualTo(1);
+        assertThat(requests).extracting(request -> request.split(" ", 3)[0] + " " + request.split(" ", 3)[1])
+            .containsExactly("POST /v1/files", "POST /v1/batches", "GET /v1/batches/batch-1",
+                "GET /v1/batches/batch-1", "GET /v1/files/file-output/content", "GET /v1/files/file-errors/content");
+        // 上传的输入文件逐行包含各项请求，创建批次时引用上传得到的文件 ID
+        assertThat(requests.peek())
+            .contains("\"custom_id\":\"item-0\"", "\"custom_id\":\"item-2\"", "\"url\":\"/v1/chat/completions\"");
+        assertThat(requests.stream().filter(request -> request.startsWith("POST /v1/batches")).findFirst())
+            .hasValueSatisfying(request -> assertThat(request)
+                .contains("\"input_file_id\":\"file-input\"", "\"completion_window\":\"24h\""));
+
+        assertThat(service.results(name).collectList().block(TIMEOUT))
+            .extracting(BatchItemResult::getIndex, BatchItemResult::isSuccess, BatchItemResult::getContent,
+                BatchItemResult::getErrorCode)
+            .containsExactly(tuple(0, true, "一", null), tuple(1, true, "二", null),
+                tuple(2, false, null, "RATE_LIMIT"));
+    }
+
+    @Test
+    void downloadsPartialResultsOfExpiredBatch() {
+        batchStates.add(batch("expired", "file-output", "file-errors", ""));
+        files.put("file-output", resultLine(0, 200, "{\"choices\":[{\"message\":{\"content\":\"一\"}}]}"));
+        files.put("file-errors", "{\"custom_id\":\"item-1\",\"response\":null,"
+            + "\"error\":{\"code\":\"batch_expired\",\"message\":\"This request could not be executed\"}}\n");
+
+        String name = submit(3);
+        BatchJobStatus status = awaitTerminal(name);
+
+        assertThat(status.getPhase()).isEqualTo(BatchJob.Phase.EXPIRED.name());
+        assertThat(status.isResultsAvailable()).isTrue();
+        // 结果文件中都没有的项以失败补齐
+        assertThat(service.results(name).collectList().block(TIMEOUT))
+            .extracting(BatchItemResult::getIndex, BatchItemResult::isSuccess, BatchItemResult::getErrorCode)
+            .containsExactly(tuple(0, true, null), tuple(1, false, "TIMEOUT"), tuple(2, false, "UNKNOWN"));
+    }
+
+    @Test
+    void failsJobWithBatchErrorWithoutDownloading() {
+        batchStates.add(batch("failed", null, null,
+            ",\"errors\":{\"data\":[{\"code\":\"invalid_json_line\",\"message\":\"bad line\",\"line\":1}]}"));
+
+        String name = submit(1);
+        BatchJobStatus status = awaitTerminal(name);
+
+        assertThat(status.getPhase()).isEqualTo(BatchJob.Phase.FAILED.name());
+        assertThat(status.getLastError()).isEqualTo("invalid_json_line: bad line");
+        assertThat(requests).noneMatch(request -> request.contains("/content"));
+        assertThatThrownBy(() -> service.results(name).collectList().block(TIMEOUT))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("FAILED");
+    }
+
+    private String submit(int items) {
+        List<List<ChatMessage>> conversations = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            conversations.add(List.of(ChatMessage.user("问题 " + i)));
+        }
+        return service.submit("openai", model, conversations, "test-plugin", false).block(TIMEOUT);
+    }
+
+    /**
+     * 反复推进到期的任务，直到任务结束
+     */
+    private BatchJobStatus awaitTerminal(String name) {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            BatchJobStatus status = service.getStatus(name).block(TIMEOUT);
+            if (status.isDone()) {
+                return status;
+            }
+            service.pollDueJobs();
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+        throw new AssertionError("离线批处理任务未在限定时间内结束: " + name);
+    }
+
+    private static Mono<Void> json(HttpServerResponse response, String body) {
+        return response.header("Content-Type", "application/json").sendString(Mono.just(body)).then();
+    }
+
+    private static String batch(String status, String outputFileId, String errorFileId, String extra) {
+        return "{\"id\":\"batch-1\",\"status\":\"" + status + "\""
+            + (outputFileId != null ? ",\"output_file_id\":\"" + outputFileId + "\"" : "")
+            + (errorFileId != null ? ",\"error_file_id\":\"" + errorFileId + "\"" : "")
+            + ",\"request_counts\":{\"total\":3,\"completed\":2,\"failed\":1}" + extra + "}";
+    }
+
+    private static String resultLine(int index, int statusCode, String body) {
+        return "{\"custom_id\":\"item-" + index + "\",\"response\":{\"status_code\":" + statusCode
+            + ",\"body\":" + body + "},\"error\":null}\n";
+    }
+}
@@ -0,0 +1,220 @@
+package com.xhhao.aimodelhub.service.batch;
+
+import com.xhhao.aimodelhub.api.BatchItemResult;
+import com.xhhao.aimodelhub.api.BatchOptions;
+import com.xhhao.aimodelhub.api.BatchProgress;
+import com.xhhao.aimodelhub.api.ChatMessage;
+import com.xhhao.aimodelhub.api.ChatModel;
+import com.xhhao.aimodelhub.api.exception.AiModelException;
+import com.xhhao.aimodelhub.service.resilience.UpstreamRetry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * {@link ChatBatchExecutor} 测试
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+class ChatBatchExecutorTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final ChatBatchExecutor executor = new ChatBatchExecutor();
+
+    @Test
+    void boundsConcurrency() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        StubModel model = new StubModel(content -> Mono.defer(() -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            return Mono.delay(Duration.ofMillis(20))
+                .doOnNext(tick -> inFlight.decrementAndGet())
+                .thenReturn("re: " + content);
+        }));
+
+        List<BatchProgress> progress = run(model, conversations(20), options(3, 0));
+
+        assertThat(maxInFlight).hasValue(3);
+        assertThat(progress).hasSize(20);
+        assertThat(progress).extracting(BatchProgress::getCompleted)
+            .containsExactlyElementsOf(IntStream.rangeClosed(1, 20).boxed().toList());
+    }
+
+    @Test
+    void isolatesItemFailures() {
+        StubModel model = new StubModel(content -> switch (content) {
+            case "q1" -> Mono.error(responseError(400));
+            case "q3" -> Mono.error(new AiModelException("认证失败", AiModelException.ErrorCode.AUTH_ERROR));
+            default -> Mono.just("re: " + content);
+        });
+
+        BatchProgress last = last(run(model, conversations(5), options(2, 2)));
+
+        assertThat(last.isDone()).isTrue();
+        assertThat(last.getSucceeded()).isEqualTo(3);
+        assertThat(last.getFailed()).isEqualTo(2);
+        // 结果按输入顺序归位，不可重试的错误只调用一次
+        assertThat(last.getResults())
+            .extracting(BatchItemResult::getIndex, BatchItemResult::isSuccess, BatchItemResult::getErrorCode,
+                BatchItemResult::getAttempts)
+            .containsExactly(tuple(0, true, null, 1), tuple(1, false, "API_ERROR", 1), tuple(2, true, null, 1),
+                tuple(3, false, "AUTH_ERROR", 1), tuple(4, true, null, 1));
+        assertThat(last.getResults().get(2).getContent()).isEqualTo("re: q2");
+    }
+
+    @Test
+    void retriesOnlyInExecutor() {
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        // 模型内部带有上游重试，批量执行时应由订阅上下文关闭
+        StubModel model = new StubModel(content -> Mono.defer(() -> upstreamCalls.incrementAndGet() < 3
+                ? Mono.<String>error(responseError(503))
+                : Mono.just("ok"))
+            .retryWhen(UpstreamRetry.create(3, () -> true, null)));
+
+        BatchItemResult item = last(run(model, conversations(1), options(1, 3))).getResults().get(0);
+
+        assertThat(item.isSuccess()).isTrue();
+        assertThat(item.getAttempts()).isEqualTo(3);
+        assertThat(upstreamCalls).hasValue(3);
+        assertThat(model.noRetryFlags).containsOnlyKeys(true);
+    }
+
+    @Test
+    void reportsLastErrorWhenRetriesExhausted() {
+        StubModel model = new StubModel(content -> Mono.error(
+            new AiModelException("限流", AiModelException.ErrorCode.RATE_LIMIT)));
+
+        BatchItemResult item = last(run(model, conversations(1), options(1, 2))).getResults().get(0);
+
+        assertThat(item.isSuccess()).isFalse();
+        assertThat(item.getErrorCode()).isEqualTo("RATE_LIMIT");
+        assertThat(item.getErrorMessage()).isEqualTo("限流");
+        assertThat(item.getAttempts()).isEqualTo(3);
+    }
+
+    @Test
+    void timesOutEachAttemptSeparately() {
+        AtomicInteger calls = new AtomicInteger();
+        StubModel model = new StubModel(content -> calls.incrementAndGet() == 1 ? Mono.never() : Mono.just("ok"));
+        BatchOptions options = options(1, 1);
+        options.setItemTimeout(Duration.ofMillis(50));
+
+        BatchItemResult item = last(run(model, conversations(1), options)).getResults().get(0);
+
+        assertThat(item.isSuccess()).isTrue();
+        assertThat(item.getAttempts()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsEmptyConversation() {
+        StubModel model = new StubModel(content -> Mono.just("ok"));
+
+        BatchItemResult item = last(run(model, List.of(List.of()), options(1, 2))).getResults().get(0);
+
+        assertThat(item.getErrorCode()).isEqualTo("INVALID_PARAM");
+        assertThat(item.getAttempts()).isEqualTo(1);
+    }
+
+    @Test
+    void completesEmptyBatchImmediately() {
+        BatchProgress progress = last(run(new StubModel(content -> Mono.just("ok")), List.of(), options(1, 0)));
+
+        assertThat(progress.isDone()).isTrue();
+        assertThat(progress.getResults()).isEmpty();
+    }
+
+    @Test
+    void classifiesErrors() {
+        assertThat(ChatBatchExecutor.isRetryable(responseError(429))).isTrue();
+        assertThat(ChatBatchExecutor.isRetryable(responseError(502))).isTrue();
+        assertThat(ChatBatchExecutor.isRetryable(
+            new AiModelException("熔断", AiModelException.ErrorCode.MODEL_UNAVAILABLE))).isTrue();
+        assertThat(ChatBatchExecutor.isRetryable(
+            new AiModelException("配置错误", AiModelException.ErrorCode.CONFIG_ERROR))).isFalse();
+        assertThat(ChatBatchExecutor.isRetryable(responseError(400))).isFalse();
+
+        assertThat(ChatBatchExecutor.errorCode(responseError(429))).isEqualTo("RATE_LIMIT");
+        assertThat(ChatBatchExecutor.errorCode(responseError(403))).isEqualTo("AUTH_ERROR");
+        assertThat(ChatBatchExecutor.errorCode(responseError(500))).isEqualTo("API_ERROR");
+        assertThat(ChatBatchExecutor.errorCode(new TimeoutException())).isEqualTo("TIMEOUT");
+        assertThat(ChatBatchExecutor.errorCode(new IllegalStateException())).isEqualTo("UNKNOWN");
+    }
+
+    private List<BatchProgress> run(ChatModel model, List<List<ChatMessage>> conversations, BatchOptions options) {
+        return executor.execute(Mono.just(model), conversations, options).collectList().block(TIMEOUT);
+    }
+
+    private static BatchProgress last(List<BatchProgress> progress) {
+        return progress.get(progress.size() - 1);
+    }
+
+    private static List<List<ChatMessage>> conversations(int count) {
+        return IntStream.range(0, count)
+            .mapToObj(i -> List.of(ChatMessage.user("q" + i)))
+            .toList();
+    }
+
+    private static BatchOptions options(int concurrency, int maxRetries) {
+        return BatchOptions.builder()
+            .concurrency(concurrency)
+            .maxRetries(maxRetries)
+            .retryBackoff(Duration.ofMillis(1))
+            .build();
+    }
+
+    private static WebClientResponseException responseError(int status) {
+        return WebClientResponseException.create(status, "status " + status, new HttpHeaders(), new byte[0], null);
+    }
+
+    /**
+     * 按最后一条消息内容应答的模型，记录订阅上下文中的 {@link UpstreamRetry#NO_RETRY_KEY}
+     */
+    private static final class StubModel implements ChatModel {
+        private final Function<String, Mono<String>> answer;
+        private final Map<Boolean, AtomicInteger> noRetryFlags = new ConcurrentHashMap<>();
+
+        StubModel(Function<String, Mono<String>> answer) {
+            this.answer = answer;
+        }
+
+        @Override
+        public Mono<String> chat(String userMessage) {
+            return Mono.deferContextual(context -> {
+                noRetryFlags.computeIfAbsent(context.getOrDefault(UpstreamRetry.NO_RETRY_KEY, false),
+                    flag -> new AtomicInteger()).incrementAndGet();
+                return answer.apply(userMessage);
+            });
+        }
+
+        @Override
+        public Flux<String> chatStream(String userMessage) {
+            return chat(userMessage).flux();
+        }
+
+        @Override
+        public Mono<String> chat(List<ChatMessage> messages) {
+            return chat(messages.get(messages.size() - 1).getContent());
+        }
+
+        @Override
+        public Flux<String> chatStream(List<ChatMessage> messages) {
+            return chat(messages).flux();
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.xhhao.aimodelhub.service.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import run.halo.app.plugin.PluginContext;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link DiskResponseCache} 测试
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+class DiskResponseCacheTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @TempDir
+    Path workDir;
+
+    private DiskResponseCache cache;
+
+    @AfterEach
+    void tearDown() {
+        if (cache != null) {
+            cache.close();
+        }
+    }
+
+    @Test
+    void storesAndReadsResponses() {
+        cache = open(new DiskResponseCache.DiskCacheSettings());
+        ResponseCache.CachedResponse streamed = new ResponseCache.CachedResponse("你好", List.of("你", "好"), 3, 2);
+        ResponseCache.CachedResponse plain = new ResponseCache.CachedResponse("plain", null, null, null);
+
+        put("streamed", streamed);
+        put("plain", plain);
+
+        assertThat(cache.get("streamed").response()).isEqualTo(streamed);
+        assertThat(cache.get("plain").response()).isEqualTo(plain);
+        assertThat(cache.get("missing")).isNull();
+        assertThat(cache.getStats().entries()).isEqualTo(2);
+    }
+
+    @Test
+    void reloadsSegmentsAfterRestart() {
+        DiskResponseCache.DiskCacheSettings settings = new DiskResponseCache.DiskCacheSettings();
+        // 小分段，写入过程中会切换多个分段
+        settings.setSegmentSizeBytes(256);
+        cache = open(settings);
+        for (int i = 0; i < 10; i++) {
+            put("key-" + i, response("value-" + i));
+        }
+        put("key-0", response("latest"));
+        cache.put("expiring", response("soon"), System.currentTimeMillis() + 100);
+        awaitUntil(() -> cache.get("expiring") != null);
+        int segments = cache.getStats().segments();
+        cache.close();
+        sleep(150);
+
+        cache = open(settings);
+
+        assertThat(segments).isGreaterThan(1);
+        assertThat(cache.getStats().entries()).isEqualTo(10);
+        assertThat(cache.get("key-0").response().content()).isEqualTo("latest");
+        assertThat(cache.get("key-9").response().content()).isEqualTo("value-9");
+        assertThat(cache.get("expiring")).isNull();
+    }
+
+    @Test
+    void truncatesTornTailOnLoad() throws IOException {
+        cache = open(new DiskResponseCache.DiskCacheSettings());
+        put("first", response("one"));
+        long firstEnd = Files.size(segment(1));
+        put("second", response("two"));
+        cache.close();
+
+        // 模拟写入 second 时进程退出：记录只写了一部分
+        try (FileChannel channel = FileChannel.open(segment(1), StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+        cache = open(new DiskResponseCache.DiskCacheSettings());
+
+        assertThat(cache.get("first").response().content()).isEqualTo("one");
+        assertThat(cache.get("second")).isNull();
+        assertThat(Files.size(segment(1))).isEqualTo(firstEnd);
+    }
+
+    @Test
+    void rejectsRecordWithBadChecksum() throws IOException {
+        cache = open(new DiskResponseCache.DiskCacheSettings());
+        put("first", response("one"));
+        long firstEnd = Files.size(segment(1));
+        put("second", response("two"));
+        put("third", response("three"));
+        cache.close();
+
+        // 长度完整但内容损坏的记录按 CRC 拒绝，其后的记录一并丢弃
+        try (FileChannel channel = FileChannel.open(segment(1), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer target = ByteBuffer.allocate(1);
+            long position = firstEnd + 30;
+            channel.read(target, position);
+            target.put(0, (byte) (target.get(0) ^ 0xFF)).rewind();
+            channel.write(target, position);
+        }
+        cache = open(new DiskResponseCache.DiskCacheSettings());
+
+        assertThat(cache.get("first").response().content()).isEqualTo("one");
+        assertThat(cache.get("second")).isNull();
+        assertThat(cache.get("third")).isNull();
+        assertThat(Files.size(segment(1))).isEqualTo(firstEnd);
+    }
+
+    @Test
+    void compactsOverwrittenRecords() {
+        DiskResponseCache.DiskCacheSettings settings = new DiskResponseCache.DiskCacheSettings();
+        settings.setCompactionInterval(Duration.ZERO);
+        cache = open(settings);
+        for (int i = 0; i < 20; i++) {
+            put("key", response("value-" + i));
+        }
+        put("other", response("other"));
+        long before = cache.getStats().diskBytes();
+
+        cache.scheduleCompaction();
+        awaitUntil(() -> cache.getStats().compactions() == 1);
+
+        DiskResponseCache.DiskCacheStats stats = cache.getStats();
+        assertThat(stats.diskBytes()).isLessThan(before / 5);
+        assertThat(stats.entries()).isEqualTo(2);
+        assertThat(cache.get("key").response().content()).isEqualTo("value-19");
+        assertThat(cache.get("other").response().content()).isEqualTo("other");
+        // 旧分段已删除，重启后从整理后的分段加载
+        cache.close();
+        cache = open(settings);
+        assertThat(cache.get("key").response().content()).isEqualTo("value-19");
+        assertThat(cache.getStats().entries()).isEqualTo(2);
+    }
+
+    @Test
+    void dropsOldestRecordsWhenOverSize() {
+        DiskResponseCache.DiskCacheSettings settings = new DiskResponseCache.DiskCacheSettings();
+        settings.setMaxSizeBytes(1000);
+        settings.setSegmentSizeBytes(256);
+        cache = open(settings);
+        for (int i = 0; i < 30; i++) {
+            put("key-" + i, response("value-" + i));
+        }
+
+        awaitUntil(() -> cache.getStats().compactions() > 0);
+        assertThat(cache.getStats().diskBytes()).isLessThanOrEqualTo(1000);
+        assertThat(cache.get("key-29").response().content()).isEqualTo("value-29");
+        assertThat(cache.get("key-0")).isNull();
+    }
+
+    @Test
+    void clearDeletesSegments() throws IOException {
+        cache = open(new DiskResponseCache.DiskCacheSettings());
+        put("key", response("value"));
+
+        cache.clear();
+        awaitUntil(() -> cache.getStats().entries() == 0 && !Files.exists(segment(1)));
+
+        assertThat(cache.get("key")).isNull();
+        try (Stream<Path> files = Files.list(directory())) {
+            assertThat(files).hasSize(1);
+        }
+    }
+
+    private DiskResponseCache open(DiskResponseCache.DiskCacheSettings settings) {
+        PluginContext pluginContext = mock(PluginContext.class);
+        when(pluginContext.getName()).thenReturn("aimodel-hub");
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources()
+            .addFirst(new MapPropertySource("test", Map.of("halo.work-dir", workDir.toString())));
+        DiskResponseCache opened = new DiskResponseCache(pluginContext, environment);
+        opened.updateConfig(settings);
+        opened.warmUp();
+        awaitUntil(opened::isReady);
+        return opened;
+    }
+
+    /**
+     * 写入并等待写线程完成
+     */
+    private void put(String key, ResponseCache.CachedResponse response) {
+        cache.put(key, response, System.currentTimeMillis() + Duration.ofHours(1).toMillis());
+        awaitUntil(() -> {
+            DiskResponseCache.StoredResponse stored = cache.get(key);
+            return stored != null && stored.response().equals(response);
+        });
+    }
+
+    private Path directory() {
+        return workDir.resolve("plugins-data").resolve("aimodel-hub").resolve("response-cache");
+    }
+
+    private Path segment(int id) {
+        return directory().resolve(String.format("%08d.seg", id));
+    }
+
+    private static ResponseCache.CachedResponse response(String content) {
+        return new ResponseCache.CachedResponse(content, null, 1, 1);
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("等待磁盘响应缓存超时");
+            }
+            sleep(5);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.xhhao.aimodelhub.service.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link MinHashIndex} 测试
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+class MinHashIndexTest {
+
+    private static final long TTL = 60_000_000_000L;
+
+    private static final String TEXT = "请帮我把下面这段关于连接池配置的说明翻译成英文，保持术语准确，语气正式。";
+
+    @Test
+    void identicalTextsHaveIdenticalSignatures() {
+        MinHashIndex<String> index = new MinHashIndex<>(3, 100);
+
+        assertThat(index.signature(TEXT)).isEqualTo(index.signature(TEXT));
+    }
+
+    @Test
+    void findsNearDuplicateWithinScope() {
+        MinHashIndex<String> index = new MinHashIndex<>(3, 100);
+        index.put(1, index.signature(TEXT), "cached", 1, TTL, 0);
+
+        String edited = TEXT.replace("语气正式", "语气要正式");
+        MinHashIndex.Match<String> match = index.findSimilar(1, index.signature(edited), 0.8, 0);
+
+        assertThat(match).isNotNull();
+        assertThat(match.value()).isEqualTo("cached");
+        assertThat(match.similarity()).isBetween(0.8, 1.0);
+    }
+
+    @Test
+    void ignoresOtherScopesAndDissimilarTexts() {
+        MinHashIndex<String> index = new MinHashIndex<>(3, 100);
+        index.put(1, index.signature(TEXT), "cached", 1, TTL, 0);
+
+        assertThat(index.findSimilar(2, index.signature(TEXT), 0.8, 0)).isNull();
+        assertThat(index.findSimilar(1, index.signature("今天天气怎么样？适合出门跑步吗？"), 0.8, 0)).isNull();
+    }
+
+    @Test
+    void dropsExpiredEntries() {
+        MinHashIndex<String> index = new MinHashIndex<>(3, 100);
+        index.put(1, index.signature(TEXT), "cached", 1, 10, 0);
+
+        assertThat(index.findSimilar(1, index.signature(TEXT), 0.8, 9)).isNotNull();
+        assertThat(index.findSimilar(1, index.signature(TEXT), 0.8, 10)).isNull();
+        assertThat(index.stats().size()).isZero();
+        assertThat(index.stats().weight()).isZero();
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedWhenFull() {
+        MinHashIndex<String> index = new MinHashIndex<>(3, 2);
+        int[] first = index.signature("第一段完全不同的文本内容，用于测试淘汰顺序");
+        int[] second = index.signature("second entry with entirely different characters");
+        int[] third = index.signature("3333 33333 333 3333333 33 333333");
+        index.put(1, first, "first", 1, TTL, 0);
+        index.put(1, second, "second", 1, TTL, 0);
+
+        // 访问 first 后 second 成为最久未访问的条目
+        assertThat(index.findSimilar(1, first, 0.9, 0)).isNotNull();
+        index.put(1, third, "third", 1, TTL, 0);
+
+        assertThat(index.findSimilar(1, first, 0.9, 0)).isNotNull();
+        assertThat(index.findSimilar(1, second, 0.9, 0)).isNull();
+        assertThat(index.findSimilar(1, third, 0.9, 0)).isNotNull();
+        assertThat(index.stats().evictions()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,133 @@
+package com.xhhao.aimodelhub.service.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link TinyLfuCache} 测试
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+class TinyLfuCacheTest {
+
+    private static final long TTL = 60_000_000_000L;
+
+    @Test
+    void countsHitsAndMisses() {
+        TinyLfuCache<String, String> cache = new TinyLfuCache<>(100, 128);
+        cache.put("a", "1", 1, TTL, 0);
+
+        assertThat(cache.get("a", 0)).isEqualTo("1");
+        assertThat(cache.get("b", 0)).isNull();
+
+        TinyLfuCache.Stats stats = cache.stats();
+        assertThat(stats.size()).isEqualTo(1);
+        assertThat(stats.weight()).isEqualTo(1);
+        assertThat(stats.hits()).isEqualTo(1);
+        assertThat(stats.misses()).isEqualTo(1);
+    }
+
+    @Test
+    void removesExpiredEntryOnAccess() {
+        TinyLfuCache<String, String> cache = new TinyLfuCache<>(100, 128);
+        cache.put("a", "1", 1, 10, 0);
+
+        assertThat(cache.get("a", 9)).isEqualTo("1");
+        assertThat(cache.get("a", 10)).isNull();
+        assertThat(cache.stats().size()).isZero();
+        assertThat(cache.stats().weight()).isZero();
+    }
+
+    @Test
+    void replacesExistingEntry() {
+        TinyLfuCache<String, String> cache = new TinyLfuCache<>(100, 128);
+        cache.put("a", "1", 5, TTL, 0);
+        cache.put("a", "2", 3, TTL, 0);
+
+        assertThat(cache.get("a", 0)).isEqualTo("2");
+        assertThat(cache.stats().size()).isEqualTo(1);
+        assertThat(cache.stats().weight()).isEqualTo(3);
+    }
+
+    @Test
+    void skipsEntryHeavierThanCapacity() {
+        TinyLfuCache<String, String> cache = new TinyLfuCache<>(100, 128);
+        cache.put("a", "1", 101, TTL, 0);
+
+        assertThat(cache.get("a", 0)).isNull();
+        assertThat(cache.stats().weight()).isZero();
+    }
+
+    @Test
+    void keepsWeightWithinCapacity() {
+        TinyLfuCache<String, String> cache = new TinyLfuCache<>(100, 128);
+        for (int i = 0; i < 1_000; i++) {
+            cache.put("key-" + i, "value", 1 + i % 7, TTL, 0);
+            cache.get("key-" + (i / 2), 0);
+            assertThat(cache.stats().weight()).isLessThanOrEqualTo(100);
+        }
+        assertThat(cache.stats().evictions()).isPositive();
+    }
+
+    @Test
+    void frequentEntriesSurviveOneOffScan() {
+        TinyLfuCache<String, String> cache = new TinyLfuCache<>(100, 4096);
+        IntStream.range(0, 20).forEach(i -> cache.put("hot-" + i, "value", 1, TTL, 0));
+        for (int round = 0; round < 10; round++) {
+            IntStream.range(0, 20).forEach(i -> cache.get("hot-" + i, 0));
+        }
+
+        // 只写入一次的条目被挤出窗口区时频率低于主区条目，不能把热点条目挤掉
+        IntStream.range(0, 1_000).forEach(i -> cache.put("cold-" + i, "value", 1, TTL, 0));
+
+        assertThat(IntStream.range(0, 20).filter(i -> cache.get("hot-" + i, 0) != null).count())
+            .isEqualTo(20);
+        assertThat(cache.stats().weight()).isLessThanOrEqualTo(100);
+    }
+
+    @Test
+    void admitsCandidateMoreFrequentThanVictim() {
+        TinyLfuCache<String, String> cache = new TinyLfuCache<>(100, 4096);
+        IntStream.range(0, 100).forEach(i -> cache.put("old-" + i, "value", 1, TTL, 0));
+
+        // 新条目在写入前已被频繁查询（未命中也计入频率），挤出窗口时应替换主区中的冷条目
+        for (int round = 0; round < 5; round++) {
+            cache.get("popular", 0);
+        }
+        cache.put("popular", "value", 1, TTL, 0);
+        cache.put("next", "value", 1, TTL, 0);
+
+        assertThat(cache.get("popular", 0)).isEqualTo("value");
+    }
+
+    @Test
+    void clearRemovesEverything() {
+        TinyLfuCache<String, String> cache = new TinyLfuCache<>(100, 128);
+        IntStream.range(0, 50).forEach(i -> cache.put("key-" + i, "value", 1, TTL, 0));
+        cache.clear();
+
+        assertThat(cache.stats().size()).isZero();
+        assertThat(cache.stats().weight()).isZero();
+        assertThat(cache.get("key-1", 0)).isNull();
+    }
+
+    @Test
+    void sketchSaturatesAndAges() {
+        TinyLfuCache.FrequencySketch sketch = new TinyLfuCache.FrequencySketch(64);
+        for (int i = 0; i < 20; i++) {
+            sketch.increment(42);
+        }
+        assertThat(sketch.frequency(42)).isEqualTo(15);
+
+        // 累计写入达到采样上限后所有计数减半
+        int hash = 1_000;
+        while (sketch.frequency(42) == 15) {
+            sketch.increment(hash++);
+        }
+        assertThat(sketch.frequency(42)).isEqualTo(7);
+    }
+}
@@ -0,0 +1,246 @@
+package com.xhhao.aimodelhub.service.common;
+
+import com.xhhao.aimodelhub.api.ChatMessage;
+import com.xhhao.aimodelhub.api.ChatModel;
+import com.xhhao.aimodelhub.api.ChatModels;
+import com.xhhao.aimodelhub.api.exception.AiModelException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link FailoverChatModel} 测试
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+class FailoverChatModelTest {
+
+    @Test
+    void failsOverInChainOrder() {
+        StubModel primary = StubModel.failing(serverError(503));
+        StubModel secondary = StubModel.failing(new AiModelException("限流", AiModelException.ErrorCode.RATE_LIMIT));
+        StubModel tertiary = StubModel.answering("third");
+        FailoverChatModel model = failover(primary, secondary, tertiary);
+
+        assertThat(model.chat("hi").block()).isEqualTo("third");
+
+        assertThat(primary.calls).hasValue(1);
+        assertThat(secondary.calls).hasValue(1);
+        assertThat(tertiary.calls).hasValue(1);
+    }
+
+    @Test
+    void stopsAtFirstSuccess() {
+        StubModel primary = StubModel.answering("first");
+        StubModel secondary = StubModel.answering("second");
+
+        assertThat(failover(primary, secondary).chat(List.of(ChatMessage.user("hi"))).block()).isEqualTo("first");
+
+        assertThat(secondary.calls).hasValue(0);
+    }
+
+    @Test
+    void failsOverWhenProviderUnavailable() {
+        // 首选供应商未配置时，获取模型即失败
+        FailoverChatModel.Candidate unconfigured = new FailoverChatModel.Candidate("openai",
+            () -> Mono.error(new AiModelException("未配置", AiModelException.ErrorCode.CONFIG_ERROR)));
+        StubModel secondary = StubModel.answering("second");
+        FailoverChatModel model = new FailoverChatModel(
+            List.of(unconfigured, new FailoverChatModel.Candidate("deepseek", () -> Mono.just(secondary))), null);
+
+        assertThat(model.chat("hi").block()).isEqualTo("second");
+    }
+
+    @Test
+    void doesNotFailOverOnClientError() {
+        StubModel primary = StubModel.failing(serverError(400));
+        StubModel secondary = StubModel.answering("second");
+
+        assertThatThrownBy(() -> failover(primary, secondary).chat("hi").block())
+            .isInstanceOf(WebClientResponseException.BadRequest.class);
+        assertThat(secondary.calls).hasValue(0);
+    }
+
+    @Test
+    void propagatesErrorOfLastCandidate() {
+        StubModel primary = StubModel.failing(serverError(503));
+        StubModel secondary = StubModel.failing(serverError(502));
+
+        assertThatThrownBy(() -> failover(primary, secondary).chat("hi").block())
+            .isInstanceOf(WebClientResponseException.BadGateway.class);
+    }
+
+    @Test
+    void failsOverStreamBeforeFirstToken() {
+        StubModel primary = StubModel.streaming(Flux.error(serverError(500)));
+        StubModel secondary = StubModel.streaming(Flux.just("a", "b"));
+
+        StepVerifier.create(failover(primary, secondary).chatStream("hi"))
+            .expectNext("a", "b")
+            .verifyComplete();
+    }
+
+    @Test
+    void doesNotFailOverStreamAfterTokensEmitted() {
+        StubModel primary = StubModel.streaming(Flux.concat(Flux.just("partial"), Flux.error(serverError(503))));
+        StubModel secondary = StubModel.streaming(Flux.just("other"));
+
+        // 已输出内容后切换会拼接出两个模型的回答
+        StepVerifier.create(failover(primary, secondary).chatStream(List.of(ChatMessage.user("hi"))))
+            .expectNext("partial")
+            .expectError(WebClientResponseException.ServiceUnavailable.class)
+            .verify();
+        assertThat(secondary.calls).hasValue(0);
+    }
+
+    @Test
+    void marksFailoverFromOnlyForFallbackCalls() {
+        StubModel primary = StubModel.failing(serverError(503));
+        StubModel secondary = StubModel.failing(serverError(503));
+        StubModel tertiary = StubModel.answering("third");
+
+        failover(primary, secondary, tertiary).chat("hi").block();
+
+        // 日志中的 failoverFrom 始终记录链首的供应商
+        assertThat(primary.failoverFrom).containsExactly("");
+        assertThat(secondary.failoverFrom).containsExactly("provider-0");
+        assertThat(tertiary.failoverFrom).containsExactly("provider-0");
+    }
+
+    @Test
+    void marksFailoverFromForStreamFallback() {
+        StubModel primary = StubModel.streaming(Flux.error(new TimeoutException()));
+        StubModel secondary = StubModel.streaming(Flux.just("a"));
+
+        failover(primary, secondary).chatStream("hi").blockLast();
+
+        assertThat(primary.failoverFrom).containsExactly("");
+        assertThat(secondary.failoverFrom).containsExactly("provider-0");
+    }
+
+    @Test
+    void propagatesResolvedCaller() {
+        CallerResolver callerResolver = mock(CallerResolver.class);
+        when(callerResolver.fromStack()).thenReturn("blog-plugin");
+        StubModel primary = StubModel.failing(serverError(503));
+        StubModel secondary = StubModel.answering("second");
+        FailoverChatModel model = new FailoverChatModel(List.of(candidate(0, primary), candidate(1, secondary)),
+            callerResolver);
+
+        model.chat("hi").block();
+        // 显式声明的调用方优先于识别结果
+        model.chat("hi").contextWrite(context -> context.put(ChatModels.CALLER_PLUGIN_KEY, "explicit")).block();
+
+        assertThat(secondary.callers).containsExactly("blog-plugin", "explicit");
+    }
+
+    @Test
+    void classifiesFailoverErrors() {
+        assertThat(FailoverChatModel.canFailover(new TimeoutException())).isTrue();
+        assertThat(FailoverChatModel.canFailover(serverError(429))).isTrue();
+        assertThat(FailoverChatModel.canFailover(
+            new AiModelException("不可用", AiModelException.ErrorCode.MODEL_UNAVAILABLE))).isTrue();
+        assertThat(FailoverChatModel.canFailover(
+            new AiModelException("认证失败", AiModelException.ErrorCode.AUTH_ERROR))).isFalse();
+        assertThat(FailoverChatModel.canFailover(new IllegalArgumentException())).isFalse();
+    }
+
+    @Test
+    void rejectsEmptyChain() {
+        assertThatThrownBy(() -> new FailoverChatModel(List.of(), null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static FailoverChatModel failover(StubModel... models) {
+        List<FailoverChatModel.Candidate> candidates = new ArrayList<>();
+        for (int i = 0; i < models.length; i++) {
+            candidates.add(candidate(i, models[i]));
+        }
+        return new FailoverChatModel(candidates, null);
+    }
+
+    private static FailoverChatModel.Candidate candidate(int index, ChatModel model) {
+        return new FailoverChatModel.Candidate("provider-" + index, () -> Mono.just(model));
+    }
+
+    private static WebClientResponseException serverError(int status) {
+        return WebClientResponseException.create(status, "status " + status, new HttpHeaders(), new byte[0], null);
+    }
+
+    /**
+     * 记录调用次数与订阅上下文的模型
+     */
+    private static final class StubModel implements ChatModel {
+        private final Mono<String> answer;
+        private final Flux<String> stream;
+        private final AtomicInteger calls = new AtomicInteger();
+        private final List<String> failoverFrom = new ArrayList<>();
+        private final List<String> callers = new ArrayList<>();
+
+        private StubModel(Mono<String> answer, Flux<String> stream) {
+            this.answer = answer;
+            this.stream = stream;
+        }
+
+        static StubModel answering(String answer) {
+            return new StubModel(Mono.just(answer), Flux.just(answer));
+        }
+
+        static StubModel failing(Throwable error) {
+            return new StubModel(Mono.error(error), Flux.error(error));
+        }
+
+        static StubModel streaming(Flux<String> stream) {
+            return new StubModel(stream.next(), stream);
+        }
+
+        @Override
+        public Mono<String> chat(String userMessage) {
+            return Mono.deferContextual(context -> {
+                observe(context.getOrDefault(FailoverChatModel.FAILOVER_FROM_KEY, ""),
+                    context.getOrDefault(ChatModels.CALLER_PLUGIN_KEY, ""));
+                return answer;
+            });
+        }
+
+        @Override
+        public Flux<String> chatStream(String userMessage) {
+            return Flux.deferContextual(context -> {
+                observe(context.getOrDefault(FailoverChatModel.FAILOVER_FROM_KEY, ""),
+                    context.getOrDefault(ChatModels.CALLER_PLUGIN_KEY, ""));
+                return stream;
+            });
+        }
+
+        @Override
+        public Mono<String> chat(List<ChatMessage> messages) {
+            return chat("");
+        }
+
+        @Override
+        public Flux<String> chatStream(List<ChatMessage> messages) {
+            return chatStream("");
+        }
+
+        private void observe(String from, String caller) {
+            calls.incrementAndGet();
+            failoverFrom.add(from);
+            callers.add(caller);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.xhhao.aimodelhub.service.common;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link SingleFlight} 测试
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+class SingleFlightTest {
+
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    @Test
+    void concurrentCallsShareOneUpstreamCall() {
+        Sinks.One<String> upstream = Sinks.one();
+        AtomicInteger subscriptions = new AtomicInteger();
+        AtomicInteger sharedCallbacks = new AtomicInteger();
+        Mono<String> call = Mono.defer(() -> {
+            subscriptions.incrementAndGet();
+            return upstream.asMono();
+        });
+
+        AtomicReference<String> first = new AtomicReference<>();
+        AtomicReference<String> second = new AtomicReference<>();
+        singleFlight.execute("key", call, sharedCallbacks::incrementAndGet).subscribe(first::set);
+        singleFlight.execute("key", call, sharedCallbacks::incrementAndGet).subscribe(second::set);
+        assertThat(singleFlight.getStats().inFlightCalls()).isEqualTo(1);
+
+        upstream.tryEmitValue("result");
+
+        assertThat(first.get()).isEqualTo("result");
+        assertThat(second.get()).isEqualTo("result");
+        assertThat(subscriptions.get()).isEqualTo(1);
+        assertThat(sharedCallbacks.get()).isEqualTo(1);
+        assertThat(singleFlight.getStats().shared()).isEqualTo(1);
+        assertThat(singleFlight.getStats().inFlightCalls()).isZero();
+    }
+
+    @Test
+    void doesNotCacheCompletedCalls() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        Mono<Integer> call = Mono.fromCallable(subscriptions::incrementAndGet);
+
+        assertThat(singleFlight.execute("key", call, () -> {}).block()).isEqualTo(1);
+        assertThat(singleFlight.execute("key", call, () -> {}).block()).isEqualTo(2);
+    }
+
+    @Test
+    void differentKeysAreNotShared() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        Mono<String> call = Mono.defer(() -> {
+            subscriptions.incrementAndGet();
+            return Mono.<String>never();
+        });
+
+        singleFlight.execute("a", call, () -> {}).subscribe();
+        singleFlight.execute("b", call, () -> {}).subscribe();
+
+        assertThat(subscriptions.get()).isEqualTo(2);
+    }
+
+    @Test
+    void errorReachesEverySubscriberAndClearsFlight() {
+        Sinks.One<String> upstream = Sinks.one();
+        List<Throwable> errors = new ArrayList<>();
+        Mono<String> call = upstream.asMono();
+
+        singleFlight.execute("key", call, () -> {}).subscribe(value -> {}, errors::add);
+        singleFlight.execute("key", call, () -> {}).subscribe(value -> {}, errors::add);
+        upstream.tryEmitError(new IllegalStateException("boom"));
+
+        assertThat(errors).hasSize(2).allMatch(IllegalStateException.class::isInstance);
+        assertThat(singleFlight.getStats().inFlightCalls()).isZero();
+    }
+
+    @Test
+    void disabledPassesCallsThrough() {
+        SingleFlight.SingleFlightSettings settings = new SingleFlight.SingleFlightSettings();
+        settings.setEnabled(false);
+        singleFlight.updateConfig(settings);
+        AtomicInteger subscriptions = new AtomicInteger();
+        Mono<String> call = Mono.defer(() -> {
+            subscriptions.incrementAndGet();
+            return Mono.<String>never();
+        });
+
+        singleFlight.execute("key", call, () -> {}).subscribe();
+        singleFlight.execute("key", call, () -> {}).subscribe();
+
+        assertThat(subscriptions.get()).isEqualTo(2);
+        assertThat(singleFlight.getStats().shared()).isZero();
+    }
+
+    @Test
+    void lateStreamSubscriberReceivesEarlierChunks() {
+        SingleFlight.SingleFlightSettings settings = new SingleFlight.SingleFlightSettings();
+        settings.setStreamEnabled(true);
+        singleFlight.updateConfig(settings);
+        Sinks.Many<String> upstream = Sinks.many().unicast().onBackpressureBuffer();
+        AtomicInteger subscriptions = new AtomicInteger();
+        Flux<String> call = Flux.defer(() -> {
+            subscriptions.incrementAndGet();
+            return upstream.asFlux();
+        });
+
+        List<String> first = new ArrayList<>();
+        List<String> second = new ArrayList<>();
+        singleFlight.executeStream("key", call, () -> {}).subscribe(first::add);
+        upstream.tryEmitNext("a");
+        singleFlight.executeStream("key", call, () -> {}).subscribe(second::add);
+        upstream.tryEmitNext("b");
+        upstream.tryEmitComplete();
+
+        assertThat(first).containsExactly("a", "b");
+        assertThat(second).containsExactly("a", "b");
+        assertThat(subscriptions.get()).isEqualTo(1);
+        assertThat(singleFlight.getStats().inFlightStreams()).isZero();
+    }
+
+    @Test
+    void streamsAreNotSharedByDefault() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        Flux<String> call = Flux.defer(() -> {
+            subscriptions.incrementAndGet();
+            return Flux.<String>never();
+        });
+
+        singleFlight.executeStream("key", call, () -> {}).subscribe();
+        singleFlight.executeStream("key", call, () -> {}).subscribe();
+
+        assertThat(subscriptions.get()).isEqualTo(2);
+    }
+}
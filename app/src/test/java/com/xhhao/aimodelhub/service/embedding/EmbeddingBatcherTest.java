@@ -0,0 +1,131 @@
+package com.xhhao.aimodelhub.service.embedding;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link EmbeddingBatcher} 测试
+ * <p>
+ * 上游返回的向量第一个分量为文本长度，用来核对结果是否按位置分发回对应的调用方。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+class EmbeddingBatcherTest {
+
+    private final EmbeddingBatcher batcher = new EmbeddingBatcher();
+    private final List<EmbeddingBatcher.Batch> batches = new CopyOnWriteArrayList<>();
+
+    @Test
+    void deliversVectorsInSubmissionOrder() {
+        configure(8, Duration.ofSeconds(5));
+        EmbeddingBatcher.Queue queue = batcher.newQueue(this::upstream);
+
+        List<String> texts = IntStream.range(0, 8).mapToObj("x"::repeat).toList();
+        List<float[]> vectors = Flux.fromIterable(texts)
+            .flatMapSequential(text -> queue.submit(text, "plugin"))
+            .collectList()
+            .block(Duration.ofSeconds(5));
+
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0).texts()).containsExactlyElementsOf(texts);
+        assertThat(vectors).extracting(vector -> (int) vector[0]).containsExactly(0, 1, 2, 3, 4, 5, 6, 7);
+    }
+
+    @Test
+    void flushesPartialBatchAfterDelay() {
+        configure(32, Duration.ofMillis(20));
+        EmbeddingBatcher.Queue queue = batcher.newQueue(this::upstream);
+
+        List<float[]> vectors = Flux.just("a", "bb", "ccc")
+            .flatMapSequential(text -> queue.submit(text, null))
+            .collectList()
+            .block(Duration.ofSeconds(5));
+
+        assertThat(batches).hasSize(1);
+        assertThat(vectors).extracting(vector -> (int) vector[0]).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void deduplicatesTextsWithinBatch() {
+        configure(4, Duration.ofSeconds(5));
+        EmbeddingBatcher.Queue queue = batcher.newQueue(this::upstream);
+
+        List<float[]> vectors = Flux.just("a", "bb", "a", "ccc")
+            .flatMapSequential(text -> queue.submit(text, "caller-" + text))
+            .collectList()
+            .block(Duration.ofSeconds(5));
+
+        assertThat(batches.get(0).texts()).containsExactly("a", "bb", "ccc");
+        assertThat(batches.get(0).callers()).containsExactly("caller-a", "caller-bb", "caller-a", "caller-ccc");
+        assertThat(vectors).extracting(vector -> (int) vector[0]).containsExactly(1, 2, 1, 3);
+        // 重复文本拿到相互独立的数组
+        assertThat(vectors.get(0)).isNotSameAs(vectors.get(2));
+        assertThat(batcher.getStats().dedupedInputs()).isEqualTo(1);
+    }
+
+    @Test
+    void propagatesUpstreamErrorToWholeBatch() {
+        configure(2, Duration.ofSeconds(5));
+        EmbeddingBatcher.Queue queue = batcher.newQueue(batch -> Mono.error(new IllegalStateException("boom")));
+
+        Mono<float[]> first = queue.submit("a", null).cache();
+        first.subscribe(vector -> {}, error -> {});
+
+        assertThatThrownBy(() -> queue.submit("b", null).block(Duration.ofSeconds(5)))
+            .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> first.block(Duration.ofSeconds(5)))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void submitAllSplitsIntoOrderedChunks() {
+        configure(3, Duration.ofSeconds(5));
+        EmbeddingBatcher.Queue queue = batcher.newQueue(this::upstream);
+
+        List<String> texts = IntStream.range(1, 11).mapToObj("x"::repeat).toList();
+        List<float[]> vectors = queue.submitAll(texts, "plugin").block(Duration.ofSeconds(5));
+
+        assertThat(batches).hasSize(4);
+        assertThat(vectors).extracting(vector -> (int) vector[0])
+            .containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+    }
+
+    @Test
+    void disabledSendsEachTextDirectly() {
+        EmbeddingBatcher.EmbeddingBatchSettings settings = new EmbeddingBatcher.EmbeddingBatchSettings();
+        settings.setEnabled(false);
+        batcher.updateConfig(settings);
+        EmbeddingBatcher.Queue queue = batcher.newQueue(this::upstream);
+
+        Flux.just("a", "bb").flatMapSequential(text -> queue.submit(text, null)).blockLast(Duration.ofSeconds(5));
+
+        assertThat(batches).hasSize(2);
+    }
+
+    private void configure(int maxBatchSize, Duration maxDelay) {
+        EmbeddingBatcher.EmbeddingBatchSettings settings = new EmbeddingBatcher.EmbeddingBatchSettings();
+        settings.setMaxBatchSize(maxBatchSize);
+        settings.setMaxDelay(maxDelay);
+        batcher.updateConfig(settings);
+    }
+
+    /**
+     * 异步返回结果，模拟上游在其他线程完成
+     */
+    private Mono<List<float[]>> upstream(EmbeddingBatcher.Batch batch) {
+        batches.add(batch);
+        return Mono.delay(Duration.ofMillis(5))
+            .map(tick -> batch.texts().stream().map(text -> new float[] {text.length(), 1}).toList());
+    }
+}
@@ -0,0 +1,160 @@
+package com.xhhao.aimodelhub.service.embedding;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import run.halo.app.plugin.PluginContext;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link EmbeddingCache} 测试
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+class EmbeddingCacheTest {
+
+    private static final String MODEL = "openai|https://api.openai.com|text-embedding-3-small|null";
+    private static final int DIMENSION = 4;
+
+    /**
+     * 文件头与哈希槽之外每条记录占用的字节数（32 字节摘要 + 向量）
+     */
+    private static final int RECORD_BYTES = 32 + DIMENSION * Float.BYTES;
+
+    @TempDir
+    Path workDir;
+
+    private EmbeddingCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = newCache();
+        EmbeddingCache.EmbeddingCacheSettings settings = new EmbeddingCache.EmbeddingCacheSettings();
+        // 容量取下限 1024 条
+        settings.setMaxSizeBytes(1);
+        cache.updateConfig(settings);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.close();
+    }
+
+    @Test
+    void normalizesWhitespaceBeforeHashing() {
+        cache.put(cache.key(MODEL, "  hello \n world "), vector(1));
+
+        assertThat(cache.get(cache.key(MODEL, "hello world"))).containsExactly(vector(1));
+        assertThat(cache.get(cache.key("other-model", "hello world"))).isNull();
+    }
+
+    @Test
+    void keepsLoadFactorAtMostHalf() {
+        EmbeddingCache.EmbeddingCacheSettings settings = new EmbeddingCache.EmbeddingCacheSettings();
+        cache.updateConfig(settings);
+        float[] large = new float[1024];
+        cache.put(cache.key(MODEL, "text"), large);
+
+        EmbeddingCache.StoreStats stats = cache.getStats().stores().get(0);
+        long slotBytes = stats.bytes() - 64 - (long) stats.capacity() * (32 + 1024 * Float.BYTES);
+        long slots = slotBytes / 8;
+        assertThat(Long.bitCount(slots)).isEqualTo(1);
+        assertThat(slots).isGreaterThanOrEqualTo(2L * stats.capacity());
+        assertThat(stats.bytes()).isLessThanOrEqualTo(settings.getMaxSizeBytes());
+    }
+
+    @Test
+    void hitsEveryEntryUntilFull() {
+        int capacity = fill(0, 1024);
+
+        EmbeddingCache.StoreStats stats = cache.getStats().stores().get(0);
+        assertThat(capacity).isEqualTo(1024);
+        assertThat(stats.entries()).isEqualTo(capacity);
+        IntStream.range(0, capacity)
+            .forEach(i -> assertThat(cache.get(key(i))).as("text-%d", i).containsExactly(vector(i)));
+        assertThat(cache.get(key(capacity))).isNull();
+        assertThat(cache.getStats().evictions()).isZero();
+    }
+
+    @Test
+    void evictsOldestAndKeepsProbeChainsIntact() {
+        int capacity = fill(0, 1024);
+
+        // 再写入 1.5 倍容量，覆盖的记录按后移删除；删除出错会使后续条目查找中断
+        int total = capacity + capacity * 3 / 2;
+        fill(capacity, total);
+
+        assertThat(cache.getStats().evictions()).isEqualTo(total - capacity);
+        assertThat(cache.getStats().stores().get(0).entries()).isEqualTo(capacity);
+        IntStream.range(0, total - capacity)
+            .forEach(i -> assertThat(cache.get(key(i))).as("evicted text-%d", i).isNull());
+        IntStream.range(total - capacity, total)
+            .forEach(i -> assertThat(cache.get(key(i))).as("text-%d", i).containsExactly(vector(i)));
+    }
+
+    @Test
+    void ignoresDuplicateWrites() {
+        cache.put(key(1), vector(1));
+        cache.put(key(1), vector(2));
+
+        assertThat(cache.get(key(1))).containsExactly(vector(1));
+        assertThat(cache.getStats().writes()).isEqualTo(1);
+    }
+
+    @Test
+    void reopensPersistedEntries() {
+        fill(0, 100);
+        cache.close();
+
+        cache = newCache();
+        IntStream.range(0, 100).forEach(i -> assertThat(cache.get(key(i))).containsExactly(vector(i)));
+        assertThat(cache.getStats().stores().get(0).entries()).isEqualTo(100);
+    }
+
+    @Test
+    void clearDeletesFiles() {
+        fill(0, 10);
+        cache.clear();
+
+        assertThat(cache.get(key(1))).isNull();
+        assertThat(cache.getStats().stores()).isEmpty();
+    }
+
+    private EmbeddingCache newCache() {
+        PluginContext pluginContext = mock(PluginContext.class);
+        when(pluginContext.getName()).thenReturn("aimodel-hub");
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources()
+            .addFirst(new MapPropertySource("test", Map.of("halo.work-dir", workDir.toString())));
+        return new EmbeddingCache(pluginContext, environment);
+    }
+
+    /**
+     * 写入 [from, to) 条，返回缓存文件的容量
+     */
+    private int fill(int from, int to) {
+        IntStream.range(from, to).forEach(i -> cache.put(key(i), vector(i)));
+        EmbeddingCache.StoreStats stats = cache.getStats().stores().get(0);
+        assertThat(stats.bytes()).isGreaterThan((long) stats.capacity() * RECORD_BYTES);
+        return stats.capacity();
+    }
+
+    private EmbeddingCache.Key key(int i) {
+        return cache.key(MODEL, "text-" + i);
+    }
+
+    private static float[] vector(int i) {
+        return new float[] {i, i + 0.5f, -i, 1};
+    }
+}
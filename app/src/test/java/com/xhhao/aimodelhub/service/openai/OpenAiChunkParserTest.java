@@ -0,0 +1,121 @@
+package com.xhhao.aimodelhub.service.openai;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * {@link OpenAiChunkParser} 测试
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+class OpenAiChunkParserTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final OpenAiChunkParser fast = new OpenAiChunkParser(MAPPER, true);
+    private final OpenAiChunkParser tree = new OpenAiChunkParser(MAPPER, false);
+
+    @Test
+    void extractsDeltaFieldsAndSkipsOthers() throws IOException {
+        OpenAiStreamChunk chunk = parse(fast, """
+            {"id":"chatcmpl-1","object":"chat.completion.chunk","created":1,"model":"gpt-4o",
+             "system_fingerprint":{"nested":[1,2,{"x":null}]},
+             "choices":[{"index":0,"delta":{"role":"assistant","content":"你好","reasoning_content":"想"},
+                         "logprobs":null,"finish_reason":null},
+                        {"index":1,"delta":{"content":"ignored"}}],
+             "usage":null}""");
+
+        assertThat(chunk.getContent()).isEqualTo("你好");
+        assertThat(chunk.getReasoningContent()).isEqualTo("想");
+        assertThat(chunk.getFinishReason()).isNull();
+        assertThat(chunk.getUsage()).isNull();
+        assertThat(chunk.getToolCalls()).isNull();
+    }
+
+    @Test
+    void extractsFinishReasonAndUsage() throws IOException {
+        OpenAiStreamChunk chunk = parse(fast, """
+            {"choices":[{"index":0,"delta":{},"finish_reason":"stop"}],
+             "usage":{"prompt_tokens":3,"completion_tokens":5,"total_tokens":8,
+                      "completion_tokens_details":{"reasoning_tokens":0}}}""");
+
+        assertThat(chunk.getFinishReason()).isEqualTo("stop");
+        assertThat(chunk.getUsage().getPromptTokens()).isEqualTo(3);
+        assertThat(chunk.getUsage().getCompletionTokens()).isEqualTo(5);
+        assertThat(chunk.getUsage().getTotalTokens()).isEqualTo(8);
+    }
+
+    @Test
+    void prefersMessageOverDelta() throws IOException {
+        OpenAiStreamChunk chunk = parse(fast, """
+            {"choices":[{"delta":{"content":"delta"},"message":{"content":"message"}}]}""");
+
+        assertThat(chunk.getContent()).isEqualTo("message");
+    }
+
+    @Test
+    void extractsToolCallDeltas() throws IOException {
+        OpenAiStreamChunk chunk = parse(fast, """
+            {"choices":[{"delta":{"tool_calls":[
+              {"index":0,"id":"call_1","type":"function","function":{"name":"search","arguments":"{\\"q\\":"}},
+              {"index":1,"function":{"arguments":"1}"}}]}}]}""");
+
+        assertThat(chunk.getToolCalls())
+            .extracting(OpenAiStreamChunk.ToolCallDelta::getIndex, OpenAiStreamChunk.ToolCallDelta::getId,
+                OpenAiStreamChunk.ToolCallDelta::getName, OpenAiStreamChunk.ToolCallDelta::getArguments)
+            .containsExactly(tuple(0, "call_1", "search", "{\"q\":"), tuple(1, null, null, "1}"));
+    }
+
+    @Test
+    void fallsBackToTreeForUnexpectedShape() throws IOException {
+        // content 为数组时快速路径无法处理，完整解析按 JSON 文本返回
+        OpenAiStreamChunk chunk = parse(fast, """
+            {"choices":[{"delta":{"content":[{"type":"text","text":"hi"}]},"finish_reason":"stop"}]}""");
+
+        assertThat(chunk.getContent()).isEqualTo("[{\"type\":\"text\",\"text\":\"hi\"}]");
+        assertThat(chunk.getFinishReason()).isEqualTo("stop");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "{\"choices\":[{\"delta\":{\"content\":\"a\"},\"finish_reason\":null}]}",
+        "{\"choices\":[],\"usage\":{\"prompt_tokens\":1,\"completion_tokens\":2,\"total_tokens\":3}}",
+        "{\"choices\":null}",
+        "{\"choices\":[{\"delta\":{\"content\":42}}]}",
+        "{\"choices\":[{\"delta\":null,\"message\":{\"content\":\"m\",\"reasoning_content\":\"r\"}}]}",
+        "{\"choices\":[{\"delta\":{\"tool_calls\":[{\"index\":0,\"function\":{\"name\":\"f\"}}]}}]}",
+        "{\"usage\":{\"prompt_tokens\":\"1\"}}"
+    })
+    void matchesTreeParsing(String json) throws IOException {
+        assertThat(parse(fast, json)).isEqualTo(parse(tree, json));
+    }
+
+    @Test
+    void rejectsMalformedJson() {
+        assertThatThrownBy(() -> parse(fast, "{\"choices\":[")).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> parse(tree, "not json")).isInstanceOf(JsonProcessingException.class);
+    }
+
+    @Test
+    void parsesSliceOfLargerArray() throws IOException {
+        byte[] bytes = "xx{\"choices\":[{\"delta\":{\"content\":\"slice\"}}]}yy".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(fast.parse(bytes, 2, bytes.length - 4).getContent()).isEqualTo("slice");
+    }
+
+    private static OpenAiStreamChunk parse(OpenAiChunkParser parser, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        return parser.parse(bytes, 0, bytes.length);
+    }
+}
@@ -0,0 +1,127 @@
+package com.xhhao.aimodelhub.service.openai;
+
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.NettyDataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link SseEventFramer} 测试
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+class SseEventFramerTest {
+
+    private final NettyDataBufferFactory bufferFactory = new NettyDataBufferFactory(UnpooledByteBufAllocator.DEFAULT);
+
+    private final SseEventFramer<String> framer = new SseEventFramer<>(SseEventFramerTest::decode);
+
+    @Test
+    void framesEventsAndIgnoresOtherFields() {
+        List<String> events = framer.feed(buffer("""
+            : keep-alive
+
+            event: message
+            id: 1
+            retry: 1000
+            data: {"a":1}
+
+            data:{"b":2}
+
+            """));
+
+        assertThat(events).containsExactly("{\"a\":1}", "{\"b\":2}");
+    }
+
+    @Test
+    void joinsMultiLineData() {
+        assertThat(framer.feed(buffer("data: first\ndata: second\n\n"))).containsExactly("first\nsecond");
+    }
+
+    @Test
+    void reassemblesEventsSplitAcrossBuffers() {
+        List<String> events = new ArrayList<>();
+        for (String part : List.of("da", "ta: hel", "lo\r", "\n\r", "\ndata: world\r\n", "\r\n")) {
+            events.addAll(framer.feed(buffer(part)));
+        }
+
+        // 跨 buffer 的 \r\n 只算一次换行
+        assertThat(events).containsExactly("hello", "world");
+    }
+
+    @Test
+    void treatsBareCarriageReturnAsLineBreak() {
+        assertThat(framer.feed(buffer("data: a\r\rdata: b\r\r"))).containsExactly("a", "b");
+    }
+
+    @Test
+    void stopsAtDoneSignal() {
+        assertThat(framer.feed(buffer("data: a\n\ndata: [DONE]\n\ndata: b\n\n"))).containsExactly("a");
+        assertThat(framer.feed(buffer("data: c\n\n"))).isEmpty();
+        assertThat(framer.finish()).isEmpty();
+    }
+
+    @Test
+    void dispatchesTrailingEventOnFinish() {
+        assertThat(framer.feed(buffer("data: a\n\ndata: tail"))).containsExactly("a");
+
+        assertThat(framer.finish()).containsExactly("tail");
+    }
+
+    @Test
+    void skipsEmptyData() {
+        assertThat(framer.feed(buffer("data:\n\ndata: a\n\n"))).containsExactly("a");
+    }
+
+    @Test
+    void delegatesParseFailuresToHandler() {
+        SseEventFramer<String> failing = new SseEventFramer<>(new SseEventFramer.DataHandler<>() {
+            @Override
+            public String handle(byte[] data, int offset, int length) throws IOException {
+                throw new IOException("bad");
+            }
+
+            @Override
+            public String onError(byte[] data, int offset, int length, IOException error) {
+                return "error: " + error.getMessage() + " " + decode(data, offset, length);
+            }
+        });
+
+        assertThat(failing.feed(buffer("data: x\n\n"))).containsExactly("error: bad x");
+    }
+
+    @Test
+    void rejectsOversizedEvent() {
+        String large = "data: " + "x".repeat(1024 * 1024) + "\n\n";
+
+        assertThatThrownBy(() -> framer.feed(buffer(large))).isInstanceOf(DataBufferLimitException.class);
+    }
+
+    @Test
+    void releasesBuffers() {
+        NettyDataBuffer buffer = (NettyDataBuffer) buffer("data: a\n\n");
+
+        framer.feed(buffer);
+
+        assertThat(buffer.getNativeBuffer().refCnt()).isZero();
+    }
+
+    private DataBuffer buffer(String text) {
+        return bufferFactory.wrap(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(byte[] data, int offset, int length) {
+        return new String(data, offset, length, StandardCharsets.UTF_8);
+    }
+}
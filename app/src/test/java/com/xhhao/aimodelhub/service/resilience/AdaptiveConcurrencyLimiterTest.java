@@ -0,0 +1,167 @@
+package com.xhhao.aimodelhub.service.resilience;
+
+import com.xhhao.aimodelhub.api.exception.AiModelException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link AdaptiveConcurrencyLimiter} 测试
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+
+    private final AdaptiveConcurrencyLimiter registry = new AdaptiveConcurrencyLimiter();
+    private AdaptiveConcurrencyLimiter.Limiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        AdaptiveConcurrencyLimiter.LimiterSettings settings = new AdaptiveConcurrencyLimiter.LimiterSettings();
+        settings.setInitialLimit(2);
+        settings.setMinLimit(1);
+        settings.setMaxLimit(10);
+        settings.setMaxQueue(1);
+        settings.setMaxWait(Duration.ofSeconds(5));
+        registry.updateConfig(settings);
+        limiter = registry.limiter("openai", "gpt-4o");
+    }
+
+    @Test
+    void reusesLimiterPerProviderAndModel() {
+        assertThat(registry.limiter("openai", "gpt-4o")).isSameAs(limiter);
+        assertThat(registry.limiter("openai", "gpt-4o-mini")).isNotSameAs(limiter);
+    }
+
+    @Test
+    void queuesThenRejectsBeyondLimit() {
+        AdaptiveConcurrencyLimiter.Permit first = limiter.acquire().block();
+        limiter.acquire().block();
+
+        StepVerifier.create(limiter.acquire())
+            .then(() -> {
+                // 第 4 个请求：名额已满且队列（容量 1）已满
+                StepVerifier.create(limiter.acquire())
+                    .expectErrorSatisfies(error -> assertThat(((AiModelException) error).getErrorCode())
+                        .isEqualTo(AiModelException.ErrorCode.RATE_LIMIT))
+                    .verify();
+                assertThat(stats().queued()).isEqualTo(1);
+                first.release();
+            })
+            .expectNextCount(1)
+            .verifyComplete();
+        assertThat(stats().inFlight()).isEqualTo(2);
+        assertThat(stats().rejected()).isEqualTo(1);
+    }
+
+    @Test
+    void queuedRequestTimesOut() {
+        AdaptiveConcurrencyLimiter.LimiterSettings settings = new AdaptiveConcurrencyLimiter.LimiterSettings();
+        settings.setInitialLimit(1);
+        settings.setMaxWait(Duration.ofMillis(50));
+        registry.updateConfig(settings);
+        AdaptiveConcurrencyLimiter.Limiter single = registry.limiter("openai", "o3");
+        single.acquire().block();
+
+        StepVerifier.create(single.acquire())
+            .expectError(AiModelException.class)
+            .verify(Duration.ofSeconds(5));
+        assertThat(single.snapshot().timedOut()).isEqualTo(1);
+    }
+
+    @Test
+    void increasesLimitAdditivelyOnSuccess() {
+        AdaptiveConcurrencyLimiter.Permit held = limiter.acquire().block();
+        for (int i = 0; i < 3; i++) {
+            AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire().block();
+            permit.record(FAST, null);
+            permit.release();
+        }
+        held.release();
+
+        // 2 -> 2.5 -> 2.9 -> 3.24，每次成功只加 1/limit
+        assertThat(stats().limit()).isEqualTo(3);
+    }
+
+    @Test
+    void doesNotIncreaseWhenUnderused() {
+        for (int i = 0; i < 10; i++) {
+            AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire().block();
+            permit.record(FAST, null);
+            permit.release();
+        }
+
+        // 每次只有 1 个请求在途，未用到限制值的一半以上
+        assertThat(stats().limit()).isEqualTo(2);
+    }
+
+    @Test
+    void halvesLimitOnOverloadOncePerInterval() {
+        AdaptiveConcurrencyLimiter.LimiterSettings settings = new AdaptiveConcurrencyLimiter.LimiterSettings();
+        settings.setInitialLimit(8);
+        registry.updateConfig(settings);
+        AdaptiveConcurrencyLimiter.Limiter wide = registry.limiter("openai", "gpt-4.1");
+        WebClientResponseException tooManyRequests =
+            WebClientResponseException.create(429, "Too Many Requests", null, null, null);
+
+        AdaptiveConcurrencyLimiter.Permit first = wide.acquire().block();
+        AdaptiveConcurrencyLimiter.Permit second = wide.acquire().block();
+        first.record(FAST, tooManyRequests);
+        second.record(FAST, new TimeoutException());
+
+        // 同一秒内的第二次过载不再下调
+        assertThat(wide.snapshot().limit()).isEqualTo(4);
+    }
+
+    @Test
+    void ignoresNonOverloadErrors() {
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire().block();
+        permit.record(FAST, WebClientResponseException.create(400, "Bad Request", null, null, null));
+
+        assertThat(stats().limit()).isEqualTo(2);
+    }
+
+    @Test
+    void releasesOnlyOncePerPermit() {
+        AdaptiveConcurrencyLimiter.Permit first = limiter.acquire().block();
+        limiter.acquire().block();
+        first.release();
+        first.release();
+
+        assertThat(stats().inFlight()).isEqualTo(1);
+    }
+
+    @Test
+    void disabledGrantsWithoutLimit() {
+        AdaptiveConcurrencyLimiter.LimiterSettings settings = new AdaptiveConcurrencyLimiter.LimiterSettings();
+        settings.setEnabled(false);
+        registry.updateConfig(settings);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.acquire().block()).isNotNull();
+        }
+        assertThat(stats().inFlight()).isZero();
+    }
+
+    @Test
+    void classifiesOverloadErrors() {
+        assertThat(AdaptiveConcurrencyLimiter.isOverload(
+            WebClientResponseException.create(503, "Service Unavailable", null, null, null))).isTrue();
+        assertThat(AdaptiveConcurrencyLimiter.isOverload(new TimeoutException())).isTrue();
+        assertThat(AdaptiveConcurrencyLimiter.isOverload(
+            WebClientResponseException.create(500, "Internal Server Error", null, null, null))).isFalse();
+    }
+
+    private AdaptiveConcurrencyLimiter.LimiterStats stats() {
+        return limiter.snapshot();
+    }
+}
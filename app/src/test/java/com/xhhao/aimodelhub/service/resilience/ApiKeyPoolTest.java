@@ -0,0 +1,180 @@
+package com.xhhao.aimodelhub.service.resilience;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * {@link ApiKeyPool} 测试
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+class ApiKeyPoolTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private static final String KEY_A = "sk-aaaa-0001";
+    private static final String KEY_B = "sk-bbbb-0002";
+    private static final String KEY_C = "sk-cccc-0003";
+
+    private final ApiKeyPool apiKeyPool = new ApiKeyPool();
+
+    @Test
+    void prefersLeastInFlightKey() {
+        ApiKeyPool.KeyPool pool = apiKeyPool.pool("openai", List.of(KEY_A, KEY_B, KEY_C));
+
+        ApiKeyPool.KeyLease first = pool.acquire();
+        ApiKeyPool.KeyLease second = pool.acquire();
+        ApiKeyPool.KeyLease third = pool.acquire();
+        second.release();
+
+        assertThat(List.of(first.key(), second.key(), third.key())).containsExactly(KEY_A, KEY_B, KEY_C);
+        // 只有 B 没有进行中请求
+        assertThat(pool.acquire().key()).isEqualTo(KEY_B);
+    }
+
+    @Test
+    void prefersKeyWithMoreRemainingQuota() {
+        ApiKeyPool.KeyPool pool = apiKeyPool.pool("openai", List.of(KEY_A, KEY_B));
+        respond(pool, pool.acquire(), HttpStatus.OK, Map.of("x-ratelimit-remaining-requests", "5"));
+        respond(pool, pool.acquire(), HttpStatus.OK, Map.of("x-ratelimit-remaining-requests", "50",
+            "x-ratelimit-remaining-tokens", "1000"));
+
+        // 进行中请求数相同时，按请求数与 token 数中较小的剩余额度比较
+        assertThat(pool.acquire().key()).isEqualTo(KEY_B);
+        assertThat(stats(KEY_B).remainingRequests()).isEqualTo(50);
+        assertThat(stats(KEY_B).remainingTokens()).isEqualTo(1000);
+    }
+
+    @Test
+    void quarantinesUnauthorizedKey() {
+        ApiKeyPool.KeyPool pool = apiKeyPool.pool("openai", List.of(KEY_A, KEY_B));
+
+        respond(pool, pool.acquire(), HttpStatus.UNAUTHORIZED, Map.of());
+
+        for (int i = 0; i < 3; i++) {
+            ApiKeyPool.KeyLease lease = pool.acquire();
+            assertThat(lease.key()).isEqualTo(KEY_B);
+            lease.release();
+        }
+        ApiKeyPool.KeyStats stats = stats(KEY_A);
+        assertThat(stats.unauthorized()).isEqualTo(1);
+        assertThat(stats.quarantineMillis()).isGreaterThan(Duration.ofMinutes(9).toMillis());
+        assertThat(pool.availableIn()).isZero();
+    }
+
+    @Test
+    void quarantinesRateLimitedKeyForRetryAfter() {
+        ApiKeyPool.KeyPool pool = apiKeyPool.pool("openai", List.of(KEY_A, KEY_B));
+
+        respond(pool, pool.acquire(), HttpStatus.TOO_MANY_REQUESTS, Map.of("Retry-After", "20",
+            "x-ratelimit-reset-requests", "1m"));
+
+        assertThat(pool.acquire().key()).isEqualTo(KEY_B);
+        // Retry-After 优先于 x-ratelimit-reset-*
+        ApiKeyPool.KeyStats stats = stats(KEY_A);
+        assertThat(stats.rateLimited()).isEqualTo(1);
+        assertThat(stats.quarantineMillis()).isBetween(15_000L, 20_000L);
+    }
+
+    @Test
+    void quarantinesRateLimitedKeyWithoutHint() {
+        ApiKeyPool.KeyPool pool = apiKeyPool.pool("openai", List.of(KEY_A));
+
+        respond(pool, pool.acquire(), HttpStatus.TOO_MANY_REQUESTS, Map.of());
+
+        assertThat(stats(KEY_A).quarantineMillis()).isBetween(25_000L, 30_000L);
+    }
+
+    @Test
+    void quarantinesKeyWithExhaustedQuota() {
+        ApiKeyPool.KeyPool pool = apiKeyPool.pool("openai", List.of(KEY_A, KEY_B));
+
+        respond(pool, pool.acquire(), HttpStatus.OK, Map.of("x-ratelimit-remaining-requests", "0",
+            "x-ratelimit-reset-requests", "10s"));
+
+        assertThat(pool.acquire().key()).isEqualTo(KEY_B);
+        assertThat(stats(KEY_A).quarantineMillis()).isBetween(5_000L, 10_000L);
+    }
+
+    @Test
+    void reportsWaitUntilEarliestKeyRecovers() {
+        ApiKeyPool.KeyPool pool = apiKeyPool.pool("openai", List.of(KEY_A, KEY_B));
+        respond(pool, pool.acquire(), HttpStatus.TOO_MANY_REQUESTS, Map.of("Retry-After", "40"));
+        respond(pool, pool.acquire(), HttpStatus.TOO_MANY_REQUESTS, Map.of("Retry-After", "20"));
+
+        // 全部密钥停用时等待最早恢复的密钥，并选用该密钥
+        assertThat(pool.availableIn()).isBetween(Duration.ofSeconds(15), Duration.ofSeconds(20));
+        assertThat(pool.acquire().key()).isEqualTo(KEY_B);
+    }
+
+    @Test
+    void keepsStateOfRetainedKeys() {
+        ApiKeyPool.KeyPool pool = apiKeyPool.pool("openai", List.of(KEY_A, KEY_B));
+        respond(pool, pool.acquire(), HttpStatus.UNAUTHORIZED, Map.of());
+
+        assertThat(apiKeyPool.pool("openai", List.of(KEY_A, KEY_B))).isSameAs(pool);
+        ApiKeyPool.KeyPool changed = apiKeyPool.pool("openai", List.of(KEY_C, KEY_A));
+
+        assertThat(changed).isNotSameAs(pool);
+        assertThat(changed.acquire().key()).isEqualTo(KEY_C);
+        assertThat(apiKeyPool.getStats())
+            .extracting(ApiKeyPool.KeyStats::key, ApiKeyPool.KeyStats::unauthorized)
+            .containsExactly(tuple("sk-c****0003", 0L), tuple("sk-a****0001", 1L));
+    }
+
+    @Test
+    void releasesInFlightOnce() {
+        ApiKeyPool.KeyPool pool = apiKeyPool.pool("openai", List.of(KEY_A));
+        ApiKeyPool.KeyLease held = pool.acquire();
+        ApiKeyPool.KeyLease released = pool.acquire();
+
+        released.release();
+        released.release();
+
+        assertThat(stats(KEY_A).inFlight()).isEqualTo(1);
+        assertThat(stats(KEY_A).requests()).isEqualTo(2);
+        held.release();
+        assertThat(stats(KEY_A).inFlight()).isZero();
+    }
+
+    @Test
+    void masksKeys() {
+        assertThat(ApiKeyPool.mask("sk-1234567890")).isEqualTo("sk-1****7890");
+        assertThat(ApiKeyPool.mask("short")).isEqualTo("****");
+        assertThat(ApiKeyPool.mask(null)).isEqualTo("****");
+    }
+
+    /**
+     * 通过密钥池过滤器模拟一次上游响应，随后释放租约
+     */
+    private static void respond(ApiKeyPool.KeyPool pool, ApiKeyPool.KeyLease lease, HttpStatus status,
+                                Map<String, String> headers) {
+        ClientRequest request = ClientRequest.create(HttpMethod.POST, URI.create("http://localhost/v1/chat"))
+            .attribute(ApiKeyPool.LEASE_ATTRIBUTE, lease)
+            .build();
+        ClientResponse.Builder response = ClientResponse.create(status);
+        headers.forEach(response::header);
+        pool.filter().filter(request, r -> Mono.just(response.build())).block(TIMEOUT);
+        lease.release();
+    }
+
+    private ApiKeyPool.KeyStats stats(String key) {
+        return apiKeyPool.getStats().stream()
+            .filter(stats -> stats.key().equals(ApiKeyPool.mask(key)))
+            .findFirst()
+            .orElseThrow();
+    }
+}
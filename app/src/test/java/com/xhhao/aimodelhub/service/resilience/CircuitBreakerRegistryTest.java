@@ -0,0 +1,162 @@
+package com.xhhao.aimodelhub.service.resilience;
+
+import com.xhhao.aimodelhub.api.exception.AiModelException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link CircuitBreakerRegistry} 测试
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+class CircuitBreakerRegistryTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+
+    private static final WebClientResponseException SERVER_ERROR =
+        WebClientResponseException.create(500, "Internal Server Error", null, null, null);
+
+    private final CircuitBreakerRegistry registry = new CircuitBreakerRegistry();
+    private CircuitBreakerRegistry.CircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        CircuitBreakerRegistry.CircuitBreakerSettings settings = new CircuitBreakerRegistry.CircuitBreakerSettings();
+        settings.setWindowSize(10);
+        settings.setMinimumCalls(4);
+        settings.setFailureRateThreshold(50);
+        settings.setSlowCallDuration(Duration.ofSeconds(1));
+        settings.setSlowCallRateThreshold(100);
+        settings.setOpenDuration(Duration.ofMillis(100));
+        settings.setHalfOpenCalls(2);
+        registry.updateConfig(settings);
+        breaker = registry.breaker("openai", "gpt-4o");
+    }
+
+    @Test
+    void staysClosedBelowMinimumCalls() {
+        for (int i = 0; i < 3; i++) {
+            breaker.acquire().record(FAST, SERVER_ERROR);
+        }
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreakerRegistry.State.CLOSED);
+    }
+
+    @Test
+    void opensWhenFailureRateReachesThreshold() {
+        record(2, null);
+        record(2, SERVER_ERROR);
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreakerRegistry.State.OPEN);
+        assertThatThrownBy(breaker::acquire)
+            .isInstanceOfSatisfying(AiModelException.class, error -> assertThat(error.getErrorCode())
+                .isEqualTo(AiModelException.ErrorCode.MODEL_UNAVAILABLE));
+        assertThat(breaker.snapshot().rejected()).isEqualTo(1);
+    }
+
+    @Test
+    void clientErrorsCountAsSuccess() {
+        record(10, WebClientResponseException.create(400, "Bad Request", null, null, null));
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreakerRegistry.State.CLOSED);
+        assertThat(breaker.snapshot().failureRate()).isZero();
+    }
+
+    @Test
+    void opensOnSlowCalls() {
+        for (int i = 0; i < 4; i++) {
+            breaker.acquire().record(Duration.ofSeconds(2).toNanos(), null);
+        }
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreakerRegistry.State.OPEN);
+    }
+
+    @Test
+    void slidingWindowForgetsOldFailures() {
+        record(4, null);
+        record(1, SERVER_ERROR);
+        record(10, null);
+        record(4, SERVER_ERROR);
+
+        // 窗口只保留最近 10 次（4 次失败），最早的失败已被挤出
+        assertThat(breaker.state()).isEqualTo(CircuitBreakerRegistry.State.CLOSED);
+        assertThat(breaker.snapshot().failureRate()).isEqualTo(0.4);
+    }
+
+    @Test
+    void halfOpenClosesAfterSuccessfulProbes() throws InterruptedException {
+        record(4, SERVER_ERROR);
+        Thread.sleep(150);
+
+        CircuitBreakerRegistry.Permit first = breaker.acquire();
+        CircuitBreakerRegistry.Permit second = breaker.acquire();
+        assertThat(breaker.state()).isEqualTo(CircuitBreakerRegistry.State.HALF_OPEN);
+        // 试探名额已用完
+        assertThatThrownBy(breaker::acquire).isInstanceOf(AiModelException.class);
+
+        first.record(FAST, null);
+        second.record(FAST, null);
+        assertThat(breaker.state()).isEqualTo(CircuitBreakerRegistry.State.CLOSED);
+        assertThat(breaker.snapshot().bufferedCalls()).isZero();
+    }
+
+    @Test
+    void halfOpenReopensOnFailedProbe() throws InterruptedException {
+        record(4, SERVER_ERROR);
+        Thread.sleep(150);
+
+        breaker.acquire().record(FAST, SERVER_ERROR);
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreakerRegistry.State.OPEN);
+        assertThat(breaker.snapshot().opened()).isEqualTo(2);
+    }
+
+    @Test
+    void releasedProbeFreesHalfOpenSlot() throws InterruptedException {
+        record(4, SERVER_ERROR);
+        Thread.sleep(150);
+
+        breaker.acquire().release();
+        breaker.acquire();
+        breaker.acquire();
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreakerRegistry.State.HALF_OPEN);
+    }
+
+    @Test
+    void ignoresResultsFromPreviousState() throws InterruptedException {
+        CircuitBreakerRegistry.Permit stale = breaker.acquire();
+        record(4, SERVER_ERROR);
+        Thread.sleep(150);
+        record(2, null);
+        assertThat(breaker.state()).isEqualTo(CircuitBreakerRegistry.State.CLOSED);
+
+        // 打开前发出的请求在重新关闭后才结束，不计入新的窗口
+        stale.record(FAST, SERVER_ERROR);
+        assertThat(breaker.snapshot().bufferedCalls()).isZero();
+    }
+
+    @Test
+    void disabledNeverRejects() {
+        CircuitBreakerRegistry.CircuitBreakerSettings settings = new CircuitBreakerRegistry.CircuitBreakerSettings();
+        settings.setEnabled(false);
+        registry.updateConfig(settings);
+
+        record(50, SERVER_ERROR);
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreakerRegistry.State.CLOSED);
+    }
+
+    private void record(int calls, Throwable error) {
+        for (int i = 0; i < calls; i++) {
+            breaker.acquire().record(FAST, error);
+        }
+    }
+}
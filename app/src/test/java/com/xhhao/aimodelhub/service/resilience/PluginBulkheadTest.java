@@ -0,0 +1,163 @@
+package com.xhhao.aimodelhub.service.resilience;
+
+import com.xhhao.aimodelhub.api.exception.AiModelException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link PluginBulkhead} 测试
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+class PluginBulkheadTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final PluginBulkhead bulkhead = new PluginBulkhead();
+
+    @Test
+    void isolatesPlugins() {
+        bulkhead.updateConfig(settings(2, 1));
+        holdAll("batch-plugin", 2);
+        AtomicReference<PluginBulkhead.Lease> queued = subscribe("batch-plugin");
+
+        // batch-plugin 名额已满并在排队，其他插件仍可立即获得名额
+        assertThat(queued.get()).isNull();
+        assertThat(bulkhead.acquire("blog-plugin").block(TIMEOUT)).isNotNull();
+        assertThat(stats("batch-plugin")).isEqualTo(new PluginBulkhead.BulkheadStats("batch-plugin", 2, 2, 1, 0, 0));
+        assertThat(stats("blog-plugin").inFlight()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsWhenQueueFull() {
+        bulkhead.updateConfig(settings(1, 1));
+        holdAll("batch-plugin", 1);
+        subscribe("batch-plugin");
+
+        assertThatThrownBy(() -> bulkhead.acquire("batch-plugin").block(TIMEOUT))
+            .isInstanceOfSatisfying(AiModelException.class, e -> {
+                assertThat(e.getErrorCode()).isEqualTo(AiModelException.ErrorCode.RATE_LIMIT);
+                assertThat(e.getMessage()).contains("batch-plugin");
+            });
+        assertThat(stats("batch-plugin").rejected()).isEqualTo(1);
+    }
+
+    @Test
+    void grantsQueuedCallOnRelease() {
+        bulkhead.updateConfig(settings(1, 1));
+        List<PluginBulkhead.Lease> leases = holdAll("batch-plugin", 1);
+        AtomicReference<PluginBulkhead.Lease> queued = subscribe("batch-plugin");
+
+        leases.get(0).release();
+        // 重复释放不会多归还名额
+        leases.get(0).release();
+
+        assertThat(queued.get()).isNotNull();
+        assertThat(stats("batch-plugin").inFlight()).isEqualTo(1);
+        assertThat(stats("batch-plugin").queued()).isZero();
+    }
+
+    @Test
+    void timesOutQueuedCall() {
+        PluginBulkhead.BulkheadSettings settings = settings(1, 1);
+        settings.setMaxWait(Duration.ofMillis(50));
+        bulkhead.updateConfig(settings);
+        holdAll("batch-plugin", 1);
+
+        assertThatThrownBy(() -> bulkhead.acquire("batch-plugin").block(TIMEOUT))
+            .isInstanceOf(AiModelException.class)
+            .hasMessageContaining("超时");
+        assertThat(stats("batch-plugin").timedOut()).isEqualTo(1);
+        assertThat(stats("batch-plugin").queued()).isZero();
+    }
+
+    @Test
+    void sizesUnknownCallerSeparately() {
+        PluginBulkhead.BulkheadSettings settings = settings(1, 0);
+        settings.setUnknownMaxConcurrent(3);
+        bulkhead.updateConfig(settings);
+
+        // 无法识别调用方的调用共用 unknown 舱壁，不受单个插件的默认并发数限制
+        holdAll(null, 3);
+        assertThat(stats(PluginBulkhead.UNKNOWN_CALLER).limit()).isEqualTo(3);
+        assertThatThrownBy(() -> bulkhead.acquire(null).block(TIMEOUT)).isInstanceOf(AiModelException.class);
+        assertThat(bulkhead.acquire("blog-plugin").block(TIMEOUT)).isNotNull();
+        assertThat(stats("blog-plugin").limit()).isEqualTo(1);
+    }
+
+    @Test
+    void appliesPluginOverrides() {
+        PluginBulkhead.BulkheadSettings settings = settings(1, 0);
+        settings.setPluginLimits(Map.of("batch-plugin", 2, PluginBulkhead.UNKNOWN_CALLER, 4));
+        bulkhead.updateConfig(settings);
+
+        holdAll("batch-plugin", 2);
+        holdAll(null, 4);
+        assertThat(stats("batch-plugin").limit()).isEqualTo(2);
+        assertThat(stats(PluginBulkhead.UNKNOWN_CALLER).limit()).isEqualTo(4);
+    }
+
+    @Test
+    void releasesQueuedCallsWhenLimitRaised() {
+        bulkhead.updateConfig(settings(1, 2));
+        holdAll("batch-plugin", 1);
+        AtomicReference<PluginBulkhead.Lease> first = subscribe("batch-plugin");
+        AtomicReference<PluginBulkhead.Lease> second = subscribe("batch-plugin");
+
+        bulkhead.updateConfig(settings(3, 2));
+
+        assertThat(first.get()).isNotNull();
+        assertThat(second.get()).isNotNull();
+        assertThat(stats("batch-plugin").inFlight()).isEqualTo(3);
+    }
+
+    @Test
+    void passesThroughWhenDisabled() {
+        PluginBulkhead.BulkheadSettings settings = settings(1, 0);
+        settings.setEnabled(false);
+        bulkhead.updateConfig(settings);
+
+        holdAll("batch-plugin", 5);
+        assertThat(bulkhead.getStats()).isEmpty();
+    }
+
+    private List<PluginBulkhead.Lease> holdAll(String plugin, int count) {
+        List<PluginBulkhead.Lease> leases = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            leases.add(bulkhead.acquire(plugin).block(TIMEOUT));
+        }
+        return leases;
+    }
+
+    /**
+     * 订阅后立即返回，获得名额时写入结果
+     */
+    private AtomicReference<PluginBulkhead.Lease> subscribe(String plugin) {
+        AtomicReference<PluginBulkhead.Lease> lease = new AtomicReference<>();
+        bulkhead.acquire(plugin).subscribe(lease::set);
+        return lease;
+    }
+
+    private PluginBulkhead.BulkheadStats stats(String plugin) {
+        return bulkhead.getStats().stream()
+            .filter(stats -> stats.plugin().equals(plugin))
+            .findFirst()
+            .orElseThrow();
+    }
+
+    private static PluginBulkhead.BulkheadSettings settings(int maxConcurrent, int maxQueue) {
+        PluginBulkhead.BulkheadSettings settings = new PluginBulkhead.BulkheadSettings();
+        settings.setMaxConcurrent(maxConcurrent);
+        settings.setMaxQueue(maxQueue);
+        return settings;
+    }
+}
@@ -0,0 +1,233 @@
+package com.xhhao.aimodelhub.service.resilience;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link UpstreamRetry} 测试
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+class UpstreamRetryTest {
+
+    @Test
+    void classifiesRetryableErrors() {
+        assertThat(UpstreamRetry.isRetryable(responseError(429, Map.of()))).isTrue();
+        assertThat(UpstreamRetry.isRetryable(responseError(500, Map.of()))).isTrue();
+        assertThat(UpstreamRetry.isRetryable(responseError(503, Map.of()))).isTrue();
+        assertThat(UpstreamRetry.isRetryable(requestError())).isTrue();
+
+        assertThat(UpstreamRetry.isRetryable(responseError(400, Map.of()))).isFalse();
+        assertThat(UpstreamRetry.isRetryable(responseError(401, Map.of()))).isFalse();
+        assertThat(UpstreamRetry.isRetryable(responseError(404, Map.of()))).isFalse();
+        assertThat(UpstreamRetry.isRetryable(new IllegalStateException("bug"))).isFalse();
+    }
+
+    @Test
+    void parsesRetryAfterSeconds() {
+        assertThat(UpstreamRetry.parseRetryAfter(headers(Map.of("Retry-After", " 12 "))))
+            .isEqualTo(Duration.ofSeconds(12));
+        assertThat(UpstreamRetry.parseRetryAfter(headers(Map.of("Retry-After", "-3")))).isZero();
+    }
+
+    @Test
+    void parsesRetryAfterHttpDate() {
+        String date = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now().plusSeconds(30));
+
+        Duration delay = UpstreamRetry.parseRetryAfter(headers(Map.of("Retry-After", date)));
+
+        // HTTP 日期只精确到秒
+        assertThat(delay).isBetween(Duration.ofSeconds(28), Duration.ofSeconds(30));
+        String past = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now().minusMinutes(1));
+        assertThat(UpstreamRetry.parseRetryAfter(headers(Map.of("Retry-After", past)))).isZero();
+    }
+
+    @Test
+    void prefersRetryAfterMillis() {
+        HttpHeaders headers = headers(Map.of("retry-after-ms", "1500.7", "Retry-After", "9"));
+
+        assertThat(UpstreamRetry.parseRetryAfter(headers)).isEqualTo(Duration.ofMillis(1500));
+        // retry-after-ms 无法解析时回退到 Retry-After
+        assertThat(UpstreamRetry.parseRetryAfter(headers(Map.of("retry-after-ms", "soon", "Retry-After", "9"))))
+            .isEqualTo(Duration.ofSeconds(9));
+    }
+
+    @Test
+    void ignoresMissingOrInvalidRetryAfter() {
+        assertThat(UpstreamRetry.parseRetryAfter(headers(Map.of()))).isNull();
+        assertThat(UpstreamRetry.parseRetryAfter(headers(Map.of("Retry-After", " ")))).isNull();
+        assertThat(UpstreamRetry.parseRetryAfter(headers(Map.of("Retry-After", "tomorrow")))).isNull();
+    }
+
+    @Test
+    void parsesResetDurations() {
+        assertThat(UpstreamRetry.parseReset("1m30s")).isEqualTo(Duration.ofSeconds(90));
+        assertThat(UpstreamRetry.parseReset("250ms")).isEqualTo(Duration.ofMillis(250));
+        assertThat(UpstreamRetry.parseReset("1.5s")).isEqualTo(Duration.ofMillis(1500));
+        assertThat(UpstreamRetry.parseReset("1h2m3s")).isEqualTo(Duration.ofSeconds(3723));
+        assertThat(UpstreamRetry.parseReset("6m0s")).isEqualTo(Duration.ofMinutes(6));
+    }
+
+    @Test
+    void parsesResetNumbers() {
+        assertThat(UpstreamRetry.parseReset("2")).isEqualTo(Duration.ofSeconds(2));
+        assertThat(UpstreamRetry.parseReset("0.25")).isEqualTo(Duration.ofMillis(250));
+
+        long now = System.currentTimeMillis();
+        // 较大的数字按 Unix 时间戳（秒/毫秒）处理
+        assertThat(UpstreamRetry.parseReset(String.valueOf(now / 1000 + 60)))
+            .isBetween(Duration.ofSeconds(58), Duration.ofSeconds(60));
+        assertThat(UpstreamRetry.parseReset(String.valueOf(now + 5_000)))
+            .isBetween(Duration.ofSeconds(4), Duration.ofSeconds(5));
+        assertThat(UpstreamRetry.parseReset(String.valueOf(now - 5_000))).isZero();
+    }
+
+    @Test
+    void rejectsInvalidResetValues() {
+        assertThat(UpstreamRetry.parseReset(null)).isNull();
+        assertThat(UpstreamRetry.parseReset("")).isNull();
+        assertThat(UpstreamRetry.parseReset("10y")).isNull();
+        assertThat(UpstreamRetry.parseReset("s")).isNull();
+        assertThat(UpstreamRetry.parseReset("1..2s")).isNull();
+    }
+
+    @Test
+    void derivesServerHint() {
+        // 429 时取各 reset 头中最长的一个
+        assertThat(UpstreamRetry.serverHint(responseError(429, Map.of("x-ratelimit-reset-requests", "2s",
+            "x-ratelimit-reset-tokens", "1m")))).isEqualTo(Duration.ofMinutes(1));
+        assertThat(UpstreamRetry.serverHint(responseError(503, Map.of("Retry-After", "4"))))
+            .isEqualTo(Duration.ofSeconds(4));
+        // reset 头只对 429 生效
+        assertThat(UpstreamRetry.serverHint(responseError(503, Map.of("x-ratelimit-reset-requests", "2s")))).isNull();
+        assertThat(UpstreamRetry.serverHint(requestError())).isNull();
+    }
+
+    @Test
+    void boundsFullJitter() {
+        for (int i = 0; i < 100; i++) {
+            assertThat(UpstreamRetry.fullJitter(0)).isBetween(Duration.ZERO, Duration.ofMillis(500));
+            assertThat(UpstreamRetry.fullJitter(3)).isBetween(Duration.ZERO, Duration.ofMillis(4000));
+            assertThat(UpstreamRetry.fullJitter(40)).isBetween(Duration.ZERO, Duration.ofSeconds(30));
+        }
+    }
+
+    @Test
+    void retriesWithServerHint() {
+        AtomicInteger attempts = new AtomicInteger();
+        List<Duration> delays = new CopyOnWriteArrayList<>();
+        Mono<String> call = Mono.defer(() -> attempts.incrementAndGet() < 3
+            ? Mono.error(responseError(503, Map.of("retry-after-ms", "10")))
+            : Mono.just("ok"));
+
+        StepVerifier.create(call.retryWhen(UpstreamRetry.create(3, () -> true, delays::add)))
+            .expectNext("ok")
+            .verifyComplete();
+
+        assertThat(attempts).hasValue(3);
+        assertThat(delays).containsExactly(Duration.ofMillis(10), Duration.ofMillis(10));
+    }
+
+    @Test
+    void doesNotRetryNonRetryableOrOverlongHint() {
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> badRequest = Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(responseError(400, Map.of()));
+        });
+        StepVerifier.create(badRequest.retryWhen(UpstreamRetry.create(3, () -> true, null)))
+            .expectError(WebClientResponseException.class)
+            .verify();
+        assertThat(attempts).hasValue(1);
+
+        // 上游要求等待超过上限时直接返回错误
+        Mono<String> throttled = Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(responseError(429, Map.of("Retry-After", "120")));
+        });
+        StepVerifier.create(throttled.retryWhen(UpstreamRetry.create(3, () -> true, null)))
+            .expectError(WebClientResponseException.class)
+            .verify();
+        assertThat(attempts).hasValue(2);
+    }
+
+    @Test
+    void skipsRetryWhenDisabledByContext() {
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> call = Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(responseError(503, Map.of("retry-after-ms", "0")));
+        });
+
+        StepVerifier.create(call.retryWhen(UpstreamRetry.create(3, () -> true, null))
+                .contextWrite(context -> context.put(UpstreamRetry.NO_RETRY_KEY, true)))
+            .expectError(WebClientResponseException.class)
+            .verify();
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    void stopsWhenCallerForbidsRetry() {
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> call = Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(responseError(503, Map.of("retry-after-ms", "0")));
+        });
+
+        // 如流式调用已输出内容
+        StepVerifier.create(call.retryWhen(UpstreamRetry.create(3, () -> false, null)))
+            .expectError(WebClientResponseException.class)
+            .verify();
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    void switchesKeyImmediatelyWhenAnotherIsAvailable() {
+        ApiKeyPool.KeyPool pool = new ApiKeyPool().pool("openai", List.of("sk-aaaa-0001", "sk-bbbb-0002"));
+        AtomicInteger attempts = new AtomicInteger();
+        List<Duration> delays = new CopyOnWriteArrayList<>();
+        Mono<String> call = Mono.defer(() -> attempts.incrementAndGet() < 2
+            ? Mono.error(responseError(429, Map.of("Retry-After", "20")))
+            : Mono.just("ok"));
+
+        StepVerifier.create(call.retryWhen(UpstreamRetry.create(3, () -> true, delays::add, pool)))
+            .expectNext("ok")
+            .verifyComplete();
+
+        // 还有可用密钥，无需等待 Retry-After
+        assertThat(delays).containsExactly(Duration.ZERO);
+    }
+
+    private static HttpHeaders headers(Map<String, String> values) {
+        HttpHeaders headers = new HttpHeaders();
+        values.forEach(headers::add);
+        return headers;
+    }
+
+    private static WebClientResponseException responseError(int status, Map<String, String> headers) {
+        return WebClientResponseException.create(status, "status " + status, headers(headers), new byte[0], null);
+    }
+
+    private static WebClientRequestException requestError() {
+        return new WebClientRequestException(new IOException("Connection reset"), HttpMethod.POST,
+            URI.create("http://localhost/v1/chat"), new HttpHeaders());
+    }
+}
@@ -0,0 +1,146 @@
+package com.xhhao.aimodelhub.service.transport;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link HttpTransport} 测试
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+class HttpTransportTest {
+
+    /**
+     * 大于旧连接池的停止分配宽限期
+     */
+    private static final Duration RETIRE_WAIT = Duration.ofSeconds(15);
+
+    private final HttpTransport transport = new HttpTransport();
+
+    @AfterEach
+    void tearDown() {
+        transport.destroy();
+    }
+
+    @Test
+    void sharesPoolPerHost() {
+        HttpTransport.PooledClient first = transport.currentClient("api.openai.com");
+
+        assertThat(transport.currentClient("api.openai.com")).isSameAs(first);
+        assertThat(transport.currentClient("api.siliconflow.cn")).isNotSameAs(first);
+        assertThat(transport.activeClients()).hasSize(2);
+        // 同一主机的 WebClient 只创建一次
+        assertThat(transport.webClient("https://api.openai.com/v1"))
+            .isSameAs(transport.webClient("https://api.openai.com/v1/chat/completions"));
+    }
+
+    @Test
+    void keepsPoolWhenConfigUnchanged() {
+        HttpTransport.PooledClient first = transport.currentClient("api.openai.com");
+
+        transport.updateConfig(HttpTransport.PoolSettings.defaults());
+
+        assertThat(transport.currentClient("api.openai.com")).isSameAs(first);
+        assertThat(transport.activeClients()).containsExactly(first);
+    }
+
+    @Test
+    void switchesToNewPoolAfterConfigChange() {
+        HttpTransport.PooledClient first = transport.currentClient("api.openai.com");
+
+        transport.updateConfig(settings(10));
+        HttpTransport.PooledClient second = transport.currentClient("api.openai.com");
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(first.provider().name()).endsWith("-g0");
+        assertThat(second.provider().name()).endsWith("-g1");
+        assertThat(transport.activeClients()).containsExactly(second);
+    }
+
+    @Test
+    void closesRetiredPoolAfterGracePeriod() throws InterruptedException {
+        DisposableServer server = HttpServer.create()
+            .host("127.0.0.1")
+            .port(0)
+            .handle((request, response) -> response.sendString(Mono.just("ok")))
+            .bindNow();
+        try {
+            String url = "http://127.0.0.1:" + server.port();
+            assertThat(get(url)).isEqualTo("ok");
+            assertThat(poolNames()).singleElement().asString().endsWith("-g0");
+
+            transport.updateConfig(settings(10));
+            assertThat(get(url)).isEqualTo("ok");
+            assertThat(poolNames()).hasSize(2);
+
+            // 宽限期后旧连接池关闭，指标随之移除
+            long deadline = System.nanoTime() + RETIRE_WAIT.toNanos();
+            while (poolNames().size() > 1 && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+            }
+            assertThat(poolNames()).singleElement().asString().endsWith("-g1");
+        } finally {
+            server.disposeNow();
+        }
+    }
+
+    @Test
+    void dropsPoolsCreatedDuringConfigChange() throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        int threads = 4;
+        CountDownLatch done = new CountDownLatch(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int t = 0; t < threads; t++) {
+                executor.execute(() -> {
+                    while (running.get()) {
+                        transport.currentClient("api.openai.com");
+                    }
+                    done.countDown();
+                });
+            }
+            // 请求选择连接池的同时反复变更配置
+            for (int i = 1; i <= 200; i++) {
+                transport.updateConfig(settings(i));
+            }
+        } finally {
+            running.set(false);
+            assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+            executor.shutdown();
+        }
+
+        // 按旧配置创建、在配置变更之后才放入的连接池也已移除，只保留当前配置的连接池
+        HttpTransport.PooledClient current = transport.currentClient("api.openai.com");
+        assertThat(transport.activeClients()).containsExactly(current);
+        assertThat(current.provider().name()).endsWith("-g200");
+    }
+
+    private String get(String url) {
+        return transport.webClient(url).get().uri(url).retrieve().bodyToMono(String.class)
+            .block(Duration.ofSeconds(10));
+    }
+
+    private List<String> poolNames() {
+        return transport.getPoolStats().stream().map(HttpTransport.PoolStats::pool).distinct().toList();
+    }
+
+    private static HttpTransport.PoolSettings settings(int maxConnections) {
+        HttpTransport.PoolSettings settings = HttpTransport.PoolSettings.defaults();
+        settings.setMaxConnections(maxConnections);
+        return settings;
+    }
+}
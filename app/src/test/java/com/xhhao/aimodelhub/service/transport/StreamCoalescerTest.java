@@ -0,0 +1,126 @@
+package com.xhhao.aimodelhub.service.transport;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link StreamCoalescer} 测试
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+class StreamCoalescerTest {
+
+    private final VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+
+    @Test
+    void flushesWhenMaxBytesReached() {
+        StreamCoalescer coalescer = new StreamCoalescer(scheduler);
+        coalescer.updateConfig(settings(4, 30));
+
+        List<String> chunks = coalescer.coalesce(Flux.just("ab", "cd", "ef", "g")).collectList().block();
+
+        // 完成时输出剩余片段
+        assertThat(chunks).containsExactly("abcd", "efg");
+    }
+
+    @Test
+    void flushesAfterMaxDelay() {
+        StreamCoalescer coalescer = new StreamCoalescer(scheduler);
+        coalescer.updateConfig(settings(32, 30));
+        Sinks.Many<String> tokens = Sinks.many().unicast().onBackpressureBuffer();
+        List<String> received = new CopyOnWriteArrayList<>();
+        coalescer.coalesce(tokens.asFlux()).subscribe(received::add);
+
+        tokens.tryEmitNext("a");
+        scheduler.advanceTimeBy(Duration.ofMillis(20));
+        tokens.tryEmitNext("b");
+        assertThat(received).isEmpty();
+
+        // 最长延迟从首个未发送片段开始计算
+        scheduler.advanceTimeBy(Duration.ofMillis(10));
+        assertThat(received).containsExactly("ab");
+    }
+
+    @Test
+    void ignoresTimerThatFiresAfterCancellation() {
+        // 取消时计时器已开始执行（等待锁），取消不再生效
+        StreamCoalescer coalescer = new StreamCoalescer(undisposable(scheduler));
+        coalescer.updateConfig(settings(4, 30));
+        Sinks.Many<String> tokens = Sinks.many().unicast().onBackpressureBuffer();
+        List<String> received = new CopyOnWriteArrayList<>();
+        coalescer.coalesce(tokens.asFlux()).subscribe(received::add);
+
+        tokens.tryEmitNext("ab");
+        tokens.tryEmitNext("cd");
+        scheduler.advanceTimeBy(Duration.ofMillis(10));
+        tokens.tryEmitNext("e");
+
+        // 第一个计时器到期时不能提前输出之后攒下的片段
+        scheduler.advanceTimeBy(Duration.ofMillis(20));
+        assertThat(received).containsExactly("abcd");
+
+        scheduler.advanceTimeBy(Duration.ofMillis(10));
+        assertThat(received).containsExactly("abcd", "e");
+    }
+
+    @Test
+    void passesTokensThroughWhenDisabled() {
+        StreamCoalescer coalescer = new StreamCoalescer(scheduler);
+        StreamCoalescer.CoalesceSettings settings = settings(4, 30);
+        settings.setEnabled(false);
+        coalescer.updateConfig(settings);
+
+        assertThat(coalescer.coalesce(Flux.just("ab", "cd", "e")).collectList().block())
+            .containsExactly("ab", "cd", "e");
+    }
+
+    @Test
+    void countsUtf8Bytes() {
+        assertThat(StreamCoalescer.utf8Length("abc")).isEqualTo(3);
+        assertThat(StreamCoalescer.utf8Length("é")).isEqualTo(2);
+        assertThat(StreamCoalescer.utf8Length("你好")).isEqualTo(6);
+        assertThat(StreamCoalescer.utf8Length("😀")).isEqualTo(4);
+    }
+
+    private static StreamCoalescer.CoalesceSettings settings(int maxBytes, long maxDelayMillis) {
+        StreamCoalescer.CoalesceSettings settings = new StreamCoalescer.CoalesceSettings();
+        settings.setMaxBytes(maxBytes);
+        settings.setMaxDelay(Duration.ofMillis(maxDelayMillis));
+        return settings;
+    }
+
+    /**
+     * 延迟任务无法取消的调度器
+     */
+    private static Scheduler undisposable(Scheduler delegate) {
+        return new Scheduler() {
+            @Override
+            public Disposable schedule(Runnable task) {
+                return delegate.schedule(task);
+            }
+
+            @Override
+            public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+                delegate.schedule(task, delay, unit);
+                return () -> { };
+            }
+
+            @Override
+            public Worker createWorker() {
+                return delegate.createWorker();
+            }
+        };
+    }
+}
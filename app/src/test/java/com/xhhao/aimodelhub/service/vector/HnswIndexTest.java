@@ -0,0 +1,201 @@
+package com.xhhao.aimodelhub.service.vector;
+
+import com.xhhao.aimodelhub.api.VectorMatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * {@link HnswIndex} 测试
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+class HnswIndexTest {
+
+    private static final int DIMENSION = 32;
+    private static final int SIZE = 2_000;
+    private static final int K = 10;
+
+    @TempDir
+    Path directory;
+
+    private final List<HnswIndex> opened = new ArrayList<>();
+    private final Random random = new Random(42);
+
+    @AfterEach
+    void tearDown() {
+        opened.forEach(HnswIndex::close);
+    }
+
+    @Test
+    void approximateSearchHasHighRecall() throws IOException {
+        HnswIndex index = create();
+        fill(index, SIZE);
+
+        assertThat(recall(index, null)).isGreaterThanOrEqualTo(0.95);
+    }
+
+    @Test
+    void filteredSearchHasHighRecall() throws IOException {
+        HnswIndex index = create();
+        fill(index, SIZE);
+        Predicate<Map<String, String>> filter = metadata -> "0".equals(metadata.get("bucket"));
+
+        assertThat(recall(index, filter)).isGreaterThanOrEqualTo(0.9);
+        index.searchNow(vector(), K, filter)
+            .forEach(match -> assertThat(match.getMetadata()).containsEntry("bucket", "0"));
+    }
+
+    @Test
+    void findsInsertedVectorFirst() throws IOException {
+        HnswIndex index = create();
+        fill(index, SIZE);
+        float[] target = vector();
+        index.insert("target", target, Map.of(), true);
+
+        List<VectorMatch> matches = index.searchNow(target, 1, null);
+
+        assertThat(matches).extracting(VectorMatch::getId).containsExactly("target");
+        assertThat(matches.get(0).getScore()).isCloseTo(1f, within(1e-4f));
+    }
+
+    @Test
+    void replacesAndDeletesById() throws IOException {
+        HnswIndex index = create();
+        float[] first = vector();
+        float[] second = vector();
+        index.insert("a", first, Map.of(), true);
+        index.insert("a", second, Map.of(), true);
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.deletedCount()).isEqualTo(1);
+        assertThat(index.searchNow(second, 1, null)).extracting(VectorMatch::getId).containsExactly("a");
+
+        assertThat(index.delete("a")).isTrue();
+        assertThat(index.delete("a")).isFalse();
+        assertThat(index.searchNow(second, K, null)).isEmpty();
+    }
+
+    @Test
+    void snapshotRoundTrip() throws IOException {
+        HnswIndex index = create();
+        fill(index, SIZE);
+        index.insert("long-metadata", vector(), Map.of("text", "x".repeat(70_000)), true);
+        index.delete("1");
+        index.saveSnapshot();
+        assertThat(index.isDirty()).isFalse();
+
+        List<float[]> queries = new ArrayList<>();
+        List<List<VectorMatch>> expected = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            float[] query = vector();
+            queries.add(query);
+            expected.add(index.searchNow(query, K, null));
+        }
+        index.close();
+
+        assertThat(HnswIndex.exists(directory)).isTrue();
+        HnswIndex reopened = open();
+        assertThat(reopened.size()).isEqualTo(SIZE);
+        assertThat(reopened.getDimension()).isEqualTo(DIMENSION);
+        assertThat(reopened.isDirty()).isFalse();
+        for (int i = 0; i < queries.size(); i++) {
+            assertThat(reopened.searchNow(queries.get(i), K, null))
+                .extracting(VectorMatch::getId)
+                .containsExactlyElementsOf(expected.get(i).stream().map(VectorMatch::getId).toList());
+        }
+        assertThat(reopened.exactSearch(queries.get(0), SIZE, match -> match.containsKey("text")))
+            .singleElement()
+            .satisfies(match -> assertThat(match.getMetadata().get("text")).hasSize(70_000));
+        assertThat(reopened.exactSearch(queries.get(0), SIZE, null))
+            .extracting(VectorMatch::getId)
+            .doesNotContain("1");
+    }
+
+    @Test
+    void rebuildsGraphWhenManyNodesDeleted() throws IOException {
+        HnswIndex index = create();
+        fill(index, 400);
+        for (int i = 0; i < 200; i++) {
+            index.delete(String.valueOf(i));
+        }
+        index.saveSnapshot();
+        index.close();
+
+        HnswIndex reopened = open();
+
+        assertThat(reopened.size()).isEqualTo(200);
+        assertThat(reopened.deletedCount()).isZero();
+        assertThat(recall(reopened, null)).isGreaterThanOrEqualTo(0.95);
+    }
+
+    @Test
+    void rejectsUseAfterClose() throws IOException {
+        HnswIndex index = create();
+        index.insert("a", vector(), Map.of(), true);
+        index.close();
+
+        assertThatThrownBy(() -> index.searchNow(vector(), K, null)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> index.insert("b", vector(), Map.of(), true))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    private HnswIndex create() throws IOException {
+        HnswIndex index = HnswIndex.create("test", directory, DIMENSION);
+        opened.add(index);
+        return index;
+    }
+
+    private HnswIndex open() throws IOException {
+        HnswIndex index = HnswIndex.open("test", directory);
+        opened.add(index);
+        return index;
+    }
+
+    private void fill(HnswIndex index, int size) {
+        for (int i = 0; i < size; i++) {
+            index.insert(String.valueOf(i), vector(), Map.of("bucket", String.valueOf(i % 10)), true);
+        }
+    }
+
+    /**
+     * 与逐条计算结果的平均重合比例
+     */
+    private double recall(HnswIndex index, Predicate<Map<String, String>> filter) {
+        double total = 0;
+        int queries = 50;
+        for (int i = 0; i < queries; i++) {
+            float[] query = vector();
+            Set<String> expected = new HashSet<>();
+            index.exactSearch(query, K, filter).forEach(match -> expected.add(match.getId()));
+            long hits = index.searchNow(query, K, filter).stream()
+                .filter(match -> expected.contains(match.getId()))
+                .count();
+            total += expected.isEmpty() ? 1 : (double) hits / expected.size();
+        }
+        return total / queries;
+    }
+
+    private float[] vector() {
+        float[] vector = new float[DIMENSION];
+        for (int i = 0; i < DIMENSION; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+}
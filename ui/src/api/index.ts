@@ -3,6 +3,7 @@ import {
   AiChatLogV1alpha1ConsoleApi,
   TestChatV1alpha1ConsoleApi,
   ConsoleApiAimodelHubXhhaoComV1alpha1Api,
+  RuntimeV1alpha1ConsoleApi,
 } from "@/api/generated";
 import { axiosInstance } from "@halo-dev/api-client";
 
@@ -11,6 +12,7 @@ const aiModelHubApiClient = {
   chatLogConsole: new AiChatLogV1alpha1ConsoleApi(undefined, "", axiosInstance),
   testChat: new TestChatV1alpha1ConsoleApi(undefined, "", axiosInstance),
   models: new ConsoleApiAimodelHubXhhaoComV1alpha1Api(undefined, "", axiosInstance),
+  runtime: new RuntimeV1alpha1ConsoleApi(undefined, "", axiosInstance),
 };
 
 export { aiModelHubApiClient };